@@ -78,6 +78,15 @@ pythonMicroBenchmarks = {
     'special-add-int'               : ['',      ['0'    ]],
     'special-len'                   : ['',      ['0'    ]],
     'object-layout-change'          : ['',      ['0'    ]],
+    'object-temporary-vector'       : ['',      ['0'    ]],
+    'object-temporary-point'        : ['',      ['0'    ]],
+    'generator-resume'              : ['',      ['0'    ]],
+}
+
+pythonGeneratorMicroBenchmarks = {
+    'generator'                     : ['',      ['0'    ]],
+    'generator-notaligned'          : ['',      ['0'    ]],
+    'generator-resume'              : ['',      ['0'    ]],
 }
 
 # XXX: testing
@@ -96,6 +105,7 @@ pythonMicroBenchmarks = {
 benchmarks_list = {
 "normal"    : [pathBench, pythonBenchmarks],
 "micro"     : [pathMicro, pythonMicroBenchmarks],
+"generator-micro" : [pathMicro, pythonGeneratorMicroBenchmarks],
 "generator" : [pathBench, pythonGeneratorBenchmarks],
 "object"    : [pathBench, pythonObjectBenchmarks],
 }
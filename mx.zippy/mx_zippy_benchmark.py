@@ -8,7 +8,9 @@ from mx_zippy_bench_param import *
 
 # mx benchmark 'python:*' --results-file ./python.json
 # mx benchmark 'python-nopeeling:*' --results-file ./python-nopeeling.json
-# mx benchmark 'python-flex:*' --results-file ./python-flex.json
+# mx benchmark 'python-generator-micro:*' --results-file ./python-generator-micro.json
+# mx benchmark 'python-generator-micro-resumable:*' --results-file ./python-generator-micro-resumable.json
+# mx benchmark 'python-fixed:*' --results-file ./python-fixed.json
 # mx benchmark 'python-flex-evol:*' --results-file ./python-flex-evol.json
 # ...
 _mx_graal = mx.suite("graal-core", fatalIfMissing=False)
@@ -162,16 +164,42 @@ class ZipPyNoPeelingBenchmarkSuite(BaseZippyBenchmarkSuite):
 
 mx_benchmark.add_bm_suite(ZipPyNoPeelingBenchmarkSuite())
 
-class ZipPyFlexBenchmarkSuite(BaseZippyBenchmarkSuite):
+class ZipPyGeneratorMicroBenchmarkSuite(BaseZippyBenchmarkSuite):
 
     def name(self):
-        return "python-flex"
+        return "python-generator-micro"
+
+    def getPath(self):
+        return pathMicro
+
+    def benchmarksType(self):
+        return "generator-micro"
+
+    def benchmarksIterations(self):
+        return pythonGeneratorMicroBenchmarks
+
+mx_benchmark.add_bm_suite(ZipPyGeneratorMicroBenchmarkSuite())
+
+class ZipPyResumableGeneratorMicroBenchmarkSuite(ZipPyGeneratorMicroBenchmarkSuite):
+
+    def name(self):
+        return "python-generator-micro-resumable"
+
+    def getZippyOpts(self):
+        return ["-resumable-generators"]
+
+mx_benchmark.add_bm_suite(ZipPyResumableGeneratorMicroBenchmarkSuite())
+
+class ZipPyFixedBenchmarkSuite(BaseZippyBenchmarkSuite):
+
+    def name(self):
+        return "python-fixed"
 
     def getPath(self):
         return pathBench
 
     def getZippyOpts(self):
-        return ["-flexible-object-storage"]
+        return ["-no-flexible-object-storage"]
 
     def benchmarksType(self):
         return "object"
@@ -179,7 +207,7 @@ class ZipPyFlexBenchmarkSuite(BaseZippyBenchmarkSuite):
     def benchmarksIterations(self):
         return pythonObjectBenchmarks
 
-mx_benchmark.add_bm_suite(ZipPyFlexBenchmarkSuite())
+mx_benchmark.add_bm_suite(ZipPyFixedBenchmarkSuite())
 
 
 class ZipPyFlexEvolBenchmarkSuite(BaseZippyBenchmarkSuite):
@@ -46,7 +46,7 @@ def _zippy_internal_options():
     # result += ["-Dedu.uci.python.disableUnboxSequenceIteration=true"        ] # true
     # result += ["-Dedu.uci.python.disableIntrinsifyBuiltinCalls=true"        ] # true
     # result += ["-Dedu.uci.python.FlexibleObjectStorageEvolution=true"       ] # false
-    # result += ["-Dedu.uci.python.FlexibleObjectStorage=true"                ] # false
+    # result += ["-Dedu.uci.python.disableFlexibleObjectStorage=true"         ] # true
 
     """ Generators """
     # result += ["-Dedu.uci.python.disableInlineGeneratorCalls=true"          ] # true
@@ -0,0 +1,41 @@
+# micro benchmark: generator resumption through chained generator stages
+import time
+
+def source(n):
+	for i in range(n):
+		yield i
+
+def evens(items):
+	for i in items:
+		if i % 2 == 0:
+			yield i
+
+def scaled(items):
+	for i in items:
+		yield i * 3
+
+def call_generator(num, iteration):
+	item = 0
+	for t in range(iteration):
+		for i in scaled(evens(source(num + t % 5))):
+			item = i + item % 5
+
+	return item
+
+def measure():
+	print("Start timing...")
+	start = time.time()
+
+	num = 1000
+	last_item = call_generator(num, 5000)
+
+	print("Last item ", last_item)
+
+	duration = "%.3f\n" % (time.time() - start)
+	print("generator-resume: " + duration)
+
+#warm up
+for run in range(2000):
+	call_generator(100, 100)
+
+measure()
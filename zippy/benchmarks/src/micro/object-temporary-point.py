@@ -0,0 +1,40 @@
+# micro benchmark: non-escaping temporary objects, chaos style points
+import time
+
+iteration = 50000 # 50000
+
+class Point():
+	def __init__(self, x, y):
+		self.x = x
+		self.y = y
+
+	def __add__(self, other):
+		return Point(self.x + other.x, self.y + other.y)
+
+	def __mul__(self, factor):
+		return Point(self.x * factor, self.y * factor)
+
+def dostuff():
+	x = 0.0
+	for i in range(iteration):
+		p = Point(i, 1.0) * 0.5 + Point(x, 2.0)
+		x = p.x % 11
+
+	return x
+
+def measure(num):
+	print("Start timing...")
+	start = time.time()
+
+	for i in range(num):
+	  result = dostuff()
+
+	print(result)
+	duration = "%.3f\n" % (time.time() - start)
+	print("object-temporary-point: " + duration)
+
+# warm up
+for i in range(2000):
+	dostuff()
+
+measure(5000)
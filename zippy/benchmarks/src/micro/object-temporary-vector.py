@@ -0,0 +1,42 @@
+# micro benchmark: non-escaping temporary objects, nbody style vectors
+import time
+
+iteration = 50000 # 50000
+
+class Vector():
+	def __init__(self, x, y, z):
+		self.x = x
+		self.y = y
+		self.z = z
+
+	def add(self, other):
+		return Vector(self.x + other.x, self.y + other.y, self.z + other.z)
+
+	def dot(self, other):
+		return self.x * other.x + self.y * other.y + self.z * other.z
+
+def dostuff():
+	total = 0.0
+	for i in range(iteration):
+		v = Vector(i * 0.5, 1.0, 2.0)
+		w = v.add(Vector(1.0, i * 0.25, 0.5))
+		total += w.dot(v) % 7
+
+	return total
+
+def measure(num):
+	print("Start timing...")
+	start = time.time()
+
+	for i in range(num):
+	  result = dostuff()
+
+	print(result)
+	duration = "%.3f\n" % (time.time() - start)
+	print("object-temporary-vector: " + duration)
+
+# warm up
+for i in range(2000):
+	dostuff()
+
+measure(5000)
@@ -48,4 +48,51 @@ public class RegularExpressionTests {
         assertPrints("", source);
     }
 
+    @Test
+    public void matchGroups() {
+        String source = "import re\n" + //
+                        "m = re.match(r'(\\d+)-(?P<word>[a-z_]+)', '12-abc_d rest')\n" + //
+                        "print(m.group(), m.group(1), m.group('word'), m.groups(), m.span(2), m.end(1))\n" + //
+                        "print(re.match('x', 'abc'), re.search('b+', 'abbbc').group(), re.fullmatch('ab', 'abc'))\n";
+        assertPrints("12-abc_d 12 abc_d ('12', 'abc_d') (3, 8) 2\nNone bbb None\n", source);
+    }
+
+    @Test
+    public void compiledPattern() {
+        String source = "import re\n" + //
+                        "p = re.compile(r'(\\w)(\\w)?', re.I)\n" + //
+                        "print(p.findall('abc'), p.sub(r'\\2\\1', 'abcd'), p.match('  xy', 2).group())\n" + //
+                        "print(re.match(p, 'zz').group(2), re.match(r\"(?P<q>['x]).*(?P=q)\", \"'hi' there\").group())\n";
+        assertPrints("[('a', 'b'), ('c', '')] badc xy\nz 'hi'\n", source);
+    }
+
+    @Test
+    public void subAndSplit() {
+        String source = "import re\n" + //
+                        "print(re.sub('a', lambda m: m.group().upper(), 'banana', 2), re.subn('[aeiou]', '', 'education'))\n" + //
+                        "print(re.split(r',\\s*', 'a, b,c,  d'), re.split(r'(,)', 'a,b', 1), re.escape('a.b*c'))\n" + //
+                        "print([m.group() for m in re.finditer(r'\\d', 'a1b2c3')])\n";
+        assertPrints("bAnAna ('dctn', 5)\n['a', 'b', 'c', 'd'] ['a', ',', 'b'] a\\.b\\*c\n['1', '2', '3']\n", source);
+    }
+
+    @Test
+    public void constantPatternInLoop() {
+        String source = "import re\n" + //
+                        "n = 0\n" + //
+                        "for line in ['GET /a 200', 'POST /b 404', 'GET /c 500'] * 10:\n" + //
+                        "    m = re.match(r'(GET|POST) (\\S+) (\\d+)', line)\n" + //
+                        "    if m and m.group(3) != '200':\n" + //
+                        "        n += 1\n" + //
+                        "print(n)\n";
+        assertPrints("20\n", source);
+    }
+
+    @Test
+    public void endposBeforePos() {
+        String source = "import re\n" + //
+                        "p = re.compile('c')\n" + //
+                        "print(p.match('abc', 2, 1), p.search('abc', 2, 1), p.findall('abc', 2, 1))\n";
+        assertPrints("None None []\n", source);
+    }
+
 }
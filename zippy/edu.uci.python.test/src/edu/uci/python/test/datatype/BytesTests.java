@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.datatype;
+
+import static edu.uci.python.test.PythonTests.*;
+
+import org.junit.*;
+
+public class BytesTests {
+
+    @Test
+    public void literal() {
+        String source = "b = b'ab\\x00c'\n" + //
+                        "print(b, len(b), b[0], b[-1], b[1:3], list(b))\n" + //
+                        "print(b'it\\'s', b + b'!', b'-' * 3, 99 in b)\n";
+        assertPrints("b'ab\\x00c' 4 97 99 b'b\\x00' [97, 98, 0, 99]\nb\"it's\" b'ab\\x00c!' b'---' True\n", source);
+    }
+
+    @Test
+    public void constructorsAndCodecs() {
+        String source = "print(bytes(3), bytes([1, 2, 255]), bytes('abc', 'ascii'))\n" + //
+                        "print('h\\xe9'.encode(), 'h\\xe9'.encode('latin-1'), b'h\\xc3\\xa9'.decode() == 'h\\xe9')\n" + //
+                        "print(b'\\x01\\xab'.hex())\n";
+        assertPrints("b'\\x00\\x00\\x00' b'\\x01\\x02\\xff' b'abc'\nb'h\\xc3\\xa9' b'h\\xe9' True\n01ab\n", source);
+    }
+
+    @Test
+    public void bytearray() {
+        String source = "ba = bytearray(b'xy')\n" + //
+                        "ba.append(122)\n" + //
+                        "ba.extend(b'!!')\n" + //
+                        "ba[0] = 65\n" + //
+                        "print(ba, len(ba), ba[0], ba.decode(), bytes(ba))\n";
+        assertPrints("bytearray(b'Ayz!!') 5 65 Ayz!! b'Ayz!!'\n", source);
+    }
+
+    @Test
+    public void sliceAssignmentAndOrdering() {
+        String source = "ba = bytearray(b'abcdef')\n" + //
+                        "ba[1:3] = b'XYZ'\n" + //
+                        "ba[::2] = bytearray(b'1234')\n" + //
+                        "ba[:0] = [33]\n" + //
+                        "l = [0, 0]\n" + //
+                        "l[0:1] = b'ab'\n" + //
+                        "print(ba, l)\n" + //
+                        "print(b'ab' < b'b', bytearray(b'ab') < b'abc', b'\\xff' < b'\\x01')\n";
+        assertPrints("bytearray(b'!1X2Z3e4') [97, 98, 0]\nTrue True False\n", source);
+    }
+
+    @Test
+    public void extendedSliceSizeMismatch() {
+        String source = "ba = bytearray(b'abcd')\n" + //
+                        "ba[::2] = b'x'\n";
+        assertError("ValueError: attempt to assign bytes of size 1 to extended slice of size 2\n", source);
+    }
+
+    @Test
+    public void byteOutOfRange() {
+        String source = "ba = bytearray()\n" + //
+                        "ba.append(256)\n";
+        assertError("ValueError: byte must be in range(0, 256)\n", source);
+    }
+
+}
@@ -53,4 +53,119 @@ public class DictTests {
         assertPrints("{3: 4}\n", source);
     }
 
+    @Test
+    public void insertionOrder() {
+        String source = "dd = {}\n" + //
+                        "dd['c'] = 1\n" + //
+                        "dd['a'] = 2\n" + //
+                        "dd['b'] = 3\n" + //
+                        "del dd['a']\n" + //
+                        "dd['a'] = 4\n" + //
+                        "print(dd)\n";
+
+        assertPrints("{c: 1, b: 3, a: 4}\n", source);
+    }
+
+    @Test
+    public void numericKeys() {
+        String source = "dd = {1:'int', 1.0:'float'}\n" + //
+                        "print(len(dd), dd[1])\n";
+
+        assertPrints("1 float\n", source);
+    }
+
+    @Test
+    public void tupleKeys() {
+        String source = "dd = {(1, 2):'a', (3, 4):'b'}\n" + //
+                        "print((1, 2) in dd, (2, 1) in dd)\n";
+
+        assertPrints("True False\n", source);
+    }
+
+    @Test
+    public void manyKeys() {
+        String source = "dd = {}\n" + //
+                        "for i in range(1000):\n" + //
+                        "    dd[i] = i * 2\n" + //
+                        "for i in range(0, 1000, 2):\n" + //
+                        "    del dd[i]\n" + //
+                        "print(len(dd), dd[999])\n";
+
+        assertPrints("500 1998\n", source);
+    }
+
+    @Test
+    public void stringKeys() {
+        String source = "dd = {}\n" + //
+                        "for name in ['a', 'b', 'c', 'a']:\n" + //
+                        "    dd[name] = len(dd)\n" + //
+                        "del dd['b']\n" + //
+                        "dd['d'] = 0\n" + //
+                        "print(dd['a'], dd['c'], 'b' in dd, list(dd.keys()))\n";
+
+        assertPrints("3 2 False ['a', 'c', 'd']\n", source);
+    }
+
+    @Test
+    public void mixedKeysGeneralize() {
+        String source = "dd = {}\n" + //
+                        "for i in range(10):\n" + //
+                        "    dd[i] = i\n" + //
+                        "dd['x'] = 'y'\n" + //
+                        "dd[3] = 'three'\n" + //
+                        "print(len(dd), dd[3], dd['x'], dd[9])\n";
+
+        assertPrints("11 three y 9\n", source);
+    }
+
+    @Test
+    public void counterIdiom() {
+        String source = "counts = {}\n" + //
+                        "for w in ['a', 'b', 'a', 'c', 'a', 'b']:\n" + //
+                        "    counts[w] = counts.get(w, 0) + 1\n" + //
+                        "hist = {}\n" + //
+                        "for i in range(100):\n" + //
+                        "    hist[i % 7] = hist.get(i % 7, 0) + 1\n" + //
+                        "print(counts['a'], counts['b'], counts['c'], hist[0], hist[6])\n";
+
+        assertPrints("3 2 1 15 14\n", source);
+    }
+
+    @Test
+    public void constantKeys() {
+        String source = "def name(r):\n" + //
+                        "    return r['name']\n" + //
+                        "rs = [{'name': 'x', 'id': 1}, {'id': 2, 'name': 'y'}]\n" + //
+                        "print(name(rs[0]), name(rs[1]))\n" + //
+                        "for k in ['id', 'name']:\n" + //
+                        "    print(rs[0][k])\n";
+
+        assertPrints("x y\n1\nx\n", source);
+    }
+
+    @Test
+    public void missingKey() {
+        String source = "dd = {'a': 1}\n" + //
+                        "dd['b']\n";
+
+        assertError("KeyError: 'b'\n", source);
+    }
+
+    @Test
+    public void popitemDrainAndRefill() {
+        String source = "d = {}\n" + //
+                        "for i in range(100):\n" + //
+                        "    d[i] = i\n" + //
+                        "total = 0\n" + //
+                        "while len(d) > 0:\n" + //
+                        "    total += d.popitem()[1]\n" + //
+                        "print(total, len(d))\n" + //
+                        "for i in range(1000):\n" + //
+                        "    d[i] = i\n" + //
+                        "    d.popitem()\n" + //
+                        "d['a'] = 1\n" + //
+                        "print(len(d), d['a'], 5 in d)\n";
+        assertPrints("4950 0\n1 1 False\n", source);
+    }
+
 }
@@ -53,4 +53,50 @@ public class SetTests {
                         "print(s)";
         assertPrints("{1, 2, 3}\n{1, 2, 3, 4}\n", source);
     }
+
+    @Test
+    public void setMembership() {
+        String source = "s = set(range(100))\n" + //
+                        "print(42 in s, 100 in s, 42.0 in s)\n" + //
+                        "print(len(set(x % 10 for x in range(100))))";
+        assertPrints("True False True\n10\n", source);
+    }
+
+    @Test
+    public void setGeneralize() {
+        String source = "s = {1, 2}\n" + //
+                        "s.add('a')\n" + //
+                        "s.add(1.0)\n" + //
+                        "print(s)\n" + //
+                        "print('a' in s, 2 in s)";
+        assertPrints("{1, 2, 'a'}\nTrue True\n", source);
+    }
+
+    @Test
+    public void setRemoveDiscard() {
+        String source = "s = {'a', 'b', 'c'}\n" + //
+                        "s.remove('b')\n" + //
+                        "s.discard('x')\n" + //
+                        "print(s)\n" + //
+                        "s.remove('x')";
+        assertPrints("{'a', 'c'}\n", source);
+        assertError("KeyError: 'x'\n", source);
+    }
+
+    @Test
+    public void setOperations() {
+        String source = "a = {1, 2, 3}\n" + //
+                        "b = {2, 3, 4}\n" + //
+                        "print(a & b)\n" + //
+                        "print(a - b)\n" + //
+                        "print(a <= {1, 2, 3, 4})";
+        assertPrints("{2, 3}\n{1}\nTrue\n", source);
+    }
+
+    @Test
+    public void frozenSetKey() {
+        String source = "d = {frozenset([1, 2]): 'x'}\n" + //
+                        "print(frozenset([2, 1]) in d)";
+        assertPrints("True\n", source);
+    }
 }
@@ -81,4 +81,127 @@ public class StringTests {
         assertPrints("('0', '1', '2', '3', '4', '5', '6', '7', '8', '9')\n", source);
     }
 
+    @Test
+    public void concatInLoop() {
+        String source = "s = ''\n" + //
+                        "for i in range(1000):\n" + //
+                        "    s += 'abc'\n" + //
+                        "print(len(s), s[0], s[2999], s[:6])\n" + //
+                        "print(s == 'abc' * 1000, s in {s : 1})\n";
+        assertPrints("3000 a c abcabc\nTrue True\n", source);
+    }
+
+    @Test
+    public void concatSharedPrefix() {
+        String source = "base = 'x' * 70\n" + //
+                        "a = base + 'a'\n" + //
+                        "b = a + 'b'\n" + //
+                        "c = a + 'c'\n" + //
+                        "print(len(b), b[-2:], c[-2:], a[-1])\n";
+        assertPrints("72 ab ac a\n", source);
+    }
+
+    @Test
+    public void concatNonLatin1() {
+        String source = "s = 'a' * 64\n" + //
+                        "s += 'b'\n" + //
+                        "s += chr(8364)\n" + //
+                        "s += 'c'\n" + //
+                        "print(len(s), s[-3:] == 'b' + chr(8364) + 'c', ord(s[-2]))\n";
+        assertPrints("67 True 8364\n", source);
+    }
+
+    @Test
+    public void findAndCount() {
+        String source = "s = 'hello world'\n" + //
+                        "print(s.find('o'), s.rfind('o'), s.find('o', 5, 7), s.find('', 20), s.index('w'))\n" + //
+                        "print(s.count('l'), 'aaaa'.count('aa'), 'abc'.count(''), s.count('l', -3))\n";
+        assertPrints("4 7 -1 -1 6\n3 2 4 1\n", source);
+    }
+
+    @Test
+    public void startsAndEndsWith() {
+        String source = "print('abc'.startswith(('x', 'a')), 'abc'.startswith('b', 1), 'abc'.endswith('b', 0, 2), 'abc'.endswith('bc'))\n";
+        assertPrints("True True True True\n", source);
+    }
+
+    @Test
+    public void stripAndPad() {
+        String source = "s = '  ab  '\n" + //
+                        "print(s.strip() + '|', s.lstrip() + '|', s.rstrip() + '|', 'xxaxx'.strip('x'))\n" + //
+                        "print('ab'.center(7, '*'), 'ab'.ljust(4, '.'), 'ab'.rjust(4), '-42'.zfill(6), 'a\\tb'.expandtabs(4))\n";
+        assertPrints("ab| ab  |   ab| a\n***ab** ab..   ab -00042 a   b\n", source);
+    }
+
+    @Test
+    public void splitVariants() {
+        String source = "print('a,b,,c,'.split(','), 'a,b,c'.split(',', 1), 'a b c'.rsplit(None, 1), 'a,b,c'.rsplit(',', 1))\n" + //
+                        "print('one\\ntwo\\r\\nthree'.splitlines(), 'a=b=c'.partition('='), 'a=b=c'.rpartition('='))\n";
+        assertPrints("['a', 'b', '', 'c', ''] ['a', 'b,c'] ['a b', 'c'] ['a,b', 'c']\n" + //
+                        "['one', 'two', 'three'] ('a', '=', 'b=c') ('a=b', '=', 'c')\n", source);
+    }
+
+    @Test
+    public void caseAndPredicates() {
+        String source = "print('hello WORLD'.capitalize(), 'Hello'.swapcase(), 'hello world'.title())\n" + //
+                        "print('abc1'.isalnum(), '123'.isdigit(), 'Hello World'.istitle(), '_x1'.isidentifier(), ' '.isspace(), 'aB'.islower())\n";
+        assertPrints("Hello world hELLO Hello World\nTrue True True True True False\n", source);
+    }
+
+    @Test
+    public void replaceCount() {
+        String source = "print('aaa'.replace('a', 'b', 2), 'a.b.c'.replace('.', '-', 1), 'ab'.replace('', '-'))\n";
+        assertPrints("bba a-b.c -a-b-\n", source);
+    }
+
+    @Test
+    public void format() {
+        String source = "print('{} {}'.format(1, 'a'), '{0}{1}{0}'.format('x', 'y'), '{name}!'.format(name='bob'), '{!r}'.format('q'), '{{}}'.format())\n" + //
+                        "print('{:.2f}|{:>4}|{:05d}|{:,}|{:x}'.format(3.14159, 'ab', 42, 1234567, 255))\n" + //
+                        "print('{0[1]}'.format([5, 6]), '{:{w}}|'.format('z', w=3), '{x}-{y}'.format_map({'x': 1, 'y': 2}))\n";
+        assertPrints("1 a xyx bob! 'q' {}\n3.14|  ab|00042|1,234,567|ff\n6 z  | 1-2\n", source);
+    }
+
+    @Test
+    public void joinEmpty() {
+        String source = "print('-'.join('abc') + '|' + '-'.join('') + '|' + ''.join([]))\n";
+        assertPrints("a-b-c||\n", source);
+    }
+
+    @Test
+    public void concatAsBuiltinArgument() {
+        String source = "import bisect\n" + //
+                        "words = ['a' * 70, 'b' * 70, 'c' * 70]\n" + //
+                        "key = 'b' * 70\n" + //
+                        "key += 'x'\n" + //
+                        "number = ' ' * 62\n" + //
+                        "number += '1.5'\n" + //
+                        "print(bisect.bisect(words, key), complex(number))\n";
+        assertPrints("2 (1.5+0j)\n", source);
+    }
+
+    @Test
+    public void concatAsPrintSeparator() {
+        String source = "sep = '-' * 64\n" + //
+                        "sep += '|'\n" + //
+                        "print('a', 'b', sep=sep)\n";
+        assertPrints("a" + new String(new char[64]).replace('\0', '-') + "|b\n", source);
+    }
+
+    @Test
+    public void concatAsPrintEnd() {
+        String source = "end = '.' * 64\n" + //
+                        "end += '\\n'\n" + //
+                        "print('a', end=end)\n";
+        assertPrints("a" + new String(new char[64]).replace('\0', '.') + "\n", source);
+    }
+
+    @Test
+    public void concatAsAssertMessage() {
+        String source = "message = 'x' * 64\n" + //
+                        "message += '!'\n" + //
+                        "assert False, message\n";
+        assertError("AssertionError: " + new String(new char[64]).replace('\0', 'x') + "!\n", source);
+    }
+
 }
@@ -109,4 +109,11 @@ public class GeneratorOptimizationTests {
         assertPrints("10\n10\n10\n10\n10\n", script);
     }
 
+    @Test
+    public void peelingShapes() {
+        assertTrue(!PythonOptions.isEnvOptionSet("disableInlineGeneratorCalls"));
+        Path script = Paths.get("generator-inline-shapes-test.py");
+        assertPrints("(87500, 500)\n(87500, 500)\n(87500, 500)\n(87500, 500)\n(87500, 500)\n", script);
+    }
+
 }
@@ -30,6 +30,8 @@ import java.nio.file.*;
 
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
+
 public class GeneratorTests {
 
     @Test
@@ -126,6 +128,46 @@ public class GeneratorTests {
         assertPrints("0\n1\n2\n3\n4\n", script);
     }
 
+    @Test
+    public void yieldInTryFinally() {
+        String source = "def gen():\n" + //
+                        "    try:\n" + //
+                        "        yield 1\n" + //
+                        "        yield 2\n" + //
+                        "    finally:\n" + //
+                        "        print('done')\n" + //
+                        "for x in gen():\n" + //
+                        "    print(x)\n";
+
+        assertPrints("1\n2\ndone\n", source);
+    }
+
+    @Test
+    public void resumable() {
+        String[] options = {"ResumableGenerators"};
+        PythonOptions.setEnvOptions(options);
+        String source = "def walk(n):\n" + //
+                        "    i = 0\n" + //
+                        "    while i < n:\n" + //
+                        "        if i % 2 == 0:\n" + //
+                        "            yield i\n" + //
+                        "        else:\n" + //
+                        "            for j in range(i):\n" + //
+                        "                yield -j\n" + //
+                        "        i += 1\n" + //
+                        "def guarded(n):\n" + //
+                        "    try:\n" + //
+                        "        for i in range(n):\n" + //
+                        "            yield i\n" + //
+                        "    finally:\n" + //
+                        "        print('done')\n" + //
+                        "print(list(walk(5)))\n" + //
+                        "print(list(guarded(3)))\n";
+
+        assertPrints("[0, 0, 2, 0, -1, -2, 4]\ndone\n[0, 1, 2]\n", source);
+        PythonOptions.unsetEnvOptions(options);
+    }
+
     @Test
     public void mm2d_naive() {
         Path script = Paths.get("mm2d_naive_test.py");
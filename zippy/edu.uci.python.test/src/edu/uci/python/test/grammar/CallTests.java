@@ -25,11 +25,19 @@
 package edu.uci.python.test.grammar;
 
 import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
 
 import java.nio.file.*;
 
 import org.junit.*;
 
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.call.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.*;
+
 public class CallTests {
 
     @Test
@@ -71,6 +79,76 @@ public class CallTests {
         assertPrints("2\n4\n", source);
     }
 
+    @Test
+    public void keywordArgsPermuted() {
+        String source = "def foo(a, b, c=3):\n" + //
+                        "    return a * 100 + b * 10 + c\n" + //
+                        "def call(x):\n" + //
+                        "    return foo(c=x, a=1, b=2)\n" + //
+                        "for i in range(3):\n" + //
+                        "    print(call(i))\n" + //
+                        "kw = {'b' : 5}\n" + //
+                        "print(foo(a=4, **kw))\n";
+
+        assertPrints("120\n121\n122\n453\n", source);
+    }
+
+    @Test
+    public void polymorphicHelper() {
+        String source = "def add(a, b):\n" + //
+                        "    return a + b\n" + //
+                        "def ints(n):\n" + //
+                        "    r = 0\n" + //
+                        "    for i in range(n):\n" + //
+                        "        r = add(r, i)\n" + //
+                        "    return r\n" + //
+                        "def strs(n):\n" + //
+                        "    r = ''\n" + //
+                        "    for i in range(n):\n" + //
+                        "        r = add(r, 'a')\n" + //
+                        "    return r\n" + //
+                        "for i in range(3):\n" + //
+                        "    print(ints(20), len(strs(20)))\n";
+
+        PythonParseResult result = assertPrints("190 20\n190 20\n190 20\n", source);
+        DirectCallNode intsCall = findCallTo("add", result.getFunctionRoot("ints"));
+        DirectCallNode strsCall = findCallTo("add", result.getFunctionRoot("strs"));
+        Assume.assumeTrue(strsCall.isCallTargetCloningAllowed());
+
+        // add was still monomorphic when the site in ints reached the threshold
+        assertFalse(intsCall.isCallTargetCloned());
+        assertTrue(strsCall.isCallTargetCloned());
+    }
+
+    private static DirectCallNode findCallTo(String functionName, RootNode caller) {
+        for (InvokeNode invoke : NodeUtil.findAllNodeInstances(caller, InvokeNode.class)) {
+            RootNode callee = ((RootCallTarget) invoke.getDirectCallNode().getCallTarget()).getRootNode();
+            if (callee instanceof FunctionRootNode && ((FunctionRootNode) callee).getFunctionName().equals(functionName)) {
+                return invoke.getDirectCallNode();
+            }
+        }
+
+        throw new AssertionError("no call to " + functionName + " in " + caller);
+    }
+
+    @Test
+    public void mutualRecursionSplitting() {
+        String source = "def even(n, x):\n" + //
+                        "    if n == 0:\n" + //
+                        "        return x\n" + //
+                        "    return odd(n - 1, x + x)\n" + //
+                        "def odd(n, x):\n" + //
+                        "    if n == 0:\n" + //
+                        "        return x\n" + //
+                        "    return even(n - 1, x + x)\n" + //
+                        "for i in range(30):\n" + //
+                        "    a = even(6, 1)\n" + //
+                        "    b = odd(3, 'a')\n" + //
+                        "print(a, b)\n";
+
+        assertPrints("64 aaaaaaaa\n", source);
+    }
+
     @Test
     public void classFunction() {
         String source = "class Foo:\n" + //
@@ -184,10 +184,7 @@ public class ClassTests {
         assertPrints("4\n", source);
     }
 
-    /**
-     * zwei: Disabled before MRO is wired in for attribute access look up.
-     */
-    // @Test
+    @Test
     public void multipleInheritance() {
         String source = "class common:\n" + //
                         "    def __repr__(self):\n" + //
@@ -203,4 +200,87 @@ public class ClassTests {
         assertPrints("common\n", source);
     }
 
+    @Test
+    public void diamondInheritance() {
+        String source = "class A:\n" + //
+                        "    def who(self):\n" + //
+                        "        return 'A'\n" + //
+                        "class B(A):\n" + //
+                        "    pass\n" + //
+                        "class C(A):\n" + //
+                        "    def who(self):\n" + //
+                        "        return 'C'\n" + //
+                        "class D(B, C):\n" + //
+                        "    pass\n" + //
+                        "d = D()\n" + //
+                        "for i in range(3):\n" + //
+                        "    print(d.who())\n" + //
+                        "    if i == 1:\n" + //
+                        "        B.who = lambda self: 'B'\n";
+        assertPrints("C\nC\nB\n", source);
+    }
+
+    @Test
+    public void slots() {
+        String source = "class Point:\n" + //
+                        "    __slots__ = ('x', 'y')\n" + //
+                        "    def __init__(self, x, y):\n" + //
+                        "        self.x = x\n" + //
+                        "        self.y = y\n" + //
+                        "    def norm1(self):\n" + //
+                        "        return abs(self.x) + abs(self.y)\n" + //
+                        "p = Point(1, -2)\n" + //
+                        "p.x = 4.5\n" + //
+                        "print(p.norm1())\n" + //
+                        "try:\n" + //
+                        "    p.z = 3\n" + //
+                        "except AttributeError:\n" + //
+                        "    print('no z')\n" + //
+                        "del p.y\n" + //
+                        "try:\n" + //
+                        "    p.y\n" + //
+                        "except AttributeError:\n" + //
+                        "    print('no y')\n";
+        assertPrints("6.5\nno z\nno y\n", source);
+    }
+
+    @Test
+    public void slotsInheritance() {
+        String source = "class Base:\n" + //
+                        "    __slots__ = 'a'\n" + //
+                        "class Derived(Base):\n" + //
+                        "    __slots__ = ['b']\n" + //
+                        "    def __init__(self):\n" + //
+                        "        self.a = 1\n" + //
+                        "        self.b = 2\n" + //
+                        "for i in range(3):\n" + //
+                        "    d = Derived()\n" + //
+                        "    print(d.a + d.b)\n";
+        assertPrints("3\n3\n3\n", source);
+    }
+
+    @Test
+    public void constructorSpilledAttributes() {
+        String source = "class Record:\n" + //
+                        "    def __init__(self, n):\n" + //
+                        "        self.i0 = n + 0\n" + //
+                        "        self.i1 = n + 1\n" + //
+                        "        self.i2 = n + 2\n" + //
+                        "        self.i3 = n + 3\n" + //
+                        "        self.i4 = n + 4\n" + //
+                        "        self.i5 = n + 5\n" + //
+                        "        self.s0 = str(n)\n" + //
+                        "        self.s1 = str(n)\n" + //
+                        "        self.s2 = str(n)\n" + //
+                        "        self.s3 = str(n)\n" + //
+                        "        self.s4 = str(n)\n" + //
+                        "        self.s5 = str(n)\n" + //
+                        "total = 0\n" + //
+                        "for n in range(20):\n" + //
+                        "    r = Record(n)\n" + //
+                        "    total += r.i0 + r.i5 + len(r.s5)\n" + //
+                        "print(total)\n";
+        assertPrints("510\n", source);
+    }
+
 }
@@ -42,4 +42,33 @@ public class GlobalVarTests {
         assertPrints("20\n20\n", source);
     }
 
+    @Test
+    public void rebindGlobalFunction() {
+        String source = "def one():\n" + //
+                        "  return 1\n" + //
+                        "def two():\n" + //
+                        "  return 2\n" + //
+                        "f = one\n" + //
+                        "def call():\n" + //
+                        "  return f()\n" + //
+                        "total = 0\n" + //
+                        "for i in range(10):\n" + //
+                        "  total += call()\n" + //
+                        "  if i == 4:\n" + //
+                        "    f = two\n" + //
+                        "print(total)\n";
+        assertPrints("15\n", source);
+    }
+
+    @Test
+    public void shadowBuiltin() {
+        String source = "def size(x):\n" + //
+                        "  return len(x)\n" + //
+                        "print(size([1, 2]))\n" + //
+                        "def len(x):\n" + //
+                        "  return 42\n" + //
+                        "print(size([1, 2]))\n";
+        assertPrints("2\n42\n", source);
+    }
+
 }
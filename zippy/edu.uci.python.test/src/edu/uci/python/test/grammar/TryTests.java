@@ -187,6 +187,73 @@ public class TryTests {
         assertPrints("", source);
     }
 
+    @Test
+    public void integerZeroDivide() {
+        String source = "def divide(a, b):\n" + //
+                        "    try:\n" + //
+                        "        return a // b\n" + //
+                        "    except ZeroDivisionError as e:\n" + //
+                        "        return str(e)\n" + //
+                        "def modulo(a, b):\n" + //
+                        "    try:\n" + //
+                        "        return a % b\n" + //
+                        "    except ZeroDivisionError:\n" + //
+                        "        return -1\n" + //
+                        "print(divide(7, 2), divide(7, 0))\n" + //
+                        "print(modulo(7, 2), modulo(-7, 0), modulo(2 ** 70, 0))\n" + //
+                        "try:\n" + //
+                        "    divmod(7, 0)\n" + //
+                        "except ZeroDivisionError:\n" + //
+                        "    print(\"divmod\")\n" + //
+                        "try:\n" + //
+                        "    2 ** 70 / 0\n" + //
+                        "except ZeroDivisionError as e:\n" + //
+                        "    print(e)\n";
+
+        assertPrints("3 integer division or modulo by zero\n1 -1 -1\ndivmod\ndivide by zero\n", source);
+    }
+
+    @Test
+    public void exceptionDrivenLoop() {
+        String source = "def lookup(d, keys):\n" + //
+                        "    hits = 0\n" + //
+                        "    misses = 0\n" + //
+                        "    for k in keys:\n" + //
+                        "        try:\n" + //
+                        "            hits += d[k]\n" + //
+                        "        except KeyError:\n" + //
+                        "            misses += 1\n" + //
+                        "    return hits, misses\n" + //
+                        "\n" + //
+                        "def check(n):\n" + //
+                        "    if n < 0:\n" + //
+                        "        raise ValueError(\"negative\")\n" + //
+                        "    return n\n" + //
+                        "\n" + //
+                        "d = {'a': 1, 'b': 2}\n" + //
+                        "for i in range(3):\n" + //
+                        "    print(lookup(d, ['a', 'x', 'b', 'y', 'z']))\n" + //
+                        "\n" + //
+                        "total = 0\n" + //
+                        "for n in [1, -1, 2, -2]:\n" + //
+                        "    try:\n" + //
+                        "        total += check(n)\n" + //
+                        "    except ValueError:\n" + //
+                        "        total -= 10\n" + //
+                        "print(total)\n" + //
+                        "\n" + //
+                        "try:\n" + //
+                        "    try:\n" + //
+                        "        {}['k']\n" + //
+                        "    except KeyError:\n" + //
+                        "        print(\"inner\")\n" + //
+                        "        raise\n" + //
+                        "except KeyError:\n" + //
+                        "    print(\"outer\")\n";
+
+        assertPrints("(3, 3)\n(3, 3)\n(3, 3)\n-17\ninner\nouter\n", source);
+    }
+
     @Test
     public void scriptTryTest() {
         Path script = Paths.get("raise-try-test.py");
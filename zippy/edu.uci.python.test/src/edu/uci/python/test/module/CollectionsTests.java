@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.module;
+
+import org.junit.*;
+import static edu.uci.python.test.PythonTests.*;
+
+public class CollectionsTests {
+
+    @Test
+    public void deque() {
+        String source = "from collections import deque\n" + //
+                        "d = deque([1, 2, 3])\n" + //
+                        "d.append(4)\n" + //
+                        "d.appendleft(0)\n" + //
+                        "print(d, len(d), d[0], d[-1])\n" + //
+                        "print(d.pop(), d.popleft(), d)\n" + //
+                        "d.rotate(1)\n" + //
+                        "print(d, 2 in d, 9 in d)\n";
+        assertPrints("deque([0, 1, 2, 3, 4]) 5 0 4\n4 0 deque([1, 2, 3])\ndeque([3, 1, 2]) True False\n", source);
+    }
+
+    @Test
+    public void dequeGrowAndBound() {
+        String source = "from collections import deque\n" + //
+                        "q = deque()\n" + //
+                        "for i in range(100):\n" + //
+                        "    q.appendleft(i)\n" + //
+                        "    if i % 3 == 0:\n" + //
+                        "        q.pop()\n" + //
+                        "total = 0\n" + //
+                        "while q:\n" + //
+                        "    total = total + q.popleft()\n" + //
+                        "b = deque('abcdef', maxlen=3)\n" + //
+                        "b.append('g')\n" + //
+                        "print(total, b, list(b))\n";
+        assertPrints("4389 deque(['e', 'f', 'g'], maxlen=3) ['e', 'f', 'g']\n", source);
+    }
+
+    @Test
+    public void defaultdict() {
+        String source = "from collections import defaultdict\n" + //
+                        "groups = defaultdict(list)\n" + //
+                        "for w in ['apple', 'avocado', 'banana']:\n" + //
+                        "    groups[w[0]].append(w)\n" + //
+                        "counts = defaultdict(int)\n" + //
+                        "for c in 'mississippi':\n" + //
+                        "    counts[c] += 1\n" + //
+                        "print(groups['a'], groups['b'], len(groups))\n" + //
+                        "print(counts['s'], counts['p'], counts.get('z', -1), list(counts.keys()))\n";
+        assertPrints("['apple', 'avocado'] ['banana'] 2\n4 2 -1 ['m', 'i', 's', 'p']\n", source);
+    }
+
+    @Test
+    public void counter() {
+        String source = "from collections import Counter\n" + //
+                        "c = Counter('abracadabra')\n" + //
+                        "print(c.most_common(2), c['a'], c['z'], 'z' in c)\n" + //
+                        "c.update(['a', 'z'])\n" + //
+                        "c.subtract('aaa')\n" + //
+                        "print(c['a'], c['z'], Counter(['x', 'y', 'x']))\n";
+        assertPrints("[('a', 5), ('b', 2)] 5 0 False\n3 1 Counter({'x': 2, 'y': 1})\n", source);
+    }
+
+    @Test
+    public void orderedDict() {
+        String source = "from collections import OrderedDict\n" + //
+                        "o = OrderedDict()\n" + //
+                        "o['b'] = 1\n" + //
+                        "o['a'] = 2\n" + //
+                        "o['c'] = 3\n" + //
+                        "o.move_to_end('b')\n" + //
+                        "print(o)\n" + //
+                        "o.move_to_end('c', last=False)\n" + //
+                        "print(list(o.keys()), o.popitem(last=False), o.popitem())\n";
+        assertPrints("OrderedDict([('a', 2), ('c', 3), ('b', 1)])\n['c', 'a', 'b'] ('c', 3) ('b', 1)\n", source);
+    }
+
+    @Test
+    public void namedtuple() {
+        String source = "from collections import namedtuple\n" + //
+                        "Point = namedtuple('Point', 'x, y')\n" + //
+                        "p = Point(1, y=2)\n" + //
+                        "x, y = p\n" + //
+                        "print(p, p.x + p[1], x, y, len(p), p == Point(1, 2))\n" + //
+                        "print(p._replace(y=5), Point._fields, Point._make([7, 8]))\n" + //
+                        "s = 0\n" + //
+                        "for i in range(1000):\n" + //
+                        "    q = Point(i, i + 1)\n" + //
+                        "    s = s + q.x * q.y\n" + //
+                        "print(s)\n";
+        assertPrints("Point(x=1, y=2) 3 1 2 2 True\nPoint(x=1, y=5) ('x', 'y') Point(x=7, y=8)\n333333000\n", source);
+    }
+
+    @Test
+    public void namedtupleEqualsNonSequence() {
+        String source = "from collections import namedtuple\n" + //
+                        "Point = namedtuple('Point', 'x, y')\n" + //
+                        "p = Point(1, 2)\n" + //
+                        "print(p == (1, 2), p == [1, 2], p == 'ab', p == 1.5, p == None, p != 3)\n";
+        assertPrints("True False False False False True\n", source);
+    }
+
+}
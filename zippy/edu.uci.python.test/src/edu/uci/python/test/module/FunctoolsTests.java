@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.module;
+
+import org.junit.*;
+import static edu.uci.python.test.PythonTests.*;
+
+public class FunctoolsTests {
+
+    @Test
+    public void reduce() {
+        String source = "from functools import reduce\n" + //
+                        "print(reduce(lambda x, y: x + y, [1, 2, 3, 4, 5]))\n" + //
+                        "print(reduce(lambda x, y: x * y, range(1, 6), 10))\n" + //
+                        "print(reduce(lambda x, y: y + x, 'abc'))\n" + //
+                        "try:\n" + //
+                        "    reduce(lambda x, y: x, [])\n" + //
+                        "except TypeError:\n" + //
+                        "    print('empty')\n";
+        assertPrints("15\n1200\ncba\nempty\n", source);
+    }
+
+    @Test
+    public void partial() {
+        String source = "from functools import partial\n" + //
+                        "def power(base, exp):\n" + //
+                        "    return base ** exp\n" + //
+                        "square = partial(power, exp=2)\n" + //
+                        "two = partial(power, 2)\n" + //
+                        "total = 0\n" + //
+                        "for i in range(10):\n" + //
+                        "    total = total + square(i) + two(i)\n" + //
+                        "print(total, square(3, exp=3), partial(two, 10)())\n";
+        assertPrints("1308 27 1024\n", source);
+    }
+
+    @Test
+    public void lruCache() {
+        String source = "import functools\n" + //
+                        "@functools.lru_cache(maxsize=None)\n" + //
+                        "def fib(n):\n" + //
+                        "    if n < 2:\n" + //
+                        "        return n\n" + //
+                        "    return fib(n - 1) + fib(n - 2)\n" + //
+                        "print(fib(30))\n" + //
+                        "info = fib.cache_info()\n" + //
+                        "print(info.hits, info.misses, info.maxsize, info.currsize)\n";
+        assertPrints("832040\n28 31 None 31\n", source);
+    }
+
+    @Test
+    public void lruCacheEviction() {
+        String source = "from functools import lru_cache\n" + //
+                        "@lru_cache(maxsize=2)\n" + //
+                        "def square(x):\n" + //
+                        "    return x * x\n" + //
+                        "for i in [1, 2, 1, 3, 2, 1]:\n" + //
+                        "    square(i)\n" + //
+                        "info = square.cache_info()\n" + //
+                        "print(info.hits, info.misses, info.currsize)\n" + //
+                        "square.cache_clear()\n" + //
+                        "print(square.cache_info().currsize)\n";
+        assertPrints("1 5 2\n0\n", source);
+    }
+
+    @Test
+    public void lruCachePositionalMaxsize() {
+        String source = "from functools import lru_cache\n" + //
+                        "@lru_cache(None)\n" + //
+                        "def unbounded(x):\n" + //
+                        "    return x\n" + //
+                        "@lru_cache()\n" + //
+                        "def bounded(x):\n" + //
+                        "    return x\n" + //
+                        "for i in range(200):\n" + //
+                        "    unbounded(i)\n" + //
+                        "    bounded(i)\n" + //
+                        "print(unbounded.cache_info().maxsize, unbounded.cache_info().currsize)\n" + //
+                        "print(bounded.cache_info().maxsize, bounded.cache_info().currsize)\n";
+        assertPrints("None 200\n128 128\n", source);
+    }
+
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.module;
+
+import org.junit.*;
+import static edu.uci.python.test.PythonTests.*;
+
+public class StructTests {
+
+    @Test
+    public void packUnpack() {
+        String source = "import struct\n" + //
+                        "b = struct.pack('<iHd', -5, 65535, 2.5)\n" + //
+                        "print(len(b), struct.calcsize('<iHd'), struct.calcsize('@bi'))\n" + //
+                        "print(struct.unpack('<iHd', b))\n" + //
+                        "print(struct.pack('>hh', 1, -2))\n" + //
+                        "print(struct.unpack('>I', b'\\xff\\xff\\xff\\xff'))\n";
+        assertPrints("14 14 8\n(-5, 65535, 2.5)\nb'\\x00\\x01\\xff\\xfe'\n(4294967295,)\n", source);
+    }
+
+    @Test
+    public void strings() {
+        String source = "import struct\n" + //
+                        "b = struct.pack('>4sp?c', b'ab', b'xyz', True, b'!')\n" + //
+                        "print(b, struct.unpack('>4sp?c', b))\n";
+        assertPrints("b'ab\\x00\\x00\\x00\\x01!' (b'ab\\x00\\x00', b'', True, b'!')\n", source);
+    }
+
+    @Test
+    public void structObjectAndBuffers() {
+        String source = "import struct\n" + //
+                        "s = struct.Struct('<ii')\n" + //
+                        "buf = bytearray(8)\n" + //
+                        "struct.pack_into('<ii', buf, 0, 7, 8)\n" + //
+                        "print(s.unpack(buf), struct.unpack_from('<i', buf, 4))\n" + //
+                        "total = 0\n" + //
+                        "for a, b in s.iter_unpack(s.pack(1, 2) * 3):\n" + //
+                        "    total = total + a * b\n" + //
+                        "print(total)\n";
+        assertPrints("(7, 8) (8,)\n6\n", source);
+    }
+
+    @Test
+    public void error() {
+        String source = "import struct\n" + //
+                        "try:\n" + //
+                        "    struct.pack('<h', 70000)\n" + //
+                        "except struct.error:\n" + //
+                        "    print('range')\n" + //
+                        "try:\n" + //
+                        "    struct.unpack('<i', b'ab')\n" + //
+                        "except struct.error:\n" + //
+                        "    print('size')\n";
+        assertPrints("range\nsize\n", source);
+    }
+
+}
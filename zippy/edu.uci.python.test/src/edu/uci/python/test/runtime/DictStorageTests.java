@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+public class DictStorageTests {
+
+    @Test
+    public void intKeys() {
+        IntKeyDictStorage store = new IntKeyDictStorage();
+
+        for (int i = 0; i < 100; i++) {
+            store.putInt(i * 3, i);
+        }
+
+        assertEquals(100, store.length());
+        assertEquals(33, store.getInt(99));
+        assertNull(store.getInt(1));
+        assertEquals(33, store.get(99L));
+        assertEquals(33, store.get(99.0));
+        assertEquals(33, store.remove(99));
+        assertNull(store.get(99));
+    }
+
+    @Test
+    public void stringKeysOrder() {
+        StringKeyDictStorage store = new StringKeyDictStorage();
+        store.putString("b", 1);
+        store.putString("a", 2);
+        store.putString("b", 3);
+        assertArrayEquals(new Object[]{"a", 2}, store.removeLast());
+        assertEquals("b", store.keyIterator().next());
+        assertEquals(3, store.get("b"));
+    }
+
+    @Test
+    public void generalize() throws SequenceStoreException {
+        DictStorage store = EmptyDictStorage.INSTANCE.generalizeFor(1);
+        assertTrue(store instanceof IntKeyDictStorage);
+        store.put(1, "one");
+        store.put(1.0, "uno");
+        assertEquals(1, store.length());
+
+        try {
+            store.put("two", 2);
+            fail();
+        } catch (SequenceStoreException e) {
+            store = store.generalizeFor("two");
+        }
+
+        assertTrue(store instanceof HashTable);
+        store.put("two", 2);
+        assertEquals("uno", store.get(1));
+        assertEquals(2, store.get("two"));
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        StringKeyDictStorage store = new StringKeyDictStorage();
+        store.putString("a", 1);
+        StringKeyDictStorage copy = store.copy();
+        store.putString("b", 2);
+        assertEquals(1, copy.length());
+        assertNull(copy.get("b"));
+    }
+
+    @Test
+    public void storeAfterLookup() {
+        IntKeyDictStorage store = new IntKeyDictStorage();
+
+        for (int i = 0; i < 1000; i++) {
+            final Object count = store.getInt(i % 37);
+            store.putInt(i % 37, count == null ? 1 : (int) count + 1);
+        }
+
+        assertEquals(37, store.length());
+        assertEquals(28, store.getInt(0));
+
+        assertEquals(27, store.getInt(5));
+        store.remove(5);
+        store.putInt(5, 0);
+        assertEquals(37, store.length());
+        assertEquals(0, store.getInt(5));
+    }
+
+}
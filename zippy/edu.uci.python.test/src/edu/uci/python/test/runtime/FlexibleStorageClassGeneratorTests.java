@@ -26,6 +26,7 @@ package edu.uci.python.test.runtime;
 
 import static org.junit.Assert.*;
 
+import java.lang.invoke.*;
 import java.lang.reflect.*;
 import java.nio.file.*;
 
@@ -121,6 +122,26 @@ public class FlexibleStorageClassGeneratorTests {
         assertTrue(instance != null);
     }
 
+    @Test
+    public void layoutConstructor() throws Throwable {
+        PythonContext context = PythonTests.getContext();
+        PythonClass pyclazz = new PythonClass(context, "Foo", context.getObjectClass());
+        PythonObject obj = PythonContext.newPythonObjectInstance(pyclazz);
+        obj.setAttribute("int0", 0);
+        new FlexibleStorageClassGenerator(pyclazz).generate();
+
+        // The layout constructor starts instances in the given layout without asking the class
+        FlexibleObjectLayout layout = (FlexibleObjectLayout) pyclazz.getInstanceObjectLayout();
+        MethodHandle layoutCtor = FlexibleStorageClassGenerator.lookupLayoutConstructor(layout.getStorageClass());
+        FlexiblePythonObjectStorage instance = (FlexiblePythonObjectStorage) layoutCtor.invokeExact(layout);
+
+        assertSame(layout.getStorageClass(), instance.getClass());
+        assertSame(layout, instance.getObjectLayout());
+        assertSame(pyclazz, instance.getPythonClass());
+        instance.setAttribute("int0", 42);
+        assertEquals(42, instance.getAttribute("int0"));
+    }
+
     @Test
     public void layoutSwitch() {
         PythonContext context = PythonTests.getContext();
@@ -153,10 +174,28 @@ public class FlexibleStorageClassGeneratorTests {
         }
     }
 
+    /**
+     * Flexible storage is on by default, but a class only switches to it after
+     * {@link PythonOptions#FlexibleObjectStorageThreshold} allocations. Switching on the first one,
+     * in the foreground, makes the scripts below run on generated storage classes.
+     */
+    private static final String[] EAGER_FLEXIBLE_STORAGE = {"disableBackgroundStorageClassGeneration"};
+    private static final String THRESHOLD_PROPERTY = "edu.uci.python.FlexibleObjectStorageThreshold";
+
+    private static void useFlexibleStorageImmediately() {
+        PythonOptions.setEnvOptions(EAGER_FLEXIBLE_STORAGE);
+        System.setProperty(THRESHOLD_PROPERTY, "1");
+    }
+
+    private static void resetStorageOptions() {
+        PythonOptions.unsetEnvOptions(EAGER_FLEXIBLE_STORAGE);
+        System.getProperties().remove(THRESHOLD_PROPERTY);
+    }
+
     @Test
     public void constructorNode() {
-        String[] options = {"FlexibleObjectStorage"};
-        PythonOptions.setEnvOptions(options);
+        useFlexibleStorageImmediately();
+        assertEquals(1, PythonTests.getContext().getPythonOptions().FlexibleObjectStorageThreshold);
 
         String source = "class Foo:\n" + //
                         "    def __init__(self, n):\n" + //
@@ -167,29 +206,64 @@ public class FlexibleStorageClassGeneratorTests {
                         "\n";
         PythonTests.assertPrints("0\n1\n2\n", source);
 
-        PythonOptions.unsetEnvOptions(options);
+        resetStorageOptions();
     }
 
     @Test
     public void layoutChange() {
-        String[] options = {"FlexibleObjectStorage"};
-        PythonOptions.setEnvOptions(options);
-        assertTrue(PythonOptions.isEnvOptionSet("FlexibleObjectStorage"));
+        useFlexibleStorageImmediately();
 
         Path script = Paths.get("object-layout-change-after-ctor-test.py");
         PythonTests.assertPrints("42\n43\n", script);
 
-        PythonOptions.unsetEnvOptions(options);
+        resetStorageOptions();
     }
 
     @Test
     public void layoutChangeInLoop() {
-        String[] options = {"FlexibleObjectStorage"};
+        useFlexibleStorageImmediately();
+
+        Path script = Paths.get("object-layout-change-in-loop-test.py");
+        PythonTests.assertPrints("1013\n", script);
+
+        resetStorageOptions();
+    }
+
+    @Test
+    public void layoutChangeInLoopFixedStorage() {
+        String[] options = {"disableFlexibleObjectStorage"};
         PythonOptions.setEnvOptions(options);
+        assertFalse(PythonTests.getContext().getPythonOptions().FlexibleObjectStorage);
 
         Path script = Paths.get("object-layout-change-in-loop-test.py");
         PythonTests.assertPrints("1013\n", script);
 
         PythonOptions.unsetEnvOptions(options);
     }
+
+    @Test
+    public void allocationProfile() throws InterruptedException {
+        PythonContext context = PythonTests.getContext();
+        PythonClass pyclazz = new PythonClass(context, "Foo", context.getObjectClass());
+        PythonObject obj = PythonContext.newPythonObjectInstance(pyclazz);
+        obj.setAttribute("int0", 0);
+
+        // Nothing is generated before the layout has been stable for a while.
+        for (int i = 0; i < context.getPythonOptions().FlexibleObjectStorageThreshold; i++) {
+            assertFalse(pyclazz.profileFixedInstanceAllocation());
+        }
+
+        for (int i = 0; i < 1000 && !pyclazz.profileFixedInstanceAllocation(); i++) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(pyclazz.getInstanceObjectLayout() instanceof FlexibleObjectLayout);
+        assertTrue(pyclazz.newInstance() instanceof FlexiblePythonObjectStorage);
+
+        // The fixed instance allocated before the switch stays usable.
+        obj.setAttribute("int1", 1);
+        assertTrue(obj.getObjectLayout() instanceof FixedObjectLayout);
+        assertEquals(0, obj.getAttribute("int0"));
+        assertEquals(1, obj.getAttribute("int1"));
+    }
 }
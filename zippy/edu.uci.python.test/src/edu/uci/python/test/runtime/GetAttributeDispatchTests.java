@@ -34,6 +34,7 @@ import org.junit.*;
 
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.nodes.object.DispatchBoxedNode.GenericDispatchBoxedNode;
 import edu.uci.python.nodes.object.DispatchUnboxedNode.*;
 import edu.uci.python.runtime.*;
 
@@ -134,4 +135,28 @@ public class GetAttributeDispatchTests {
         assertTrue(uninitialized.size() == 0);
     }
 
+    @Test
+    public void boxedAttributeMegamorphic() {
+        String source = "classes = []\n" + //
+                        "for i in range(12):\n" + //
+                        "    class A:\n" + //
+                        "        def __init__(self, num):\n" + //
+                        "            self.num = num\n" + //
+                        "    classes.append(A)\n" + //
+                        "objs = []\n" + //
+                        "for i in range(12):\n" + //
+                        "    objs.append(classes[i](i))\n" + //
+                        "total = 0\n" + //
+                        "for i in range(2):\n" + //
+                        "    for o in objs:\n" + //
+                        "        total += o.num\n" + //
+                        "print(total)\n";
+        PythonParseResult result = assertPrints("132\n", source);
+        RootNode root = result.getModuleRoot();
+
+        // the chain collapses into a single generic dispatch node
+        List<GenericDispatchBoxedNode> generic = NodeUtil.findAllNodeInstances(root, GenericDispatchBoxedNode.class);
+        assertTrue(generic.size() == 1);
+    }
+
 }
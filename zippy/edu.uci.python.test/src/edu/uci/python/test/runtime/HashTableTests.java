@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import java.util.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.datatype.*;
+
+public class HashTableTests {
+
+    @Test
+    public void putAndGet() {
+        HashTable table = new HashTable();
+
+        for (int i = 0; i < 100; i++) {
+            table.put(i, "v" + i);
+        }
+
+        assertEquals(100, table.length());
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals("v" + i, table.get(i));
+        }
+
+        assertNull(table.get(100));
+    }
+
+    @Test
+    public void overwrite() {
+        HashTable table = new HashTable();
+        table.put("a", 1);
+        table.put("a", 2);
+        assertEquals(1, table.length());
+        assertEquals(2, table.get("a"));
+    }
+
+    @Test
+    public void removeKeepsOrder() {
+        HashTable table = new HashTable();
+        table.put("c", 1);
+        table.put("a", 2);
+        table.put("b", 3);
+        assertEquals(2, table.remove("a"));
+        assertNull(table.remove("a"));
+        table.put("a", 4);
+
+        List<Object> keys = new ArrayList<>();
+        Iterator<Object> iter = table.keyIterator();
+
+        while (iter.hasNext()) {
+            keys.add(iter.next());
+        }
+
+        assertEquals(Arrays.asList("c", "b", "a"), keys);
+    }
+
+    @Test
+    public void compactAfterChurn() {
+        HashTable table = new HashTable();
+
+        for (int i = 0; i < 10000; i++) {
+            table.put(i, i);
+            table.remove(i);
+        }
+
+        assertEquals(0, table.length());
+        assertFalse(table.keyIterator().hasNext());
+    }
+
+    @Test
+    public void numericKeysUnify() {
+        HashTable table = new HashTable();
+        table.put(1, "int");
+        table.put(1L, "long");
+        table.put(1.0, "double");
+        table.put(true, "bool");
+        assertEquals(1, table.length());
+        assertEquals("bool", table.get(1));
+        assertEquals(HashTable.hash(42), HashTable.hash(42.0));
+        assertEquals(HashTable.hash(-1), HashTable.hash(-1L));
+    }
+
+}
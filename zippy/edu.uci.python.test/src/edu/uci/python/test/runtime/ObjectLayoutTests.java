@@ -71,10 +71,11 @@ public class ObjectLayoutTests {
             obj.setAttribute("foo" + i, i);
         }
 
+        // Ints past the primitive fields stay unboxed in the primitive spill array
         final ObjectLayout layout = obj.getObjectLayout();
-        int objectStorageLocationUsed = layout.getObjectStorageLocationsUsed();
-        assertEquals(100 - FixedPythonObjectStorage.PRIMITIVE_INT_STORAGE_LOCATIONS_COUNT - //
-                        FixedPythonObjectStorage.FIELD_OBJECT_STORAGE_LOCATIONS_COUNT, objectStorageLocationUsed);
+        assertEquals(0, layout.getObjectStorageLocationsUsed());
+        assertEquals(100 - FixedPythonObjectStorage.PRIMITIVE_INT_STORAGE_LOCATIONS_COUNT, layout.getPrimitiveSpillLocationsUsed());
+        assertTrue(obj.getOwnValidLocation("foo99") instanceof ArrayIntStorageLocation);
 
         for (int i = 0; i < 100; i++) {
             assertEquals(i, obj.getAttribute("foo" + i));
@@ -145,4 +146,130 @@ public class ObjectLayoutTests {
         assertTrue(obj.isOwnAttribute("foo"));
     }
 
+    @Test
+    public void layoutTransitionReused() {
+        final PythonContext context = PythonTests.getContext();
+        final PythonClass classA = new PythonClass(context, "A", new PythonClass[]{});
+        final ObjectLayout empty = classA.getInstanceObjectLayout();
+        final PythonObject obj0 = new DummyPythonBasicObject(classA);
+        final PythonObject obj1 = new DummyPythonBasicObject(classA);
+        obj0.setAttribute("foo", 42);
+        final ObjectLayout withFoo = obj0.getObjectLayout();
+
+        // Adding an attribute leaves the empty layout valid for obj1, only allocations move on
+        assertTrue(empty.getValidAssumption().isValid());
+        assertFalse(empty.getCtorValidAssumption().isValid());
+        assertSame(withFoo, classA.getInstanceObjectLayout());
+
+        // obj1 takes the cached transition instead of building its own layout
+        obj1.setAttribute("foo", 24);
+        assertSame(withFoo, obj1.getObjectLayout());
+        assertTrue(withFoo.getValidAssumption().isValid());
+        assertEquals(42, obj0.getAttribute("foo"));
+        assertEquals(24, obj1.getAttribute("foo"));
+    }
+
+    @Test
+    public void layoutExtensionKeepsLocations() {
+        final PythonContext context = PythonTests.getContext();
+        final PythonClass classA = new PythonClass(context, "A", new PythonClass[]{});
+        final PythonObject obj = new DummyPythonBasicObject(classA);
+        final PythonObject other = new DummyPythonBasicObject(classA);
+        obj.setAttribute("foo", 42);
+        obj.setAttribute("bar", "bar");
+        final StorageLocation fooLocation = obj.getOwnValidLocation("foo");
+
+        for (int i = 0; i < 20; i++) {
+            obj.setAttribute("baz" + i, "baz");
+        }
+
+        assertSame(fooLocation, obj.getOwnValidLocation("foo"));
+        assertEquals(42, obj.getAttribute("foo"));
+        assertEquals("bar", obj.getAttribute("bar"));
+        assertEquals("baz", obj.getAttribute("baz19"));
+
+        // A stale instance of the class catches up with the current layout
+        other.setAttribute("foo", 1);
+        assertEquals(1, other.getAttribute("foo"));
+        assertEquals(42, obj.getAttribute("foo"));
+    }
+
+    @Test
+    public void primitiveSpillAttributes() {
+        final PythonContext context = PythonTests.getContext();
+        final PythonClass classA = new PythonClass(context, "A", new PythonClass[]{});
+        final PythonObject obj = new DummyPythonBasicObject(classA);
+
+        for (int i = 0; i < 80; i++) {
+            obj.setAttribute("double" + i, i * 0.5);
+            obj.setAttribute("boolean" + i, i % 2 == 0);
+        }
+
+        assertTrue(obj.getOwnValidLocation("double79") instanceof ArrayDoubleStorageLocation);
+        assertTrue(obj.getOwnValidLocation("boolean79") instanceof ArrayBooleanStorageLocation);
+        assertEquals(0, obj.getObjectLayout().getObjectStorageLocationsUsed());
+
+        for (int i = 0; i < 80; i++) {
+            assertEquals(i * 0.5, obj.getAttribute("double" + i));
+            assertEquals(i % 2 == 0, obj.getAttribute("boolean" + i));
+        }
+
+        // Generalizing a spilled primitive moves it to an object location
+        obj.setAttribute("double70", "double");
+        assertEquals("double", obj.getAttribute("double70"));
+        assertEquals(34.5, obj.getAttribute("double69"));
+    }
+
+    @Test
+    public void compactHeader() {
+        final PythonContext context = PythonTests.getContext();
+        final PythonClass classA = new PythonClass(context, "A", new PythonClass[]{});
+        final PythonObject obj = new DummyPythonBasicObject(classA);
+        final PythonObject other = new DummyPythonBasicObject(classA);
+        final ObjectLayout emptyLayout = other.getObjectLayout();
+
+        // The class is reached through the layout
+        assertSame(classA, obj.getObjectLayout().getPythonClass());
+        assertSame(classA, obj.getPythonClass());
+
+        for (int i = 0; i < 10; i++) {
+            obj.setAttribute("object" + i, "object");
+        }
+
+        // Adding attributes leaves the shared empty layout valid, so other stays on it
+        assertTrue(obj.getSpillArray() != null);
+        other.syncObjectLayoutWithClass();
+        assertSame(emptyLayout, other.getObjectLayout());
+        assertNull(other.getObjectLayout().findStorageLocation("object9"));
+
+        // Spill arrays are only allocated by the instance that writes to them
+        assertNull(other.getSpillArray());
+
+        // Writing the same attributes follows the cached transitions to the same layout
+        for (int i = 0; i < 10; i++) {
+            other.setAttribute("object" + i, "spilled");
+        }
+
+        assertSame(obj.getObjectLayout(), other.getObjectLayout());
+        assertNotSame(obj.getSpillArray(), other.getSpillArray());
+        assertEquals("spilled", other.getAttribute("object9"));
+        assertEquals("object", obj.getAttribute("object9"));
+    }
+
+    @Test
+    public void privateLayout() {
+        final PythonContext context = PythonTests.getContext();
+        final PythonClass classA = new PythonClass(context, "A", new PythonClass[]{});
+        final ObjectLayout instanceLayout = classA.getInstanceObjectLayout();
+        final PythonObject obj = new DummyPythonBasicObject(classA);
+        obj.switchToPrivateLayout();
+        obj.setAttribute("foo", 42);
+
+        // A private layout never becomes the instance layout of its class
+        assertTrue(obj.usePrivateLayout());
+        assertSame(classA, obj.getPythonClass());
+        assertSame(instanceLayout, classA.getInstanceObjectLayout());
+        assertTrue(instanceLayout.getValidAssumption().isValid());
+    }
+
 }
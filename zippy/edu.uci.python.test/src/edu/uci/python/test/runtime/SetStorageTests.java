@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.sequence.storage.*;
+
+public class SetStorageTests {
+
+    @Test
+    public void intAddAndContains() {
+        IntSetStorage store = new IntSetStorage();
+
+        for (int i = 0; i < 100; i++) {
+            assertTrue(store.addInt(i * 7));
+        }
+
+        assertFalse(store.addInt(14));
+        assertEquals(100, store.length());
+        assertTrue(store.containsInt(693));
+        assertFalse(store.containsInt(1));
+        assertTrue(store.contains(14L));
+        assertTrue(store.contains(14.0));
+        assertFalse(store.contains("14"));
+    }
+
+    @Test
+    public void removeAndReinsert() {
+        IntSetStorage store = new IntSetStorage();
+
+        for (int i = 0; i < 50; i++) {
+            store.addInt(i);
+        }
+
+        for (int i = 0; i < 50; i += 2) {
+            assertTrue(store.remove(i));
+        }
+
+        assertFalse(store.remove(0));
+        assertEquals(25, store.length());
+
+        for (int i = 100; i < 200; i++) {
+            store.addInt(i);
+        }
+
+        assertEquals(125, store.length());
+        assertEquals(1, store.getInternalArray()[0]);
+        assertEquals(199, store.getInternalArray()[124]);
+    }
+
+    @Test
+    public void insertionOrder() {
+        StringSetStorage store = new StringSetStorage();
+        store.addString("c");
+        store.addString("a");
+        store.addString("b");
+        assertArrayEquals(new Object[]{"c", "a", "b"}, store.getInternalArray());
+    }
+
+    @Test
+    public void generalize() throws SequenceStoreException {
+        SetStorage store = EmptySetStorage.INSTANCE.generalizeFor(1);
+        assertTrue(store instanceof IntSetStorage);
+        store.add(1);
+        store.add(2);
+
+        try {
+            store.add("a");
+            fail();
+        } catch (SequenceStoreException e) {
+            store = store.generalizeFor("a");
+        }
+
+        assertTrue(store instanceof ObjectSetStorage);
+        store.add("a");
+        assertFalse(store.add(1.0));
+        assertArrayEquals(new Object[]{1, 2, "a"}, store.getInternalArray());
+    }
+
+    @Test
+    public void equalValueDoesNotGeneralize() throws SequenceStoreException {
+        DoubleSetStorage store = new DoubleSetStorage();
+        store.addDouble(2.0);
+        assertFalse(store.add(2));
+        assertEquals(1, store.length());
+    }
+
+    @Test
+    public void copyIsIndependent() {
+        LongSetStorage store = new LongSetStorage();
+        store.addLong(1L << 40);
+        SetStorage copy = store.copy();
+        store.addLong(3);
+        assertEquals(1, copy.length());
+        assertTrue(copy.contains(1L << 40));
+    }
+
+}
@@ -0,0 +1,47 @@
+# generator peeling with multiple yields, try/finally, tuple targets, methods and enumerate
+
+class Pairs:
+    def __init__(self, n):
+        self.n = n
+
+    def items(self):
+        for i in range(self.n):
+            yield i, i * 2
+
+    def __iter__(self):
+        for i in range(self.n):
+            yield i
+
+def stages(n):
+    for i in range(n):
+        if i % 2 == 0:
+            yield i
+        else:
+            yield -i
+
+def guarded(n, log):
+    try:
+        for i in range(n):
+            yield i
+    finally:
+        log.append(n)
+
+def call_generators():
+    total = 0
+    log = []
+    pairs = Pairs(10)
+    for i in range(500):
+        for k, v in pairs.items():
+            total += k + v
+        for x in pairs:
+            total += x
+        for x in stages(10):
+            total += x
+        for idx, x in enumerate(stages(10)):
+            total += idx * x
+        for x in guarded(10, log):
+            total += x
+    return total, len(log)
+
+for i in range(5):
+    print(call_generators())
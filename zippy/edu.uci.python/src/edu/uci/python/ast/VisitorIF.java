@@ -46,6 +46,7 @@ import edu.uci.python.nodes.generator.ListAppendNode;
 import edu.uci.python.nodes.generator.ReadGeneratorFrameVariableNode;
 import edu.uci.python.nodes.generator.WriteGeneratorFrameVariableNode;
 import edu.uci.python.nodes.generator.YieldNode;
+import edu.uci.python.nodes.generator.YieldToTargetNode;
 import edu.uci.python.nodes.literal.BigIntegerLiteralNode;
 import edu.uci.python.nodes.literal.BooleanLiteralNode;
 import edu.uci.python.nodes.literal.ComplexLiteralNode;
@@ -152,6 +153,8 @@ public interface VisitorIF<T> {
 
     public T visitYieldNode(YieldNode node) throws Exception;
 
+    public T visitYieldToTargetNode(YieldToTargetNode node) throws Exception;
+
     /*- literal */
     public T visitIntegerLiteralNode(IntegerLiteralNode node) throws Exception; //
 
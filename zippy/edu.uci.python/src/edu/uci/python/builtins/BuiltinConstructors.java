@@ -97,6 +97,59 @@ public final class BuiltinConstructors extends PythonBuiltins {
         }
     }
 
+    // bytearray([source[, encoding[, errors]]])
+    @Builtin(name = "bytearray", minNumOfArguments = 0, maxNumOfArguments = 3, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class ByteArrayNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PNone source, PNone encoding, PNone errors) {
+            return new PByteArray();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(int size, PNone encoding, PNone errors) {
+            return new PByteArray(BytesNode.zeros(size));
+        }
+
+        @Specialization
+        public PByteArray bytearray(String source, String encoding, Object errors) {
+            return new PByteArray(BytesNode.encode(source, encoding, errors));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PBytes source, PNone encoding, PNone errors) {
+            return new PByteArray(source.getInternalByteArray().clone());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PByteArray source, PNone encoding, PNone errors) {
+            return new PByteArray(source.toByteArray());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PIterable source, PNone encoding, PNone errors) {
+            return new PByteArray(PBytes.fromIterator(source.__iter__()));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PIterator source, PNone encoding, PNone errors) {
+            return new PByteArray(PBytes.fromIterator(source));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(Object source, Object encoding, Object errors) {
+            throw BytesNode.unsupportedSource(source);
+        }
+    }
+
     // bytes([source[, encoding[, errors]]])
     @Builtin(name = "bytes", minNumOfArguments = 0, maxNumOfArguments = 3, isConstructor = true)
     @GenerateNodeFactory
@@ -107,6 +160,68 @@ public final class BuiltinConstructors extends PythonBuiltins {
         public PBytes bytes(PNone source, PNone encoding, PNone errors) {
             return new PBytes();
         }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(int size, PNone encoding, PNone errors) {
+            return new PBytes(zeros(size));
+        }
+
+        @Specialization
+        public PBytes bytes(String source, String encoding, Object errors) {
+            return new PBytes(encode(source, encoding, errors));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PBytes source, PNone encoding, PNone errors) {
+            return source;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PByteArray source, PNone encoding, PNone errors) {
+            return new PBytes(source.toByteArray());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PIterable source, PNone encoding, PNone errors) {
+            return new PBytes(PBytes.fromIterator(source.__iter__()));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PIterator source, PNone encoding, PNone errors) {
+            return new PBytes(PBytes.fromIterator(source));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(Object source, Object encoding, Object errors) {
+            throw unsupportedSource(source);
+        }
+
+        protected static byte[] zeros(int size) {
+            if (size < 0) {
+                throw Py.ValueError("negative count");
+            }
+
+            return new byte[size];
+        }
+
+        protected static byte[] encode(String source, String encoding, Object errors) {
+            return PBytes.encode(source, encoding, errors instanceof String || errors instanceof PString ? errors.toString() : "strict");
+        }
+
+        @TruffleBoundary
+        protected static RuntimeException unsupportedSource(Object source) {
+            if (source instanceof String || source instanceof PString) {
+                return Py.TypeError("string argument without an encoding");
+            }
+
+            return Py.TypeError("cannot convert '" + PythonTypesUtil.getPythonTypeName(source) + "' object to bytes");
+        }
     }
 
     // complex([real[, imag]])
@@ -133,12 +248,12 @@ public final class BuiltinConstructors extends PythonBuiltins {
 
         @Specialization
         public PComplex complexFromObjectObject(Object real, Object imaginary) {
-            if (real instanceof String) {
+            if (real instanceof String || real instanceof PString) {
                 if (!(imaginary instanceof PNone)) {
                     throw Py.TypeError("complex() can't take second arg if first is a string");
                 }
 
-                String realPart = (String) real;
+                String realPart = real.toString();
                 return JavaTypeConversions.convertStringToComplex(realPart);
             }
 
@@ -161,7 +276,7 @@ public final class BuiltinConstructors extends PythonBuiltins {
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsDict(args)"})
         public PDict dictFromDict(PTuple args) {
-            return new PDict(((PDict) args.getItem(0)).getMap());
+            return new PDict((PDict) args.getItem(0));
         }
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsIterable(args)"})
@@ -347,6 +462,12 @@ public final class BuiltinConstructors extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class ListNode extends PythonBuiltinNode {
 
+        @SuppressWarnings("unused")
+        @Specialization
+        public PList listEmpty(PNone none) {
+            return new PList();
+        }
+
         @Specialization
         public PList listString(String arg) {
             char[] chars = arg.toCharArray();
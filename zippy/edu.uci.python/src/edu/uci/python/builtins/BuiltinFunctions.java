@@ -291,11 +291,19 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Specialization
         public PTuple doInt(int a, int b) {
+            if (b == 0) {
+                throw PythonException.raise(Py.ZeroDivisionError, "integer division or modulo by zero");
+            }
+
             return new PTuple(new Object[]{a / b, a % b});
         }
 
         @Specialization
         public PTuple doBigInteger(BigInteger a, BigInteger b) {
+            if (b.signum() == 0) {
+                throw PythonException.raise(Py.ZeroDivisionError, "integer division or modulo by zero");
+            }
+
             return new PTuple(divideAndRemainderSlowStub(a, b));
         }
 
@@ -492,18 +500,10 @@ public final class BuiltinFunctions extends PythonBuiltins {
         }
 
         private static boolean isInstancePythonClass(PythonObject object, PythonClass clazz) {
-            if (object.getPythonClass().equals(clazz)) {
-                return true;
-            }
-
-            PythonClass superClass = object.getPythonClass().getSuperClass();
-
-            while (superClass != null) {
+            for (PythonClass superClass : object.getPythonClass().getMethodResolutionOrder()) {
                 if (superClass.equals(clazz)) {
                     return true;
                 }
-
-                superClass = superClass.getSuperClass();
             }
 
             if (object instanceof PythonClass) {
@@ -568,6 +568,31 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
             return false;
         }
+
+        /**
+         * Floats, booleans, None and the other unboxed values are matched by type name.
+         */
+        @TruffleBoundary
+        @Fallback
+        public boolean isinstance(Object obj, Object cls) {
+            final String typeName = obj instanceof Boolean ? "bool" : PythonTypesUtil.getPythonTypeName(obj);
+
+            if (cls instanceof PTuple) {
+                PTuple classTuple = (PTuple) cls;
+
+                for (int i = 0; i < classTuple.len(); i++) {
+                    Object item = classTuple.getItem(i);
+
+                    if (item instanceof PythonClass && ((PythonClass) item).getName().equals(typeName)) {
+                        return true;
+                    }
+                }
+
+                return false;
+            }
+
+            return cls instanceof PythonClass && ((PythonClass) cls).getName().equals(typeName);
+        }
     }
 
     // issubclass(class, classinfo)
@@ -587,15 +612,9 @@ public final class BuiltinFunctions extends PythonBuiltins {
              * TODO How do you check two classes are equal? Name comparison can't be true all the
              * time.
              */
-            if (clazz.getName().equals(clazzinfo.getName())) {
-                return true;
-            } else {
-                PythonClass superClass = clazz.getSuperClass();
-                while (superClass != null) {
-                    if (superClass.getName().equals(clazzinfo.getName())) {
-                        return true;
-                    }
-                    superClass = superClass.getSuperClass();
+            for (PythonClass superClass : clazz.getMethodResolutionOrder()) {
+                if (superClass.getName().equals(clazzinfo.getName())) {
+                    return true;
                 }
             }
 
@@ -965,10 +984,11 @@ public final class BuiltinFunctions extends PythonBuiltins {
             if (keywords != null) {
                 for (int i = 0; i < keywords.length; i++) { // not support file
                     PKeyword keyword = (PKeyword) keywords[i];
+                    Object value = keyword.getValue();
                     if (keyword.getName().equals("end")) {
-                        end = (String) keyword.getValue();
+                        end = value instanceof PString ? value.toString() : (String) value;
                     } else if (keyword.getName().equals("sep")) {
-                        sep = (String) keyword.getValue();
+                        sep = value instanceof PString ? value.toString() : (String) value;
                     }
                 }
             }
@@ -28,28 +28,52 @@ import java.util.HashMap;
 import java.util.Map;
 
 import edu.uci.python.builtins.module.ArrayModuleBuiltins;
+import edu.uci.python.builtins.module.CollectionsModuleBuiltins;
+import edu.uci.python.builtins.module.FunctoolsModuleBuiltins;
 import edu.uci.python.builtins.module.MathModuleBuiltins;
 import edu.uci.python.builtins.module.RandomModuleBuiltins;
+import edu.uci.python.builtins.module.ReModuleBuiltins;
+import edu.uci.python.builtins.module.StructModuleBuiltins;
 import edu.uci.python.builtins.module.TimeModuleBuiltins;
+import edu.uci.python.builtins.type.ByteArrayBuiltins;
+import edu.uci.python.builtins.type.BytesBuiltins;
+import edu.uci.python.builtins.type.CounterBuiltins;
+import edu.uci.python.builtins.type.DequeBuiltins;
 import edu.uci.python.builtins.type.DictBuiltins;
 import edu.uci.python.builtins.type.GeneratorBuiltins;
 import edu.uci.python.builtins.type.ListBuiltins;
+import edu.uci.python.builtins.type.LruCacheBuiltins;
+import edu.uci.python.builtins.type.MatchBuiltins;
 import edu.uci.python.builtins.type.ObjectBuiltins;
+import edu.uci.python.builtins.type.OrderedDictBuiltins;
+import edu.uci.python.builtins.type.PatternBuiltins;
 import edu.uci.python.builtins.type.SetBuiltins;
 import edu.uci.python.builtins.type.StringBuiltins;
+import edu.uci.python.builtins.type.StructBuiltins;
 import edu.uci.python.builtins.type.TupleBuiltins;
 import edu.uci.python.runtime.PythonContext;
 import edu.uci.python.runtime.builtin.PythonBuiltinClass;
 import edu.uci.python.runtime.builtin.PythonBuiltinsLookup;
+import edu.uci.python.runtime.datatype.PCounter;
+import edu.uci.python.runtime.datatype.PDefaultDict;
+import edu.uci.python.runtime.datatype.PDeque;
 import edu.uci.python.runtime.datatype.PDict;
 import edu.uci.python.runtime.datatype.PFloat;
 import edu.uci.python.runtime.datatype.PGenerator;
 import edu.uci.python.runtime.datatype.PInt;
+import edu.uci.python.runtime.datatype.POrderedDict;
 import edu.uci.python.runtime.function.PBuiltinFunction;
+import edu.uci.python.runtime.function.PLruCache;
+import edu.uci.python.runtime.function.PPartial;
+import edu.uci.python.runtime.regex.PMatch;
+import edu.uci.python.runtime.regex.PPattern;
+import edu.uci.python.runtime.sequence.PByteArray;
+import edu.uci.python.runtime.sequence.PBytes;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PSet;
 import edu.uci.python.runtime.sequence.PString;
 import edu.uci.python.runtime.sequence.PTuple;
+import edu.uci.python.runtime.struct.PStruct;
 import edu.uci.python.runtime.standardtype.PythonBuiltinObject;
 import edu.uci.python.runtime.standardtype.PythonModule;
 
@@ -77,6 +101,16 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
         addModule("time", createModule("time", context, new TimeModuleBuiltins()));
         addModule("math", createModule("math", context, new MathModuleBuiltins()));
         addModule("random", createModule("random", context, new RandomModuleBuiltins()));
+        addModule("re", createModule("re", context, new ReModuleBuiltins()));
+
+        PythonModule structModule = createModule("struct", context, new StructModuleBuiltins());
+        addModule("struct", structModule);
+
+        PythonModule collectionsModule = createModule("collections", context, new CollectionsModuleBuiltins());
+        addModule("collections", collectionsModule);
+
+        PythonModule functoolsModule = createModule("functools", context, new FunctoolsModuleBuiltins());
+        addModule("functools", functoolsModule);
 
         // Only populate builtins, no need to add it to the builtinTypes lookup.
         createType("object", context, builtinsModule, new ObjectBuiltins());
@@ -86,10 +120,23 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
         addType(PList.class, createType("list", context, builtinsModule, new ListBuiltins()));
         addType(PTuple.class, createType("tuple", context, builtinsModule, new TupleBuiltins()));
         addType(PString.class, createType("str", context, builtinsModule, new StringBuiltins()));
+        addType(PBytes.class, createType("bytes", context, builtinsModule, new BytesBuiltins()));
+        addType(PByteArray.class, createType("bytearray", context, builtinsModule, new BytesBuiltins(), new ByteArrayBuiltins()));
         addType(PDict.class, createType("dict", context, builtinsModule, new DictBuiltins()));
         addType(PSet.class, createType("set", context, builtinsModule, new SetBuiltins()));
 
         addType(PGenerator.class, createType("generator", context, new GeneratorBuiltins()));
+        addType(PPattern.class, createType("_sre.SRE_Pattern", context, new PatternBuiltins()));
+        addType(PMatch.class, createType("_sre.SRE_Match", context, new MatchBuiltins()));
+        addType(PStruct.class, createType("Struct", context, structModule, new StructBuiltins()));
+
+        addType(PDeque.class, createType("deque", context, collectionsModule, new DequeBuiltins()));
+        addType(PDefaultDict.class, createType("defaultdict", context, collectionsModule, new DictBuiltins()));
+        addType(PCounter.class, createType("Counter", context, collectionsModule, new DictBuiltins(), new CounterBuiltins()));
+        addType(POrderedDict.class, createType("OrderedDict", context, collectionsModule, new DictBuiltins(), new OrderedDictBuiltins()));
+
+        addType(PPartial.class, createType("partial", context, functoolsModule));
+        addType(PLruCache.class, createType("_lru_cache_wrapper", context, new LruCacheBuiltins()));
 
         return builtinsModule;
     }
@@ -112,9 +159,16 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
         return module;
     }
 
-    private static PythonBuiltinClass createType(String name, PythonContext context, PythonModule builtinsModule, PythonBuiltins builtins) {
-        PythonBuiltinClass clazz = (PythonBuiltinClass) builtinsModule.getAttribute(name);
-        addBuiltinsToClass(clazz, builtins, context);
+    /**
+     * Adds methods to a constructor class defined by the given module. Later builtins override
+     * earlier ones, which lets a dict flavor start from the plain dict methods.
+     */
+    private static PythonBuiltinClass createType(String name, PythonContext context, PythonModule module, PythonBuiltins... builtins) {
+        PythonBuiltinClass clazz = (PythonBuiltinClass) module.getAttribute(name);
+
+        for (PythonBuiltins builtin : builtins) {
+            addBuiltinsToClass(clazz, builtin, context);
+        }
         return clazz;
     }
 
@@ -171,6 +225,11 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
 
     public PythonModule lookupModule(String name) {
         PythonModule module = builtinModules.get(name);
+
+        if (module != null && name.equals("struct")) {
+            StructModuleBuiltins.installErrorType(module);
+        }
+
         return module;
     }
 
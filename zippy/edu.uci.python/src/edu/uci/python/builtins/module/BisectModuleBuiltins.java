@@ -71,8 +71,8 @@ public final class BisectModuleBuiltins extends PythonBuiltins {
         }
 
         public int getIndexRight(PSequence seq, Object key) {
-            if (key instanceof String) {
-                return binarySearchRightStr(seq, 0, seq.len() - 1, (String) key);
+            if (key instanceof String || key instanceof PString) {
+                return binarySearchRightStr(seq, 0, seq.len() - 1, key.toString());
             } else {
                 return binarySearchRightDouble(seq, 0, seq.len() - 1, (double) key);
             }
@@ -113,16 +113,16 @@ public final class BisectModuleBuiltins extends PythonBuiltins {
         public int binarySearchRightStr(PSequence seq, int start, int stop, String key) {
             if (start <= stop) {
                 int middle = (stop - start) / 2 + start;
-                if (((String) seq.getItem(middle)).compareTo(key) > 0) {
-                    if (middle - 1 >= 0 && ((String) seq.getItem(middle - 1)).compareTo(key) < 0) {
+                if (seq.getItem(middle).toString().compareTo(key) > 0) {
+                    if (middle - 1 >= 0 && seq.getItem(middle - 1).toString().compareTo(key) < 0) {
                         return middle;
                     } else if (middle - 1 <= 0) {
                         return 0;
                     } else {
                         return binarySearchRightStr(seq, start, middle - 1, key);
                     }
-                } else if (((String) seq.getItem(middle)).compareTo(key) < 0) {
-                    if (middle + 1 < seq.len() && ((String) seq.getItem(middle + 1)).compareTo(key) > 0) {
+                } else if (seq.getItem(middle).toString().compareTo(key) < 0) {
+                    if (middle + 1 < seq.len() && seq.getItem(middle + 1).toString().compareTo(key) > 0) {
                         return middle + 1;
                     } else if (middle + 1 >= seq.len() - 1) {
                         return seq.len();
@@ -131,7 +131,7 @@ public final class BisectModuleBuiltins extends PythonBuiltins {
                     }
                 } else {
                     int i = middle + 1;
-                    while (((String) seq.getItem(i)).compareTo(key) == 0 && i < seq.len()) {
+                    while (seq.getItem(i).toString().compareTo(key) == 0 && i < seq.len()) {
                         i++;
                     }
                     return i;
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.module;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * The collections module. deque, defaultdict, Counter and OrderedDict are built-in types; the dict
+ * flavors reuse the {@link PDict} storages. namedtuple defines an ordinary Python class whose
+ * __init__ assigns every field, so instances share one fixed object layout and field reads go
+ * through the usual attribute inline caches.
+ */
+public final class CollectionsModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return CollectionsModuleBuiltinsFactory.getFactories();
+    }
+
+    // deque([iterable[, maxlen]])
+    @Builtin(name = "deque", minNumOfArguments = 0, maxNumOfArguments = 2, takesKeywordArguments = true, keywordNames = {"maxlen"}, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class DequeNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PDeque deque(PNone iterable, Object maxlen, Object maxlenKeyword) {
+            return new PDeque(castToMaxlen(maxlen, maxlenKeyword));
+        }
+
+        @Specialization
+        public PDeque deque(PIterable iterable, Object maxlen, Object maxlenKeyword) {
+            PDeque deque = new PDeque(castToMaxlen(maxlen, maxlenKeyword));
+            deque.extend(iterable.__iter__());
+            return deque;
+        }
+
+        @Specialization
+        public PDeque deque(String iterable, Object maxlen, Object maxlenKeyword) {
+            return deque(new PString(iterable), maxlen, maxlenKeyword);
+        }
+
+        @Fallback
+        public PDeque deque(Object iterable, @SuppressWarnings("unused") Object maxlen, @SuppressWarnings("unused") Object maxlenKeyword) {
+            throw Py.TypeError("'" + iterable + "' object is not iterable");
+        }
+
+        private static int castToMaxlen(Object maxlen, Object maxlenKeyword) {
+            Object value = maxlenKeyword instanceof PKeyword ? ((PKeyword) maxlenKeyword).getValue() : maxlen;
+
+            if (value instanceof PNone) {
+                return PDeque.UNBOUNDED;
+            }
+
+            if (!(value instanceof Integer) || (int) value < 0) {
+                throw Py.ValueError("maxlen must be a non-negative integer");
+            }
+
+            return (int) value;
+        }
+    }
+
+    // defaultdict([default_factory[, mapping_or_iterable]])
+    @Builtin(name = "defaultdict", minNumOfArguments = 0, maxNumOfArguments = 2, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class DefaultDictNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PDefaultDict defaultdict(Object defaultFactory, PNone source) {
+            checkFactory(defaultFactory);
+            return new PDefaultDict(defaultFactory);
+        }
+
+        @Specialization
+        public PDefaultDict defaultdict(Object defaultFactory, Object source) {
+            checkFactory(defaultFactory);
+            return new PDefaultDict(defaultFactory, asDict(source));
+        }
+
+        private static void checkFactory(Object defaultFactory) {
+            if (!(defaultFactory instanceof PNone) && !(defaultFactory instanceof PythonCallable)) {
+                throw Py.TypeError("first argument must be callable or None");
+            }
+        }
+    }
+
+    // Counter([iterable_or_mapping])
+    @Builtin(name = "Counter", minNumOfArguments = 0, maxNumOfArguments = 1, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class CounterNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PCounter counter(PNone source) {
+            return new PCounter();
+        }
+
+        @Specialization
+        public PCounter counter(Object source) {
+            PCounter counter = new PCounter();
+            counter.update(source, 1);
+            return counter;
+        }
+    }
+
+    // OrderedDict([mapping_or_iterable])
+    @Builtin(name = "OrderedDict", minNumOfArguments = 0, maxNumOfArguments = 1, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class OrderedDictNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public POrderedDict orderedDict(PNone source) {
+            return new POrderedDict();
+        }
+
+        @Specialization
+        public POrderedDict orderedDict(Object source) {
+            return new POrderedDict(asDict(source));
+        }
+    }
+
+    protected static PDict asDict(Object source) {
+        if (source instanceof PDict) {
+            return (PDict) source;
+        }
+
+        if (source instanceof PIterable) {
+            return new PDict(((PIterable) source).__iter__());
+        }
+
+        throw Py.TypeError("'" + source + "' object is not iterable");
+    }
+
+    // namedtuple(typename, field_names)
+    @Builtin(name = "namedtuple", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class NamedTupleNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PythonClass namedtuple(String typename, Object fieldNames) {
+            return defineClass(getContext(), typename, parseFieldNames(typename, fieldNames));
+        }
+
+        /**
+         * Also used by other built-in modules that return named tuples, such as functools.
+         */
+        @TruffleBoundary
+        public static PythonClass defineClass(PythonContext context, String typename, List<String> fields) {
+            PythonModule module = new PythonModule(context, "collections", null);
+            PythonParseResult parsed = context.getParser().parse(context, module, generateSource(typename, fields));
+            RootNode root = parsed.getModuleRoot();
+            VirtualFrame frame = Truffle.getRuntime().createVirtualFrame(null, root.getFrameDescriptor());
+            Truffle.getRuntime().createCallTarget(root);
+            root.execute(frame);
+            return (PythonClass) module.getAttribute(typename);
+        }
+
+        @TruffleBoundary
+        private static List<String> parseFieldNames(String typename, Object fieldNames) {
+            List<String> names = new ArrayList<>();
+
+            if (fieldNames instanceof String || fieldNames instanceof PString) {
+                for (String name : fieldNames.toString().replace(',', ' ').trim().split("\\s+")) {
+                    if (!name.isEmpty()) {
+                        names.add(name);
+                    }
+                }
+            } else if (fieldNames instanceof PSequence) {
+                PSequence sequence = (PSequence) fieldNames;
+
+                for (int i = 0; i < sequence.len(); i++) {
+                    names.add(sequence.getItem(i).toString());
+                }
+            } else {
+                throw Py.TypeError("field_names must be a string or a sequence of strings");
+            }
+
+            checkIdentifier(typename, "Type names and field names");
+
+            for (String name : names) {
+                checkIdentifier(name, "Type names and field names");
+
+                if (name.startsWith("_")) {
+                    throw Py.ValueError("Field names cannot start with an underscore: '" + name + "'");
+                }
+
+                if (names.indexOf(name) != names.lastIndexOf(name)) {
+                    throw Py.ValueError("Encountered duplicate field name: '" + name + "'");
+                }
+            }
+
+            return names;
+        }
+
+        private static void checkIdentifier(String name, String what) {
+            boolean valid = !name.isEmpty() && Character.isJavaIdentifierStart(name.charAt(0)) && name.charAt(0) != '$';
+
+            for (int i = 1; valid && i < name.length(); i++) {
+                valid = Character.isJavaIdentifierPart(name.charAt(i)) && name.charAt(i) != '$';
+            }
+
+            if (!valid) {
+                throw Py.ValueError(what + " must be valid identifiers: '" + name + "'");
+            }
+        }
+
+        /**
+         * The generated class mirrors the one CPython's namedtuple builds, minus the tuple base
+         * class: fields are plain instance attributes assigned in declaration order.
+         */
+        private static String generateSource(String typename, List<String> fields) {
+            String self = join(fields, "_self.", ", ", "");
+            String tuple = fields.size() == 1 ? "(" + self + ",)" : "(" + self + ")";
+            StringBuilder src = new StringBuilder();
+
+            src.append("_missing = object()\n\n");
+            src.append("class ").append(typename).append("(object):\n");
+            src.append("    _fields = ").append(fields.size() == 1 ? "('" + fields.get(0) + "',)" : "(" + join(fields, "'", ", ", "'") + ")").append("\n\n");
+
+            src.append("    def __init__(_self").append(join(fields, ", ", "", "")).append("):\n");
+            for (String field : fields) {
+                src.append("        _self.").append(field).append(" = ").append(field).append("\n");
+            }
+            src.append(fields.isEmpty() ? "        pass\n\n" : "\n");
+
+            src.append("    @classmethod\n");
+            src.append("    def _make(_cls, _iterable):\n");
+            src.append("        _values = list(_iterable)\n");
+            src.append("        if len(_values) != ").append(fields.size()).append(":\n");
+            src.append("            raise TypeError('Expected ").append(fields.size()).append(" arguments, got ' + str(len(_values)))\n");
+            src.append("        return ").append(typename).append("(");
+            for (int i = 0; i < fields.size(); i++) {
+                src.append(i == 0 ? "" : ", ").append("_values[").append(i).append("]");
+            }
+            src.append(")\n\n");
+
+            src.append("    def _replace(_self");
+            for (String field : fields) {
+                src.append(", ").append(field).append("=_missing");
+            }
+            src.append("):\n");
+            src.append("        return ").append(typename).append("(");
+            for (int i = 0; i < fields.size(); i++) {
+                String field = fields.get(i);
+                src.append(i == 0 ? "" : ", ").append("_self.").append(field).append(" if ").append(field).append(" is _missing else ").append(field);
+            }
+            src.append(")\n\n");
+
+            src.append("    def _asdict(_self):\n");
+            src.append("        return {");
+            for (int i = 0; i < fields.size(); i++) {
+                String field = fields.get(i);
+                src.append(i == 0 ? "" : ", ").append("'").append(field).append("': _self.").append(field);
+            }
+            src.append("}\n\n");
+
+            src.append("    def __getitem__(_self, _index):\n");
+            src.append("        return ").append(tuple).append("[_index]\n\n");
+
+            src.append("    def __iter__(_self):\n");
+            src.append("        return iter(").append(tuple).append(")\n\n");
+
+            src.append("    def __len__(_self):\n");
+            src.append("        return ").append(fields.size()).append("\n\n");
+
+            src.append("    def __eq__(_self, _other):\n");
+            src.append("        if not isinstance(_other, (tuple, ").append(typename).append(")) or len(_other) != ").append(fields.size()).append(":\n");
+            src.append("            return False\n");
+            src.append("        return ").append(tuple).append(" == (");
+            for (int i = 0; i < fields.size(); i++) {
+                src.append(i == 0 ? "" : ", ").append("_other[").append(i).append("]");
+            }
+            src.append(fields.size() == 1 ? ",)\n\n" : ")\n\n");
+
+            src.append("    def __ne__(_self, _other):\n");
+            src.append("        return not _self.__eq__(_other)\n\n");
+
+            src.append("    def __repr__(_self):\n");
+            src.append("        return '").append(typename).append("('");
+            for (int i = 0; i < fields.size(); i++) {
+                String field = fields.get(i);
+                src.append(" + '").append(i == 0 ? "" : ", ").append(field).append("=' + repr(_self.").append(field).append(")");
+            }
+            src.append(" + ')'\n");
+
+            return src.toString();
+        }
+
+        private static String join(List<String> items, String prefix, String separator, String suffix) {
+            StringBuilder buf = new StringBuilder();
+
+            for (int i = 0; i < items.size(); i++) {
+                buf.append(i == 0 || separator.isEmpty() ? "" : separator).append(prefix).append(items.get(i)).append(suffix);
+            }
+
+            return buf.toString();
+        }
+    }
+
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.module;
+
+import static edu.uci.python.nodes.truffle.PythonTypesUtil.*;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.call.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * The functools module. reduce calls its function through a {@link CallDispatchNoneNode}, so a
+ * lambda passed at a given call site is inlined like a direct call. partial and lru_cache objects
+ * are seen through by {@link PythonCallNode}, which dispatches on the function they wrap.
+ */
+public final class FunctoolsModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return FunctoolsModuleBuiltinsFactory.getFactories();
+    }
+
+    // reduce(function, iterable[, initializer])
+    @Builtin(name = "reduce", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class ReduceNode extends PythonBuiltinNode {
+
+        @Child protected CallDispatchNoneNode dispatchNode = CallDispatchNoneNode.create("reduce", false);
+
+        @Specialization
+        public Object reduce(VirtualFrame frame, PythonCallable function, Object iterable, Object initializer) {
+            final PIterator iterator = getIterator(iterable);
+            Object accumulator = initializer == PNone.NONE ? first(iterator) : initializer;
+
+            try {
+                while (true) {
+                    final Object item = iterator.__next__();
+                    accumulator = dispatchNode.executeCall(frame, function, PArguments.createWithUserArguments(accumulator, item), PKeyword.EMPTY_KEYWORDS);
+                }
+            } catch (StopIterationException e) {
+                // fall through
+            }
+
+            return accumulator;
+        }
+
+        @Specialization
+        public Object reduce(PyObject function, Object iterable, Object initializer) {
+            final PIterator iterator = getIterator(iterable);
+            Object accumulator = initializer == PNone.NONE ? first(iterator) : initializer;
+
+            try {
+                while (true) {
+                    final Object item = iterator.__next__();
+                    accumulator = unboxPyObject(jythonCall(function, new Object[]{accumulator, item}));
+                }
+            } catch (StopIterationException e) {
+                // fall through
+            }
+
+            return accumulator;
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public Object reduce(Object function, Object iterable, Object initializer) {
+            throw Py.TypeError("'" + getPythonTypeName(function) + "' object is not callable");
+        }
+
+        private static Object first(PIterator iterator) {
+            try {
+                return iterator.__next__();
+            } catch (StopIterationException e) {
+                throw Py.TypeError("reduce() of empty sequence with no initial value");
+            }
+        }
+
+        private static PIterator getIterator(Object iterable) {
+            if (iterable instanceof PIterator) {
+                return (PIterator) iterable;
+            } else if (iterable instanceof PIterable) {
+                return ((PIterable) iterable).__iter__();
+            } else if (iterable instanceof String) {
+                return new PString((String) iterable).__iter__();
+            }
+
+            throw Py.TypeError("'" + getPythonTypeName(iterable) + "' object is not iterable");
+        }
+    }
+
+    // partial(func, *args, **keywords)
+    @Builtin(name = "partial", minNumOfArguments = 1, takesVariableArguments = true, takesKeywordArguments = true, takesVariableKeywords = true, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class PartialNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PPartial partial(PythonCallable func, PTuple args, Object[] keywords) {
+            return new PPartial(func, args.getArray(), keywords == null ? PKeyword.EMPTY_KEYWORDS : (PKeyword[]) keywords);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PPartial partial(Object func, PTuple args, Object[] keywords) {
+            throw Py.TypeError("the first argument must be callable");
+        }
+    }
+
+    // lru_cache(maxsize=128, typed=False)
+    @Builtin(name = "lru_cache", minNumOfArguments = 0, maxNumOfArguments = 2, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"maxsize", "typed"})
+    @GenerateNodeFactory
+    public abstract static class LruCacheNode extends PythonBuiltinNode {
+
+        private static final int DEFAULT_MAXSIZE = 128;
+
+        /**
+         * Applied straight to a function, lru_cache returns the wrapper. Called with its settings,
+         * it returns a partial of itself that is applied to the function next.
+         */
+        @Specialization
+        public Object lruCache(VirtualFrame frame, Object maxsize, Object typed, Object[] keywords) {
+            // An explicit None means unbounded, only an omitted maxsize takes the default
+            Object size = PArguments.getUserArgumentLength(frame) == 0 ? DEFAULT_MAXSIZE : maxsize;
+            Object isTyped = typed;
+            PythonCallable function = null;
+
+            if (maxsize instanceof PythonCallable) {
+                function = (PythonCallable) maxsize;
+                size = DEFAULT_MAXSIZE;
+            }
+
+            if (keywords != null) {
+                for (Object keyword : keywords) {
+                    PKeyword pkeyword = (PKeyword) keyword;
+
+                    if (pkeyword.getName().equals("maxsize")) {
+                        size = pkeyword.getValue();
+                    } else {
+                        isTyped = pkeyword.getValue();
+                    }
+                }
+            }
+
+            if (function != null) {
+                return new PLruCache(function, castToMaxsize(size), isTrue(isTyped));
+            }
+
+            PythonCallable self = (PythonCallable) getContext().getPythonBuiltinsLookup().lookupModule("functools").getAttribute("lru_cache");
+            return new PPartial(self, new Object[0], new PKeyword[]{new PKeyword("maxsize", size), new PKeyword("typed", isTyped)});
+        }
+
+        private static int castToMaxsize(Object maxsize) {
+            if (maxsize instanceof PNone) {
+                return PLruCache.UNBOUNDED;
+            } else if (maxsize instanceof Integer) {
+                return Math.max((int) maxsize, 0);
+            }
+
+            throw Py.TypeError("Expected maxsize to be an integer or None");
+        }
+
+        private static boolean isTrue(Object typed) {
+            if (typed instanceof Boolean) {
+                return (boolean) typed;
+            } else if (typed instanceof Integer) {
+                return (int) typed != 0;
+            }
+
+            return false;
+        }
+    }
+
+    // update_wrapper(wrapper, wrapped)
+    @Builtin(name = "update_wrapper", minNumOfArguments = 1, maxNumOfArguments = 2, takesKeywordArguments = true, keywordNames = {"wrapped"})
+    @GenerateNodeFactory
+    public abstract static class UpdateWrapperNode extends PythonBuiltinNode {
+
+        /**
+         * Functions do not carry a writable __dict__, so there is nothing to copy over.
+         */
+        @SuppressWarnings("unused")
+        @Specialization
+        public Object updateWrapper(Object wrapper, Object wrapped, Object wrappedKeyword) {
+            return wrapper;
+        }
+    }
+
+    // wraps(wrapped)
+    @Builtin(name = "wraps", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class WrapsNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PPartial wraps(Object wrapped) {
+            PythonCallable updateWrapper = (PythonCallable) getContext().getPythonBuiltinsLookup().lookupModule("functools").getAttribute("update_wrapper");
+            return new PPartial(updateWrapper, new Object[0], new PKeyword[]{new PKeyword("wrapped", wrapped)});
+        }
+    }
+
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.module;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.regex.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * The re module implemented on java.util.regex. Pattern strings are compiled through
+ * {@link PatternLookupNode}, which keeps the compiled pattern of a constant pattern string in the
+ * call site and falls back to the shared {@link PatternCache} otherwise.
+ */
+public final class ReModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return ReModuleBuiltinsFactory.getFactories();
+    }
+
+    public ReModuleBuiltins() {
+        builtinConstants.put("I", PPattern.IGNORECASE);
+        builtinConstants.put("IGNORECASE", PPattern.IGNORECASE);
+        builtinConstants.put("L", PPattern.LOCALE);
+        builtinConstants.put("LOCALE", PPattern.LOCALE);
+        builtinConstants.put("M", PPattern.MULTILINE);
+        builtinConstants.put("MULTILINE", PPattern.MULTILINE);
+        builtinConstants.put("S", PPattern.DOTALL);
+        builtinConstants.put("DOTALL", PPattern.DOTALL);
+        builtinConstants.put("U", PPattern.UNICODE);
+        builtinConstants.put("UNICODE", PPattern.UNICODE);
+        builtinConstants.put("X", PPattern.VERBOSE);
+        builtinConstants.put("VERBOSE", PPattern.VERBOSE);
+        builtinConstants.put("A", PPattern.ASCII);
+        builtinConstants.put("ASCII", PPattern.ASCII);
+    }
+
+    // re.compile(pattern, flags=0)
+    @Builtin(name = "compile", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class CompileNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PPattern compile(Object pattern, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags);
+        }
+    }
+
+    // re.match(pattern, string, flags=0)
+    @Builtin(name = "match", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class MatchNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object match(Object pattern, String string, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).match(string, 0, string.length());
+        }
+    }
+
+    // re.search(pattern, string, flags=0)
+    @Builtin(name = "search", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class SearchNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object search(Object pattern, String string, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).search(string, 0, string.length());
+        }
+    }
+
+    // re.fullmatch(pattern, string, flags=0)
+    @Builtin(name = "fullmatch", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class FullMatchNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object fullmatch(Object pattern, String string, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).fullmatch(string, 0, string.length());
+        }
+    }
+
+    // re.findall(pattern, string, flags=0)
+    @Builtin(name = "findall", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class FindAllNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PList findall(Object pattern, String string, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).findall(string, 0, string.length());
+        }
+    }
+
+    // re.finditer(pattern, string, flags=0)
+    @Builtin(name = "finditer", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class FindIterNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object finditer(Object pattern, String string, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).finditer(string, 0, string.length()).__iter__();
+        }
+    }
+
+    // re.sub(pattern, repl, string, count=0, flags=0)
+    @Builtin(name = "sub", minNumOfArguments = 3, maxNumOfArguments = 5)
+    @GenerateNodeFactory
+    public abstract static class SubNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object sub(Object pattern, Object repl, String string, Object count, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).subn(repl, string, castToCount(count)).getItem(0);
+        }
+    }
+
+    // re.subn(pattern, repl, string, count=0, flags=0)
+    @Builtin(name = "subn", minNumOfArguments = 3, maxNumOfArguments = 5)
+    @GenerateNodeFactory
+    public abstract static class SubnNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple subn(Object pattern, Object repl, String string, Object count, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).subn(repl, string, castToCount(count));
+        }
+    }
+
+    // re.split(pattern, string, maxsplit=0, flags=0)
+    @Builtin(name = "split", minNumOfArguments = 2, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class SplitNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PList split(Object pattern, String string, Object maxsplit, Object flags, @Cached("create()") PatternLookupNode lookup) {
+            return lookup.execute(pattern, flags).split(string, castToCount(maxsplit));
+        }
+    }
+
+    // re.escape(string)
+    @Builtin(name = "escape", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class EscapeNode extends PythonBuiltinNode {
+
+        @TruffleBoundary
+        @Specialization
+        public String escape(String string) {
+            final StringBuilder sb = new StringBuilder(string.length() * 2);
+
+            for (int i = 0; i < string.length(); i++) {
+                final char c = string.charAt(i);
+                if (c == '\0') {
+                    sb.append("\\000");
+                    continue;
+                } else if (c < 128 && !Character.isLetterOrDigit(c) && c != '_') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            }
+
+            return sb.toString();
+        }
+    }
+
+    // re.purge()
+    @Builtin(name = "purge", fixedNumOfArguments = 0, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PurgeNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone purge() {
+            PatternCache.purge();
+            return PNone.NONE;
+        }
+    }
+
+    public static int castToCount(Object count) {
+        if (count instanceof PNone) {
+            return 0;
+        } else if (count instanceof Integer) {
+            return (int) count;
+        }
+
+        throw Py.TypeError("an integer is required");
+    }
+
+    /**
+     * Resolves the pattern argument of a re function to a compiled pattern. A call site that keeps
+     * passing the same pattern string holds on to its compiled form and skips the cache lookup.
+     */
+    @TypeSystemReference(PythonTypes.class)
+    public abstract static class PatternLookupNode extends Node {
+
+        public abstract PPattern execute(Object pattern, Object flags);
+
+        public static PatternLookupNode create() {
+            return ReModuleBuiltinsFactory.PatternLookupNodeGen.create();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = {"pattern == cachedPattern", "castToFlags(flags) == cachedFlags"})
+        protected PPattern doConstant(String pattern, Object flags, @Cached("pattern") String cachedPattern, @Cached("castToFlags(flags)") int cachedFlags,
+                        @Cached("lookup(pattern, cachedFlags)") PPattern compiled) {
+            return compiled;
+        }
+
+        @Specialization(contains = "doConstant")
+        protected PPattern doString(String pattern, Object flags) {
+            return PatternCache.lookup(pattern, castToFlags(flags));
+        }
+
+        @Specialization
+        protected PPattern doPattern(PPattern pattern, Object flags) {
+            if (castToFlags(flags) != 0) {
+                throw Py.ValueError("Cannot process flags argument with a compiled pattern");
+            }
+
+            return pattern;
+        }
+
+        protected static PPattern lookup(String pattern, int flags) {
+            return PatternCache.lookup(pattern, flags);
+        }
+
+        protected static int castToFlags(Object flags) {
+            if (flags instanceof PNone) {
+                return 0;
+            } else if (flags instanceof Integer) {
+                return (int) flags;
+            }
+
+            throw Py.TypeError("flags must be an integer");
+        }
+    }
+
+}
@@ -0,0 +1,270 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.module;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+import edu.uci.python.runtime.struct.*;
+
+/**
+ * The struct module, packing and unpacking straight against the byte arrays of bytes and
+ * bytearray. Format strings are parsed through {@link FormatLookupNode}, which keeps the parsed
+ * {@link PStruct} of a constant format in the call site and falls back to the shared
+ * {@link StructCache} otherwise.
+ */
+public final class StructModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return StructModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * struct.error is Jython's exception class, which cannot be created before the Jython runtime
+     * is up. It is installed when the module is imported instead of when the builtins are populated.
+     */
+    public static void installErrorType(PythonModule module) {
+        if (module.getAttribute("error") == PNone.NONE) {
+            module.setAttribute("error", org.python.modules.struct.error);
+        }
+    }
+
+    // struct.Struct(format)
+    @Builtin(name = "Struct", fixedNumOfArguments = 1, hasFixedNumOfArguments = true, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class StructNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PStruct struct(Object format, @Cached("create()") FormatLookupNode lookup) {
+            return lookup.execute(format);
+        }
+    }
+
+    // struct.calcsize(format)
+    @Builtin(name = "calcsize", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CalcSizeNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int calcsize(Object format, @Cached("create()") FormatLookupNode lookup) {
+            return lookup.execute(format).getSize();
+        }
+    }
+
+    // struct.pack(format, v1, v2, ...)
+    @Builtin(name = "pack", minNumOfArguments = 1, takesVariableArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PackNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PBytes pack(Object format, PTuple values, @Cached("create()") FormatLookupNode lookup) {
+            return lookup.execute(format).pack(values.getArray());
+        }
+    }
+
+    // struct.pack_into(format, buffer, offset, v1, v2, ...)
+    @Builtin(name = "pack_into", minNumOfArguments = 3, takesVariableArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PackIntoNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone packInto(Object format, PByteArray buffer, int offset, PTuple values, @Cached("create()") FormatLookupNode lookup) {
+            return packInto(lookup.execute(format), buffer, offset, values.getArray());
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public PNone packInto(Object format, Object buffer, Object offset, Object values) {
+            throw Py.TypeError("pack_into requires a writable buffer and an integer offset");
+        }
+
+        public static PNone packInto(PStruct struct, PByteArray buffer, int offset, Object[] values) {
+            final int start = offset < 0 ? offset + buffer.len() : offset;
+
+            if (start < 0 || buffer.len() - start < struct.getSize()) {
+                throw PStruct.error("pack_into requires a buffer of at least " + struct.getSize() + " bytes");
+            }
+
+            struct.packInto(buffer.getInternalByteArray(), start, values);
+            return PNone.NONE;
+        }
+    }
+
+    // struct.unpack(format, buffer)
+    @Builtin(name = "unpack", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class UnpackNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple unpack(Object format, PBytes buffer, @Cached("create()") FormatLookupNode lookup) {
+            final byte[] bytes = buffer.getInternalByteArray();
+            return lookup.execute(format).unpack(bytes, bytes.length, 0, true);
+        }
+
+        @Specialization
+        public PTuple unpack(Object format, PByteArray buffer, @Cached("create()") FormatLookupNode lookup) {
+            return lookup.execute(format).unpack(buffer.getInternalByteArray(), buffer.len(), 0, true);
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public PTuple unpack(Object format, Object buffer) {
+            throw notABuffer(buffer);
+        }
+    }
+
+    // struct.unpack_from(format, buffer, offset=0)
+    @Builtin(name = "unpack_from", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class UnpackFromNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple unpackFrom(Object format, PBytes buffer, Object offset, @Cached("create()") FormatLookupNode lookup) {
+            final byte[] bytes = buffer.getInternalByteArray();
+            return lookup.execute(format).unpack(bytes, bytes.length, castToOffset(offset), false);
+        }
+
+        @Specialization
+        public PTuple unpackFrom(Object format, PByteArray buffer, Object offset, @Cached("create()") FormatLookupNode lookup) {
+            return lookup.execute(format).unpack(buffer.getInternalByteArray(), buffer.len(), castToOffset(offset), false);
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public PTuple unpackFrom(Object format, Object buffer, Object offset) {
+            throw notABuffer(buffer);
+        }
+    }
+
+    // struct.iter_unpack(format, buffer)
+    @Builtin(name = "iter_unpack", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IterUnpackNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object iterUnpack(Object format, PBytes buffer, @Cached("create()") FormatLookupNode lookup) {
+            final byte[] bytes = buffer.getInternalByteArray();
+            return iterUnpack(lookup.execute(format), bytes, bytes.length);
+        }
+
+        @Specialization
+        public Object iterUnpack(Object format, PByteArray buffer, @Cached("create()") FormatLookupNode lookup) {
+            return iterUnpack(lookup.execute(format), buffer.getInternalByteArray(), buffer.len());
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public Object iterUnpack(Object format, Object buffer) {
+            throw notABuffer(buffer);
+        }
+
+        public static Object iterUnpack(PStruct struct, byte[] bytes, int length) {
+            final int size = struct.getSize();
+
+            if (size == 0 || length % size != 0) {
+                throw PStruct.error("iterative unpacking requires a buffer of a multiple of " + size + " bytes");
+            }
+
+            final PList result = new PList();
+
+            for (int offset = 0; offset < length; offset += size) {
+                result.append(struct.unpack(bytes, length, offset, false));
+            }
+
+            return result.__iter__();
+        }
+    }
+
+    protected static int castToOffset(Object offset) {
+        if (offset instanceof PNone) {
+            return 0;
+        } else if (offset instanceof Integer) {
+            return (int) offset;
+        }
+
+        throw Py.TypeError("an integer is required");
+    }
+
+    protected static RuntimeException notABuffer(Object buffer) {
+        return Py.TypeError("a bytes-like object is required, not '" + buffer + "'");
+    }
+
+    /**
+     * Resolves the format argument of a struct function to a parsed {@link PStruct}. A call site
+     * that keeps passing the same format string holds on to its parsed form and skips the cache
+     * lookup.
+     */
+    @TypeSystemReference(PythonTypes.class)
+    public abstract static class FormatLookupNode extends Node {
+
+        public abstract PStruct execute(Object format);
+
+        public static FormatLookupNode create() {
+            return StructModuleBuiltinsFactory.FormatLookupNodeGen.create();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization(guards = "format == cachedFormat")
+        protected PStruct doConstant(String format, @Cached("format") String cachedFormat, @Cached("lookup(format)") PStruct compiled) {
+            return compiled;
+        }
+
+        @Specialization(contains = "doConstant")
+        protected PStruct doString(String format) {
+            return StructCache.lookup(format);
+        }
+
+        @Specialization
+        protected PStruct doBytes(PBytes format) {
+            return StructCache.lookup(PBytes.decode(format.getInternalByteArray(), format.len(), "ascii", "strict"));
+        }
+
+        @Specialization
+        protected PStruct doStruct(PStruct format) {
+            return format;
+        }
+
+        @Fallback
+        protected PStruct doGeneric(Object format) {
+            throw Py.TypeError("Struct() argument 1 must be a str or bytes object, not " + format);
+        }
+
+        protected static PStruct lookup(String format) {
+            return StructCache.lookup(format);
+        }
+    }
+
+}
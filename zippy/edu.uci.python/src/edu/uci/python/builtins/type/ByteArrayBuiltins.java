@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Mutating methods of bytearray. The read-only ones come from {@link BytesBuiltins}.
+ */
+public final class ByteArrayBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return ByteArrayBuiltinsFactory.getFactories();
+    }
+
+    // bytearray.append(x)
+    @Builtin(name = "append", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class AppendNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone append(PByteArray self, Object value) {
+            self.append(value);
+            return PNone.NONE;
+        }
+    }
+
+    // bytearray.extend(iterable_of_ints)
+    @Builtin(name = "extend", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ExtendNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone extend(PByteArray self, PBytes other) {
+            final byte[] bytes = other.getInternalByteArray();
+            self.extend(bytes, bytes.length);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public PNone extend(PByteArray self, PByteArray other) {
+            self.extend(other.toByteArray(), other.len());
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public PNone extend(PByteArray self, PIterable iterable) {
+            final byte[] bytes = PBytes.fromIterator(iterable.__iter__());
+            self.extend(bytes, bytes.length);
+            return PNone.NONE;
+        }
+
+        @Fallback
+        public PNone extend(@SuppressWarnings("unused") Object self, Object iterable) {
+            throw Py.TypeError("'" + iterable + "' object is not iterable");
+        }
+    }
+
+}
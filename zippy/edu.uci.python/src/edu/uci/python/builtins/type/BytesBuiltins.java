@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Methods shared by bytes and bytearray.
+ */
+public final class BytesBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return BytesBuiltinsFactory.getFactories();
+    }
+
+    private static String stringOrDefault(Object arg, String defaultValue) {
+        return arg instanceof String || arg instanceof PString ? arg.toString() : defaultValue;
+    }
+
+    // bytes.decode(encoding="utf-8", errors="strict")
+    @Builtin(name = "decode", minNumOfArguments = 1, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class DecodeNode extends PythonBuiltinNode {
+
+        @TruffleBoundary
+        @Specialization
+        public String decode(PBytes self, Object encoding, Object errors) {
+            final byte[] bytes = self.getInternalByteArray();
+            return PBytes.decode(bytes, bytes.length, stringOrDefault(encoding, "utf-8"), stringOrDefault(errors, "strict"));
+        }
+
+        @TruffleBoundary
+        @Specialization
+        public String decode(PByteArray self, Object encoding, Object errors) {
+            return PBytes.decode(self.getInternalByteArray(), self.len(), stringOrDefault(encoding, "utf-8"), stringOrDefault(errors, "strict"));
+        }
+    }
+
+    // bytes.hex()
+    @Builtin(name = "hex", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class HexNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String hex(PBytes self) {
+            final byte[] bytes = self.getInternalByteArray();
+            return PBytes.hex(bytes, bytes.length);
+        }
+
+        @Specialization
+        public String hex(PByteArray self) {
+            return PBytes.hex(self.getInternalByteArray(), self.len());
+        }
+    }
+
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Methods of collections.deque.
+ */
+public final class DequeBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return DequeBuiltinsFactory.getFactories();
+    }
+
+    // deque.append(x)
+    @Builtin(name = "append", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class AppendNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone append(PDeque deque, Object value) {
+            deque.append(value);
+            return PNone.NONE;
+        }
+    }
+
+    // deque.appendleft(x)
+    @Builtin(name = "appendleft", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class AppendLeftNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone appendLeft(PDeque deque, Object value) {
+            deque.appendLeft(value);
+            return PNone.NONE;
+        }
+    }
+
+    // deque.pop()
+    @Builtin(name = "pop", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PopNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object pop(PDeque deque) {
+            return deque.pop();
+        }
+    }
+
+    // deque.popleft()
+    @Builtin(name = "popleft", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PopLeftNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object popLeft(PDeque deque) {
+            return deque.popLeft();
+        }
+    }
+
+    // deque.extend(iterable)
+    @Builtin(name = "extend", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ExtendNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone extend(PDeque deque, String iterable) {
+            deque.extend(new PString(iterable).__iter__());
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public PNone extend(PDeque deque, PIterable iterable) {
+            deque.extend(iterable.__iter__());
+            return PNone.NONE;
+        }
+
+        @Fallback
+        public PNone extend(@SuppressWarnings("unused") Object deque, Object iterable) {
+            throw Py.TypeError("'" + iterable + "' object is not iterable");
+        }
+    }
+
+    // deque.extendleft(iterable)
+    @Builtin(name = "extendleft", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ExtendLeftNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone extendLeft(PDeque deque, String iterable) {
+            deque.extendLeft(new PString(iterable).__iter__());
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public PNone extendLeft(PDeque deque, PIterable iterable) {
+            deque.extendLeft(iterable.__iter__());
+            return PNone.NONE;
+        }
+
+        @Fallback
+        public PNone extendLeft(@SuppressWarnings("unused") Object deque, Object iterable) {
+            throw Py.TypeError("'" + iterable + "' object is not iterable");
+        }
+    }
+
+    // deque.rotate(n=1)
+    @Builtin(name = "rotate", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class RotateNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PNone rotate(PDeque deque, PNone n) {
+            deque.rotate(1);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public PNone rotate(PDeque deque, int n) {
+            deque.rotate(n);
+            return PNone.NONE;
+        }
+    }
+
+    // deque.clear()
+    @Builtin(name = "clear", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ClearNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone clear(PDeque deque) {
+            deque.clear();
+            return PNone.NONE;
+        }
+    }
+
+    // deque.count(x)
+    @Builtin(name = "count", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CountNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int count(PDeque deque, Object value) {
+            return deque.count(value);
+        }
+    }
+
+    // deque.index(x)
+    @Builtin(name = "index", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IndexNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int index(PDeque deque, Object value) {
+            final int index = deque.index(value);
+
+            if (index == -1) {
+                throw Py.ValueError(PSequence.toString(value) + " is not in deque");
+            }
+
+            return index;
+        }
+    }
+
+    // deque.remove(x)
+    @Builtin(name = "remove", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class RemoveNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone remove(PDeque deque, Object value) {
+            deque.remove(value);
+            return PNone.NONE;
+        }
+    }
+
+    // deque.reverse()
+    @Builtin(name = "reverse", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ReverseNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone reverse(PDeque deque) {
+            deque.reverse();
+            return PNone.NONE;
+        }
+    }
+
+    // deque.copy()
+    @Builtin(name = "copy", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CopyNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PDeque copy(PDeque deque) {
+            PDeque copy = new PDeque(deque.getMaxlen());
+            copy.extend(deque.__iter__());
+            return copy;
+        }
+    }
+
+}
@@ -26,14 +26,18 @@ package edu.uci.python.builtins.type;
 
 import java.util.List;
 
+import org.python.core.Py;
+
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 
 import edu.uci.python.builtins.Builtin;
 import edu.uci.python.builtins.PythonBuiltins;
 import edu.uci.python.nodes.function.PythonBuiltinNode;
+import edu.uci.python.runtime.datatype.IntKeyDictStorage;
 import edu.uci.python.runtime.datatype.PDict;
 import edu.uci.python.runtime.datatype.PDictView;
+import edu.uci.python.runtime.datatype.StringKeyDictStorage;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PTuple;
 import edu.uci.python.runtime.sequence.storage.IntSequenceStorage;
@@ -57,12 +61,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object setDefault(PDict dict, Object arg0, Object arg1) {
-            if (dict.getMap().containsKey(arg0)) {
-                return dict.getMap().get(arg0);
-            } else {
-                dict.getMap().put(arg0, arg1);
-                return arg1;
-            }
+            return dict.setDefault(arg0, arg1);
         }
     }
 
@@ -73,13 +72,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object pop(PDict dict, Object arg0, Object arg1) {
-            Object retVal = dict.getMap().get(arg0);
-            if (retVal != null) {
-                dict.getMap().remove(arg0);
-                return retVal;
-            } else {
-                return arg1;
-            }
+            return dict.pop(arg0, arg1);
         }
     }
 
@@ -90,11 +83,13 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object popItem(PDict dict) {
-            Object key = dict.__iter__().__next__();
-            dict.delItem(key);
-            Object nextKey = dict.__iter__().__next__();
-            Object nextValue = dict.getItem(nextKey);
-            return new PTuple(new Object[]{nextKey, nextValue});
+            PTuple item = dict.popItem();
+
+            if (item == null) {
+                throw Py.KeyError("popitem(): dictionary is empty");
+            }
+
+            return item;
         }
     }
 
@@ -136,9 +131,21 @@ public final class DictBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class GetNode extends PythonBuiltinNode {
 
+        @Specialization(guards = "isIntKeyStorage(dict)")
+        public Object getIntKey(PDict dict, int key, Object defaultValue) {
+            final Object value = ((IntKeyDictStorage) dict.getStorage()).getInt(key);
+            return value != null ? value : defaultValue;
+        }
+
+        @Specialization(guards = "isStringKeyStorage(dict)")
+        public Object getStringKey(PDict dict, String key, Object defaultValue) {
+            final Object value = ((StringKeyDictStorage) dict.getStorage()).getString(key);
+            return value != null ? value : defaultValue;
+        }
+
         @Specialization
         public Object get(PDict dict, Object key, Object defaultValue) {
-            final Object value = dict.getMap().get(key);
+            final Object value = dict.getItem(key);
             return value != null ? value : defaultValue;
         }
     }
@@ -150,7 +157,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            return new PDict(dict.getMap());
+            return new PDict(dict);
         }
     }
 
@@ -161,7 +168,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            dict.getMap().clear();
+            dict.clear();
             return dict;
         }
     }
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.builtins.module.CollectionsModuleBuiltins.NamedTupleNode;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Methods of the functools.lru_cache wrapper.
+ */
+public final class LruCacheBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return LruCacheBuiltinsFactory.getFactories();
+    }
+
+    // cache_info()
+    @Builtin(name = "cache_info", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CacheInfoNode extends PythonBuiltinNode {
+
+        @CompilationFinal private PythonClass cacheInfoClass;
+
+        @Specialization
+        public Object cacheInfo(PLruCache self) {
+            if (cacheInfoClass == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                cacheInfoClass = NamedTupleNode.defineClass(getContext(), "CacheInfo", Arrays.asList("hits", "misses", "maxsize", "currsize"));
+            }
+
+            Object maxsize = self.getMaxsize() == PLruCache.UNBOUNDED ? PNone.NONE : self.getMaxsize();
+            return cacheInfoClass.call(PArguments.createWithUserArguments(self.getHits(), self.getMisses(), maxsize, self.getCurrentSize()));
+        }
+    }
+
+    // cache_clear()
+    @Builtin(name = "cache_clear", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CacheClearNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone cacheClear(PLruCache self) {
+            self.clear();
+            return PNone.NONE;
+        }
+    }
+
+}
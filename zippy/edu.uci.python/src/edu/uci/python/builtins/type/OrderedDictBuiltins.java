@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Methods of collections.OrderedDict, on top of the dict methods it shares with
+ * {@link DictBuiltins}.
+ */
+public final class OrderedDictBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return OrderedDictBuiltinsFactory.getFactories();
+    }
+
+    private static boolean castToLast(Object last, Object lastKeyword) {
+        Object value = lastKeyword instanceof PKeyword ? ((PKeyword) lastKeyword).getValue() : last;
+
+        if (value instanceof Boolean) {
+            return (boolean) value;
+        } else if (value instanceof Integer) {
+            return (int) value != 0;
+        }
+
+        return true;
+    }
+
+    // OrderedDict.move_to_end(key, last=True)
+    @Builtin(name = "move_to_end", minNumOfArguments = 2, maxNumOfArguments = 3, takesKeywordArguments = true, keywordNames = {"last"})
+    @GenerateNodeFactory
+    public abstract static class MoveToEndNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone moveToEnd(POrderedDict dict, Object key, Object last, Object lastKeyword) {
+            dict.moveToEnd(key, castToLast(last, lastKeyword));
+            return PNone.NONE;
+        }
+    }
+
+    // OrderedDict.popitem(last=True)
+    @Builtin(name = "popitem", minNumOfArguments = 1, maxNumOfArguments = 2, takesKeywordArguments = true, keywordNames = {"last"})
+    @GenerateNodeFactory
+    public abstract static class PopItemNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple popItem(POrderedDict dict, Object last, Object lastKeyword) {
+            PTuple item = dict.popItem(castToLast(last, lastKeyword));
+
+            if (item == null) {
+                throw Py.KeyError("dictionary is empty");
+            }
+
+            return item;
+        }
+    }
+
+}
@@ -66,4 +66,26 @@ public final class SetBuiltins extends PythonBuiltins {
         }
     }
 
+    @Builtin(name = "remove", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class RemoveNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object remove(PSet self, Object o) {
+            self.remove(o);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "discard", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class DiscardNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object discard(PSet self, Object o) {
+            self.discard(o);
+            return PNone.NONE;
+        }
+    }
+
 }
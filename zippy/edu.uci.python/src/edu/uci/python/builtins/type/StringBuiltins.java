@@ -24,16 +24,21 @@
  */
 package edu.uci.python.builtins.type;
 
+import java.math.*;
 import java.util.*;
-import java.util.regex.Pattern;
+
+import org.python.core.*;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -59,22 +64,64 @@ public final class StringBuiltins extends PythonBuiltins {
     }
 
     // str.startswith(prefix[, start[, end]])
-    @Builtin(name = "startswith", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @Builtin(name = "startswith", minNumOfArguments = 2, maxNumOfArguments = 4)
     @GenerateNodeFactory
     public abstract static class StartsWithNode extends PythonBuiltinNode {
 
         @Specialization
-        public Object startsWith(String self, String prefix) {
-            if (self.startsWith(prefix)) {
-                return true;
+        public boolean startsWith(String self, String prefix, Object start, Object end) {
+            return startsWithAt(self, prefix, sliceStart(start, self.length()), sliceEnd(end, self.length()));
+        }
+
+        @Specialization
+        public boolean startsWith(String self, PTuple prefixes, Object start, Object end) {
+            final int begin = sliceStart(start, self.length());
+            final int stop = sliceEnd(end, self.length());
+
+            for (Object prefix : prefixes.getArray()) {
+                if (startsWithAt(self, castToString(prefix, "startswith"), begin, stop)) {
+                    return true;
+                }
             }
 
             return false;
         }
 
+        @SuppressWarnings("unused")
+        @Fallback
+        public boolean startsWith(Object self, Object prefix, Object start, Object end) {
+            throw Py.TypeError("startswith first arg must be str or a tuple of str, not " + PythonTypesUtil.getPythonTypeName(prefix));
+        }
+    }
+
+    // str.endswith(suffix[, start[, end]])
+    @Builtin(name = "endswith", minNumOfArguments = 2, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class EndsWithNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean endsWith(String self, String suffix, Object start, Object end) {
+            return endsWithAt(self, suffix, sliceStart(start, self.length()), sliceEnd(end, self.length()));
+        }
+
         @Specialization
-        public Object startsWith(Object self, Object prefix) {
-            throw new RuntimeException("startsWith is not supported for " + self + " " + self.getClass() + " prefix " + prefix);
+        public boolean endsWith(String self, PTuple suffixes, Object start, Object end) {
+            final int begin = sliceStart(start, self.length());
+            final int stop = sliceEnd(end, self.length());
+
+            for (Object suffix : suffixes.getArray()) {
+                if (endsWithAt(self, castToString(suffix, "endswith"), begin, stop)) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public boolean endsWith(Object self, Object suffix, Object start, Object end) {
+            throw Py.TypeError("endswith first arg must be str or a tuple of str, not " + PythonTypesUtil.getPythonTypeName(suffix));
         }
     }
 
@@ -85,20 +132,28 @@ public final class StringBuiltins extends PythonBuiltins {
 
         @Specialization
         public String join(String string, String arg) {
-            StringBuilder sb = new StringBuilder();
-            char[] joinString = arg.toCharArray();
+            final int length = arg.length();
+            if (length <= 1) {
+                return arg;
+            }
 
-            for (int i = 0; i < joinString.length - 1; i++) {
-                sb.append(Character.toString(joinString[i]));
+            StringBuilder sb = new StringBuilder(length + (length - 1) * string.length());
+            sb.append(arg.charAt(0));
+
+            for (int i = 1; i < length; i++) {
                 sb.append(string);
+                sb.append(arg.charAt(i));
             }
 
-            sb.append(Character.toString(joinString[joinString.length - 1]));
             return sb.toString();
         }
 
         @Specialization(guards = "is2ndObjectStorage(string,list)")
         public String join(String string, PList list) {
+            if (list.len() == 0) {
+                return "";
+            }
+
             StringBuilder sb = new StringBuilder();
             ObjectSequenceStorage store = (ObjectSequenceStorage) list.getStorage();
 
@@ -113,20 +168,28 @@ public final class StringBuiltins extends PythonBuiltins {
 
         @Specialization
         public String join(String string, PCharArray array) {
-            StringBuilder sb = new StringBuilder();
             char[] stringList = array.getSequence();
+            if (stringList.length == 0) {
+                return "";
+            }
+
+            StringBuilder sb = new StringBuilder(stringList.length + (stringList.length - 1) * string.length());
+            sb.append(stringList[0]);
 
-            for (int i = 0; i < stringList.length - 1; i++) {
-                sb.append(Character.toString(stringList[i]));
+            for (int i = 1; i < stringList.length; i++) {
                 sb.append(string);
+                sb.append(stringList[i]);
             }
 
-            sb.append(Character.toString(stringList[stringList.length - 1]));
             return sb.toString();
         }
 
         @Specialization
         public String join(String string, PSequence seq) {
+            if (seq.len() == 0) {
+                return "";
+            }
+
             StringBuilder sb = new StringBuilder();
 
             for (int i = 0; i < seq.len() - 1; i++) {
@@ -141,11 +204,11 @@ public final class StringBuiltins extends PythonBuiltins {
         @Specialization
         public String join(String string, PSet arg) {
             if (arg.len() == 0) {
-                return string.toString();
+                return "";
             }
 
             StringBuilder sb = new StringBuilder();
-            Object[] joinString = arg.getSet().toArray();
+            Object[] joinString = arg.getStorage().getInternalArray();
             for (int i = 0; i < joinString.length - 1; i++) {
                 sb.append(joinString[i]);
                 sb.append(string);
@@ -225,7 +288,7 @@ public final class StringBuiltins extends PythonBuiltins {
         }
     }
 
-    // str.split
+    // str.split([sep[, maxsplit]])
     @Builtin(name = "split", maxNumOfArguments = 3)
     @GenerateNodeFactory
     public abstract static class SplitNode extends PythonBuiltinNode {
@@ -237,14 +300,9 @@ public final class StringBuiltins extends PythonBuiltins {
         }
 
         @SuppressWarnings("unused")
-        @TruffleBoundary
         @Specialization
         public PList doSplit(String self, String sep, PNone maxsplit) {
-            PList list = new PList();
-            String[] strs = self.split(Pattern.quote(sep));
-            for (String s : strs)
-                list.append(s);
-            return list;
+            return splitSeparator(self, sep, -1);
         }
 
         @Specialization
@@ -252,6 +310,32 @@ public final class StringBuiltins extends PythonBuiltins {
             return splitfields(self, maxsplit);
         }
 
+        @Specialization
+        public PList doSplit(String self, String sep, int maxsplit) {
+            return splitSeparator(self, sep, maxsplit);
+        }
+
+        @TruffleBoundary
+        private static PList splitSeparator(String s, String sep, int maxsplit) {
+            if (sep.isEmpty()) {
+                throw Py.ValueError("empty separator");
+            }
+
+            PList list = new PList();
+            int start = 0;
+            int splits = 0;
+            int index;
+
+            while ((maxsplit < 0 || splits < maxsplit) && (index = s.indexOf(sep, start)) >= 0) {
+                list.append(s.substring(start, index));
+                start = index + sep.length();
+                splits++;
+            }
+
+            list.append(s.substring(start));
+            return list;
+        }
+
         // See {@link PyString}
         private static PList splitfields(String s, int maxsplit) {
             /*
@@ -275,7 +359,7 @@ public final class StringBuiltins extends PythonBuiltins {
 
                 // Find the next occurrence of non-whitespace
                 while (start < length) {
-                    if (!Character.isWhitespace(s.charAt(start))) {
+                    if (!isSpace(s.charAt(start))) {
                         // Break leaving start pointing at non-whitespace
                         break;
                     }
@@ -293,7 +377,7 @@ public final class StringBuiltins extends PythonBuiltins {
                 } else {
                     // The next segment runs up to the next next whitespace or end
                     for (index = start; index < length; index++) {
-                        if (Character.isWhitespace(s.charAt(index))) {
+                        if (isSpace(s.charAt(index))) {
                             // Break leaving index pointing at whitespace
                             break;
                         }
@@ -312,7 +396,193 @@ public final class StringBuiltins extends PythonBuiltins {
         }
     }
 
-    // str.replace
+    // str.rsplit([sep[, maxsplit]])
+    @Builtin(name = "rsplit", maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class RSplitNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PList doRSplit(String self, PNone sep, PNone maxsplit) {
+            return rsplitfields(self, -1);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PList doRSplit(String self, String sep, PNone maxsplit) {
+            return rsplitSeparator(self, sep, -1);
+        }
+
+        @Specialization
+        public PList doRSplit(String self, @SuppressWarnings("unused") PNone sep, int maxsplit) {
+            return rsplitfields(self, maxsplit);
+        }
+
+        @Specialization
+        public PList doRSplit(String self, String sep, int maxsplit) {
+            return rsplitSeparator(self, sep, maxsplit);
+        }
+
+        @TruffleBoundary
+        private static PList rsplitSeparator(String s, String sep, int maxsplit) {
+            if (sep.isEmpty()) {
+                throw Py.ValueError("empty separator");
+            }
+
+            ArrayList<String> pieces = new ArrayList<>();
+            int end = s.length();
+            int splits = 0;
+            int index;
+
+            while ((maxsplit < 0 || splits < maxsplit) && (index = s.lastIndexOf(sep, end - sep.length())) >= 0) {
+                pieces.add(s.substring(index + sep.length(), end));
+                end = index;
+                splits++;
+            }
+
+            pieces.add(s.substring(0, end));
+            return reversedList(pieces);
+        }
+
+        @TruffleBoundary
+        private static PList rsplitfields(String s, int maxsplit) {
+            ArrayList<String> pieces = new ArrayList<>();
+            int end = s.length();
+            int splits = 0;
+
+            while (end > 0) {
+                while (end > 0 && isSpace(s.charAt(end - 1))) {
+                    end--;
+                }
+
+                if (end == 0) {
+                    break;
+                }
+
+                int index = 0;
+                if (maxsplit < 0 || splits < maxsplit) {
+                    index = end;
+                    while (index > 0 && !isSpace(s.charAt(index - 1))) {
+                        index--;
+                    }
+                }
+
+                pieces.add(s.substring(index, end));
+                splits++;
+                end = index;
+            }
+
+            return reversedList(pieces);
+        }
+
+        private static PList reversedList(ArrayList<String> pieces) {
+            PList list = new PList();
+            for (int i = pieces.size() - 1; i >= 0; i--) {
+                list.append(pieces.get(i));
+            }
+
+            return list;
+        }
+    }
+
+    // str.splitlines([keepends])
+    @Builtin(name = "splitlines", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class SplitLinesNode extends PythonBuiltinNode {
+
+        @TruffleBoundary
+        @Specialization
+        public PList splitlines(String self, Object keepends) {
+            final boolean keep = !(keepends instanceof PNone) && JavaTypeConversions.toBoolean(keepends);
+            final int length = self.length();
+            PList list = new PList();
+            int start = 0;
+            int i = 0;
+
+            while (i < length) {
+                final char c = self.charAt(i);
+
+                if (isLineBreak(c)) {
+                    int eol = i + 1;
+                    if (c == '\r' && eol < length && self.charAt(eol) == '\n') {
+                        eol++;
+                    }
+
+                    list.append(self.substring(start, keep ? eol : i));
+                    start = eol;
+                    i = eol;
+                } else {
+                    i++;
+                }
+            }
+
+            if (start < length) {
+                list.append(self.substring(start));
+            }
+
+            return list;
+        }
+
+        private static boolean isLineBreak(char c) {
+            switch (c) {
+                case '\n':
+                case '\r':
+                case '\u000B':
+                case '\u000C':
+                case '\u001C':
+                case '\u001D':
+                case '\u001E':
+                case '\u0085':
+                case '\u2028':
+                case '\u2029':
+                    return true;
+                default:
+                    return false;
+            }
+        }
+    }
+
+    // str.partition(sep)
+    @Builtin(name = "partition", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PartitionNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple partition(String self, String sep) {
+            if (sep.isEmpty()) {
+                throw Py.ValueError("empty separator");
+            }
+
+            final int index = self.indexOf(sep);
+            if (index < 0) {
+                return new PTuple(new Object[]{self, "", ""});
+            }
+
+            return new PTuple(new Object[]{self.substring(0, index), sep, self.substring(index + sep.length())});
+        }
+    }
+
+    // str.rpartition(sep)
+    @Builtin(name = "rpartition", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class RPartitionNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple rpartition(String self, String sep) {
+            if (sep.isEmpty()) {
+                throw Py.ValueError("empty separator");
+            }
+
+            final int index = self.lastIndexOf(sep);
+            if (index < 0) {
+                return new PTuple(new Object[]{"", "", self});
+            }
+
+            return new PTuple(new Object[]{self.substring(0, index), sep, self.substring(index + sep.length())});
+        }
+    }
+
+    // str.replace(old, new[, count])
     @Builtin(name = "replace", minNumOfArguments = 3, maxNumOfArguments = 4)
     @GenerateNodeFactory
     public abstract static class ReplaceNode extends PythonBuiltinNode {
@@ -327,12 +597,811 @@ public final class StringBuiltins extends PythonBuiltins {
         @TruffleBoundary
         @Specialization
         public String doReplace(String self, String old, String with, int maxsplit) {
-            String newSelf = self;
-            for (int i = 0; i < maxsplit; i++) {
-                newSelf = newSelf.replaceFirst(old, with);
+            if (maxsplit < 0) {
+                return self.replace(old, with);
+            } else if (maxsplit == 0) {
+                return self;
+            }
+
+            final int length = self.length();
+            StringBuilder sb = new StringBuilder(length + with.length() * Math.min(maxsplit, 16));
+            int start = 0;
+            int count = 0;
+
+            if (old.isEmpty()) {
+                while (count < maxsplit && start <= length) {
+                    sb.append(with);
+                    if (start < length) {
+                        sb.append(self.charAt(start));
+                    }
+                    start++;
+                    count++;
+                }
+            } else {
+                int index;
+                while (count < maxsplit && (index = self.indexOf(old, start)) >= 0) {
+                    sb.append(self, start, index);
+                    sb.append(with);
+                    start = index + old.length();
+                    count++;
+                }
+            }
+
+            if (start < length) {
+                sb.append(self, start, length);
+            }
+
+            return sb.toString();
+        }
+
+    }
+
+    // str.find(sub[, start[, end]])
+    @Builtin(name = "find", minNumOfArguments = 2, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class FindNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int find(String self, String sub, Object start, Object end) {
+            return indexOf(self, sub, sliceStart(start, self.length()), sliceEnd(end, self.length()));
+        }
+    }
+
+    // str.rfind(sub[, start[, end]])
+    @Builtin(name = "rfind", minNumOfArguments = 2, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class RFindNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int rfind(String self, String sub, Object start, Object end) {
+            return lastIndexOf(self, sub, sliceStart(start, self.length()), sliceEnd(end, self.length()));
+        }
+    }
+
+    // str.index(sub[, start[, end]])
+    @Builtin(name = "index", minNumOfArguments = 2, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class IndexNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int index(String self, String sub, Object start, Object end) {
+            return checkFound(indexOf(self, sub, sliceStart(start, self.length()), sliceEnd(end, self.length())));
+        }
+    }
+
+    // str.rindex(sub[, start[, end]])
+    @Builtin(name = "rindex", minNumOfArguments = 2, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class RIndexNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int rindex(String self, String sub, Object start, Object end) {
+            return checkFound(lastIndexOf(self, sub, sliceStart(start, self.length()), sliceEnd(end, self.length())));
+        }
+    }
+
+    // str.count(sub[, start[, end]])
+    @Builtin(name = "count", minNumOfArguments = 2, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class CountNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int count(String self, String sub, Object start, Object end) {
+            final int begin = sliceStart(start, self.length());
+            final int stop = sliceEnd(end, self.length());
+
+            if (stop - begin < sub.length()) {
+                return 0;
+            } else if (sub.isEmpty()) {
+                return stop - begin + 1;
+            }
+
+            int count = 0;
+            int index = begin;
+            while ((index = self.indexOf(sub, index)) >= 0 && index + sub.length() <= stop) {
+                count++;
+                index += sub.length();
             }
-            return newSelf;
+
+            return count;
+        }
+    }
+
+    // str.strip([chars])
+    @Builtin(name = "strip", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class StripNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String strip(String self, @SuppressWarnings("unused") PNone chars) {
+            return stripChars(self, null, true, true);
+        }
+
+        @Specialization
+        public String strip(String self, String chars) {
+            return stripChars(self, chars, true, true);
+        }
+    }
+
+    // str.lstrip([chars])
+    @Builtin(name = "lstrip", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class LStripNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String lstrip(String self, @SuppressWarnings("unused") PNone chars) {
+            return stripChars(self, null, true, false);
+        }
+
+        @Specialization
+        public String lstrip(String self, String chars) {
+            return stripChars(self, chars, true, false);
+        }
+    }
+
+    // str.rstrip([chars])
+    @Builtin(name = "rstrip", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class RStripNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String rstrip(String self, @SuppressWarnings("unused") PNone chars) {
+            return stripChars(self, null, false, true);
+        }
+
+        @Specialization
+        public String rstrip(String self, String chars) {
+            return stripChars(self, chars, false, true);
+        }
+    }
+
+    // str.center(width[, fillchar])
+    @Builtin(name = "center", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class CenterNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String center(String self, int width, Object fillchar) {
+            final int margin = width - self.length();
+            final int left = margin / 2 + (margin & width & 1);
+            return pad(self, left, margin - left, castToFillChar(fillchar));
+        }
+    }
+
+    // str.ljust(width[, fillchar])
+    @Builtin(name = "ljust", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class LJustNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String ljust(String self, int width, Object fillchar) {
+            return pad(self, 0, width - self.length(), castToFillChar(fillchar));
+        }
+    }
+
+    // str.rjust(width[, fillchar])
+    @Builtin(name = "rjust", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class RJustNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String rjust(String self, int width, Object fillchar) {
+            return pad(self, width - self.length(), 0, castToFillChar(fillchar));
         }
+    }
+
+    // str.zfill(width)
+    @Builtin(name = "zfill", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ZFillNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String zfill(String self, int width) {
+            final int length = self.length();
+            final int fill = width - length;
+            if (fill <= 0) {
+                return self;
+            }
+
+            StringBuilder sb = new StringBuilder(width);
+            int start = 0;
+            if (length > 0 && (self.charAt(0) == '+' || self.charAt(0) == '-')) {
+                sb.append(self.charAt(0));
+                start = 1;
+            }
 
+            for (int i = 0; i < fill; i++) {
+                sb.append('0');
+            }
+
+            sb.append(self, start, length);
+            return sb.toString();
+        }
     }
+
+    // str.expandtabs([tabsize])
+    @Builtin(name = "expandtabs", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class ExpandTabsNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String expandtabs(String self, @SuppressWarnings("unused") PNone tabsize) {
+            return expandtabs(self, 8);
+        }
+
+        @Specialization
+        public String expandtabs(String self, int tabsize) {
+            if (self.indexOf('\t') < 0) {
+                return self;
+            }
+
+            StringBuilder sb = new StringBuilder(self.length() + tabsize);
+            int column = 0;
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+
+                if (c == '\t') {
+                    if (tabsize > 0) {
+                        final int spaces = tabsize - column % tabsize;
+                        for (int j = 0; j < spaces; j++) {
+                            sb.append(' ');
+                        }
+                        column += spaces;
+                    }
+                } else {
+                    sb.append(c);
+                    column = c == '\n' || c == '\r' ? 0 : column + 1;
+                }
+            }
+
+            return sb.toString();
+        }
+    }
+
+    // str.capitalize()
+    @Builtin(name = "capitalize", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CapitalizeNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String capitalize(String self) {
+            if (self.isEmpty()) {
+                return self;
+            }
+
+            StringBuilder sb = new StringBuilder(self.length());
+            sb.append(Character.toUpperCase(self.charAt(0)));
+
+            for (int i = 1; i < self.length(); i++) {
+                sb.append(Character.toLowerCase(self.charAt(i)));
+            }
+
+            return sb.toString();
+        }
+    }
+
+    // str.casefold()
+    @Builtin(name = "casefold", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CaseFoldNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String casefold(String self) {
+            StringBuilder sb = new StringBuilder(self.length());
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                if (c == '\u00DF') {
+                    sb.append("ss");
+                } else {
+                    sb.append(Character.toLowerCase(Character.toUpperCase(c)));
+                }
+            }
+
+            return sb.toString();
+        }
+    }
+
+    // str.swapcase()
+    @Builtin(name = "swapcase", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class SwapCaseNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String swapcase(String self) {
+            StringBuilder sb = new StringBuilder(self.length());
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                if (Character.isUpperCase(c)) {
+                    sb.append(Character.toLowerCase(c));
+                } else if (Character.isLowerCase(c)) {
+                    sb.append(Character.toUpperCase(c));
+                } else {
+                    sb.append(c);
+                }
+            }
+
+            return sb.toString();
+        }
+    }
+
+    // str.title()
+    @Builtin(name = "title", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class TitleNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String title(String self) {
+            StringBuilder sb = new StringBuilder(self.length());
+            boolean previousCased = false;
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                sb.append(previousCased ? Character.toLowerCase(c) : Character.toTitleCase(c));
+                previousCased = isCased(c);
+            }
+
+            return sb.toString();
+        }
+    }
+
+    // str.isalnum()
+    @Builtin(name = "isalnum", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsAlnumNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isalnum(String self) {
+            if (self.isEmpty()) {
+                return false;
+            }
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                if (!Character.isLetter(c) && !isNumeric(c)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.isalpha()
+    @Builtin(name = "isalpha", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsAlphaNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isalpha(String self) {
+            if (self.isEmpty()) {
+                return false;
+            }
+
+            for (int i = 0; i < self.length(); i++) {
+                if (!Character.isLetter(self.charAt(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.isdecimal()
+    @Builtin(name = "isdecimal", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsDecimalNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isdecimal(String self) {
+            if (self.isEmpty()) {
+                return false;
+            }
+
+            for (int i = 0; i < self.length(); i++) {
+                if (Character.getType(self.charAt(i)) != Character.DECIMAL_DIGIT_NUMBER) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.isdigit()
+    @Builtin(name = "isdigit", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsDigitNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isdigit(String self) {
+            if (self.isEmpty()) {
+                return false;
+            }
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                final int type = Character.getType(c);
+
+                if (type != Character.DECIMAL_DIGIT_NUMBER && !(type == Character.OTHER_NUMBER && Character.getNumericValue(c) >= 0 && Character.getNumericValue(c) <= 9)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.isnumeric()
+    @Builtin(name = "isnumeric", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsNumericNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isnumeric(String self) {
+            if (self.isEmpty()) {
+                return false;
+            }
+
+            for (int i = 0; i < self.length(); i++) {
+                if (!isNumeric(self.charAt(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.isspace()
+    @Builtin(name = "isspace", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsSpaceNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isspace(String self) {
+            if (self.isEmpty()) {
+                return false;
+            }
+
+            for (int i = 0; i < self.length(); i++) {
+                if (!isSpace(self.charAt(i))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.islower()
+    @Builtin(name = "islower", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsLowerNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean islower(String self) {
+            boolean cased = false;
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                if (Character.isUpperCase(c) || Character.isTitleCase(c)) {
+                    return false;
+                } else if (Character.isLowerCase(c)) {
+                    cased = true;
+                }
+            }
+
+            return cased;
+        }
+    }
+
+    // str.isupper()
+    @Builtin(name = "isupper", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsUpperNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isupper(String self) {
+            boolean cased = false;
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                if (Character.isLowerCase(c) || Character.isTitleCase(c)) {
+                    return false;
+                } else if (Character.isUpperCase(c)) {
+                    cased = true;
+                }
+            }
+
+            return cased;
+        }
+    }
+
+    // str.istitle()
+    @Builtin(name = "istitle", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsTitleNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean istitle(String self) {
+            boolean cased = false;
+            boolean previousCased = false;
+
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+
+                if (Character.isUpperCase(c) || Character.isTitleCase(c)) {
+                    if (previousCased) {
+                        return false;
+                    }
+                    previousCased = true;
+                    cased = true;
+                } else if (Character.isLowerCase(c)) {
+                    if (!previousCased) {
+                        return false;
+                    }
+                } else {
+                    previousCased = false;
+                }
+            }
+
+            return cased;
+        }
+    }
+
+    // str.isidentifier()
+    @Builtin(name = "isidentifier", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsIdentifierNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isidentifier(String self) {
+            if (self.isEmpty()) {
+                return false;
+            }
+
+            final char first = self.charAt(0);
+            if (first != '_' && !Character.isUnicodeIdentifierStart(first)) {
+                return false;
+            }
+
+            for (int i = 1; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                if (!Character.isUnicodeIdentifierPart(c) || Character.isIdentifierIgnorable(c)) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.isprintable()
+    @Builtin(name = "isprintable", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsPrintableNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isprintable(String self) {
+            for (int i = 0; i < self.length(); i++) {
+                final char c = self.charAt(i);
+                if (c == ' ') {
+                    continue;
+                }
+
+                switch (Character.getType(c)) {
+                    case Character.CONTROL:
+                    case Character.FORMAT:
+                    case Character.SURROGATE:
+                    case Character.PRIVATE_USE:
+                    case Character.UNASSIGNED:
+                    case Character.LINE_SEPARATOR:
+                    case Character.PARAGRAPH_SEPARATOR:
+                    case Character.SPACE_SEPARATOR:
+                        return false;
+                    default:
+                        break;
+                }
+            }
+
+            return true;
+        }
+    }
+
+    // str.encode(encoding="utf-8", errors="strict")
+    @Builtin(name = "encode", minNumOfArguments = 1, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class EncodeNode extends PythonBuiltinNode {
+
+        @TruffleBoundary
+        @Specialization
+        public PBytes encode(String self, Object encoding, Object errors) {
+            final String charset = encoding instanceof String || encoding instanceof PString ? encoding.toString() : "utf-8";
+            return new PBytes(PBytes.encode(self, charset, errors instanceof String || errors instanceof PString ? errors.toString() : "strict"));
+        }
+    }
+
+    // str.format(*args, **kwargs)
+    @Builtin(name = "format", minNumOfArguments = 1, takesKeywordArguments = true, takesVariableArguments = true, takesVariableKeywords = true)
+    @GenerateNodeFactory
+    public abstract static class FormatNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String format(String self, PTuple args, Object[] keywords) {
+            return StringFormatter.format(self, args.getArray(), (PKeyword[]) keywords);
+        }
+    }
+
+    // str.format_map(mapping)
+    @Builtin(name = "format_map", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class FormatMapNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String formatMap(String self, PDict mapping) {
+            return StringFormatter.formatMap(self, mapping);
+        }
+    }
+
+    /**
+     * Resolves the optional start index of a str method the way a slice does, except that it is
+     * not clamped to the length, so an empty substring is not found past the end.
+     */
+    private static int sliceStart(Object start, int length) {
+        if (start instanceof PNone) {
+            return 0;
+        }
+
+        final int index = castToIndex(start);
+        if (index < 0) {
+            return Math.max(index + length, 0);
+        }
+
+        return index;
+    }
+
+    private static int sliceEnd(Object end, int length) {
+        if (end instanceof PNone) {
+            return length;
+        }
+
+        final int index = castToIndex(end);
+        if (index < 0) {
+            return Math.max(index + length, 0);
+        }
+
+        return Math.min(index, length);
+    }
+
+    private static int castToIndex(Object index) {
+        if (index instanceof Integer) {
+            return (int) index;
+        } else if (index instanceof Boolean) {
+            return (boolean) index ? 1 : 0;
+        } else if (index instanceof BigInteger) {
+            return ((BigInteger) index).signum() < 0 ? Integer.MIN_VALUE / 2 : Integer.MAX_VALUE / 2;
+        }
+
+        throw Py.TypeError("slice indices must be integers or None or have an __index__ method");
+    }
+
+    private static String castToString(Object value, String method) {
+        if (value instanceof String || value instanceof PString) {
+            return value.toString();
+        }
+
+        throw Py.TypeError("tuple for " + method + " must only contain str, not " + PythonTypesUtil.getPythonTypeName(value));
+    }
+
+    private static char castToFillChar(Object fillchar) {
+        if (fillchar instanceof PNone) {
+            return ' ';
+        } else if ((fillchar instanceof String || fillchar instanceof PString) && fillchar.toString().length() == 1) {
+            return fillchar.toString().charAt(0);
+        }
+
+        throw Py.TypeError("The fill character must be exactly one character long");
+    }
+
+    private static boolean startsWithAt(String self, String prefix, int begin, int stop) {
+        return begin + prefix.length() <= stop && self.startsWith(prefix, begin);
+    }
+
+    private static boolean endsWithAt(String self, String suffix, int begin, int stop) {
+        return stop - suffix.length() >= begin && self.startsWith(suffix, stop - suffix.length());
+    }
+
+    private static int indexOf(String self, String sub, int begin, int stop) {
+        if (stop - begin < sub.length()) {
+            return -1;
+        }
+
+        final int index = self.indexOf(sub, begin);
+        return index >= 0 && index + sub.length() <= stop ? index : -1;
+    }
+
+    private static int lastIndexOf(String self, String sub, int begin, int stop) {
+        if (stop - begin < sub.length()) {
+            return -1;
+        }
+
+        final int index = self.lastIndexOf(sub, stop - sub.length());
+        return index >= begin ? index : -1;
+    }
+
+    private static int checkFound(int index) {
+        if (index < 0) {
+            throw Py.ValueError("substring not found");
+        }
+
+        return index;
+    }
+
+    /**
+     * Strips whitespace, or any of the given chars, from the requested ends. Returns self when
+     * nothing is stripped.
+     */
+    private static String stripChars(String self, String chars, boolean left, boolean right) {
+        int start = 0;
+        int end = self.length();
+
+        if (left) {
+            while (start < end && isStripped(self.charAt(start), chars)) {
+                start++;
+            }
+        }
+
+        if (right) {
+            while (end > start && isStripped(self.charAt(end - 1), chars)) {
+                end--;
+            }
+        }
+
+        return self.substring(start, end);
+    }
+
+    private static boolean isStripped(char c, String chars) {
+        return chars == null ? isSpace(c) : chars.indexOf(c) >= 0;
+    }
+
+    private static String pad(String self, int left, int right, char fill) {
+        if (left <= 0 && right <= 0) {
+            return self;
+        }
+
+        StringBuilder sb = new StringBuilder(self.length() + Math.max(left, 0) + Math.max(right, 0));
+        for (int i = 0; i < left; i++) {
+            sb.append(fill);
+        }
+
+        sb.append(self);
+
+        for (int i = 0; i < right; i++) {
+            sb.append(fill);
+        }
+
+        return sb.toString();
+    }
+
+    /**
+     * Python counts the Unicode space separators and the ASCII information separators as
+     * whitespace, Java's isWhitespace does not count the former.
+     */
+    private static boolean isSpace(char c) {
+        return Character.isWhitespace(c) || Character.isSpaceChar(c);
+    }
+
+    private static boolean isCased(char c) {
+        return Character.isUpperCase(c) || Character.isLowerCase(c) || Character.isTitleCase(c);
+    }
+
+    private static boolean isNumeric(char c) {
+        final int type = Character.getType(c);
+        return type == Character.DECIMAL_DIGIT_NUMBER || type == Character.LETTER_NUMBER || type == Character.OTHER_NUMBER;
+    }
+
 }
@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.builtins.module.StructModuleBuiltins.IterUnpackNode;
+import edu.uci.python.builtins.module.StructModuleBuiltins.PackIntoNode;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.struct.*;
+
+/**
+ * Methods of struct.Struct objects, which carry their parsed format with them.
+ */
+public final class StructBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return StructBuiltinsFactory.getFactories();
+    }
+
+    // Struct.pack(v1, v2, ...)
+    @Builtin(name = "pack", minNumOfArguments = 1, takesVariableArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PackNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PBytes pack(PStruct self, PTuple values) {
+            return self.pack(values.getArray());
+        }
+    }
+
+    // Struct.pack_into(buffer, offset, v1, v2, ...)
+    @Builtin(name = "pack_into", minNumOfArguments = 3, takesVariableArguments = true)
+    @GenerateNodeFactory
+    public abstract static class PackIntoStructNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone packInto(PStruct self, PByteArray buffer, int offset, PTuple values) {
+            return PackIntoNode.packInto(self, buffer, offset, values.getArray());
+        }
+    }
+
+    // Struct.unpack(buffer)
+    @Builtin(name = "unpack", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class UnpackNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple unpack(PStruct self, PBytes buffer) {
+            final byte[] bytes = buffer.getInternalByteArray();
+            return self.unpack(bytes, bytes.length, 0, true);
+        }
+
+        @Specialization
+        public PTuple unpack(PStruct self, PByteArray buffer) {
+            return self.unpack(buffer.getInternalByteArray(), buffer.len(), 0, true);
+        }
+    }
+
+    // Struct.unpack_from(buffer, offset=0)
+    @Builtin(name = "unpack_from", minNumOfArguments = 2, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class UnpackFromNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PTuple unpackFrom(PStruct self, PBytes buffer, Object offset) {
+            final byte[] bytes = buffer.getInternalByteArray();
+            return self.unpack(bytes, bytes.length, castToOffset(offset), false);
+        }
+
+        @Specialization
+        public PTuple unpackFrom(PStruct self, PByteArray buffer, Object offset) {
+            return self.unpack(buffer.getInternalByteArray(), buffer.len(), castToOffset(offset), false);
+        }
+
+        private static int castToOffset(Object offset) {
+            return offset instanceof Integer ? (int) offset : 0;
+        }
+    }
+
+    // Struct.iter_unpack(buffer)
+    @Builtin(name = "iter_unpack", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IterUnpackStructNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object iterUnpack(PStruct self, PBytes buffer) {
+            final byte[] bytes = buffer.getInternalByteArray();
+            return IterUnpackNode.iterUnpack(self, bytes, bytes.length);
+        }
+
+        @Specialization
+        public Object iterUnpack(PStruct self, PByteArray buffer) {
+            return IterUnpackNode.iterUnpack(self, buffer.getInternalByteArray(), buffer.len());
+        }
+    }
+
+}
@@ -90,6 +90,14 @@ public abstract class PGuards {
         return first.getStorage() instanceof ObjectSequenceStorage && second.getStorage() instanceof ObjectSequenceStorage;
     }
 
+    public static boolean isIntKeyStorage(PDict dict) {
+        return dict.getStorage() instanceof IntKeyDictStorage;
+    }
+
+    public static boolean isStringKeyStorage(PDict dict) {
+        return dict.getStorage() instanceof StringKeyDictStorage;
+    }
+
     public static boolean isObjectStorageIterator(PSequenceIterator iterator) {
         PSequence sequence = iterator.getSeqence();
 
@@ -88,6 +88,10 @@ public class ArgumentsNode extends PNode {
         return arguments.length;
     }
 
+    public boolean hasStarargs() {
+        return !(starargs instanceof EmptyNode);
+    }
+
     @Override
     public Object execute(VirtualFrame frame) {
         return executeArguments(frame, executeStarargs(frame));
@@ -76,6 +76,11 @@ public abstract class ReadIndexedArgumentNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
+            if (index >= PArguments.getUserArgumentLength(frame)) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                return replace(new OffBoundReadArgumentNode(index)).execute(frame);
+            }
+
             return PArguments.getArgumentAt(frame, index);
         }
     }
@@ -89,6 +94,11 @@ public abstract class ReadIndexedArgumentNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
+            if (index < PArguments.getUserArgumentLength(frame)) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                return replace(new InBoundReadArgumentNode(index)).execute(frame);
+            }
+
             return PNone.NONE;
         }
     }
@@ -291,6 +291,7 @@ public abstract class CallDispatchBoxedNode extends CallDispatchNode {
 
                 specialized = replace(create(primaryObj, calleeName, callee, calleeNode, keywords, isPrimaryPassedInArguments));
             } else {
+                AttributeLookupCache.getInstance().noteMegamorphicCallSite();
                 specialized = getTop().replace(new GenericDispatchBoxedNode(calleeName, calleeNode, isPrimaryPassedInArguments));
             }
 
@@ -30,6 +30,7 @@ import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.standardtype.*;
 
 /**
@@ -45,7 +46,15 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         super(calleeName);
     }
 
-    protected abstract Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords);
+    public abstract Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords);
+
+    /**
+     * Creates the head of a dispatch chain for callers other than {@link PythonCallNode}, such as
+     * built-ins that call back into user code with a callable they received as an argument.
+     */
+    public static CallDispatchNoneNode create(String calleeName, boolean hasKeyword) {
+        return new UninitializedDispatchNoneNode(calleeName, hasKeyword);
+    }
 
     protected static CallDispatchNoneNode create(PythonCallable callee, PKeyword[] keywords) {
         UninitializedDispatchNoneNode next = new UninitializedDispatchNoneNode(callee.getName(), keywords.length != 0);
@@ -54,7 +63,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
             return new GeneratorDispatchNoneNode((PGeneratorFunction) callee, next);
         }
 
-        if (callee instanceof PFunction) {
+        if (callee instanceof PFunction || callee instanceof PBuiltinFunction) {
             return new LinkedDispatchNoneNode(callee, next);
         }
 
@@ -63,7 +72,10 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
             return new LinkedDispatchNoneNode((PythonCallable) clazz.getAttribute("__init__"), next);
         }
 
-        throw new UnsupportedOperationException("Unsupported callee type " + callee);
+        /**
+         * Bound methods and partials have no single call target to cache.
+         */
+        return new GenericDispatchNoneNode(callee.getName());
     }
 
     /**
@@ -101,7 +113,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
             if (cachedCallee == callee) {
                 return invoke.invoke(frame, null, arguments, keywords);
             }
@@ -127,7 +139,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
             if (generator == callee) {
                 return generator.call(arguments);
             }
@@ -154,8 +166,12 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
-            return callee.call(arguments);
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+            if (keywords.length == 0) {
+                return callee.call(arguments);
+            }
+
+            return callee.call(arguments, keywords);
         }
     }
 
@@ -170,7 +186,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
 
             CallDispatchNoneNode specialized;
@@ -178,6 +194,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
             if (getDispatchDepth() < PythonOptions.CallSiteInlineCacheMaxDepth) {
                 specialized = replace(CallDispatchNoneNode.create(callee, keywords));
             } else {
+                AttributeLookupCache.getInstance().noteMegamorphicCallSite();
                 specialized = getTop().replace(new GenericDispatchNoneNode(calleeName));
             }
 
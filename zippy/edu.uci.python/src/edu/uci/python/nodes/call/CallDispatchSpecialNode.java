@@ -25,6 +25,7 @@
 package edu.uci.python.nodes.call;
 
 import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
@@ -51,6 +52,10 @@ public abstract class CallDispatchSpecialNode extends CallDispatchNode {
     protected static CallDispatchSpecialNode create(PythonObject primary, String specialMethodId, PythonCallable callee, boolean reflected) {
         UninitializedDispatchSpecialNode next = new UninitializedDispatchSpecialNode(specialMethodId);
 
+        if (!primary.getStableAssumption().isValid()) {
+            primary.syncObjectLayoutWithClass();
+        }
+
         LayoutCheckNode check = LayoutCheckNode.create(primary, specialMethodId, primary.isOwnAttribute(specialMethodId));
         assert check != null;
 
@@ -184,8 +189,11 @@ public abstract class CallDispatchSpecialNode extends CallDispatchNode {
 
         @Override
         public Object executeCall(VirtualFrame frame, Object left, Object right) {
-            CompilerAsserts.neverPartOfCompilation();
+            return callSpecialMethod(left, right);
+        }
 
+        @TruffleBoundary
+        private Object callSpecialMethod(Object left, Object right) {
             String specialMethodId = calleeName;
             PythonCallable callee = PythonCallUtil.resolveSpecialMethod(left, specialMethodId);
 
@@ -220,7 +228,9 @@ public abstract class CallDispatchSpecialNode extends CallDispatchNode {
             CallDispatchSpecialNode specialized;
 
             if (getDispatchDepth() >= PythonOptions.CallSiteInlineCacheMaxDepth) {
+                AttributeLookupCache.getInstance().noteMegamorphicCallSite();
                 specialized = getTop().replace(new GenericDispatchSpecialNode(calleeName));
+                return specialized.executeCall(frame, left, right);
             }
 
             /**
@@ -142,6 +142,7 @@ public abstract class CallDispatchUnboxedNode extends CallDispatchNode {
                 }
                 specialized = replace(CallDispatchUnboxedNode.create(primaryObj, callee, calleeNode, keywords));
             } else {
+                AttributeLookupCache.getInstance().noteMegamorphicCallSite();
                 specialized = getTop().replace(new GenericDispatchUnboxedNode(calleeName, calleeNode));
             }
 
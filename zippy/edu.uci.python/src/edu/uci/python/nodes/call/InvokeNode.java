@@ -24,16 +24,23 @@
  */
 package edu.uci.python.nodes.call;
 
+import java.io.*;
+
 import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.function.*;
 
 public abstract class InvokeNode extends Node {
 
     @Child protected DirectCallNode callNode;
 
+    private int callCount;
+
     public InvokeNode(DirectCallNode callNode) {
         this.callNode = callNode;
     }
@@ -78,6 +85,57 @@ public abstract class InvokeNode extends Node {
         }
     }
 
+    /**
+     * Give this call site its own copy of a Python function once the shared copy has gone
+     * polymorphic. The split copy starts uninitialized and only collects type feedback from this
+     * call site. Callees within {@link PythonOptions#InliningBudget} are also forced inline.
+     */
+    protected final void profileSplitting() {
+        if (CompilerDirectives.inInterpreter() && callCount < PythonOptions.SplittingCallThreshold) {
+            if (++callCount == PythonOptions.SplittingCallThreshold) {
+                trySplit();
+            }
+        }
+    }
+
+    private void trySplit() {
+        CompilerAsserts.neverPartOfCompilation();
+
+        if (!callNode.isCallTargetCloningAllowed() || callNode.isCallTargetCloned()) {
+            return;
+        }
+
+        FunctionRootNode callee = (FunctionRootNode) ((RootCallTarget) callNode.getCallTarget()).getRootNode();
+        PythonContext context = callee.getContext();
+
+        if (!context.getPythonOptions().SplitPolymorphicFunctions) {
+            return;
+        }
+
+        // Recursion would otherwise split the callee again in each copy
+        RootNode caller = getRootNode();
+        if (caller instanceof FunctionRootNode && ((FunctionRootNode) caller).isOnSplitChainOf(callee)) {
+            return;
+        }
+
+        if (!callee.isSplittingCandidate()) {
+            return;
+        }
+
+        callNode.cloneCallTarget();
+        callNode.forceInlining();
+
+        RootNode copy = ((RootCallTarget) callNode.getClonedCallTarget()).getRootNode();
+        if (copy instanceof FunctionRootNode) {
+            ((FunctionRootNode) copy).setSplitOrigin(callee, caller);
+        }
+
+        if (context.getPythonOptions().TraceSplitting) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy] split " + callee + " in " + caller);
+        }
+    }
+
     /**
      * Replicate the CallTarget to let each builtin call site executes its own AST.
      */
@@ -98,6 +156,7 @@ public abstract class InvokeNode extends Node {
 
         @Override
         protected Object invoke(VirtualFrame frame, Object primary, Object[] arguments, PKeyword[] keywords) {
+            profileSplitting();
             PArguments.setDeclarationFrame(arguments, declarationFrame);
             return callNode.call(arguments);
         }
@@ -108,6 +167,17 @@ public abstract class InvokeNode extends Node {
         private final MaterializedFrame declarationFrame;
         private final Arity arity;
 
+        /**
+         * Keyword names of a call site are constants of its keyword literals. The mapping from
+         * keyword to parameter slot is resolved once on the first call and reused as long as the
+         * call site passes the same names. Call sites that pass varying names, e.g. through
+         * <code>**kwargs</code>, fall back to the generic lookup.
+         */
+        @CompilationFinal(dimensions = 1) private String[] cachedNames;
+        @CompilationFinal(dimensions = 1) private int[] cachedSlots;
+        @CompilationFinal private int unusedCount;
+        @CompilationFinal private boolean generic;
+
         public InvokeWithKeywordNode(CallTarget callTarget, MaterializedFrame declarationFrame, Arity arity) {
             super(Truffle.getRuntime().createDirectCallNode(callTarget));
             this.declarationFrame = declarationFrame;
@@ -116,10 +186,64 @@ public abstract class InvokeNode extends Node {
 
         @Override
         protected Object invoke(VirtualFrame frame, Object primary, Object[] arguments, PKeyword[] keywords) {
-            Object[] combined = PArguments.applyKeywordArgs(arity, arguments, keywords);
+            Object[] combined;
+
+            if (generic) {
+                combined = PArguments.applyKeywordArgs(arity, arguments, keywords);
+            } else {
+                if (cachedNames == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    resolve(keywords);
+                }
+
+                if (matchesCachedNames(keywords)) {
+                    combined = PArguments.applyResolvedKeywordArgs(arity.parametersSize(), arguments, keywords, cachedSlots, unusedCount);
+                } else {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    generic = true;
+                    combined = PArguments.applyKeywordArgs(arity, arguments, keywords);
+                }
+            }
+
+            profileSplitting();
             PArguments.setDeclarationFrame(combined, declarationFrame);
             return callNode.call(combined);
         }
+
+        private void resolve(PKeyword[] keywords) {
+            String[] names = new String[keywords.length];
+            for (int i = 0; i < keywords.length; i++) {
+                names[i] = keywords[i].getName();
+            }
+
+            int[] slots = PArguments.resolveKeywordSlots(arity, keywords);
+            int unused = 0;
+            for (int slot : slots) {
+                if (slot == -1) {
+                    unused++;
+                }
+            }
+
+            assert !(arity.isTakesFixedNumOfArgs() && unused != 0) : arity.getFunctionName() + " got an unexpected keyword argument";
+            cachedSlots = slots;
+            unusedCount = unused;
+            cachedNames = names;
+        }
+
+        @ExplodeLoop
+        private boolean matchesCachedNames(PKeyword[] keywords) {
+            if (keywords.length != cachedNames.length) {
+                return false;
+            }
+
+            for (int i = 0; i < cachedNames.length; i++) {
+                if (keywords[i].getName() != cachedNames[i]) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
     }
 
     public static final class InvokeBuiltinWithKeywordNode extends InvokeNode {
@@ -27,20 +27,37 @@ package edu.uci.python.nodes.call;
 import java.lang.invoke.*;
 
 import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.standardtype.*;
 
+/**
+ * Allocates the instances of a class at a constructor call site. The site starts instances in the
+ * current instance layout of the class, which already holds every attribute the constructors have
+ * added so far, so a constructor does no layout transition in steady state. The site also records
+ * whether its instances fill their spill arrays by the end of the constructor, and if so allocates
+ * the arrays upfront at the size of the layout instead of on the first spilled write.
+ */
 public abstract class NewInstanceNode extends Node {
 
     protected final Assumption ctorValidAssumption;
     protected final MethodHandle instanceCtor;
 
+    @CompilationFinal private boolean presizeSpillArray;
+    @CompilationFinal private boolean presizePrimitiveSpillArray;
+
     public static NewInstanceNode create(PythonClass clazz) {
         ObjectLayout layout = clazz.getInstanceObjectLayout();
-        if (layout instanceof FlexibleObjectLayout) {
+        if (layout instanceof FlexibleObjectLayout && !clazz.getContext().getPythonOptions().InstrumentObjectStorageAllocation) {
+            return new NewFlexibleLayoutInstanceNode(clazz);
+        } else if (layout instanceof FlexibleObjectLayout) {
             return new NewFlexibleInstanceNode(clazz);
+        } else if (layout instanceof FixedObjectLayout && clazz.getInstanceConstructor() == PythonContext.getDefaultPythonObjectConstructor() &&
+                        !clazz.getContext().getPythonOptions().InstrumentObjectStorageAllocation) {
+            return new NewDefaultInstanceNode(clazz);
         } else {
             return new NewFixedInstanceNode(clazz);
         }
@@ -54,7 +71,13 @@ public abstract class NewInstanceNode extends Node {
     public final PythonObject createNewInstance(PythonClass clazz) {
         try {
             ctorValidAssumption.check();
-            return invokeCtor(clazz);
+            final PythonObject instance = invokeCtor(clazz);
+
+            if (presizeSpillArray || presizePrimitiveSpillArray) {
+                instance.presizeSpillArrays(presizeSpillArray, presizePrimitiveSpillArray);
+            }
+
+            return instance;
         } catch (InvalidAssumptionException e) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
             return rewriteAndExecute(clazz);
@@ -63,8 +86,26 @@ public abstract class NewInstanceNode extends Node {
 
     public abstract PythonObject invokeCtor(PythonClass clazz);
 
+    /**
+     * Called with a new instance once its constructor has returned.
+     */
+    public final void profileConstructedInstance(PythonObject instance) {
+        if (!presizeSpillArray && instance.getSpillArray() != null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            presizeSpillArray = true;
+        }
+
+        if (!presizePrimitiveSpillArray && instance.getPrimitiveSpillArray() != null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            presizePrimitiveSpillArray = true;
+        }
+    }
+
     protected PythonObject rewriteAndExecute(PythonClass clazz) {
-        return replace(create(clazz)).createNewInstance(clazz);
+        final NewInstanceNode newNode = create(clazz);
+        newNode.presizeSpillArray = presizeSpillArray;
+        newNode.presizePrimitiveSpillArray = presizePrimitiveSpillArray;
+        return replace(newNode).createNewInstance(clazz);
     }
 
     public static final class NewFixedInstanceNode extends NewInstanceNode {
@@ -84,6 +125,64 @@ public abstract class NewInstanceNode extends Node {
         }
     }
 
+    /**
+     * Allocates a {@link FixedPythonObjectStorage} in the cached instance layout without going
+     * through the constructor method handle or reading the layout from the class. A new instance
+     * that does not escape the compiled method can then be scalar replaced.
+     */
+    public static final class NewDefaultInstanceNode extends NewInstanceNode {
+
+        private final ObjectLayout instanceLayout;
+
+        public NewDefaultInstanceNode(PythonClass pythonClass) {
+            super(pythonClass);
+            this.instanceLayout = pythonClass.getInstanceObjectLayout();
+        }
+
+        @Override
+        public PythonObject invokeCtor(PythonClass clazz) {
+            if (clazz != instanceLayout.getPythonClass()) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                return replace(new NewFixedInstanceNode(clazz)).invokeCtor(clazz);
+            }
+
+            return new FixedPythonObjectStorage(instanceLayout);
+        }
+    }
+
+    /**
+     * Allocates a {@link FlexiblePythonObjectStorage} in the cached instance layout through the layout
+     * constructor of its generated storage class, the flexible counterpart of
+     * {@link NewDefaultInstanceNode}. The layout is a constant of the compiled method, so the
+     * allocation can be scalar replaced as well.
+     */
+    public static final class NewFlexibleLayoutInstanceNode extends NewInstanceNode {
+
+        private final FlexibleObjectLayout instanceLayout;
+        private final MethodHandle layoutCtor;
+
+        public NewFlexibleLayoutInstanceNode(PythonClass pythonClass) {
+            super(pythonClass);
+            this.instanceLayout = (FlexibleObjectLayout) pythonClass.getInstanceObjectLayout();
+            this.layoutCtor = FlexibleStorageClassGenerator.lookupLayoutConstructor(instanceLayout.getStorageClass());
+        }
+
+        @Override
+        public FlexiblePythonObjectStorage invokeCtor(PythonClass clazz) {
+            if (clazz != instanceLayout.getPythonClass() || !instanceLayout.getValidAssumption().isValid()) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                return replace(new NewFlexibleInstanceNode(clazz)).invokeCtor(clazz);
+            }
+
+            try {
+                return (FlexiblePythonObjectStorage) layoutCtor.invokeExact(instanceLayout);
+            } catch (Throwable e) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw new RuntimeException("instance constructor invocation failed in " + this);
+            }
+        }
+    }
+
     public static final class NewFlexibleInstanceNode extends NewInstanceNode {
 
         public NewFlexibleInstanceNode(PythonClass pythonClass) {
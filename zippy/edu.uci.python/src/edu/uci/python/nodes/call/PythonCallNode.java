@@ -27,6 +27,8 @@ package edu.uci.python.nodes.call;
 import static edu.uci.python.nodes.truffle.PythonTypesUtil.*;
 import static edu.uci.python.nodes.call.PythonCallUtil.*;
 
+import java.util.Arrays;
+
 import org.python.core.*;
 
 import com.oracle.truffle.api.*;
@@ -102,6 +104,10 @@ public abstract class PythonCallNode extends PNode {
         return argumentsNode;
     }
 
+    public final boolean hasKeywords() {
+        return keywordsNode.length() != 0 || keywordsNode.hasStarargs();
+    }
+
     public final boolean passPrimaryAsArgument() {
         return passPrimaryAsTheFirstArgument;
     }
@@ -154,7 +160,7 @@ public abstract class PythonCallNode extends PNode {
          * Performs the arith check.<br>
          * Evaluates the arguments.
          */
-        boolean passPrimaryAsArgument = PythonCallUtil.haveToPassPrimary(primary, callable, this) || isSpecialMethodDispatch;
+        boolean passPrimaryAsArgument = (PythonCallUtil.haveToPassPrimary(primary, callable, this) || isSpecialMethodDispatch) && !(callable instanceof PPartial);
         final Object[] starargs = argumentsNode.executeStarargs(frame);
         final PKeyword[] keystarags = keywordsNode.executeKeywordStarargs(frame);
         final int arglen = (passPrimaryAsArgument ? argumentsNode.length() + 1 : argumentsNode.length()) + starargs.length;
@@ -162,6 +168,21 @@ public abstract class PythonCallNode extends PNode {
         Object[] arguments = argumentsNode.executeArguments(frame, passPrimaryAsArgument, isSpecialMethodDispatch ? callee : primary, starargs);
         PKeyword[] keywords = keywordsNode.executeKeywordArguments(frame, keystarags);
 
+        /**
+         * functools wrappers are seen through, so the wrapped function gets its own inline cache.
+         */
+        if (callable instanceof PPartial) {
+            PPartial partial = (PPartial) callable;
+            boolean hasKeyword = keywords.length != 0 || partial.getKeywords().length != 0;
+            PartialCallNode specialized = new PartialCallNode(context, callable.getName(), primaryNode, calleeNode, argumentsNode, keywordsNode, hasKeyword);
+            return replace(specialized).executeCall(frame, partial, arguments, keywords);
+        }
+
+        if (callable instanceof PLruCache) {
+            LruCacheCallNode specialized = new LruCacheCallNode(context, callable.getName(), primaryNode, calleeNode, argumentsNode, keywordsNode, keywords.length != 0, passPrimaryAsArgument);
+            return replace(specialized).executeCall(frame, (PLruCache) callable, arguments, keywords);
+        }
+
         if (isSpecialMethodDispatch) {
             CallDispatchBoxedNode dispatch = CallDispatchBoxedNode.create((PythonObject) callee, "__call__", callable, NodeUtil.cloneNode(calleeNode), PKeyword.EMPTY_KEYWORDS, passPrimaryAsArgument);
             replace(new PythonObjectCallNode(context, callable.getName(), primaryNode, calleeNode, argumentsNode, keywordsNode, dispatch));
@@ -186,7 +207,7 @@ public abstract class PythonCallNode extends PNode {
              * If the callee class has switched to a flexible object storage then no need to
              * bootstrap the constructor call again.
              */
-            if (!context.getPythonOptions().FlexibleObjectStorage) {
+            if (!context.getPythonOptions().FlexibleObjectStorage || clazz.getInstanceObjectLayout().isSealed()) {
                 specialized = new CallConstructorFixedNode(context, clazz, primaryNode, calleeNode, argumentsNode, keywordsNode, dispatch);
             } else if (clazz.getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
                 specialized = new CallConstructorFlexibleNode(context, clazz, primaryNode, calleeNode, argumentsNode, keywordsNode, dispatch);
@@ -424,36 +445,42 @@ public abstract class PythonCallNode extends PNode {
             super(context, pythonClass, primary, callee, arguments, keywords, dispatch);
         }
 
+        /**
+         * Instances are allocated in the default fixed storage until the class has settled on an
+         * instance layout and the storage class generated for it is ready. Instances allocated
+         * before the switch stay in fixed storage.
+         */
         @Override
         protected Object executeCall(VirtualFrame frame, PythonObject primary, PythonClass clazz) {
-            // Should never bootstrap the same class twice!
-            assert !(clazz.getInstanceObjectLayout() instanceof FlexibleObjectLayout);
+            if (clazz.getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                return switchToGeneratedStorage().executeCall(frame, primary, clazz);
+            }
 
-            PythonObject bootstrapObject = instanceNode.createNewInstance(clazz);
+            PythonObject newInstance = instanceNode.createNewInstance(clazz);
 
             final Object[] starargs = argumentsNode.executeStarargs(frame);
             final PKeyword[] keystarags = keywordsNode.executeKeywordStarargs(frame);
-            Object[] arguments = argumentsNode.executeArguments(frame, true, bootstrapObject, starargs);
+            Object[] arguments = argumentsNode.executeArguments(frame, true, newInstance, starargs);
             PKeyword[] keywords = keywordsNode.executeKeywordArguments(frame, keystarags);
             dispatchNode.executeCall(frame, primary, arguments, keywords);
+            instanceNode.profileConstructedInstance(newInstance);
 
-            // Switch to generated object storage.
-            clazz.switchToGeneratedStorageClass();
-            if (context.getPythonOptions().FlexibleObjectStorageEvolution) {
-                this.replace(new CallConstructorFlexibleNode(context, pythonClass, primaryNode, calleeNode, argumentsNode, keywordsNode, dispatchNode));
-            } else {
-                this.replace(new CallConstructorFixedNode(context, pythonClass, primaryNode, calleeNode, argumentsNode, keywordsNode, dispatchNode));
+            if (clazz.profileFixedInstanceAllocation()) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                switchToGeneratedStorage();
             }
 
-            // Instantiate and migrate to the generated object storage.
-            PythonObject newInstance = instanceNode.createNewInstance(clazz);
-            bootstrapObject.migrateTo(newInstance);
-
-            assert !bootstrapObject.getObjectLayout().getValidAssumption().isValid();
-            assert newInstance.getObjectLayout().getValidAssumption().isValid();
-            assert newInstance.getObjectLayout() == clazz.getInstanceObjectLayout();
             return newInstance;
         }
+
+        private CallConstructorNode switchToGeneratedStorage() {
+            if (context.getPythonOptions().FlexibleObjectStorageEvolution) {
+                return replace(new CallConstructorFlexibleNode(context, pythonClass, primaryNode, calleeNode, argumentsNode, keywordsNode, dispatchNode));
+            } else {
+                return replace(new CallConstructorFixedNode(context, pythonClass, primaryNode, calleeNode, argumentsNode, keywordsNode, dispatchNode));
+            }
+        }
     }
 
     public static final class CallConstructorFlexibleNode extends CallConstructorNode {
@@ -495,6 +522,7 @@ public abstract class PythonCallNode extends PNode {
             Object[] arguments = argumentsNode.executeArguments(frame, true, newInstance, starargs);
             PKeyword[] keywords = keywordsNode.executeKeywordArguments(frame, keystarags);
             dispatchNode.executeCall(frame, primary, arguments, keywords);
+            instanceNode.profileConstructedInstance(newInstance);
             assert newInstance.verifyLayout();
             return newInstance;
         }
@@ -515,6 +543,7 @@ public abstract class PythonCallNode extends PNode {
             Object[] arguments = argumentsNode.executeArguments(frame, true, newInstance, starargs);
             PKeyword[] keywords = keywordsNode.executeKeywordArguments(frame, keystarags);
             dispatchNode.executeCall(frame, primary, arguments, keywords);
+            instanceNode.profileConstructedInstance(newInstance);
             return newInstance;
         }
     }
@@ -551,6 +580,100 @@ public abstract class PythonCallNode extends PNode {
         }
     }
 
+    /**
+     * Calls a functools.partial. The bound arguments are prepended and the call is dispatched on
+     * the wrapped function, which makes it inlinable like a direct call.
+     */
+    public static final class PartialCallNode extends PythonCallNode {
+
+        @Child protected CallDispatchNoneNode dispatchNode;
+
+        public PartialCallNode(PythonContext context, String calleeName, PNode primary, PNode callee, ArgumentsNode arguments, ArgumentsNode keywords, boolean hasKeyword) {
+            super(context, calleeName, primary, callee, arguments, keywords, false);
+            this.dispatchNode = CallDispatchNoneNode.create(calleeName, hasKeyword);
+        }
+
+        public CallDispatchNode getDispatchNode() {
+            return dispatchNode;
+        }
+
+        @Override
+        public boolean isInlined() {
+            return dispatchNode.isInlined();
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object callee = calleeNode.execute(frame);
+
+            if (!(callee instanceof PPartial)) {
+                return rewriteAndExecuteCall(frame, primaryNode.execute(frame), callee);
+            }
+
+            final Object[] starargs = argumentsNode.executeStarargs(frame);
+            final PKeyword[] keystarags = keywordsNode.executeKeywordStarargs(frame);
+            Object[] arguments = argumentsNode.executeArguments(frame, starargs);
+            PKeyword[] keywords = keywordsNode.executeKeywordArguments(frame, keystarags);
+            return executeCall(frame, (PPartial) callee, arguments, keywords);
+        }
+
+        protected Object executeCall(VirtualFrame frame, PPartial partial, Object[] arguments, PKeyword[] keywords) {
+            return dispatchNode.executeCall(frame, partial.getFunction(), partial.bindArguments(arguments), partial.bindKeywords(keywords));
+        }
+    }
+
+    /**
+     * Calls a functools.lru_cache wrapper. Hits return straight from the cache, misses dispatch the
+     * wrapped function through a regular inline cache.
+     */
+    public static final class LruCacheCallNode extends PythonCallNode {
+
+        @Child protected CallDispatchNoneNode dispatchNode;
+
+        public LruCacheCallNode(PythonContext context, String calleeName, PNode primary, PNode callee, ArgumentsNode arguments, ArgumentsNode keywords, boolean hasKeyword, boolean passPrimary) {
+            super(context, calleeName, primary, callee, arguments, keywords, passPrimary);
+            this.dispatchNode = CallDispatchNoneNode.create(calleeName, hasKeyword);
+        }
+
+        public CallDispatchNode getDispatchNode() {
+            return dispatchNode;
+        }
+
+        @Override
+        public boolean isInlined() {
+            return dispatchNode.isInlined();
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            Object primary = primaryNode.execute(frame);
+            Object callee = calleeNode.execute(frame);
+
+            if (!(callee instanceof PLruCache)) {
+                return rewriteAndExecuteCall(frame, primary, callee);
+            }
+
+            final Object[] starargs = argumentsNode.executeStarargs(frame);
+            final PKeyword[] keystarags = keywordsNode.executeKeywordStarargs(frame);
+            Object[] arguments = argumentsNode.executeArguments(frame, passPrimaryAsTheFirstArgument, primary, starargs);
+            PKeyword[] keywords = keywordsNode.executeKeywordArguments(frame, keystarags);
+            return executeCall(frame, (PLruCache) callee, arguments, keywords);
+        }
+
+        protected Object executeCall(VirtualFrame frame, PLruCache cache, Object[] arguments, PKeyword[] keywords) {
+            Object result = cache.lookup(arguments, keywords);
+
+            if (result == null) {
+                // the callee may write into its arguments, which are also the key of the entry
+                final Object[] copy = Arrays.copyOf(arguments, arguments.length);
+                result = dispatchNode.executeCall(frame, cache.getFunction(), copy, keywords);
+                cache.store(arguments, keywords, result);
+            }
+
+            return result;
+        }
+    }
+
     public static final class JythonCallNode extends PythonCallNode {
 
         public JythonCallNode(PythonContext context, String calleeName, PNode primary, PNode callee, ArgumentsNode arguments, ArgumentsNode keywords) {
@@ -39,6 +39,7 @@ import com.oracle.truffle.api.nodes.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
@@ -133,9 +134,17 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return left.add(right);
         }
 
+        /**
+         * Appends to a buffered str in place, which keeps s = s + piece in a loop linear.
+         */
         @Specialization
-        String doString(String left, String right) {
-            return left + right;
+        PString doPString(PString left, String right) {
+            return left.append(right);
+        }
+
+        @Specialization
+        Object doString(String left, String right) {
+            return PString.concat(left, right);
         }
 
         @Specialization(guards = "areBothIntStorage(left,right)")
@@ -164,6 +173,11 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return left.__add__(right);
         }
 
+        @Specialization
+        PBytes doPBytes(PBytes left, PBytes right) {
+            return left.__add__(right);
+        }
+
         @Specialization
         PArray doPArray(PArray left, PArray right) {
             return left.__add__(right);
@@ -310,6 +324,16 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return left.__mul__(right);
         }
 
+        @Specialization
+        PBytes doIntPBytes(int left, PBytes right) {
+            return right.__mul__(left);
+        }
+
+        @Specialization
+        PBytes doPBytesInt(PBytes left, int right) {
+            return left.__mul__(right);
+        }
+
         @Specialization
         PArray doIntPArray(int left, PArray right) {
             return right.__mul__(left);
@@ -360,11 +384,10 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
          * double division by zero in Java doesn't throw an exception, instead it yield Infinity
          * (NaN).
          */
-        @Specialization(rewriteOn = ArithmeticException.class)
+        @Specialization
         double doInteger(int left, int right) {
             if (right == 0) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                throw new ArithmeticException("divide by zero");
+                throw PythonException.raise(Py.ZeroDivisionError, "divide by zero");
             }
 
             return (double) left / right;
@@ -373,8 +396,7 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         @Specialization
         double doLong(Long left, Long right) {
             if (right == 0) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                throw new ArithmeticException("divide by zero");
+                throw PythonException.raise(Py.ZeroDivisionError, "divide by zero");
             }
 
             return (double) left / right;
@@ -392,6 +414,10 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Specialization
         double doBigInteger(BigInteger left, BigInteger right) {
+            if (right.signum() == 0) {
+                throw PythonException.raise(Py.ZeroDivisionError, "divide by zero");
+            }
+
             return FastMathUtil.slowPathDivide(left, right).doubleValue();
         }
 
@@ -439,16 +465,19 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Specialization
         int doInteger(int left, int right) {
+            checkDivisor(right);
             return left / right;
         }
 
         @Specialization
         long doLong(long left, long right) {
+            checkDivisor(right);
             return left / right;
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
+            checkDivisor(right);
             return FastMathUtil.slowPathDivide(left, right);
         }
 
@@ -474,11 +503,13 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Specialization(guards = "isLeftPositive(left)")
         int doInteger(int left, int right) {
+            checkDivisor(right);
             return left % right;
         }
 
         @Specialization
         int doIntegerNegative(int left, int right) {
+            checkDivisor(right);
             return (left + right) % right;
         }
 
@@ -492,21 +523,25 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Specialization(guards = "isLeftPositive(left)")
         long doLong(long left, int right) {
+            checkDivisor(right);
             return left % right;
         }
 
         @Specialization
         long doLongNegative(long left, int right) {
+            checkDivisor(right);
             return (left + right) % right;
         }
 
         @Specialization(guards = "isLeftPositive(left)")
         long doLong(long left, long right) {
+            checkDivisor(right);
             return left % right;
         }
 
         @Specialization
         long doLongNegative(long left, long right) {
+            checkDivisor(right);
             return (left + right) % right;
         }
 
@@ -517,6 +552,7 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         @TruffleBoundary
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
+            checkDivisor(right);
             return left.mod(right);
         }
 
@@ -587,6 +623,22 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
         }
     }
 
+    /**
+     * Integer floor division and modulo raise ZeroDivisionError themselves, the JVM's
+     * {@link ArithmeticException} is not a Python exception.
+     */
+    protected static void checkDivisor(long right) {
+        if (right == 0) {
+            throw PythonException.raise(Py.ZeroDivisionError, "integer division or modulo by zero");
+        }
+    }
+
+    protected static void checkDivisor(BigInteger right) {
+        if (right.signum() == 0) {
+            throw PythonException.raise(Py.ZeroDivisionError, "integer division or modulo by zero");
+        }
+    }
+
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitBinaryArithmeticNode(this);
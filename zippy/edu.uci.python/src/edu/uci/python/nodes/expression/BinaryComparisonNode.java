@@ -474,6 +474,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return right.hasKey(left);
         }
 
+        @Specialization
+        public boolean doPDeque(Object left, PDeque right) {
+            return right.index(left) != -1;
+        }
+
         protected static boolean isEmptyDict(@SuppressWarnings("unused") Object first, PDict dict) {
             return dict.len() == 0;
         }
@@ -526,6 +531,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
         public boolean doPDictionary(Object left, PDict right) {
             return !right.hasKey(left);
         }
+
+        @Specialization
+        public boolean doPDeque(Object left, PDeque right) {
+            return right.index(left) == -1;
+        }
     }
 
     @Override
@@ -139,6 +139,11 @@ public abstract class CastToBooleanNode extends UnaryOpNode {
             return operand.len() != 0;
         }
 
+        @Specialization()
+        boolean doPDeque(PDeque operand) {
+            return operand.len() != 0;
+        }
+
         @Fallback
         boolean doGeneric(Object operand) {
             // anything except for 0 and None is true
@@ -222,6 +227,11 @@ public abstract class CastToBooleanNode extends UnaryOpNode {
             return operand.len() == 0;
         }
 
+        @Specialization
+        boolean doPDeque(PDeque operand) {
+            return operand.len() == 0;
+        }
+
         @Fallback
         boolean doGeneric(Object operand) {
             // anything except for 0 and None is true
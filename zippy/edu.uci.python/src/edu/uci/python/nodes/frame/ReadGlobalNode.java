@@ -83,6 +83,43 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
         return replace(new UninitializedReadGlobalNode(context, globalScope, attributeId)).execute(frame);
     }
 
+    /**
+     * Reads a global that has kept its value since it was defined, a function, a class or a
+     * constant for instance. The value folds to a constant in compiled code. Rebinding the global
+     * only deoptimizes the readers of its name.
+     */
+    public static final class ReadStableGlobalNode extends ReadGlobalNode {
+
+        private final Object value;
+        private final Assumption stableAssumption;
+
+        public ReadStableGlobalNode(PythonContext context, PythonModule globalScope, String attributeId, Object value, Assumption stableAssumption) {
+            super(context, globalScope, attributeId);
+            this.value = value;
+            this.stableAssumption = stableAssumption;
+        }
+
+        @Override
+        public LayoutCheckNode extractShapeCheckNode() {
+            return new LayoutCheckNode.StableGlobalCheckNode(globalScope, stableAssumption, null);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            try {
+                stableAssumption.check();
+                return value;
+            } catch (InvalidAssumptionException e) {
+                return specializeAndExecute(frame);
+            }
+        }
+
+        @Override
+        public Object executeWithPrimary(VirtualFrame frame, Object primary) {
+            return execute(frame);
+        }
+    }
+
     public static final class ReadGlobalDirectNode extends ReadGlobalNode {
 
         @Child protected LayoutCheckNode check;
@@ -180,6 +217,44 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
         }
     }
 
+    /**
+     * Reads a builtin that no global shadows and that has kept its value.
+     */
+    public static final class ReadStableBuiltinNode extends ReadGlobalNode {
+
+        private final Object value;
+        private final Assumption absentAssumption;
+        private final Assumption stableAssumption;
+
+        public ReadStableBuiltinNode(PythonContext context, PythonModule globalScope, String attributeId, Object value, Assumption absentAssumption, Assumption stableAssumption) {
+            super(context, globalScope, attributeId);
+            this.value = value;
+            this.absentAssumption = absentAssumption;
+            this.stableAssumption = stableAssumption;
+        }
+
+        @Override
+        public LayoutCheckNode extractShapeCheckNode() {
+            return new LayoutCheckNode.StableGlobalCheckNode(globalScope, absentAssumption, stableAssumption);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            try {
+                absentAssumption.check();
+                stableAssumption.check();
+                return value;
+            } catch (InvalidAssumptionException e) {
+                return specializeAndExecute(frame);
+            }
+        }
+
+        @Override
+        public Object executeWithPrimary(VirtualFrame frame, Object primary) {
+            return execute(frame);
+        }
+    }
+
     public static final class UninitializedReadGlobalNode extends ReadGlobalNode {
 
         public UninitializedReadGlobalNode(PythonContext context, PythonModule globalScope, String attributeId) {
@@ -191,18 +266,27 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
             CompilerDirectives.transferToInterpreterAndInvalidate();
 
             Object value = globalScope.getAttribute(attributeId);
+            final Assumption globalStable = globalScope.getStableGlobalAssumption(attributeId);
 
             if (value == PNone.NONE) {
-                value = context.getPythonBuiltinsLookup().lookupModule("builtins").getAttribute(attributeId);
+                final PythonModule builtinsModule = context.getPythonBuiltinsLookup().lookupModule("builtins");
+                value = builtinsModule.getAttribute(attributeId);
+
+                if (value == PNone.NONE) {
+                    return slowPathLookup();
+                }
+
+                final Assumption builtinStable = builtinsModule.getStableGlobalAssumption(attributeId);
+
+                if (globalStable.isValid() && builtinStable.isValid()) {
+                    replace(new ReadStableBuiltinNode(context, globalScope, attributeId, value, globalStable, builtinStable));
+                } else {
+                    replace(new ReadBuiltinDirectNode(context, globalScope, attributeId));
+                }
+            } else if (globalStable.isValid()) {
+                replace(new ReadStableGlobalNode(context, globalScope, attributeId, value, globalStable));
             } else {
                 replace(new ReadGlobalDirectNode(context, globalScope, attributeId));
-                return value;
-            }
-
-            if (value == PNone.NONE) {
-                value = slowPathLookup();
-            } else {
-                replace(new ReadBuiltinDirectNode(context, globalScope, attributeId));
             }
 
             return value;
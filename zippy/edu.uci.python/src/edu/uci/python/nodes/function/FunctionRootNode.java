@@ -75,6 +75,13 @@ public final class FunctionRootNode extends RootNode {
     @Child protected PNode body;
     private PNode uninitializedBody;
 
+    /**
+     * Set on a copy made by splitting: the function it was copied from and the root holding the call
+     * site it was split for.
+     */
+    private FunctionRootNode splitFrom;
+    private RootNode splitFor;
+
     public FunctionRootNode(PythonContext context, SourceSection sourceSection, String functionName, boolean isGenerator, FrameDescriptor frameDescriptor, PNode body) {
         super(PythonLanguage.class, sourceSection, frameDescriptor); // SourceSection is not
 // supported yet.
@@ -113,6 +120,64 @@ public final class FunctionRootNode extends RootNode {
         return uninitializedBody;
     }
 
+    @Override
+    public boolean isCloningAllowed() {
+        return !isGenerator;
+    }
+
+    /**
+     * A function is worth splitting when its body has gone polymorphic, since the type feedback
+     * collected from one caller then penalizes all the others. Functions larger than the inlining
+     * budget are left shared.
+     */
+    public boolean isSplittingCandidate() {
+        CompilerAsserts.neverPartOfCompilation();
+
+        if (isGenerator || getDeepNodeCount(this) > PythonOptions.InliningBudget) {
+            return false;
+        }
+
+        final boolean[] polymorphic = new boolean[1];
+        body.accept(new NodeVisitor() {
+            public boolean visit(Node node) {
+                NodeCost cost = node.getCost();
+                if (cost == NodeCost.POLYMORPHIC || cost == NodeCost.MEGAMORPHIC) {
+                    polymorphic[0] = true;
+                    return false;
+                }
+                return true;
+            }
+        });
+
+        return polymorphic[0];
+    }
+
+    public void setSplitOrigin(FunctionRootNode original, RootNode caller) {
+        splitFrom = original;
+        splitFor = caller;
+    }
+
+    /**
+     * Whether the given function is this one, or this root was split from it, or was split for a
+     * call site in a root for which that holds. Splitting a function into such a root would repeat
+     * for every level of a recursion.
+     */
+    public boolean isOnSplitChainOf(FunctionRootNode function) {
+        RootNode root = this;
+
+        while (root instanceof FunctionRootNode) {
+            final FunctionRootNode current = (FunctionRootNode) root;
+
+            if (current == function || current.splitFrom == function) {
+                return true;
+            }
+
+            root = current.splitFor;
+        }
+
+        return false;
+    }
+
     @Override
     public FunctionRootNode copy() {
         return new FunctionRootNode(context, getSourceSection(), functionName, isGenerator, getFrameDescriptor().shallowCopy(), uninitializedBody);
@@ -121,7 +186,7 @@ public final class FunctionRootNode extends RootNode {
     @Override
     public Object execute(VirtualFrame frame) {
         if (CompilerDirectives.inInterpreter()) {
-            if (hasGeneratorExpression || peelingTrialCounter++ < 5) {
+            if (hasGeneratorExpression || peelingTrialCounter++ < context.getPythonOptions().GeneratorPeelingTrials) {
                 optimizeHelper();
             }
         }
@@ -244,6 +309,13 @@ public final class FunctionRootNode extends RootNode {
 
         Node callNode = dispatch.getCallNode();
         Node getIter = callNode.getParent();
+        PythonCallNode enumerateCall = null;
+
+        if (isEnumerateOperand(callNode)) {
+            enumerateCall = (PythonCallNode) getIter.getParent();
+            getIter = enumerateCall.getParent();
+        }
+
         Node forNode = getIter.getParent();
 
         if (!(getIter instanceof GetIteratorNode) || !(forNode instanceof ForNode)) {
@@ -286,25 +358,28 @@ public final class FunctionRootNode extends RootNode {
         }
 
         PNode loopParent = (PNode) loop.getParent();
-        if (loopParent instanceof PeeledGeneratorLoopBoxedNode) {
+        FrameSlot counterSlot = null;
+
+        if (enumerateCall != null) {
+            /**
+             * The counter lives in this function's frame, so loops that run in an inlined
+             * generator frame are left alone.
+             */
+            if (loopParent instanceof PeeledEnumerateNode || NodeUtil.findParent(loop, PeeledGeneratorLoopNode.class) != null) {
+                return false;
+            }
+
+            counterSlot = getFrameDescriptor().addFrameSlot(new EnumerateCounter(), FrameSlotKind.Int);
+            Object enumerate = context.getBuiltins().getAttribute("enumerate");
+            loop.replace(new PeeledEnumerateNode(NodeUtil.cloneNode(enumerateCall.getCalleeNode()), enumerate, counterSlot, peeled, originalLoop));
+        } else if (loopParent instanceof PeeledGeneratorLoopBoxedNode) {
             ((PeeledGeneratorLoopBoxedNode) loopParent).insertNext((PeeledGeneratorLoopBoxedNode) peeled);
         } else {
             loop.replace(peeled);
         }
 
         peeled.adoptOriginalLoop();
-        PNode loopBody = loop.getBody();
-        FrameSlot yieldToSlotInCallerFrame;
-        PNode target = loop.getTarget();
-
-        yieldToSlotInCallerFrame = ((FrameSlotNode) target).getSlot();
-
-        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
-            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
-            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
-            PNode block = BlockNode.create(frameTransfer, frameSwapper);
-            yield.replace(block);
-        }
+        replaceYields(peeled, loop, counterSlot);
 
         /**
          * Reset generator expressions in the ungeneratorized function as declared not in generator
@@ -345,18 +420,7 @@ public final class FunctionRootNode extends RootNode {
         loop.replace(peeled);
 
         peeled.adoptOriginalLoop();
-        PNode loopBody = loop.getBody();
-        FrameSlot yieldToSlotInCallerFrame;
-        PNode target = loop.getTarget();
-
-        yieldToSlotInCallerFrame = ((FrameSlotNode) target).getSlot();
-
-        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
-            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
-            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
-            PNode block = BlockNode.create(frameTransfer, frameSwapper);
-            yield.replace(block);
-        }
+        replaceYields(peeled, loop, null);
 
         /**
          * Reset generator expressions in the ungeneratorized function as declared not in generator
@@ -372,6 +436,57 @@ public final class FunctionRootNode extends RootNode {
         return true;
     }
 
+    /**
+     * Each yield site of the peeled generator becomes a write of the yielded value to the loop
+     * target, followed by a copy of the loop body. A generator may yield from several sites.
+     */
+    private static void replaceYields(PeeledGeneratorLoopNode peeled, ForNode loop, FrameSlot counterSlot) {
+        PNode loopBody = loop.getBody();
+        PNode target = loop.getTarget();
+
+        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
+            PNode write;
+
+            if (target instanceof FrameSlotNode && counterSlot == null) {
+                write = FrameTransferNodeFactory.create(((FrameSlotNode) target).getSlot(), yield.getRhs());
+            } else {
+                write = new YieldToTargetNode(yield.getRhs(), NodeUtil.cloneNode(target), counterSlot);
+            }
+
+            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
+            PNode block = BlockNode.create(write, frameSwapper);
+            yield.replace(block);
+        }
+    }
+
+    /**
+     * The generator call is the only argument of a call to <code>enumerate</code>.
+     */
+    private static boolean isEnumerateOperand(Node callNode) {
+        if (!(callNode instanceof PythonCallNode) || !(callNode.getParent() instanceof ArgumentsNode)) {
+            return false;
+        }
+
+        ArgumentsNode arguments = (ArgumentsNode) callNode.getParent();
+        Node enumerateCall = arguments.getParent();
+
+        if (!(enumerateCall instanceof PythonCallNode) || arguments.length() != 1 || arguments.getArguments()[0] != callNode || arguments.hasStarargs() ||
+                        ((PythonCallNode) enumerateCall).getArgumentsNode() != arguments) {
+            return false;
+        }
+
+        PythonCallNode call = (PythonCallNode) enumerateCall;
+        return call.getCalleeNode() instanceof ReadGlobalNode && ((ReadGlobalNode) call.getCalleeNode()).getAttributeId().equals("enumerate") && !call.hasKeywords();
+    }
+
+    private static final class EnumerateCounter {
+
+        @Override
+        public String toString() {
+            return "<enumerate counter>";
+        }
+    }
+
     @Override
     public String toString() {
         return "<function root " + functionName + " at " + Integer.toHexString(hashCode()) + ">";
@@ -118,22 +118,22 @@ public abstract class ComprehensionNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final TreeSet<Object> set = new TreeSet<>();
+            final PSet set = new PSet();
             ((WriteNode) write).executeWrite(frame, set);
             comprehension.execute(frame);
-            return new PSet(set);
+            return set;
         }
     }
 
     @NodeChild(value = "rightNode", type = PNode.class)
     @GenerateNodeFactory
-    public abstract static class TreeSetAddNode extends FrameSlotNode {
+    public abstract static class SetAddNode extends FrameSlotNode {
 
-        public TreeSetAddNode(FrameSlot frameSlot) {
+        public SetAddNode(FrameSlot frameSlot) {
             super(frameSlot);
         }
 
-        protected TreeSetAddNode(TreeSetAddNode node) {
+        protected SetAddNode(SetAddNode node) {
             this(node.frameSlot);
         }
 
@@ -143,9 +143,8 @@ public abstract class ComprehensionNode extends PNode {
             return right;
         }
 
-        @SuppressWarnings("unchecked")
-        private TreeSet<Object> getSet(Frame frame) {
-            return (TreeSet<Object>) getObject(frame);
+        private PSet getSet(Frame frame) {
+            return (PSet) getObject(frame);
         }
     }
 
@@ -158,10 +157,10 @@ public abstract class ComprehensionNode extends PNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final Map<Object, Object> map = new TreeMap<>();
-            ((WriteNode) write).executeWrite(frame, map);
+            final PDict dict = new PDict();
+            ((WriteNode) write).executeWrite(frame, dict);
             comprehension.execute(frame);
-            return new PDict(map);
+            return dict;
         }
     }
 
@@ -179,13 +178,12 @@ public abstract class ComprehensionNode extends PNode {
 
         @Specialization
         public Object doObject(VirtualFrame frame, Object key, Object value) {
-            getMap(frame).put(key, value);
+            getDict(frame).setItem(key, value);
             return value;
         }
 
-        @SuppressWarnings("unchecked")
-        private TreeMap<Object, Object> getMap(Frame frame) {
-            return (TreeMap<Object, Object>) getObject(frame);
+        private PDict getDict(Frame frame) {
+            return (PDict) getObject(frame);
         }
     }
 
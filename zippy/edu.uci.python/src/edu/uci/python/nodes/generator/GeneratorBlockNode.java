@@ -36,10 +36,12 @@ import edu.uci.python.runtime.function.*;
 public final class GeneratorBlockNode extends BlockNode implements GeneratorControlNode {
 
     private final int indexSlot;
+    private final boolean resumable;
 
-    public GeneratorBlockNode(PNode[] statements, int indexSlot) {
+    public GeneratorBlockNode(PNode[] statements, int indexSlot, boolean resumable) {
         super(statements);
         this.indexSlot = indexSlot;
+        this.resumable = resumable;
     }
 
     public int getIndexSlot() {
@@ -57,7 +59,7 @@ public final class GeneratorBlockNode extends BlockNode implements GeneratorCont
     @Override
     public GeneratorBlockNode insertNodesBefore(PNode insertBefore, List<PNode> insertees) {
         PNode[] extendedStatements = super.insertNodesBefore(insertBefore, insertees).getStatements();
-        return new GeneratorBlockNode(extendedStatements, getIndexSlot());
+        return new GeneratorBlockNode(extendedStatements, getIndexSlot(), resumable);
     }
 
     @ExplodeLoop
@@ -73,6 +75,11 @@ public final class GeneratorBlockNode extends BlockNode implements GeneratorCont
             }
 
             result = statements[i].execute(frame);
+
+            if (resumable && PArguments.getControlData(frame).isSuspended()) {
+                return result;
+            }
+
             setIndex(frame, indexSlot, currentIndex + 1);
         }
 
@@ -43,17 +43,19 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     @Child protected GetIteratorNode getIterator;
 
     private final int iteratorSlot;
+    protected final boolean resumable;
     private int count;
 
-    public GeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
+    public GeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, boolean resumable) {
         super(body);
         this.target = target;
         this.getIterator = getIterator;
         this.iteratorSlot = iteratorSlot;
+        this.resumable = resumable;
     }
 
-    public static GeneratorForNode create(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-        return new UninitializedGeneratorForNode(target, getIterator, body, iteratorSlot);
+    public static GeneratorForNode create(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, boolean resumable) {
+        return new UninitializedGeneratorForNode(target, getIterator, body, iteratorSlot, resumable);
     }
 
     public final int getIteratorSlot() {
@@ -78,6 +80,13 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
         return PNone.NONE;
     }
 
+    /**
+     * The loop body suspended the generator. The iterator stays in place for resumption.
+     */
+    protected final boolean isSuspended(VirtualFrame frame) {
+        return resumable && PArguments.getControlData(frame).isSuspended();
+    }
+
     protected final void incrementCounter() {
         if (CompilerDirectives.inInterpreter()) {
             count++;
@@ -96,6 +105,11 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
         try {
             while (true) {
                 body.executeVoid(frame);
+
+                if (isSuspended(frame)) {
+                    return PNone.NONE;
+                }
+
                 target.executeWith(frame, getIterator(frame).__next__());
                 incrementCounter();
             }
@@ -111,8 +125,8 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     @NodeInfo(cost = NodeCost.MONOMORPHIC)
     public static final class RangeGeneratorForNode extends GeneratorForNode {
 
-        public RangeGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
+        public RangeGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, boolean resumable) {
+            super(target, getIterator, body, iteratorSlot, resumable);
         }
 
         protected PRangeIterator getPRangeIterator(VirtualFrame frame) {
@@ -147,6 +161,11 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
             try {
                 while (true) {
                     body.executeVoid(frame);
+
+                    if (isSuspended(frame)) {
+                        return PNone.NONE;
+                    }
+
                     target.executeWith(frame, getPRangeIterator(frame).__nextInt__());
                     incrementCounter();
                 }
@@ -161,8 +180,8 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     @NodeInfo(cost = NodeCost.MONOMORPHIC)
     public static final class SequenceGeneratorForNode extends GeneratorForNode {
 
-        public SequenceGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
+        public SequenceGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, boolean resumable) {
+            super(target, getIterator, body, iteratorSlot, resumable);
         }
 
         protected PSequenceIterator getPSequenceIterator(VirtualFrame frame) {
@@ -196,6 +215,11 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
             try {
                 while (true) {
                     body.executeVoid(frame);
+
+                    if (isSuspended(frame)) {
+                        return PNone.NONE;
+                    }
+
                     target.executeWith(frame, getPSequenceIterator(frame).__next__());
                     incrementCounter();
                 }
@@ -210,8 +234,8 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     @NodeInfo(cost = NodeCost.MONOMORPHIC)
     public static final class GeneratorGeneratorForNode extends GeneratorForNode {
 
-        public GeneratorGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
+        public GeneratorGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, boolean resumable) {
+            super(target, getIterator, body, iteratorSlot, resumable);
         }
 
         protected PGenerator getPGenerator(VirtualFrame frame) {
@@ -245,6 +269,11 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
             try {
                 while (true) {
                     body.executeVoid(frame);
+
+                    if (isSuspended(frame)) {
+                        return PNone.NONE;
+                    }
+
                     target.executeWith(frame, getPGenerator(frame).__next__());
                     incrementCounter();
                 }
@@ -259,8 +288,8 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     @NodeInfo(cost = NodeCost.POLYMORPHIC)
     public static final class GenericGeneratorForNode extends GeneratorForNode {
 
-        public GenericGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
+        public GenericGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, boolean resumable) {
+            super(target, getIterator, body, iteratorSlot, resumable);
         }
 
         @Override
@@ -283,8 +312,8 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
     @NodeInfo(cost = NodeCost.UNINITIALIZED)
     public static final class UninitializedGeneratorForNode extends GeneratorForNode {
 
-        public UninitializedGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot) {
-            super(target, getIterator, body, iteratorSlot);
+        public UninitializedGeneratorForNode(WriteGeneratorFrameVariableNode target, GetIteratorNode getIterator, PNode body, int iteratorSlot, boolean resumable) {
+            super(target, getIterator, body, iteratorSlot, resumable);
         }
 
         @Override
@@ -303,13 +332,13 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
             }
 
             if (iterator instanceof PRangeIterator) {
-                replace(new RangeGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                replace(new RangeGeneratorForNode(target, getIterator, body, this.getIteratorSlot(), resumable));
             } else if (iterator instanceof PSequenceIterator) {
-                replace(new SequenceGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                replace(new SequenceGeneratorForNode(target, getIterator, body, this.getIteratorSlot(), resumable));
             } else if (iterator instanceof PGenerator) {
-                replace(new GeneratorGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                replace(new GeneratorGeneratorForNode(target, getIterator, body, this.getIteratorSlot(), resumable));
             } else {
-                replace(new GenericGeneratorForNode(target, getIterator, body, this.getIteratorSlot()));
+                replace(new GenericGeneratorForNode(target, getIterator, body, this.getIteratorSlot(), resumable));
             }
 
             setIterator(frame, iterator);
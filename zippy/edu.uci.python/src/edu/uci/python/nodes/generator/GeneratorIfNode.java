@@ -36,18 +36,20 @@ public class GeneratorIfNode extends IfNode implements GeneratorControlNode {
 
     protected final int thenFlagSlot;
     protected final int elseFlagSlot;
+    protected final boolean resumable;
 
-    public GeneratorIfNode(CastToBooleanNode condition, PNode then, PNode orelse, int thenFlagSlot, int elseFlagSlot) {
+    public GeneratorIfNode(CastToBooleanNode condition, PNode then, PNode orelse, int thenFlagSlot, int elseFlagSlot, boolean resumable) {
         super(condition, then, orelse);
         this.thenFlagSlot = thenFlagSlot;
         this.elseFlagSlot = elseFlagSlot;
+        this.resumable = resumable;
     }
 
-    public static GeneratorIfNode create(CastToBooleanNode condition, PNode then, PNode orelse, int thenFlagSlot, int elseFlagSlot) {
+    public static GeneratorIfNode create(CastToBooleanNode condition, PNode then, PNode orelse, int thenFlagSlot, int elseFlagSlot, boolean resumable) {
         if (!EmptyNode.isEmpty(orelse)) {
-            return new GeneratorIfNode(condition, then, orelse, thenFlagSlot, elseFlagSlot);
+            return new GeneratorIfNode(condition, then, orelse, thenFlagSlot, elseFlagSlot, resumable);
         } else {
-            return new GeneratorIfWithoutElseNode(condition, then, thenFlagSlot);
+            return new GeneratorIfWithoutElseNode(condition, then, thenFlagSlot, resumable);
         }
     }
 
@@ -70,6 +72,11 @@ public class GeneratorIfNode extends IfNode implements GeneratorControlNode {
     protected final Object executeThen(VirtualFrame frame) {
         setActive(frame, thenFlagSlot, true);
         then.execute(frame);
+
+        if (resumable && PArguments.getControlData(frame).isSuspended()) {
+            return PNone.NONE;
+        }
+
         setActive(frame, thenFlagSlot, false);
         return PNone.NONE;
     }
@@ -77,6 +84,11 @@ public class GeneratorIfNode extends IfNode implements GeneratorControlNode {
     protected final Object executeElse(VirtualFrame frame) {
         setActive(frame, elseFlagSlot, true);
         orelse.execute(frame);
+
+        if (resumable && PArguments.getControlData(frame).isSuspended()) {
+            return PNone.NONE;
+        }
+
         setActive(frame, elseFlagSlot, false);
         return PNone.NONE;
     }
@@ -103,8 +115,8 @@ public class GeneratorIfNode extends IfNode implements GeneratorControlNode {
         /**
          * Both flagSlot getter return the same slot.
          */
-        public GeneratorIfWithoutElseNode(CastToBooleanNode condition, PNode then, int thenFlagSlot) {
-            super(condition, then, EmptyNode.create(), thenFlagSlot, thenFlagSlot);
+        public GeneratorIfWithoutElseNode(CastToBooleanNode condition, PNode then, int thenFlagSlot, boolean resumable) {
+            super(condition, then, EmptyNode.create(), thenFlagSlot, thenFlagSlot, resumable);
         }
 
         @Override
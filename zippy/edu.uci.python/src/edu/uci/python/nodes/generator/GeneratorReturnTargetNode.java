@@ -36,11 +36,13 @@ public final class GeneratorReturnTargetNode extends ReturnTargetNode implements
 
     @Child protected PNode parameters;
     private final int flagSlot;
+    private final boolean resumable;
 
-    public GeneratorReturnTargetNode(PNode parameters, PNode body, PNode returnValue, int activeFlagIndex) {
+    public GeneratorReturnTargetNode(PNode parameters, PNode body, PNode returnValue, int activeFlagIndex, boolean resumable) {
         super(body, returnValue);
         this.parameters = parameters;
         this.flagSlot = activeFlagIndex;
+        this.resumable = resumable;
     }
 
     public PNode getParameters() {
@@ -64,6 +66,11 @@ public final class GeneratorReturnTargetNode extends ReturnTargetNode implements
 
         try {
             body.execute(frame);
+
+            if (resumable && PArguments.getControlData(frame).isSuspended()) {
+                PArguments.getControlData(frame).setSuspended(false);
+                return returnValue.execute(frame);
+            }
         } catch (YieldException eye) {
             return returnValue.execute(frame);
         } catch (ReturnException ire) {
@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.generator;
+
+import com.oracle.truffle.api.frame.*;
+
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.statement.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
+
+/**
+ * A try/finally that encloses a yield. Suspending the generator is not leaving the try block, so
+ * the final body only runs when the body completes or exits abruptly for any other reason.
+ */
+public class GeneratorTryFinallyNode extends TryFinallyNode implements GeneratorControlNode {
+
+    private final boolean resumable;
+
+    public GeneratorTryFinallyNode(PNode body, PNode finalbody, boolean resumable) {
+        super(body, finalbody);
+        this.resumable = resumable;
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        try {
+            body.execute(frame);
+        } catch (YieldException e) {
+            throw e;
+        } catch (Throwable t) {
+            finalbody.execute(frame);
+            throw t;
+        }
+
+        if (resumable && PArguments.getControlData(frame).isSuspended()) {
+            return PNone.NONE;
+        }
+
+        return finalbody.execute(frame);
+    }
+
+}
@@ -41,11 +41,13 @@ import edu.uci.python.runtime.function.PArguments;
 public final class GeneratorWhileNode extends WhileNode implements GeneratorControlNode {
 
     private final int flagSlot;
+    private final boolean resumable;
     private int count;
 
-    public GeneratorWhileNode(CastToBooleanNode condition, PNode body, int flagSlot) {
+    public GeneratorWhileNode(CastToBooleanNode condition, PNode body, int flagSlot, boolean resumable) {
         super(condition, body);
         this.flagSlot = flagSlot;
+        this.resumable = resumable;
     }
 
     private boolean isActive(VirtualFrame frame) {
@@ -78,6 +80,11 @@ public final class GeneratorWhileNode extends WhileNode implements GeneratorCont
             while (isActive(frame) || condition.executeBoolean(frame)) {
                 setActive(frame, true);
                 body.executeVoid(frame);
+
+                if (resumable && PArguments.getControlData(frame).isSuspended()) {
+                    return PNone.NONE;
+                }
+
                 setActive(frame, false);
                 incrementCounter();
             }
@@ -35,7 +35,7 @@ import static edu.uci.python.nodes.generator.GeneratorBlockNode.*;
 public class YieldNode extends StatementNode {
 
     @Child protected PNode right;
-    private final int parentBlockIndexSlot;
+    protected final int parentBlockIndexSlot;
 
     public YieldNode(PNode right) {
         this.right = right;
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.generator;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.frame.*;
+
+import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.frame.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Replaces a yield in a peeled generator whose caller loop target is not a single local variable,
+ * e.g. <code>for k, v in gen()</code>. The yielded value is evaluated in the generator frame and
+ * written to the loop target in the cargo frame.
+ * <p>
+ * If the loop iterates over <code>enumerate(gen())</code>, the value is paired with the counter
+ * kept in <code>counterSlot</code> of the cargo frame.
+ */
+public class YieldToTargetNode extends PNode {
+
+    @Child protected PNode right;
+    @Child protected PNode target;
+    private final FrameSlot counterSlot;
+
+    public YieldToTargetNode(PNode right, PNode target, FrameSlot counterSlot) {
+        assert target instanceof WriteNode;
+        this.right = right;
+        this.target = target;
+        this.counterSlot = counterSlot;
+    }
+
+    public PNode getRhs() {
+        return right;
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        Object value = right.execute(frame);
+        VirtualFrame cargoFrame = PArguments.getVirtualFrameCargoArguments(frame);
+
+        if (counterSlot != null) {
+            int index;
+            try {
+                index = cargoFrame.getInt(counterSlot);
+            } catch (FrameSlotTypeException e) {
+                CompilerDirectives.transferToInterpreter();
+                throw new IllegalStateException(e);
+            }
+
+            cargoFrame.setInt(counterSlot, index + 1);
+            value = new PTuple(new Object[]{index, value});
+        }
+
+        return ((WriteNode) target).executeWrite(cargoFrame, value);
+    }
+
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitYieldToTargetNode(this);
+    }
+
+}
@@ -24,8 +24,6 @@
  */
 package edu.uci.python.nodes.literal;
 
-import java.util.*;
-
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
@@ -57,15 +55,15 @@ public final class DictLiteralNode extends LiteralNode {
     @ExplodeLoop
     @Override
     public PDict executePDictionary(VirtualFrame frame) {
-        final Map<Object, Object> map = new TreeMap<>();
+        final PDict dict = new PDict();
 
         for (int i = 0; i < values.length; i++) {
             final Object key = keys[i].execute(frame);
             final Object val = values[i].execute(frame);
-            map.put(key, val);
+            dict.setItem(key, val);
         }
 
-        return new PDict(map);
+        return dict;
     }
 
     @Override
@@ -93,9 +91,9 @@ public final class DictLiteralNode extends LiteralNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final Map<Object, Object> map = new TreeMap<>();
-            map.put(key.execute(frame), value.execute(frame));
-            return new PDict(map);
+            final PDict dict = new PDict();
+            dict.setItem(key.execute(frame), value.execute(frame));
+            return dict;
         }
     }
 
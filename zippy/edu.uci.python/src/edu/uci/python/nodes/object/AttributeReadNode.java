@@ -45,6 +45,14 @@ public abstract class AttributeReadNode extends Node {
             return new ReadDoubleAttributeNode((DoubleStorageLocation) location);
         } else if (location instanceof FieldObjectStorageLocation) {
             return new ReadFieldObjectAttributeNode((FieldObjectStorageLocation) location);
+        } else if (location instanceof ArrayBooleanStorageLocation) {
+            return new ReadArrayBooleanAttributeNode((ArrayBooleanStorageLocation) location);
+        } else if (location instanceof ArrayIntStorageLocation) {
+            return new ReadArrayIntAttributeNode((ArrayIntStorageLocation) location);
+        } else if (location instanceof ArrayDoubleStorageLocation) {
+            return new ReadArrayDoubleAttributeNode((ArrayDoubleStorageLocation) location);
+        } else if (location instanceof SlotStorageLocation) {
+            return new ReadSlotAttributeNode((SlotStorageLocation) location);
         }
 
         throw new IllegalStateException();
@@ -78,6 +86,20 @@ public abstract class AttributeReadNode extends Node {
         }
     }
 
+    public static final class ReadSlotAttributeNode extends AttributeReadNode {
+
+        private final SlotStorageLocation slotLocation;
+
+        public ReadSlotAttributeNode(SlotStorageLocation slotLocation) {
+            this.slotLocation = slotLocation;
+        }
+
+        @Override
+        public Object getValueUnsafe(PythonObject storage) {
+            return slotLocation.read(storage);
+        }
+    }
+
     public static final class ReadFieldObjectAttributeNode extends AttributeReadNode {
 
         private final FieldObjectStorageLocation objLocation;
@@ -149,4 +171,61 @@ public abstract class AttributeReadNode extends Node {
         }
     }
 
+    public static final class ReadArrayIntAttributeNode extends AttributeReadNode {
+
+        private final ArrayIntStorageLocation intLocation;
+
+        public ReadArrayIntAttributeNode(ArrayIntStorageLocation intLocation) {
+            this.intLocation = intLocation;
+        }
+
+        @Override
+        public Object getValueUnsafe(PythonObject storage) {
+            return intLocation.read(storage);
+        }
+
+        @Override
+        public int getIntValueUnsafe(PythonObject storage) throws UnexpectedResultException {
+            return intLocation.readInt(storage);
+        }
+    }
+
+    public static final class ReadArrayDoubleAttributeNode extends AttributeReadNode {
+
+        private final ArrayDoubleStorageLocation floatLocation;
+
+        public ReadArrayDoubleAttributeNode(ArrayDoubleStorageLocation floatLocation) {
+            this.floatLocation = floatLocation;
+        }
+
+        @Override
+        public Object getValueUnsafe(PythonObject storage) {
+            return floatLocation.read(storage);
+        }
+
+        @Override
+        public double getDoubleValueUnsafe(PythonObject storage) throws UnexpectedResultException {
+            return floatLocation.readDouble(storage);
+        }
+    }
+
+    public static final class ReadArrayBooleanAttributeNode extends AttributeReadNode {
+
+        private final ArrayBooleanStorageLocation booleanLocation;
+
+        public ReadArrayBooleanAttributeNode(ArrayBooleanStorageLocation booleanLocation) {
+            this.booleanLocation = booleanLocation;
+        }
+
+        @Override
+        public Object getValueUnsafe(PythonObject storage) {
+            return booleanLocation.read(storage);
+        }
+
+        @Override
+        public boolean getBooleanValueUnsafe(PythonObject storage) throws UnexpectedResultException {
+            return booleanLocation.readBoolean(storage);
+        }
+    }
+
 }
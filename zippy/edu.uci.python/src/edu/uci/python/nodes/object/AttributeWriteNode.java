@@ -42,6 +42,14 @@ public abstract class AttributeWriteNode extends Node {
             return new WriteDoubleAttributeNode((DoubleStorageLocation) location);
         } else if (location instanceof FieldObjectStorageLocation) {
             return new WriteFieldObjectAttributeNode((FieldObjectStorageLocation) location);
+        } else if (location instanceof ArrayBooleanStorageLocation) {
+            return new WriteArrayBooleanAttributeNode((ArrayBooleanStorageLocation) location);
+        } else if (location instanceof ArrayIntStorageLocation) {
+            return new WriteArrayIntAttributeNode((ArrayIntStorageLocation) location);
+        } else if (location instanceof ArrayDoubleStorageLocation) {
+            return new WriteArrayDoubleAttributeNode((ArrayDoubleStorageLocation) location);
+        } else if (location instanceof SlotStorageLocation) {
+            return new WriteSlotAttributeNode((SlotStorageLocation) location);
         }
 
         throw new IllegalStateException();
@@ -89,6 +97,20 @@ public abstract class AttributeWriteNode extends Node {
         }
     }
 
+    public static final class WriteSlotAttributeNode extends AttributeWriteNode {
+
+        private final SlotStorageLocation slotLocation;
+
+        public WriteSlotAttributeNode(SlotStorageLocation slotLocation) {
+            this.slotLocation = slotLocation;
+        }
+
+        @Override
+        public void setValueUnsafe(PythonObject storage, Object value) {
+            slotLocation.write(storage, value);
+        }
+    }
+
     public static final class WriteIntAttributeNode extends AttributeWriteNode {
 
         private final IntStorageLocation intLocation;
@@ -146,4 +168,61 @@ public abstract class AttributeWriteNode extends Node {
         }
     }
 
+    public static final class WriteArrayIntAttributeNode extends AttributeWriteNode {
+
+        private final ArrayIntStorageLocation intLocation;
+
+        public WriteArrayIntAttributeNode(ArrayIntStorageLocation intLocation) {
+            this.intLocation = intLocation;
+        }
+
+        @Override
+        public void setValueUnsafe(PythonObject storage, Object value) throws StorageLocationGeneralizeException {
+            intLocation.write(storage, value);
+        }
+
+        @Override
+        public void setIntValueUnsafe(PythonObject storage, int value) throws StorageLocationGeneralizeException {
+            intLocation.writeInt(storage, value);
+        }
+    }
+
+    public static final class WriteArrayDoubleAttributeNode extends AttributeWriteNode {
+
+        private final ArrayDoubleStorageLocation floatLocation;
+
+        public WriteArrayDoubleAttributeNode(ArrayDoubleStorageLocation floatLocation) {
+            this.floatLocation = floatLocation;
+        }
+
+        @Override
+        public void setValueUnsafe(PythonObject storage, Object value) throws StorageLocationGeneralizeException {
+            floatLocation.write(storage, value);
+        }
+
+        @Override
+        public void setDoubleValueUnsafe(PythonObject storage, double value) throws StorageLocationGeneralizeException {
+            floatLocation.writeDouble(storage, value);
+        }
+    }
+
+    public static final class WriteArrayBooleanAttributeNode extends AttributeWriteNode {
+
+        private final ArrayBooleanStorageLocation booleanLocation;
+
+        public WriteArrayBooleanAttributeNode(ArrayBooleanStorageLocation booleanLocation) {
+            this.booleanLocation = booleanLocation;
+        }
+
+        @Override
+        public void setValueUnsafe(PythonObject storage, Object value) throws StorageLocationGeneralizeException {
+            booleanLocation.write(storage, value);
+        }
+
+        @Override
+        public void setBooleanValueUnsafe(PythonObject storage, boolean value) throws StorageLocationGeneralizeException {
+            booleanLocation.writeBoolean(storage, value);
+        }
+    }
+
 }
@@ -119,6 +119,7 @@ public abstract class DispatchBoxedNode extends Node {
             if (depth < PythonOptions.AttributeAccessInlineCacheMaxDepth) {
                 specialized = rewrite(primary, this);
             } else {
+                AttributeLookupCache.getInstance().noteMegamorphicAttributeSite();
                 specialized = current.replace(new GenericDispatchBoxedNode(attributeId));
             }
 
@@ -139,7 +140,7 @@ public abstract class DispatchBoxedNode extends Node {
                 primary.syncObjectLayoutWithClass();
             }
 
-            return primary.getAttribute(attributeId);
+            return AttributeLookupCache.getInstance().read(primary, attributeId);
         }
     }
 
@@ -59,22 +59,15 @@ public abstract class DispatchUnboxedNode extends Node {
 
     protected DispatchUnboxedNode rewrite(PythonBuiltinObject primaryObj, DispatchUnboxedNode next) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        PythonClass current = primaryObj.__class__();
-        assert current != null;
+        PythonClass clazz = primaryObj.__class__();
+        assert clazz != null;
+        PythonClass owner = clazz.lookUpAttributeOwner(attributeId);
 
-        do {
-            if (current.isOwnAttribute(attributeId)) {
-                break;
-            }
-
-            current = current.getSuperClass();
-        } while (current != null);
-
-        if (current == null) {
+        if (owner == null) {
             throw Py.AttributeError(primaryObj + " object has no attribute " + attributeId);
         }
 
-        LinkedDispatchUnboxedNode newNode = new LinkedDispatchUnboxedNode(attributeId, primaryObj, current, next);
+        LinkedDispatchUnboxedNode newNode = new LinkedDispatchUnboxedNode(attributeId, primaryObj, owner, next);
         replace(newNode);
         return newNode;
     }
@@ -102,6 +95,7 @@ public abstract class DispatchUnboxedNode extends Node {
             if (depth < PythonOptions.AttributeAccessInlineCacheMaxDepth) {
                 specialized = rewrite(primaryObj, this);
             } else {
+                AttributeLookupCache.getInstance().noteMegamorphicAttributeSite();
                 specialized = current.replace(new GenericDispatchUnboxedNode(attributeId));
             }
 
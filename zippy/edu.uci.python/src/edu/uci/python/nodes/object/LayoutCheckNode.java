@@ -48,46 +48,34 @@ public abstract class LayoutCheckNode extends Node {
         } else if (depth == 1) {
             return new PythonClassCheckNode(primary, storageLayout);
         } else {
-            return new ClassChainCheckNode(primary, storageLayout, depth);
+            return new MROCheckNode(primary);
         }
     }
 
     public static LayoutCheckNode create(PythonObject primary, String attributeId, boolean isAttributeInPlace) {
         if (isAttributeInPlace) {
             assert primary.isOwnAttribute(attributeId);
-            return new PythonObjectCheckNode(primary);
-        }
 
-        int depth = 0;
-        PythonClass current;
+            if (primary.getObjectLayout().isSealed()) {
+                return new SealedLayoutCheckNode(primary);
+            }
 
-        if (primary instanceof PythonClass) {
-            current = (PythonClass) primary;
-        } else {
-            current = primary.getPythonClass();
-            depth++;
+            return new PythonObjectCheckNode(primary);
         }
 
-        // class chain lookup
-        do {
-            if (current.isOwnAttribute(attributeId)) {
-                break;
-            }
-
-            current = current.getSuperClass();
-            depth++;
-        } while (current != null);
+        final PythonClass clazz = primary.asPythonClass();
+        final PythonClass owner = clazz.lookUpAttributeOwner(attributeId);
 
-        if (current == null) {
+        if (owner == null) {
             throw Py.AttributeError(primary + " object has no attribute " + attributeId);
         }
 
-        if (depth == 0) {
+        if (owner == primary) {
             return new PythonObjectCheckNode(primary);
-        } else if (depth == 1) {
-            return new PythonClassCheckNode(primary, current.getObjectLayout());
+        } else if (owner == clazz && !(primary instanceof PythonClass)) {
+            return new PythonClassCheckNode(primary, owner.getObjectLayout());
         } else {
-            return new ClassChainCheckNode(primary, current.getObjectLayout(), depth);
+            return new MROCheckNode(primary);
         }
     }
 
@@ -108,6 +96,23 @@ public abstract class LayoutCheckNode extends Node {
         }
     }
 
+    /**
+     * Instances of a class with a sealed layout all share the layout of the class, which never
+     * changes and identifies the class. Checking the layout is all it takes.
+     */
+    public static final class SealedLayoutCheckNode extends LayoutCheckNode {
+
+        public SealedLayoutCheckNode(PythonObject primary) {
+            super(primary.getObjectLayout());
+            assert cachedObjectLayout.isSealed() && cachedObjectLayout == primary.getPythonClass().getInstanceObjectLayout();
+        }
+
+        @Override
+        public boolean accept(PythonObject primary) {
+            return primary.getObjectLayout() == cachedObjectLayout;
+        }
+    }
+
     public static final class PythonClassCheckNode extends LayoutCheckNode {
 
         private final Assumption storageStableAssumption;
@@ -134,43 +139,28 @@ public abstract class LayoutCheckNode extends Node {
         }
     }
 
-    public static final class ClassChainCheckNode extends LayoutCheckNode {
+    /**
+     * Guards an attribute found further up the MRO with a single check of the class hierarchy,
+     * however many classes the lookup has to pass.
+     */
+    public static final class MROCheckNode extends LayoutCheckNode {
 
         private final Assumption objectStableAssumption;
-        private final Assumption[] classChainsStableAssumptions;
-        private final Assumption storageStableAssumption;
+        private final Assumption lookupStableAssumption;
 
-        public ClassChainCheckNode(PythonObject primary, ObjectLayout storageLayout, int depth) {
+        public MROCheckNode(PythonObject primary) {
             super(primary.getObjectLayout());
             this.objectStableAssumption = primary.getStableAssumption();
+            this.lookupStableAssumption = primary.asPythonClass().getLookupStableAssumption();
             assert objectStableAssumption.isValid();
-
-            Assumption[] classStables = new Assumption[depth - 1];
-            PythonClass current = primary.getPythonClass();
-
-            for (int i = 0; i < depth - 1; i++) {
-                classStables[i] = current.getStableAssumption();
-                assert classStables[i].isValid();
-                current = current.getSuperClass();
-                assert current != null;
-            }
-
-            this.classChainsStableAssumptions = classStables;
-            this.storageStableAssumption = storageLayout.getValidAssumption();
-            assert storageStableAssumption == current.getStableAssumption();
-            assert storageStableAssumption.isValid();
+            assert lookupStableAssumption.isValid();
         }
 
-        @ExplodeLoop
         @Override
         public boolean accept(PythonObject primary) throws InvalidAssumptionException {
-            storageStableAssumption.check();
+            lookupStableAssumption.check();
             objectStableAssumption.check();
 
-            for (Assumption classStable : classChainsStableAssumptions) {
-                classStable.check();
-            }
-
             if (primary.getObjectLayout() == cachedObjectLayout) {
                 return true;
             }
@@ -179,4 +169,32 @@ public abstract class LayoutCheckNode extends Node {
         }
     }
 
+    /**
+     * Guards a global, or a builtin not shadowed by a global, with the assumptions that its binding
+     * has not changed. Neither the module nor its layout is looked at, so defining other globals
+     * does not affect it.
+     */
+    public static final class StableGlobalCheckNode extends LayoutCheckNode {
+
+        private final Assumption globalStableAssumption;
+        private final Assumption builtinStableAssumption;
+
+        public StableGlobalCheckNode(PythonModule globalScope, Assumption globalStableAssumption, Assumption builtinStableAssumption) {
+            super(globalScope.getObjectLayout());
+            this.globalStableAssumption = globalStableAssumption;
+            this.builtinStableAssumption = builtinStableAssumption;
+        }
+
+        @Override
+        public boolean accept(PythonObject primary) throws InvalidAssumptionException {
+            globalStableAssumption.check();
+
+            if (builtinStableAssumption != null) {
+                builtinStableAssumption.check();
+            }
+
+            return true;
+        }
+    }
+
 }
@@ -25,12 +25,14 @@
 package edu.uci.python.nodes.object;
 
 import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
 
 public abstract class SetDispatchNode extends Node {
 
@@ -108,7 +110,8 @@ public abstract class SetDispatchNode extends Node {
                 StorageLocation location = primary.getOwnValidLocation(attributeId);
                 replace(new LinkedSetDispatchNode(attributeId, AttributeWriteNode.create(location), primary, this));
             } else {
-                replace(new GenericSetDispatchNode(attributeId)).setValue(frame, primary, value);
+                AttributeLookupCache.getInstance().noteMegamorphicAttributeSite();
+                current.replace(new GenericSetDispatchNode(attributeId)).setValue(frame, primary, value);
             }
         }
     }
@@ -121,6 +124,11 @@ public abstract class SetDispatchNode extends Node {
 
         @Override
         public void setValue(VirtualFrame frame, PythonObject primary, Object value) {
+            setAttribute(primary, value);
+        }
+
+        @TruffleBoundary
+        private void setAttribute(PythonObject primary, Object value) {
             if (!primary.getStableAssumption().isValid()) {
                 primary.syncObjectLayoutWithClass();
             }
@@ -135,17 +143,31 @@ public abstract class SetDispatchNode extends Node {
         @Child protected AttributeWriteNode write;
         @Child protected SetDispatchNode next;
 
+        /**
+         * Set when the primary is a module. The first store through this node rebinds the global.
+         */
+        private final Assumption stableGlobalAssumption;
+
         public LinkedSetDispatchNode(String attributeId, AttributeWriteNode write, PythonObject primary, SetDispatchNode next) {
             super(attributeId);
             this.check = LayoutCheckNode.create(primary, attributeId, true);
             this.write = write;
             this.next = next;
+            this.stableGlobalAssumption = primary instanceof PythonModule ? ((PythonModule) primary).getStableGlobalAssumption(attributeId) : null;
+        }
+
+        private void rebindGlobal(PythonObject primary, Object value) {
+            if (stableGlobalAssumption != null && stableGlobalAssumption.isValid()) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                ((PythonModule) primary).rebindGlobal(attributeId, value);
+            }
         }
 
         @Override
         public void setValue(VirtualFrame frame, PythonObject primary, Object value) {
             try {
                 if (check.accept(primary)) {
+                    rebindGlobal(primary, value);
                     write.setValueUnsafe(primary, value);
                 } else {
                     next.setValue(frame, primary, value);
@@ -159,6 +181,7 @@ public abstract class SetDispatchNode extends Node {
         public void setIntValue(VirtualFrame frame, PythonObject primary, int value) {
             try {
                 if (check.accept(primary)) {
+                    rebindGlobal(primary, value);
                     write.setIntValueUnsafe(primary, value);
                 } else {
                     next.setIntValue(frame, primary, value);
@@ -172,6 +195,7 @@ public abstract class SetDispatchNode extends Node {
         public void setDoubleValue(VirtualFrame frame, PythonObject primary, double value) {
             try {
                 if (check.accept(primary)) {
+                    rebindGlobal(primary, value);
                     write.setDoubleValueUnsafe(primary, value);
                 } else {
                     next.setDoubleValue(frame, primary, value);
@@ -185,6 +209,7 @@ public abstract class SetDispatchNode extends Node {
         public void setBooleanValue(VirtualFrame frame, PythonObject primary, boolean value) {
             try {
                 if (check.accept(primary)) {
+                    rebindGlobal(primary, value);
                     write.setBooleanValueUnsafe(primary, value);
                 } else {
                     next.setBooleanValue(frame, primary, value);
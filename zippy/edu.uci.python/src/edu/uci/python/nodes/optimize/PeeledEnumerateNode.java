@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.optimize;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.frame.*;
+
+import edu.uci.python.nodes.*;
+
+/**
+ * Guards a generator loop peeled through <code>for i, x in enumerate(gen())</code>. The peeled loop
+ * only stands in for the builtin <code>enumerate</code>, so the callee is checked on every entry
+ * before the enumeration counter is reset.
+ */
+public final class PeeledEnumerateNode extends PNode {
+
+    @Child protected PNode calleeNode;
+    @Child protected PeeledGeneratorLoopNode peeled;
+
+    private final Object cachedEnumerate;
+    private final FrameSlot counterSlot;
+    private final PNode originalLoop;
+
+    public PeeledEnumerateNode(PNode calleeNode, Object cachedEnumerate, FrameSlot counterSlot, PeeledGeneratorLoopNode peeled, PNode originalLoop) {
+        this.calleeNode = calleeNode;
+        this.cachedEnumerate = cachedEnumerate;
+        this.counterSlot = counterSlot;
+        this.peeled = peeled;
+        this.originalLoop = originalLoop;
+    }
+
+    public PeeledGeneratorLoopNode getPeeledLoop() {
+        return peeled;
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        if (calleeNode.execute(frame) == cachedEnumerate) {
+            frame.setInt(counterSlot, 0);
+            return peeled.execute(frame);
+        }
+
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        return replace(originalLoop).execute(frame);
+    }
+
+}
@@ -33,6 +33,7 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.expression.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
 
 public class AssertNode extends StatementNode {
 
@@ -48,7 +49,8 @@ public class AssertNode extends StatementNode {
     public Object execute(VirtualFrame frame) {
         if (CompilerDirectives.inInterpreter()) {
             if (!condition.executeBoolean(frame)) {
-                String assertionMessage = message == null ? "" : (String) message.execute(frame);
+                Object value = message == null ? "" : message.execute(frame);
+                String assertionMessage = value instanceof PString ? value.toString() : (String) value;
                 throw Py.AssertionError(assertionMessage);
             }
         }
@@ -70,6 +70,11 @@ public abstract class ClassDefinitionNode extends StatementNode {
         }
 
         definitionFunc.call(PArguments.createWithUserArguments(newClass));
+
+        if (newClass.isOwnAttribute("__slots__")) {
+            newClass.sealInstanceLayout();
+        }
+
         return newClass;
     }
 
@@ -33,6 +33,8 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.frame.*;
 import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 
 /**
  * @author Gulfem
@@ -53,44 +55,44 @@ public class ExceptNode extends StatementNode {
         this.context = context;
     }
 
-    protected Object executeExcept(VirtualFrame frame, RuntimeException excep) {
-        PyException e = null;
-        if (excep instanceof PyException) {
-            e = (PyException) excep;
-        } else if (excep instanceof ArithmeticException && excep.getMessage().endsWith("divide by zero")) {
-            e = Py.ZeroDivisionError("divide by zero");
-        } else {
-            throw excep;
+    /**
+     * Matches by identity against the handler types. Those are usually builtin exception classes
+     * read through stable global assumptions, so the comparison folds to a constant check.
+     *
+     * TODO: need to support exceptType instance of type e.g. 'divide by zero' instance of
+     * 'Exception'
+     *
+     * TODO: need to make exception messages consistent with Python 3.3 e.g. 'division by zero'
+     */
+    @ExplodeLoop
+    protected boolean matches(VirtualFrame frame, PythonException exception) {
+        if (exceptType == null) {
+            return true;
         }
 
-        context.setCurrentException(e);
-
-        /**
-         * TODO: need to support exceptType instance of type e.g. 'divide by zero' instance of
-         * 'Exception'
-         *
-         * TODO: need to make exception messages consistent with Python 3.3 e.g. 'division by zero'
-         */
-        if (exceptType != null) {
-            PyObject type = null;
-            for (int i = 0; i < exceptType.length && type != e.type; i++) {
-                type = (PyObject) exceptType[i].execute(frame);
-            }
+        final PyObject type = exception.getType();
 
-            if (e.type == type) {
-                if (exceptName != null) {
-                    ((WriteNode) exceptName).executeWrite(frame, e);
-                }
-            } else {
-                throw excep;
+        for (int i = 0; i < exceptType.length; i++) {
+            if (exceptType[i].execute(frame) == type) {
+                return true;
             }
         }
 
+        return false;
+    }
+
+    protected Object executeExcept(VirtualFrame frame, PythonException exception) {
+        context.setCurrentException(exception);
+
+        if (exceptName != null) {
+            ((WriteNode) exceptName).executeWrite(frame, exception.getPyException());
+        }
+
         body.execute(frame);
 
         // clear the exception after executing the except body.
         context.setCurrentException(null);
-        throw new ControlFlowException();
+        return PNone.NONE;
     }
 
     @Override
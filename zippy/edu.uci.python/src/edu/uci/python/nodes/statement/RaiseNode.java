@@ -33,7 +33,7 @@ import com.oracle.truffle.api.frame.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.*;
-import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 
 public class RaiseNode extends StatementNode {
 
@@ -49,8 +49,6 @@ public class RaiseNode extends StatementNode {
 
     @Override
     public Object execute(VirtualFrame frame) {
-        CompilerDirectives.transferToInterpreterAndInvalidate();
-
         Object t = (type == null) ? null : type.execute(frame);
         Object i = (inst == null) ? null : inst.execute(frame);
         /**
@@ -60,18 +58,27 @@ public class RaiseNode extends StatementNode {
 
         if (t == null) {
             if (context.getCurrentException() == null) {
+                CompilerDirectives.transferToInterpreter();
                 throw new RuntimeException("RuntimeError: No active exception to reraise");
             }
             throw context.getCurrentException();
         }
 
-        doRaise(t, i);
-        return PNone.NONE;
+        final PyObject exceptionType = (PyObject) t;
+
+        if (!PyException.isExceptionClass(exceptionType) && !PyException.isExceptionInstance(exceptionType)) {
+            doRaise(exceptionType, (PyObject) i);
+        }
+
+        throw PythonException.raise(exceptionType, (PyObject) i);
     }
 
+    /**
+     * Lets Jython report the TypeError for something that is not an exception.
+     */
     @TruffleBoundary
-    private static void doRaise(Object t, Object i) {
-        throw PyException.doRaise((PyObject) t, (PyObject) i, null);
+    private static void doRaise(PyObject t, PyObject i) {
+        throw PyException.doRaise(t, i, null);
     }
 
     public PNode getType() {
@@ -26,9 +26,11 @@ package edu.uci.python.nodes.statement;
 
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.PNode;
+import edu.uci.python.runtime.exception.*;
 
 public class TryExceptNode extends StatementNode {
 
@@ -47,21 +49,26 @@ public class TryExceptNode extends StatementNode {
         try {
             body.execute(frame);
             return orelse.execute(frame);
-        } catch (RuntimeException ex) {
+        } catch (PythonException ex) {
             return catchException(frame, ex);
+        } catch (ControlFlowException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            final PythonException exception = PythonException.fromRuntimeException(ex);
+
+            if (exception == null) {
+                throw ex;
+            }
+
+            return catchException(frame, exception);
         }
     }
 
-    private Object catchException(VirtualFrame frame, RuntimeException exception) {
+    @ExplodeLoop
+    private Object catchException(VirtualFrame frame, PythonException exception) {
         for (ExceptNode exceptNode : exceptNodes) {
-            try {
-                exceptNode.executeExcept(frame, exception);
-            } catch (ControlFlowException cf) {
-                return cf;
-            } catch (RuntimeException ex) {
-                if (exception != ex) {
-                    throw ex;
-                }
+            if (exceptNode.matches(frame, exception)) {
+                return exceptNode.executeExcept(frame, exception);
             }
         }
 
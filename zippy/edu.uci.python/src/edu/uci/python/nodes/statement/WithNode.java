@@ -24,13 +24,12 @@
  */
 package edu.uci.python.nodes.statement;
 
-import org.python.core.*;
-
 import com.oracle.truffle.api.frame.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.frame.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
@@ -104,16 +103,14 @@ public class WithNode extends StatementNode {
         } finally {
             PythonCallable exitCall = (PythonCallable) pythonObj.getAttribute("__exit__");
 
-            if (exception instanceof ArithmeticException && exception.getMessage().endsWith("divide by zero")) {
-                exception = Py.ZeroDivisionError("divide by zero");
-            }
-
+            final PythonException pythonException = PythonException.fromRuntimeException(exception);
             Object returnValue = null;
 
-            if (exception instanceof PyException) {
-                Object type = ((PyException) exception).type;
-                Object value = ((PyException) exception).value;
-                Object trace = ((PyException) exception).traceback;
+            if (pythonException != null) {
+                exception = pythonException;
+                Object type = pythonException.getType();
+                Object value = pythonException.getValue();
+                Object trace = pythonException.getTraceback();
                 returnValue = exitCall.call(PArguments.createWithUserArguments(pythonObj, type, value, trace));
             } else if (exception == null) {
                 return exitCall.call(PArguments.createWithUserArguments(pythonObj));
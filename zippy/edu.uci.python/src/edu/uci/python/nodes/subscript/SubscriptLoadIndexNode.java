@@ -143,7 +143,7 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
     }
 
     @Specialization
-    public Object doPRange(PRange primary, int idx) {
+    public Object doPDeque(PDeque primary, int idx) {
         return primary.getItem(idx);
     }
 
@@ -225,9 +225,30 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return primary.getItemNormalized(Math.toIntExact(idx) + primary.len());
     }
 
-    @Specialization
-    public Object doPRange(PRange primary, long idx) {
-        return primary.getItem(Math.toIntExact(idx));
+    /**
+     * PDict lookups on key specialized storages, without boxing the key.
+     */
+    @Specialization(guards = "isIntKeyStorage(primary)")
+    public Object doPDictIntKey(PDict primary, int key) {
+        final IntKeyDictStorage store = (IntKeyDictStorage) primary.getStorage();
+        return checkKeyFound(primary, store.getInt(key), key);
+    }
+
+    /**
+     * A constant str key, as in record['name'], keeps its hash in the node. The first different
+     * key seen at this site replaces the cache with the general str key lookup.
+     */
+    @Specialization(guards = {"isStringKeyStorage(primary)", "key == cachedKey"}, limit = "1")
+    public Object doPDictConstantStringKey(PDict primary, @SuppressWarnings("unused") String key, //
+                    @Cached("key") String cachedKey, @Cached("cachedKey.hashCode()") int cachedHash) {
+        final StringKeyDictStorage store = (StringKeyDictStorage) primary.getStorage();
+        return checkKeyFound(primary, store.getString(cachedKey, cachedHash), cachedKey);
+    }
+
+    @Specialization(guards = "isStringKeyStorage(primary)", contains = "doPDictConstantStringKey")
+    public Object doPDictStringKey(PDict primary, String key) {
+        final StringKeyDictStorage store = (StringKeyDictStorage) primary.getStorage();
+        return checkKeyFound(primary, store.getString(key), key);
     }
 
     /**
@@ -235,8 +256,15 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
      */
     @Specialization
     public Object doPDict(PDict primary, Object key) {
-        final Object result = primary.getItem(key);
-        assert result != null;
+        return checkKeyFound(primary, primary.getItem(key), key);
+    }
+
+    private static Object checkKeyFound(PDict primary, Object result, Object key) {
+        if (result == null) {
+            CompilerDirectives.transferToInterpreter();
+            return primary.__missing__(key);
+        }
+
         return result;
     }
 
@@ -333,6 +361,19 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return primary.getItem(Math.toIntExact(idx));
     }
 
+    /**
+     * The remaining sequences: out of range ranges, bytes and bytearray.
+     */
+    @Specialization
+    public Object doPSequence(PSequence primary, int idx) {
+        return primary.getItem(idx);
+    }
+
+    @Specialization
+    public Object doPSequence(PSequence primary, long idx) {
+        return primary.getItem(Math.toIntExact(idx));
+    }
+
     /**
      * zwei: PythonTypesUtil does not unbox PyList. Instead we perform inplace update on PyList.
      * This avoid unwated data strcture duplication and actually updates a PyList imported from
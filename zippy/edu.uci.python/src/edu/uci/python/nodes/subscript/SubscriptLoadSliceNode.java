@@ -103,6 +103,16 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
         return primary.getSlice(slice);
     }
 
+    @Specialization
+    public Object doPBytes(PBytes primary, PSlice slice) {
+        return primary.getSlice(slice);
+    }
+
+    @Specialization
+    public Object doPByteArray(PByteArray primary, PSlice slice) {
+        return primary.getSlice(slice);
+    }
+
     @SuppressWarnings("unused")
     @Fallback
     public Object doGeneric(Object primary, Object slice) {
@@ -91,6 +91,35 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return PNone.NONE;
     }
 
+    @Specialization
+    public Object doPDeque(PDeque deque, int idx, Object value) {
+        deque.setItem(idx, value);
+        return PNone.NONE;
+    }
+
+    @Specialization
+    public Object doPByteArray(PByteArray primary, int idx, Object value) {
+        primary.setItem(idx, value);
+        return PNone.NONE;
+    }
+
+    /**
+     * PDict stores on key specialized storages, without boxing the key.
+     */
+    @Specialization(guards = "isIntKeyStorage(primary)")
+    public Object doPDictIntKey(PDict primary, int key, Object value) {
+        final IntKeyDictStorage store = (IntKeyDictStorage) primary.getStorage();
+        store.putInt(key, value);
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = "isStringKeyStorage(primary)")
+    public Object doPDictStringKey(PDict primary, String key, Object value) {
+        final StringKeyDictStorage store = (StringKeyDictStorage) primary.getStorage();
+        store.putString(key, value);
+        return PNone.NONE;
+    }
+
     /**
      * PDict key & value store.
      */
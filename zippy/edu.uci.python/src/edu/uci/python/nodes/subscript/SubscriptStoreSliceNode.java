@@ -48,6 +48,12 @@ public abstract class SubscriptStoreSliceNode extends SubscriptStoreNode {
         return PNone.NONE;
     }
 
+    @Specialization
+    public Object doPByteArray(PByteArray primary, PSlice slice, PSequence value) {
+        primary.setSlice(slice, value);
+        return PNone.NONE;
+    }
+
     /**
      * Unboxed array stores.
      */
@@ -56,8 +56,11 @@ import edu.uci.python.runtime.datatype.PNone;
 import edu.uci.python.runtime.datatype.PRange;
 import edu.uci.python.runtime.function.PFunction;
 import edu.uci.python.runtime.object.PythonObject;
+import edu.uci.python.runtime.sequence.PByteArray;
+import edu.uci.python.runtime.sequence.PBytes;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PSet;
+import edu.uci.python.runtime.sequence.PString;
 import edu.uci.python.runtime.sequence.PTuple;
 
 public class PythonTypesUtil {
@@ -94,11 +97,13 @@ public class PythonTypesUtil {
             PComplex complex = (PComplex) value;
             PyComplex pyComplex = new PyComplex(complex.getReal(), complex.getImag());
             return pyComplex;
-        } else if (value instanceof String) {
+        } else if (value instanceof String || value instanceof PString) {
+            final String string = value.toString();
+
             try {
-                return Py.newString((String) value);
+                return Py.newString(string);
             } catch (Exception e) {
-                return Py.newUnicode((String) value);
+                return Py.newUnicode(string);
             }
         } else if (value instanceof PNone) {
             return Py.None;
@@ -116,10 +121,10 @@ public class PythonTypesUtil {
             return new PyList(pyObjs);
         } else if (value instanceof PSet) {
             PSet set = (PSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getStorage().getInternalArray()));
         } else if (value instanceof PFrozenSet) {
             PFrozenSet set = (PFrozenSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getStorage().getInternalArray()));
         } else if (value instanceof PDict) {
             PDict dict = (PDict) value;
             ConcurrentHashMap<PyObject, PyObject> map = new ConcurrentHashMap<>();
@@ -218,12 +223,16 @@ public class PythonTypesUtil {
             return "float";
         } else if (object instanceof PComplex) {
             return "complex";
-        } else if (object instanceof String) {
+        } else if (object instanceof String || object instanceof PString) {
             return "str";
         } else if (object instanceof PList) {
             return "list";
         } else if (object instanceof PTuple) {
             return "tuple";
+        } else if (object instanceof PBytes) {
+            return "bytes";
+        } else if (object instanceof PByteArray) {
+            return "bytearray";
         } else if (object instanceof PRange) {
             return "range";
         } else if (object instanceof PArray) {
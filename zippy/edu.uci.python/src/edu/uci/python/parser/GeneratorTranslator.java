@@ -50,10 +50,12 @@ public class GeneratorTranslator {
     private int numOfGeneratorBlockNode;
     private int numOfGeneratorForNode;
     private boolean needToHandleComplicatedYieldExpression;
+    private final boolean resumable;
 
     public GeneratorTranslator(PythonContext context, FunctionRootNode root) {
         this.context = context;
         this.root = root;
+        this.resumable = context != null && context.getPythonOptions().ResumableGenerators && isResumable(root);
     }
 
     public RootCallTarget translate() {
@@ -83,6 +85,10 @@ public class GeneratorTranslator {
 
         for (YieldNode yield : NodeUtil.findAllNodeInstances(root, YieldNode.class)) {
             assert yield.getParentBlockIndexSlot() != -1;
+
+            if (resumable) {
+                yield.replace(new ResumableYieldNode(yield));
+            }
         }
 
         for (GeneratorExpressionNode genexp : NodeUtil.findAllNodeInstances(root, GeneratorExpressionNode.class)) {
@@ -101,6 +107,42 @@ public class GeneratorTranslator {
         return callTarget;
     }
 
+    /**
+     * Resumable mode handles yield statements nested in blocks, loops, ifs and try bodies. A
+     * generator with any other yield shape, e.g. a yield expression or a yield in a finally
+     * block, is translated to the exception driven mode.
+     */
+    private static boolean isResumable(FunctionRootNode root) {
+        for (YieldNode yield : NodeUtil.findAllNodeInstances(root, YieldNode.class)) {
+            Node child = yield;
+            Node current = yield.getParent();
+
+            if (!(current instanceof BlockNode)) {
+                return false;
+            }
+
+            while (!(current instanceof ReturnTargetNode)) {
+                if (current == null) {
+                    return false;
+                }
+
+                if (current instanceof TryFinallyNode && ((TryFinallyNode) current).getFinalbody() == child) {
+                    return false;
+                }
+
+                if (!(current instanceof BlockNode || current instanceof WhileNode || current instanceof IfNode || current instanceof ForNode || current instanceof TryFinallyNode ||
+                                current instanceof BreakTargetNode || current instanceof ContinueTargetNode)) {
+                    return false;
+                }
+
+                child = current;
+                current = current.getParent();
+            }
+        }
+
+        return true;
+    }
+
     private static void replaceBreak(BreakNode breakNode) {
         // look for it's breaking loop node
         Node current = breakNode.getParent();
@@ -245,9 +287,9 @@ public class GeneratorTranslator {
             BlockNode body = (BlockNode) returnTarget.getBody();
             assert body.getStatements().length == 2;
             PNode argumentLoads = body.getStatements()[0];
-            returnTarget.replace(new GeneratorReturnTargetNode(argumentLoads, body.getStatements()[1], returnTarget.getReturn(), nextActiveFlagSlot()));
+            returnTarget.replace(new GeneratorReturnTargetNode(argumentLoads, body.getStatements()[1], returnTarget.getReturn(), nextActiveFlagSlot(), resumable));
         } else {
-            returnTarget.replace(new GeneratorReturnTargetNode(EmptyNode.create(), returnTarget.getBody(), returnTarget.getReturn(), nextActiveFlagSlot()));
+            returnTarget.replace(new GeneratorReturnTargetNode(EmptyNode.create(), returnTarget.getBody(), returnTarget.getReturn(), nextActiveFlagSlot(), resumable));
         }
     }
 
@@ -263,21 +305,21 @@ public class GeneratorTranslator {
             WhileNode whileNode = (WhileNode) node;
 
             if (node.getParent() instanceof BreakTargetNode) {
-                node.getParent().replace(new GeneratorWhileNode(whileNode.getCondition(), whileNode.getBody(), nextActiveFlagSlot()));
+                node.getParent().replace(new GeneratorWhileNode(whileNode.getCondition(), whileNode.getBody(), nextActiveFlagSlot(), resumable));
             } else {
-                node.replace(new GeneratorWhileNode(whileNode.getCondition(), whileNode.getBody(), nextActiveFlagSlot()));
+                node.replace(new GeneratorWhileNode(whileNode.getCondition(), whileNode.getBody(), nextActiveFlagSlot(), resumable));
             }
         } else if (node instanceof IfNode) {
             IfNode ifNode = (IfNode) node;
             int ifFlag = nextActiveFlagSlot();
             int elseFlag = nextActiveFlagSlot();
-            node.replace(GeneratorIfNode.create(ifNode.getCondition(), ifNode.getThen(), ifNode.getElse(), ifFlag, elseFlag));
+            node.replace(GeneratorIfNode.create(ifNode.getCondition(), ifNode.getThen(), ifNode.getElse(), ifFlag, elseFlag, resumable));
         } else if (node instanceof ForNode) {
             assert depth > 0;
             ForNode forNode = (ForNode) node;
             WriteGeneratorFrameVariableNode target = (WriteGeneratorFrameVariableNode) forNode.getTarget();
             GetIteratorNode getIter = (GetIteratorNode) forNode.getIterator();
-            node.replace(GeneratorForNode.create(target, getIter, forNode.getBody(), nextGeneratorForNodeSlot()));
+            node.replace(GeneratorForNode.create(target, getIter, forNode.getBody(), nextGeneratorForNodeSlot(), resumable));
         } else if (node instanceof BlockNode) {
             BlockNode block = (BlockNode) node;
             int slotOfBlockIndex = nextGeneratorBlockIndexSlot();
@@ -286,7 +328,13 @@ public class GeneratorTranslator {
                 yield.replace(new YieldNode(yield, slotOfBlockIndex));
             }
 
-            node.replace(new GeneratorBlockNode(block.getStatements(), slotOfBlockIndex));
+            node.replace(new GeneratorBlockNode(block.getStatements(), slotOfBlockIndex, resumable));
+        } else if (node instanceof TryFinallyNode) {
+            TryFinallyNode tryFinally = (TryFinallyNode) node;
+
+            if (NodeUtil.findAllNodeInstances(tryFinally.getFinalbody(), YieldNode.class).isEmpty()) {
+                node.replace(new GeneratorTryFinallyNode(tryFinally.getBody(), tryFinally.getFinalbody(), resumable));
+            }
         } else if (node instanceof StatementNode) {
             // do nothing for now
         } else {
@@ -305,7 +353,7 @@ public class GeneratorTranslator {
 
         // Wraps yield and the inserted YieldSendValueNode with a GenBlockNode.
         if (depth == 0) {
-            yield.replace(new GeneratorBlockNode(new PNode[]{yield, new YieldSendValueNode()}, nextGeneratorBlockIndexSlot()));
+            yield.replace(new GeneratorBlockNode(new PNode[]{yield, new YieldSendValueNode()}, nextGeneratorBlockIndexSlot(), resumable));
         }
 
         /**
@@ -24,6 +24,7 @@
  */
 package edu.uci.python.parser;
 
+import java.nio.charset.*;
 import java.util.*;
 import java.util.List;
 import java.util.Set;
@@ -54,6 +55,7 @@ import edu.uci.python.nodes.subscript.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.standardtype.*;
 import static edu.uci.python.parser.TranslationUtil.*;
 
@@ -625,7 +627,7 @@ public class PythonTreeTranslator extends Visitor {
     @Override
     public Object visitSet(org.python.antlr.ast.Set node) throws Exception {
         List<PNode> elts = walkExprList(node.getInternalElts());
-        Set<PNode> setFromLost = new HashSet<>();
+        Set<PNode> setFromLost = new LinkedHashSet<>();
 
         for (PNode listNode : elts) {
             setFromLost.add(listNode);
@@ -1096,9 +1098,29 @@ public class PythonTreeTranslator extends Visitor {
     @Override
     public Object visitStr(Str node) throws Exception {
         PyString s = (PyString) node.getInternalS();
+
+        if (isBytesLiteral(node)) {
+            return assignSourceFromNode(node, factory.createObjectLiteral(new PBytes(s.getString().getBytes(StandardCharsets.ISO_8859_1))));
+        }
+
         return assignSourceFromNode(node, factory.createStringLiteral(s.getString()));
     }
 
+    /**
+     * The parser hands out a plain PyString for both 'x' and b'x', so the literal prefix decides.
+     */
+    private static boolean isBytesLiteral(Str node) {
+        String text = node.getText();
+
+        if (text == null || text.length() < 2) {
+            return false;
+        }
+
+        final char first = Character.toLowerCase(text.charAt(0));
+        final char second = Character.toLowerCase(text.charAt(1));
+        return first == 'b' || (first == 'r' && second == 'b');
+    }
+
     @Override
     public Object visitIfExp(IfExp node) throws Exception {
         PNode test = (PNode) visit(node.getInternalTest());
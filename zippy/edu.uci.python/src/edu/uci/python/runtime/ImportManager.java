@@ -37,6 +37,7 @@ import com.oracle.truffle.api.source.Source.Builder;
 
 import edu.uci.python.PythonLanguage;
 import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.standardtype.*;
 
 /**
@@ -76,7 +77,7 @@ public class ImportManager {
         this.paths.add(getPythonLibraryPath());
         this.paths.add(getPythonLibraryExtrasPath());
 
-        String[] unsupportedImportNames = {"re", "os", "posix", "io", "textwrap", "optparse", "functools", "struct", "decimal", "collections", "threading", "abc", "inspect", "subprocess", "warnings"};
+        String[] unsupportedImportNames = {"os", "posix", "io", "textwrap", "optparse", "decimal", "threading", "abc", "inspect", "subprocess", "warnings"};
 
         for (String lib : unsupportedImportNames) {
             this.unsupportedImports.put(lib, true);
@@ -162,11 +163,11 @@ public class ImportManager {
         PyList jythonSystemPaths = Py.getSystemState().path;
 
         for (Object path : jythonSystemPaths) {
-            if (!(path instanceof String)) {
+            if (!(path instanceof String || path instanceof PString)) {
                 continue;
             }
 
-            String stringPath = (String) path;
+            String stringPath = path.toString();
             if (stringPath.contains("zippy/lib") || stringPath.contains("jython")) {
                 continue;
             }
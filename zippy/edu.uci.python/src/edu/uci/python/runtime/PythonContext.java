@@ -52,6 +52,7 @@ public class PythonContext extends ExecutionContext {
     private final ImportManager importManager;
 
     private static PythonContext currentContext;
+    private static final MethodHandle DEFAULT_PYTHON_OBJECT_CONSTRUCTOR = lookupDefaultPythonObjectConstructor();
 
     private RuntimeException currentException;
 
@@ -151,10 +152,14 @@ public class PythonContext extends ExecutionContext {
     }
 
     public static PythonObject newPythonObjectInstance(PythonClass clazz) {
-        return new FixedPythonObjectStorage(clazz);
+        return FixedPythonObjectStorage.create(clazz);
     }
 
     public static MethodHandle getDefaultPythonObjectConstructor() {
+        return DEFAULT_PYTHON_OBJECT_CONSTRUCTOR;
+    }
+
+    private static MethodHandle lookupDefaultPythonObjectConstructor() {
         try {
             MethodType mt = MethodType.methodType(PythonObject.class, PythonClass.class);
             return MethodHandles.lookup().findStatic(PythonContext.class, "newPythonObjectInstance", mt);
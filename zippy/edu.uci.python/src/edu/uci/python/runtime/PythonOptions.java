@@ -51,6 +51,8 @@ public class PythonOptions {
     // Object storage allocation
     public final boolean InstrumentObjectStorageAllocation; // false
 
+    public final boolean InstrumentMegamorphicSites; // false
+
     // Translation flags
     public final boolean UsePrintFunction; // false
 
@@ -61,13 +63,21 @@ public class PythonOptions {
 
     public final boolean IntrinsifyBuiltinCalls; // true
 
-    public static final int AttributeAccessInlineCacheMaxDepth = 20;
+    public static final int AttributeAccessInlineCacheMaxDepth = Integer.getInteger(propPkgName + ".AttributeAccessInlineCacheMaxDepth", 8); // 8
+
+    public static final int CallSiteInlineCacheMaxDepth = Integer.getInteger(propPkgName + ".CallSiteInlineCacheMaxDepth", 8); // 8
+
+    public static final int SplittingCallThreshold = Integer.getInteger(propPkgName + ".SplittingCallThreshold", 10); // 10
 
-    public static final int CallSiteInlineCacheMaxDepth = 20;
+    public static final int InliningBudget = Integer.getInteger(propPkgName + ".InliningBudget", 250); // 250
 
     public final boolean FlexibleObjectStorageEvolution; // false
 
-    public final boolean FlexibleObjectStorage; // false
+    public final boolean FlexibleObjectStorage; // true
+
+    public final boolean BackgroundStorageClassGeneration; // true
+
+    public final int FlexibleObjectStorageThreshold; // 8
 
     // Generators
     public final boolean InlineGeneratorCalls; // true
@@ -76,6 +86,15 @@ public class PythonOptions {
 
     public final boolean TraceGeneratorInlining; // false
 
+    public final int GeneratorPeelingTrials; // 5
+
+    public final boolean ResumableGenerators; // false
+
+    // Splitting
+    public final boolean SplitPolymorphicFunctions; // true
+
+    public final boolean TraceSplitting; // false
+
     public final boolean TraceNodesWithoutSourceSection; // false
 
     public final boolean TraceNodesUsingExistingProbe; // false
@@ -102,6 +121,7 @@ public class PythonOptions {
 
         // Object storage allocation
         this.InstrumentObjectStorageAllocation = Boolean.getBoolean(propPkgName + ".InstrumentObjectStorageAllocation"); // false
+        this.InstrumentMegamorphicSites = Boolean.getBoolean(propPkgName + ".InstrumentMegamorphicSites"); // false
 
         // Translation flags
         this.UsePrintFunction = Boolean.getBoolean(propPkgName + ".UsePrintFunction"); // false
@@ -111,12 +131,20 @@ public class PythonOptions {
         this.UnboxSequenceIteration = !Boolean.getBoolean(propPkgName + ".disableUnboxSequenceIteration"); // true
         this.IntrinsifyBuiltinCalls = !Boolean.getBoolean(propPkgName + ".disableIntrinsifyBuiltinCalls"); // true
         this.FlexibleObjectStorageEvolution = Boolean.getBoolean(propPkgName + ".FlexibleObjectStorageEvolution"); // false
-        this.FlexibleObjectStorage = Boolean.getBoolean(propPkgName + ".FlexibleObjectStorage"); // false
+        this.FlexibleObjectStorage = !Boolean.getBoolean(propPkgName + ".disableFlexibleObjectStorage"); // true
+        this.BackgroundStorageClassGeneration = !Boolean.getBoolean(propPkgName + ".disableBackgroundStorageClassGeneration"); // true
+        this.FlexibleObjectStorageThreshold = Integer.getInteger(propPkgName + ".FlexibleObjectStorageThreshold", 8); // 8
 
         // Generators
         this.InlineGeneratorCalls = !Boolean.getBoolean(propPkgName + ".disableInlineGeneratorCalls"); // true
         this.OptimizeGeneratorExpressions = !Boolean.getBoolean(propPkgName + ".disableOptimizeGeneratorExpressions"); // true
         this.TraceGeneratorInlining = Boolean.getBoolean(propPkgName + ".TraceGeneratorInlining"); // false
+        this.GeneratorPeelingTrials = Integer.getInteger(propPkgName + ".GeneratorPeelingTrials", 5); // 5
+        this.ResumableGenerators = Boolean.getBoolean(propPkgName + ".ResumableGenerators"); // false
+
+        // Splitting
+        this.SplitPolymorphicFunctions = !Boolean.getBoolean(propPkgName + ".disableSplitPolymorphicFunctions"); // true
+        this.TraceSplitting = Boolean.getBoolean(propPkgName + ".TraceSplitting"); // false
         this.TraceNodesWithoutSourceSection = Boolean.getBoolean(propPkgName + ".TraceNodesWithoutSourceSection"); // false
         this.TraceNodesUsingExistingProbe = Boolean.getBoolean(propPkgName + ".TraceNodesUsingExistingProbe"); // false
         this.CatchZippyExceptionForUnitTesting = Boolean.getBoolean(propPkgName + ".CatchZippyExceptionForUnitTesting"); // false
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.util.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Key value storage of a PDict. Like {@link SequenceStorage}, a key specialized storage throws
+ * {@link SequenceStoreException} when it cannot hold a key, and the owner replaces it with
+ * {@link #generalizeFor(Object)}.
+ */
+public abstract class DictStorage {
+
+    protected static final PythonOptions options = new PythonOptions();
+
+    public abstract int length();
+
+    public abstract DictStorage copy();
+
+    /**
+     * Returns null if the key is not present.
+     */
+    public abstract Object get(Object key);
+
+    public abstract boolean containsKey(Object key);
+
+    public abstract void put(Object key, Object value) throws SequenceStoreException;
+
+    /**
+     * Returns the removed value, or null if the key is not present.
+     */
+    public abstract Object remove(Object key);
+
+    /**
+     * Removes and returns the most recently inserted entry as a key value pair, or null if the
+     * storage is empty.
+     */
+    public abstract Object[] removeLast();
+
+    public abstract Iterator<Object> keyIterator();
+
+    public abstract Iterator<Object> valueIterator();
+
+    public abstract Iterator<Object> itemIterator();
+
+    public abstract boolean equals(DictStorage other);
+
+    public abstract DictStorage generalizeFor(Object key);
+
+}
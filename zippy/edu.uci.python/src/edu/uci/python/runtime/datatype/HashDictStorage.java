@@ -0,0 +1,454 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.io.*;
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * The compact layout shared by all hashed dict storages, following CPython's dict. A sparse index
+ * array maps hash slots to positions in dense entry arrays that hold the keys and values in
+ * insertion order. Subclasses keep the keys in whatever representation suits them. Deleting a key
+ * clears its value and leaves a DUMMY marker in the index array. Both are reclaimed when the
+ * storage is resized.
+ * <p>
+ * Subclasses must hash their keys exactly like {@link HashTable#hash(Object)} does, so a key of a
+ * foreign type still finds an equal key through the generic lookup.
+ */
+public abstract class HashDictStorage extends DictStorage {
+
+    protected static final int EMPTY = -1;
+    protected static final int DUMMY = -2;
+    protected static final int PERTURB_SHIFT = 5;
+    private static final int MIN_INDEX_SIZE = 8;
+
+    protected int[] indices;
+    protected Object[] values;
+
+    // number of live entries
+    protected int size;
+
+    // number of entries consumed in the dense arrays, including deleted ones
+    protected int usedEntries;
+
+    // number of index slots that are not EMPTY, including DUMMY ones
+    protected int filledSlots;
+
+    /**
+     * Outcome of the last lookup through a key specialized probe, so that storing the same key
+     * right after it, as in d[k] = d.get(k, 0) + 1, does not probe again. The subclass remembers
+     * the key. Any change to the index array invalidates it.
+     */
+    protected boolean lastValid;
+    protected int lastSlot;
+    protected int lastFreeSlot;
+
+    protected HashDictStorage(int expectedSize) {
+        this.indices = newIndices(indexSizeFor(expectedSize));
+        this.values = new Object[entryCapacity()];
+    }
+
+    protected HashDictStorage(HashDictStorage other) {
+        this.indices = Arrays.copyOf(other.indices, other.indices.length);
+        this.values = Arrays.copyOf(other.values, other.values.length);
+        this.size = other.size;
+        this.usedEntries = other.usedEntries;
+        this.filledSlots = other.filledSlots;
+    }
+
+    private static int[] newIndices(int indexSize) {
+        final int[] result = new int[indexSize];
+        Arrays.fill(result, EMPTY);
+        return result;
+    }
+
+    /**
+     * Keep the load factor of the index array under 2/3.
+     */
+    protected static int usableFor(int indexSize) {
+        return (indexSize << 1) / 3;
+    }
+
+    protected static int indexSizeFor(int expectedSize) {
+        int indexSize = MIN_INDEX_SIZE;
+
+        while (usableFor(indexSize) < expectedSize) {
+            indexSize <<= 1;
+        }
+
+        return indexSize;
+    }
+
+    protected final int entryCapacity() {
+        return usableFor(indices.length);
+    }
+
+    protected abstract int hashAt(int entry);
+
+    protected abstract Object keyAt(int entry);
+
+    protected abstract void moveKey(int from, int to);
+
+    protected abstract void resizeKeys(int capacity);
+
+    /**
+     * Drops the reference held by a deleted key. Primitive keys have nothing to release.
+     */
+    protected void releaseKey(@SuppressWarnings("unused") int entry) {
+    }
+
+    @Override
+    public final int length() {
+        return size;
+    }
+
+    @Override
+    public Object get(Object key) {
+        final int slot = findSlotGeneric(key);
+        return slot == EMPTY ? null : values[indices[slot]];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return findSlotGeneric(key) != EMPTY;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        final int slot = findSlotGeneric(key);
+        return slot == EMPTY ? null : removeSlot(slot);
+    }
+
+    /**
+     * Replaces the value of a key equal to, but not of the type of, the storage's keys. Returns
+     * false if no such key is present.
+     */
+    protected final boolean replaceGeneric(Object key, Object value) {
+        final int slot = findSlotGeneric(key);
+
+        if (slot == EMPTY) {
+            return false;
+        }
+
+        values[indices[slot]] = value;
+        return true;
+    }
+
+    protected final int findSlotGeneric(Object key) {
+        return findSlotGeneric(key, HashTable.hash(key));
+    }
+
+    /**
+     * Probe sequence borrowed from CPython's dictobject. Returns the slot in the index array that
+     * holds the entry for the given key, or EMPTY. The index array always has at least one EMPTY
+     * slot, so the loop terminates.
+     */
+    protected final int findSlotGeneric(Object key, int hash) {
+        final int mask = indices.length - 1;
+        int slot = hash & mask;
+        int perturb = hash;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return EMPTY;
+            }
+
+            if (entry >= 0 && hashAt(entry) == hash) {
+                final Object candidate = keyAt(entry);
+
+                if (candidate == key || HashTable.keyEquals(candidate, key)) {
+                    return slot;
+                }
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findFreeSlot(int hash) {
+        final int mask = indices.length - 1;
+        int slot = hash & mask;
+        int perturb = hash;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private int slotOf(int entry) {
+        final int mask = indices.length - 1;
+        final int hash = hashAt(entry);
+        int slot = hash & mask;
+        int perturb = hash;
+
+        while (indices[slot] != entry) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    protected final int rememberHit(int slot) {
+        lastValid = true;
+        lastSlot = slot;
+        return slot;
+    }
+
+    protected final int rememberMiss(int freeSlot) {
+        lastValid = true;
+        lastSlot = EMPTY;
+        lastFreeSlot = freeSlot;
+        return EMPTY;
+    }
+
+    /**
+     * Reserves the entry for a new key with the given hash and stores the value. The caller has
+     * checked that no equal key is present and stores the key at the returned position.
+     */
+    protected final int newEntry(int hash, Object value) {
+        if (isFull()) {
+            resize();
+        }
+
+        return newEntryAt(findFreeSlot(hash), value);
+    }
+
+    /**
+     * Same as {@link #newEntry(int, Object)}, reusing the free slot found by the last miss.
+     */
+    protected final int newEntryAfterMiss(int hash, Object value) {
+        assert lastValid && lastSlot == EMPTY;
+
+        if (isFull()) {
+            resize();
+            return newEntryAt(findFreeSlot(hash), value);
+        }
+
+        return newEntryAt(lastFreeSlot, value);
+    }
+
+    /**
+     * {@link #removeLast()} gives dead tail entries back without emptying their slots, so the index
+     * can fill up before the dense arrays do.
+     */
+    private boolean isFull() {
+        return usedEntries == entryCapacity() || filledSlots == entryCapacity();
+    }
+
+    private int newEntryAt(int slot, Object value) {
+        if (indices[slot] == EMPTY) {
+            filledSlots++;
+        }
+
+        final int entry = usedEntries++;
+        values[entry] = value;
+        indices[slot] = entry;
+        size++;
+        lastValid = false;
+        return entry;
+    }
+
+    protected final Object removeSlot(int slot) {
+        lastValid = false;
+        final int entry = indices[slot];
+        final Object value = values[entry];
+        indices[slot] = DUMMY;
+        values[entry] = null;
+        releaseKey(entry);
+        size--;
+        return value;
+    }
+
+    /**
+     * Pops the last live entry and drops it, together with the deleted entries behind it, from the
+     * end of the dense arrays, so draining a dict does not rescan its dead tail.
+     */
+    @Override
+    public Object[] removeLast() {
+        for (int entry = usedEntries - 1; entry >= 0; entry--) {
+            if (values[entry] != null) {
+                final Object[] pair = new Object[]{keyAt(entry), values[entry]};
+                removeSlot(slotOf(entry));
+                usedEntries = entry;
+                return pair;
+            }
+        }
+
+        usedEntries = 0;
+        return null;
+    }
+
+    /**
+     * Moves the live entries to the front of the dense arrays and rebuilds the index for a capacity
+     * that leaves room to grow.
+     */
+    private void resize() {
+        int live = 0;
+
+        for (int i = 0; i < usedEntries; i++) {
+            if (values[i] != null) {
+                if (i != live) {
+                    values[live] = values[i];
+                    moveKey(i, live);
+                }
+
+                live++;
+            }
+        }
+
+        for (int i = live; i < usedEntries; i++) {
+            values[i] = null;
+            releaseKey(i);
+        }
+
+        assert live == size;
+        lastValid = false;
+        indices = newIndices(indexSizeFor(Math.max(size * 2, size + 1)));
+        values = Arrays.copyOf(values, entryCapacity());
+        resizeKeys(entryCapacity());
+        usedEntries = size;
+        filledSlots = size;
+
+        for (int i = 0; i < size; i++) {
+            indices[findFreeSlot(hashAt(i))] = i;
+        }
+    }
+
+    @TruffleBoundary
+    @Override
+    public boolean equals(DictStorage other) {
+        if (size != other.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < usedEntries; i++) {
+            if (values[i] != null) {
+                final Object otherValue = other.get(keyAt(i));
+
+                if (otherValue == null || !HashTable.keyEquals(values[i], otherValue)) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        if (options.TraceSequenceStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to HashTable");
+        }
+
+        final HashTable generalized = new HashTable(size);
+
+        for (int i = 0; i < usedEntries; i++) {
+            if (values[i] != null) {
+                generalized.putNew(keyAt(i), hashAt(i), values[i]);
+            }
+        }
+
+        return generalized;
+    }
+
+    @Override
+    public Iterator<Object> keyIterator() {
+        return new EntryIterator() {
+            @Override
+            protected Object current(int entry) {
+                return keyAt(entry);
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Object> valueIterator() {
+        return new EntryIterator() {
+            @Override
+            protected Object current(int entry) {
+                return values[entry];
+            }
+        };
+    }
+
+    @Override
+    public Iterator<Object> itemIterator() {
+        return new EntryIterator() {
+            @Override
+            protected Object current(int entry) {
+                return new PTuple(new Object[]{keyAt(entry), values[entry]});
+            }
+        };
+    }
+
+    /**
+     * Walks the dense entry arrays in insertion order and skips deleted entries.
+     */
+    private abstract class EntryIterator implements Iterator<Object> {
+
+        private int entry = nextLive(0);
+
+        private int nextLive(int from) {
+            int i = from;
+
+            while (i < usedEntries && values[i] == null) {
+                i++;
+            }
+
+            return i;
+        }
+
+        protected abstract Object current(int index);
+
+        @Override
+        public boolean hasNext() {
+            return entry < usedEntries;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Object result = current(entry);
+            entry = nextLive(entry + 1);
+            return result;
+        }
+    }
+
+}
@@ -0,0 +1,341 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.math.*;
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * The generic dict storage, keyed by Python's __hash__ and __eq__ semantics. It keeps the hash of
+ * every key next to it, since a user defined __hash__ can be arbitrarily expensive.
+ * <p>
+ * Also home of the hash and equality functions every hashed dict and set storage agrees on.
+ */
+public final class HashTable extends HashDictStorage {
+
+    private int[] hashes;
+    private Object[] keys;
+
+    public HashTable() {
+        this(0);
+    }
+
+    public HashTable(int expectedSize) {
+        super(expectedSize);
+        this.hashes = new int[entryCapacity()];
+        this.keys = new Object[entryCapacity()];
+    }
+
+    private HashTable(HashTable other) {
+        super(other);
+        this.hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+        this.keys = Arrays.copyOf(other.keys, other.keys.length);
+    }
+
+    @Override
+    public HashTable copy() {
+        return new HashTable(this);
+    }
+
+    @Override
+    protected int hashAt(int entry) {
+        return hashes[entry];
+    }
+
+    @Override
+    protected Object keyAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        hashes[to] = hashes[from];
+        keys[to] = keys[from];
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        hashes = Arrays.copyOf(hashes, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    protected void releaseKey(int entry) {
+        keys[entry] = null;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        final int hash = hash(key);
+        final int slot = findSlotGeneric(key, hash);
+
+        if (slot != EMPTY) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        putNew(key, hash, value);
+    }
+
+    /**
+     * Appends an entry for a key known to be absent.
+     */
+    void putNew(Object key, int hash, Object value) {
+        final int entry = newEntry(hash, value);
+        hashes[entry] = hash;
+        keys[entry] = key;
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        return this;
+    }
+
+    /**
+     * Python hash semantics. Numbers that compare equal hash equal, so 1, 1L, 1.0 and True land in
+     * the same bucket.
+     */
+    public static int hash(Object key) {
+        if (key instanceof Integer) {
+            return (int) key;
+        } else if (key instanceof String) {
+            return key.hashCode();
+        }
+
+        return hashGeneric(key);
+    }
+
+    @TruffleBoundary
+    private static int hashGeneric(Object key) {
+        if (key instanceof Long) {
+            return hashLong((long) key);
+        } else if (key instanceof Boolean) {
+            return (boolean) key ? 1 : 0;
+        } else if (key instanceof Double) {
+            return hashDouble((double) key);
+        } else if (key instanceof BigInteger) {
+            return hashBigInteger((BigInteger) key);
+        } else if (key instanceof PString) {
+            return ((PString) key).getValue().hashCode();
+        } else if (key instanceof Character) {
+            return String.valueOf((char) key).hashCode();
+        } else if (key instanceof PTuple) {
+            return hashTuple((PTuple) key);
+        } else if (key instanceof PFrozenSet) {
+            return hashFrozenSet((PFrozenSet) key);
+        } else if (key instanceof PythonObject) {
+            return hashPythonObject((PythonObject) key);
+        } else if (key instanceof PList) {
+            throw Py.TypeError("unhashable type: 'list'");
+        } else if (key instanceof PDict) {
+            throw Py.TypeError("unhashable type: 'dict'");
+        } else if (key instanceof PSet) {
+            throw Py.TypeError("unhashable type: 'set'");
+        }
+
+        return key.hashCode();
+    }
+
+    public static int hashLong(long value) {
+        if (value == (int) value) {
+            return (int) value;
+        }
+
+        return Long.hashCode(value);
+    }
+
+    private static int hashBigInteger(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return hashLong(value.longValue());
+        }
+
+        return value.hashCode();
+    }
+
+    public static int hashDouble(double value) {
+        if (!Double.isInfinite(value) && value == Math.rint(value)) {
+            if (Math.abs(value) < 0x1p63) {
+                return hashLong((long) value);
+            }
+
+            return hashBigInteger(new BigDecimal(value).toBigInteger());
+        }
+
+        return Double.hashCode(value);
+    }
+
+    private static int hashTuple(PTuple tuple) {
+        int result = 0x345678;
+
+        for (Object item : tuple.getArray()) {
+            result = (result ^ hash(item)) * 1000003;
+        }
+
+        return result;
+    }
+
+    /**
+     * Order independent, so equal frozensets hash equal regardless of insertion order.
+     */
+    private static int hashFrozenSet(PFrozenSet set) {
+        int result = 1927868237 * (set.len() + 1);
+        final Iterator<Object> iterator = set.getStorage().iterator();
+
+        while (iterator.hasNext()) {
+            final int h = hash(iterator.next());
+            result ^= (h ^ (h << 16) ^ 89869747) * 3644798167L;
+        }
+
+        return result * 69069 + 907133923;
+    }
+
+    private static int hashPythonObject(PythonObject object) {
+        if (!(object instanceof PythonClass)) {
+            final Object hashMethod = object.getPythonClass().getAttribute("__hash__");
+
+            if (hashMethod instanceof PFunction) {
+                return hash(((PFunction) hashMethod).call(PArguments.createWithUserArguments(object)));
+            }
+        }
+
+        return object.hashCode();
+    }
+
+    /**
+     * Python equality for keys.
+     */
+    public static boolean keyEquals(Object left, Object right) {
+        if (left == right) {
+            return true;
+        } else if (left instanceof String && right instanceof String) {
+            return left.equals(right);
+        } else if (left instanceof Integer && right instanceof Integer) {
+            return (int) left == (int) right;
+        }
+
+        return keyEqualsGeneric(left, right);
+    }
+
+    @TruffleBoundary
+    private static boolean keyEqualsGeneric(Object left, Object right) {
+        if (isNumber(left) && isNumber(right)) {
+            return numberEquals(left, right);
+        } else if (isString(left) && isString(right)) {
+            return asString(left).equals(asString(right));
+        } else if (left instanceof PTuple && right instanceof PTuple) {
+            return tupleEquals((PTuple) left, (PTuple) right);
+        } else if (left instanceof PBaseSet && right instanceof PBaseSet) {
+            return ((PBaseSet) left).setEquals((PBaseSet) right);
+        } else if (left instanceof PythonObject && !(left instanceof PythonClass)) {
+            final Object eqMethod = ((PythonObject) left).getPythonClass().getAttribute("__eq__");
+
+            if (eqMethod instanceof PFunction) {
+                final Object result = ((PFunction) eqMethod).call(PArguments.createWithUserArguments(left, right));
+                return result instanceof Boolean && (boolean) result;
+            }
+
+            return false;
+        }
+
+        return left.equals(right);
+    }
+
+    private static boolean isNumber(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof BigInteger || value instanceof Double || value instanceof Boolean;
+    }
+
+    private static boolean numberEquals(Object left, Object right) {
+        if (left instanceof Double || right instanceof Double) {
+            return asDouble(left) == asDouble(right);
+        } else if (left instanceof BigInteger || right instanceof BigInteger) {
+            return asBigInteger(left).equals(asBigInteger(right));
+        }
+
+        return asLong(left) == asLong(right);
+    }
+
+    private static long asLong(Object value) {
+        if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        }
+
+        return ((Number) value).longValue();
+    }
+
+    private static double asDouble(Object value) {
+        if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        }
+
+        return ((Number) value).doubleValue();
+    }
+
+    private static BigInteger asBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        }
+
+        return BigInteger.valueOf(asLong(value));
+    }
+
+    private static boolean isString(Object value) {
+        return value instanceof String || value instanceof PString || value instanceof Character;
+    }
+
+    private static String asString(Object value) {
+        if (value instanceof PString) {
+            return ((PString) value).getValue();
+        }
+
+        return value.toString();
+    }
+
+    private static boolean tupleEquals(PTuple left, PTuple right) {
+        final Object[] leftArray = left.getArray();
+        final Object[] rightArray = right.getArray();
+
+        if (leftArray.length != rightArray.length) {
+            return false;
+        }
+
+        for (int i = 0; i < leftArray.length; i++) {
+            if (!keyEquals(leftArray[i], rightArray[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
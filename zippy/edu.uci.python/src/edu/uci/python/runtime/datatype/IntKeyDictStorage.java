@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.util.*;
+
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Dict storage for int keys, kept unboxed in an int array. The hash of an int is the int itself.
+ */
+public final class IntKeyDictStorage extends HashDictStorage {
+
+    private int[] keys;
+
+    // the key of the last lookup, see HashDictStorage#lastValid
+    private int lastKey;
+
+    public IntKeyDictStorage() {
+        this(0);
+    }
+
+    public IntKeyDictStorage(int expectedSize) {
+        super(expectedSize);
+        this.keys = new int[entryCapacity()];
+    }
+
+    private IntKeyDictStorage(IntKeyDictStorage other) {
+        super(other);
+        this.keys = Arrays.copyOf(other.keys, other.keys.length);
+    }
+
+    @Override
+    public IntKeyDictStorage copy() {
+        return new IntKeyDictStorage(this);
+    }
+
+    @Override
+    protected int hashAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    protected Object keyAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    private int findSlot(int key) {
+        final int mask = indices.length - 1;
+        int slot = key & mask;
+        int perturb = key;
+        int freeSlot = EMPTY;
+        lastKey = key;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return rememberMiss(freeSlot == EMPTY ? slot : freeSlot);
+            }
+
+            if (entry == DUMMY) {
+                if (freeSlot == EMPTY) {
+                    freeSlot = slot;
+                }
+            } else if (keys[entry] == key) {
+                return rememberHit(slot);
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key instanceof Integer) {
+            return getInt((int) key);
+        }
+
+        return super.get(key);
+    }
+
+    public Object getInt(int key) {
+        final int slot = findSlot(key);
+        return slot == EMPTY ? null : values[indices[slot]];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key instanceof Integer) {
+            return findSlot((int) key) != EMPTY;
+        }
+
+        return super.containsKey(key);
+    }
+
+    @Override
+    public void put(Object key, Object value) throws SequenceStoreException {
+        if (key instanceof Integer) {
+            putInt((int) key, value);
+        } else if (!replaceGeneric(key, value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void putInt(int key, Object value) {
+        final int slot = lastValid && lastKey == key ? lastSlot : findSlot(key);
+
+        if (slot != EMPTY) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int entry = newEntryAfterMiss(key, value);
+        keys[entry] = key;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key instanceof Integer) {
+            final int slot = findSlot((int) key);
+            return slot == EMPTY ? null : removeSlot(slot);
+        }
+
+        return super.remove(key);
+    }
+
+}
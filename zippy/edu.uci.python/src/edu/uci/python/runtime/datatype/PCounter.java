@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * collections.Counter, a {@link PDict} from elements to their counts. A missing element counts as
+ * zero and, unlike defaultdict, is not inserted by the lookup.
+ */
+public final class PCounter extends PDict {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PCounter.class);
+
+    public PCounter() {
+    }
+
+    public PCounter(PDict dict) {
+        super(dict);
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    @Override
+    public Object __missing__(Object key) {
+        return 0;
+    }
+
+    /**
+     * Adds the counts of a mapping, or counts each element of an iterable; {@code sign} is 1 for
+     * update() and -1 for subtract().
+     */
+    public void update(Object source, int sign) {
+        if (source instanceof PDict) {
+            PDict other = (PDict) source;
+            Iterator<Object> items = other.itemIterator();
+
+            while (items.hasNext()) {
+                PTuple item = (PTuple) items.next();
+                add(item.getItem(0), item.getItem(1), sign);
+            }
+        } else if (source instanceof String || source instanceof PString) {
+            String str = source.toString();
+
+            for (int i = 0; i < str.length(); i++) {
+                add(String.valueOf(str.charAt(i)), 1, sign);
+            }
+        } else if (source instanceof PIterable) {
+            PIterator iter = ((PIterable) source).__iter__();
+
+            try {
+                while (true) {
+                    add(iter.__next__(), 1, sign);
+                }
+            } catch (StopIterationException e) {
+                // fall through
+            }
+        } else {
+            throw Py.TypeError("'" + source + "' object is not iterable");
+        }
+    }
+
+    private void add(Object key, Object delta, int sign) {
+        final Object current = getItem(key);
+        setItem(key, addCounts(current == null ? 0 : current, delta, sign));
+    }
+
+    private static Object addCounts(Object left, Object right, int sign) {
+        if (left instanceof Integer && right instanceof Integer) {
+            final long result = (int) left + (long) sign * (int) right;
+            return result == (int) result ? (Object) (int) result : (Object) result;
+        }
+
+        if (isIntegral(left) && isIntegral(right)) {
+            return ((Number) left).longValue() + sign * ((Number) right).longValue();
+        }
+
+        if (left instanceof Number && right instanceof Number) {
+            return ((Number) left).doubleValue() + sign * ((Number) right).doubleValue();
+        }
+
+        throw Py.TypeError("unsupported operand type(s) for +: '" + left + "' and '" + right + "'");
+    }
+
+    private static boolean isIntegral(Object value) {
+        return value instanceof Integer || value instanceof Long;
+    }
+
+    /**
+     * Returns the (element, count) pairs from the most common to the least, all of them when
+     * {@code n} is negative. Elements with equal counts keep their insertion order.
+     */
+    public PList mostCommon(int n) {
+        List<PTuple> items = new ArrayList<>(len());
+        Iterator<Object> iter = itemIterator();
+
+        while (iter.hasNext()) {
+            items.add((PTuple) iter.next());
+        }
+
+        items.sort((a, b) -> Double.compare(toDouble(b.getItem(1)), toDouble(a.getItem(1))));
+        int length = n < 0 ? items.size() : Math.min(n, items.size());
+        return new PList(new ObjectSequenceStorage(items.subList(0, length).toArray()));
+    }
+
+    private static double toDouble(Object count) {
+        return count instanceof Number ? ((Number) count).doubleValue() : 0;
+    }
+
+    /**
+     * Each element repeated as many times as its count; elements with a count below one are left
+     * out.
+     */
+    public PList elements() {
+        ObjectSequenceStorage store = new ObjectSequenceStorage();
+        Iterator<Object> iter = itemIterator();
+
+        while (iter.hasNext()) {
+            PTuple item = (PTuple) iter.next();
+            long count = (long) toDouble(item.getItem(1));
+
+            for (long i = 0; i < count; i++) {
+                store.append(item.getItem(0));
+            }
+        }
+
+        return new PList(store);
+    }
+
+    @Override
+    public String toString() {
+        if (len() == 0) {
+            return "Counter()";
+        }
+
+        StringBuilder buf = new StringBuilder("Counter({");
+        PList items = mostCommon(-1);
+
+        for (int i = 0; i < items.len(); i++) {
+            PTuple item = (PTuple) items.getItem(i);
+            buf.append(i == 0 ? "" : ", ").append(PSequence.toString(item.getItem(0))).append(": ").append(PSequence.toString(item.getItem(1)));
+        }
+
+        return buf.append("})").toString();
+    }
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.function.*;
+
+/**
+ * collections.defaultdict. The entries live in the ordinary {@link PDict} storage; only a missing
+ * key behaves differently, by storing and returning the result of calling the default factory.
+ */
+public final class PDefaultDict extends PDict {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PDefaultDict.class);
+
+    private final Object defaultFactory;
+
+    public PDefaultDict(Object defaultFactory) {
+        this.defaultFactory = defaultFactory;
+    }
+
+    public PDefaultDict(Object defaultFactory, PDict dict) {
+        super(dict);
+        this.defaultFactory = defaultFactory;
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public Object getDefaultFactory() {
+        return defaultFactory;
+    }
+
+    @Override
+    public Object __missing__(Object key) {
+        if (!(defaultFactory instanceof PythonCallable)) {
+            return super.__missing__(key);
+        }
+
+        final Object value = ((PythonCallable) defaultFactory).call(PArguments.createWithUserArguments());
+        setItem(key, value);
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        String factory = defaultFactory instanceof PythonCallable ? defaultFactory.toString() : "None";
+        return "defaultdict(" + factory + ", " + super.toString() + ")";
+    }
+
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * collections.deque as a ring buffer. The capacity is a power of two so that a logical index maps
+ * to a slot with a mask, and appends and pops at either end are O(1). A bounded deque drops items
+ * from the opposite end once it holds {@code maxlen} items.
+ */
+public final class PDeque extends PythonBuiltinObject implements PIterable {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PDeque.class);
+
+    public static final int UNBOUNDED = -1;
+
+    private static final int INITIAL_CAPACITY = 8;
+
+    private Object[] items;
+    private int head;
+    private int size;
+    private final int maxlen;
+
+    public PDeque(int maxlen) {
+        this.items = new Object[INITIAL_CAPACITY];
+        this.maxlen = maxlen;
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public int getMaxlen() {
+        return maxlen;
+    }
+
+    private int slot(int index) {
+        return (head + index) & (items.length - 1);
+    }
+
+    private void ensureCapacity() {
+        if (size == items.length) {
+            Object[] newItems = new Object[items.length << 1];
+
+            for (int i = 0; i < size; i++) {
+                newItems[i] = items[slot(i)];
+            }
+
+            items = newItems;
+            head = 0;
+        }
+    }
+
+    public void append(Object value) {
+        if (size == maxlen) {
+            if (maxlen == 0) {
+                return;
+            }
+
+            popLeft();
+        }
+
+        ensureCapacity();
+        items[slot(size)] = value;
+        size++;
+    }
+
+    public void appendLeft(Object value) {
+        if (size == maxlen) {
+            if (maxlen == 0) {
+                return;
+            }
+
+            pop();
+        }
+
+        ensureCapacity();
+        head = (head - 1) & (items.length - 1);
+        items[head] = value;
+        size++;
+    }
+
+    public Object pop() {
+        if (size == 0) {
+            throw Py.IndexError("pop from an empty deque");
+        }
+
+        size--;
+        final int last = slot(size);
+        final Object value = items[last];
+        items[last] = null;
+        return value;
+    }
+
+    public Object popLeft() {
+        if (size == 0) {
+            throw Py.IndexError("pop from an empty deque");
+        }
+
+        final Object value = items[head];
+        items[head] = null;
+        head = (head + 1) & (items.length - 1);
+        size--;
+        return value;
+    }
+
+    public void extend(PIterator iter) {
+        try {
+            while (true) {
+                append(iter.__next__());
+            }
+        } catch (StopIterationException e) {
+            // fall through
+        }
+    }
+
+    public void extendLeft(PIterator iter) {
+        try {
+            while (true) {
+                appendLeft(iter.__next__());
+            }
+        } catch (StopIterationException e) {
+            // fall through
+        }
+    }
+
+    /**
+     * Rotates {@code n} steps to the right, or to the left when negative.
+     */
+    public void rotate(int n) {
+        if (size <= 1) {
+            return;
+        }
+
+        int steps = n % size;
+
+        if (steps < 0) {
+            steps += size;
+        }
+
+        for (int i = 0; i < steps; i++) {
+            appendLeft(pop());
+        }
+    }
+
+    public void clear() {
+        Arrays.fill(items, null);
+        head = 0;
+        size = 0;
+    }
+
+    private int normalizeIndex(int index) {
+        final int normalized = index < 0 ? index + size : index;
+
+        if (normalized < 0 || normalized >= size) {
+            throw Py.IndexError("deque index out of range");
+        }
+
+        return normalized;
+    }
+
+    public Object getItem(int index) {
+        return items[slot(normalizeIndex(index))];
+    }
+
+    public void setItem(int index, Object value) {
+        items[slot(normalizeIndex(index))] = value;
+    }
+
+    /**
+     * Returns the logical index of the first item equal to {@code value}, or -1.
+     */
+    public int index(Object value) {
+        for (int i = 0; i < size; i++) {
+            if (items[slot(i)].equals(value)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public int count(Object value) {
+        int count = 0;
+
+        for (int i = 0; i < size; i++) {
+            if (items[slot(i)].equals(value)) {
+                count++;
+            }
+        }
+
+        return count;
+    }
+
+    public void remove(Object value) {
+        final int index = index(value);
+
+        if (index == -1) {
+            throw Py.ValueError("deque.remove(x): x not in deque");
+        }
+
+        for (int i = index; i < size - 1; i++) {
+            items[slot(i)] = items[slot(i + 1)];
+        }
+
+        size--;
+        items[slot(size)] = null;
+    }
+
+    public void reverse() {
+        for (int i = 0, j = size - 1; i < j; i++, j--) {
+            final Object tmp = items[slot(i)];
+            items[slot(i)] = items[slot(j)];
+            items[slot(j)] = tmp;
+        }
+    }
+
+    @Override
+    public int len() {
+        return size;
+    }
+
+    @Override
+    public PIterator __iter__() {
+        return new PDequeIterator(this);
+    }
+
+    @Override
+    public Object getMax() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Object getMin() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof PDeque)) {
+            return false;
+        }
+
+        PDeque otherDeque = (PDeque) other;
+
+        if (size != otherDeque.size) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (!items[slot(i)].equals(otherDeque.getItem(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder("deque([");
+
+        for (int i = 0; i < size; i++) {
+            buf.append(i == 0 ? "" : ", ").append(PSequence.toString(items[slot(i)]));
+        }
+
+        buf.append("]");
+
+        if (maxlen != UNBOUNDED) {
+            buf.append(", maxlen=").append(maxlen);
+        }
+
+        return buf.append(")").toString();
+    }
+
+}
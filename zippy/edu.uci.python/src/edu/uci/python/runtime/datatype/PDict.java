@@ -25,39 +25,33 @@
 package edu.uci.python.runtime.datatype;
 
 import java.util.*;
-import java.util.Map.Entry;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import org.python.core.*;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
 import edu.uci.python.runtime.standardtype.*;
 
-public final class PDict extends PythonBuiltinObject implements PIterable {
+public class PDict extends PythonBuiltinObject implements PIterable {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PDict.class);
 
-    private final Map<Object, Object> map;
+    private DictStorage store;
 
     public PDict() {
-        map = new TreeMap<>();
+        store = EmptyDictStorage.INSTANCE;
     }
 
-    public PDict(Map<Object, Object> map) {
-        this();
-        addAll(map);
-    }
-
-    @TruffleBoundary
-    private void addAll(Map<Object, Object> mapToAdd) {
-        this.map.putAll(mapToAdd);
+    public PDict(PDict dict) {
+        store = dict.store.copy();
     }
 
     public PDict(PIterator iter) {
-        map = new TreeMap<>();
+        this();
 
         try {
             while (true) {
@@ -70,7 +64,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     private void unpackKeyValuePair(Object obj) {
         if (obj instanceof PSequence && ((PSequence) obj).len() == 2) {
-            map.put(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
+            setItem(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
         } else {
             throw new RuntimeException("invalid args for dict()");
         }
@@ -81,56 +75,100 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
         return __class__;
     }
 
+    public DictStorage getStorage() {
+        return store;
+    }
+
     public Object getItem(Object key) {
-        return map.get(key);
+        return store.get(key);
+    }
+
+    /**
+     * Called by subscript loads when the key is absent. A plain dict raises KeyError; defaultdict
+     * and Counter supply a value instead.
+     */
+    public Object __missing__(Object key) {
+        throw PythonException.raise(Py.KeyError, PSequence.toString(key));
     }
 
     public void setItem(Object key, Object value) {
-        map.put(key, value);
+        try {
+            store.put(key, value);
+        } catch (SequenceStoreException e) {
+            store = store.generalizeFor(key);
+
+            try {
+                store.put(key, value);
+            } catch (SequenceStoreException ex) {
+                throw new IllegalStateException();
+            }
+        }
     }
 
     public void delItem(Object key) {
-        map.remove(key);
+        store.remove(key);
     }
 
-    public Collection<Object> items() {
-        return map.values();
+    public Object setDefault(Object key, Object defaultValue) {
+        final Object value = store.get(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        setItem(key, defaultValue);
+        return defaultValue;
+    }
+
+    public Object pop(Object key, Object defaultValue) {
+        final Object value = store.remove(key);
+        return value != null ? value : defaultValue;
     }
 
-    public Collection<Object> keys() {
-        return map.keySet();
+    /**
+     * Returns the most recently inserted key value pair, or null if the dict is empty.
+     */
+    public PTuple popItem() {
+        final Object[] pair = store.removeLast();
+        return pair == null ? null : new PTuple(pair);
     }
 
-    public Map<Object, Object> getMap() {
-        return map;
+    public void clear() {
+        store = EmptyDictStorage.INSTANCE;
+    }
+
+    public Iterable<Object> keys() {
+        return () -> store.keyIterator();
     }
 
     public boolean hasKey(Object key) {
-        return this.map.containsKey(key);
+        return store.containsKey(key);
     }
 
     public PIterator __iter__() {
-        return new PDictIterator(map.keySet().iterator());
+        return new PDictIterator(store.keyIterator());
     }
 
     public PIterator values() {
-        return new PDictIterator(map.values().iterator());
+        return new PDictIterator(store.valueIterator());
+    }
+
+    public Iterator<Object> itemIterator() {
+        return store.itemIterator();
     }
 
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder("{");
-        int length = map.size();
-        int i = 0;
+        Iterator<Object> keyIterator = store.keyIterator();
+        Iterator<Object> valueIterator = store.valueIterator();
 
-        for (Entry<?, ?> entry : map.entrySet()) {
-            buf.append(entry.getKey() + ": " + entry.getValue());
+        while (keyIterator.hasNext()) {
+            buf.append(keyIterator.next() + ": " + valueIterator.next());
 
-            if (i < length - 1) {
+            if (keyIterator.hasNext()) {
                 buf.append(", ");
             }
-
-            i++;
         }
 
         buf.append("}");
@@ -139,7 +177,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     @Override
     public int len() {
-        return map.size();
+        return store.length();
     }
 
     @Override
@@ -149,7 +187,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
         }
 
         PDict otherDict = (PDict) other;
-        return map.equals(otherDict.getMap());
+        return store.equals(otherDict.store);
     }
 
     @Override
@@ -25,11 +25,9 @@
 package edu.uci.python.runtime.datatype;
 
 import java.util.*;
-import java.util.Map.Entry;
 
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
-import edu.uci.python.runtime.sequence.*;
 
 public class PDictView {
 
@@ -68,17 +66,16 @@ public class PDictView {
 
     public static final class PDictViewItemsIterator implements PIterator {
 
-        private final Iterator<Entry<Object, Object>> iterator;
+        private final Iterator<Object> iterator;
 
         public PDictViewItemsIterator(PDict dict) {
-            iterator = dict.getMap().entrySet().iterator();
+            iterator = dict.itemIterator();
         }
 
         @Override
         public Object __next__() throws StopIterationException {
             if (iterator.hasNext()) {
-                Entry<Object, Object> entry = iterator.next();
-                return new PTuple(new Object[]{entry.getKey(), entry.getValue()});
+                return iterator.next();
             }
 
             throw StopIterationException.INSTANCE;
@@ -61,6 +61,11 @@ public class PFrozenSet extends PBaseSet {
         return new PFrozenSet(this);
     }
 
+    @Override
+    protected PBaseSet createEmptySet() {
+        return new PFrozenSet();
+    }
+
     @Override
     public String toString() {
         return "frozenset(" + super.toString() + ")";
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * collections.OrderedDict. {@link PDict} storages already iterate in insertion order, so this only
+ * adds the operations that reorder entries or pop from the front.
+ */
+public final class POrderedDict extends PDict {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(POrderedDict.class);
+
+    public POrderedDict() {
+    }
+
+    public POrderedDict(PDict dict) {
+        super(dict);
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public void moveToEnd(Object key, boolean last) {
+        final Object value = getItem(key);
+
+        if (value == null) {
+            throw PythonException.raise(Py.KeyError, PSequence.toString(key));
+        }
+
+        if (last) {
+            delItem(key);
+            setItem(key, value);
+            return;
+        }
+
+        PDict rest = new PDict(this);
+        rest.delItem(key);
+        clear();
+        setItem(key, value);
+        Iterator<Object> items = rest.itemIterator();
+
+        while (items.hasNext()) {
+            PTuple item = (PTuple) items.next();
+            setItem(item.getItem(0), item.getItem(1));
+        }
+    }
+
+    /**
+     * Removes and returns the newest pair when {@code last} is set, the oldest otherwise, or null
+     * if the dict is empty.
+     */
+    public PTuple popItem(boolean last) {
+        if (last) {
+            return popItem();
+        }
+
+        Iterator<Object> items = itemIterator();
+
+        if (!items.hasNext()) {
+            return null;
+        }
+
+        PTuple first = (PTuple) items.next();
+        delItem(first.getItem(0));
+        return first;
+    }
+
+    @Override
+    public String toString() {
+        if (len() == 0) {
+            return "OrderedDict()";
+        }
+
+        StringBuilder buf = new StringBuilder("OrderedDict([");
+        Iterator<Object> items = itemIterator();
+
+        while (items.hasNext()) {
+            PTuple item = (PTuple) items.next();
+            buf.append("(").append(PSequence.toString(item.getItem(0))).append(", ").append(PSequence.toString(item.getItem(1))).append(")");
+            buf.append(items.hasNext() ? ", " : "");
+        }
+
+        return buf.append("])").toString();
+    }
+
+}
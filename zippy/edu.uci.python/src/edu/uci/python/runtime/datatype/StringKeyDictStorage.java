@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.util.*;
+
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Dict storage for str keys. Java caches the hash code of a String, so the keys carry their own
+ * hashes and lookups compare references before contents.
+ */
+public final class StringKeyDictStorage extends HashDictStorage {
+
+    private String[] keys;
+
+    // the key of the last lookup, see HashDictStorage#lastValid
+    private String lastKey;
+
+    public StringKeyDictStorage() {
+        this(0);
+    }
+
+    public StringKeyDictStorage(int expectedSize) {
+        super(expectedSize);
+        this.keys = new String[entryCapacity()];
+    }
+
+    private StringKeyDictStorage(StringKeyDictStorage other) {
+        super(other);
+        this.keys = Arrays.copyOf(other.keys, other.keys.length);
+    }
+
+    @Override
+    public StringKeyDictStorage copy() {
+        return new StringKeyDictStorage(this);
+    }
+
+    @Override
+    protected int hashAt(int entry) {
+        return keys[entry].hashCode();
+    }
+
+    @Override
+    protected Object keyAt(int entry) {
+        return keys[entry];
+    }
+
+    @Override
+    protected void moveKey(int from, int to) {
+        keys[to] = keys[from];
+    }
+
+    @Override
+    protected void resizeKeys(int capacity) {
+        keys = Arrays.copyOf(keys, capacity);
+    }
+
+    @Override
+    protected void releaseKey(int entry) {
+        keys[entry] = null;
+    }
+
+    private int findSlot(String key) {
+        return findSlot(key, key.hashCode());
+    }
+
+    private int findSlot(String key, int hash) {
+        final int mask = indices.length - 1;
+        int slot = hash & mask;
+        int perturb = hash;
+        int freeSlot = EMPTY;
+        lastKey = key;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return rememberMiss(freeSlot == EMPTY ? slot : freeSlot);
+            }
+
+            if (entry == DUMMY) {
+                if (freeSlot == EMPTY) {
+                    freeSlot = slot;
+                }
+            } else {
+                final String candidate = keys[entry];
+
+                if (candidate == key || (candidate.hashCode() == hash && candidate.equals(key))) {
+                    return rememberHit(slot);
+                }
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (key instanceof String) {
+            return getString((String) key);
+        } else if (key instanceof PString) {
+            return getString(((PString) key).getValue());
+        }
+
+        return super.get(key);
+    }
+
+    public Object getString(String key) {
+        final int slot = findSlot(key);
+        return slot == EMPTY ? null : values[indices[slot]];
+    }
+
+    /**
+     * Lookup with a hash computed ahead of time, for constant keys.
+     */
+    public Object getString(String key, int hash) {
+        final int slot = findSlot(key, hash);
+        return slot == EMPTY ? null : values[indices[slot]];
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (key instanceof String) {
+            return findSlot((String) key) != EMPTY;
+        } else if (key instanceof PString) {
+            return findSlot(((PString) key).getValue()) != EMPTY;
+        }
+
+        return super.containsKey(key);
+    }
+
+    @Override
+    public void put(Object key, Object value) throws SequenceStoreException {
+        if (key instanceof String) {
+            putString((String) key, value);
+        } else if (key instanceof PString) {
+            putString(((PString) key).getValue(), value);
+        } else if (!replaceGeneric(key, value)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+    }
+
+    public void putString(String key, Object value) {
+        final int slot = lastValid && lastKey == key ? lastSlot : findSlot(key);
+
+        if (slot != EMPTY) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        final int entry = newEntryAfterMiss(key.hashCode(), value);
+        keys[entry] = key;
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (key instanceof String || key instanceof PString) {
+            final int slot = findSlot(key.toString());
+            return slot == EMPTY ? null : removeSlot(slot);
+        }
+
+        return super.remove(key);
+    }
+
+}
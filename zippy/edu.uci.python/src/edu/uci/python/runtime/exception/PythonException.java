@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.exception;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.*;
+
+/**
+ * A Python level exception raised by ZipPy. Being a {@link ControlFlowException} it does not fill
+ * in a Java stack trace, and the Jython {@link PyException} (along with its Python traceback) is
+ * only built when someone actually asks for it, e.g. an {@code except ... as e} clause, a with
+ * statement exit or the top level error report.
+ */
+public final class PythonException extends ControlFlowException {
+
+    private static final long serialVersionUID = -3408361549130383724L;
+
+    private final PyObject type;
+    private final PyObject raisedType;
+    private final PyObject raisedValue;
+
+    /**
+     * Raised by a raise statement, the operands still need normalization.
+     */
+    private final boolean normalize;
+
+    private PyException pyException;
+
+    private PythonException(PyObject type, PyObject raisedType, PyObject raisedValue, boolean normalize) {
+        this.type = type;
+        this.raisedType = raisedType;
+        this.raisedValue = raisedValue;
+        this.normalize = normalize;
+    }
+
+    private PythonException(PyException pyException) {
+        this(pyException.type, pyException.type, pyException.value, false);
+        this.pyException = pyException;
+    }
+
+    /**
+     * The exception raised by {@code raise type} or {@code raise type(value)}.
+     */
+    public static PythonException raise(PyObject type, PyObject value) {
+        final PyObject exceptionType = PyException.isExceptionInstance(type) ? type.getType() : type;
+        return new PythonException(exceptionType, type, value, true);
+    }
+
+    /**
+     * Equivalent to Jython's {@code Py.KeyError(message)} and friends.
+     */
+    public static PythonException raise(PyObject type, String message) {
+        return new PythonException(type, type, new PyString(message), false);
+    }
+
+    /**
+     * Converts an exception caught by an except handler to a Python exception. Returns null for
+     * exceptions that do not correspond to a Python exception, including the JVM's
+     * {@link ArithmeticException}; the arithmetic nodes raise ZeroDivisionError themselves.
+     */
+    public static PythonException fromRuntimeException(RuntimeException e) {
+        if (e instanceof PythonException) {
+            return (PythonException) e;
+        } else if (e instanceof PyException) {
+            return new PythonException((PyException) e);
+        }
+
+        return null;
+    }
+
+    public PyObject getType() {
+        return type;
+    }
+
+    @TruffleBoundary
+    public PyException getPyException() {
+        if (pyException == null) {
+            pyException = normalize ? PyException.doRaise(raisedType, raisedValue, null) : new PyException(raisedType, raisedValue);
+        }
+
+        return pyException;
+    }
+
+    public PyObject getValue() {
+        return getPyException().value;
+    }
+
+    public PyTraceback getTraceback() {
+        return getPyException().traceback;
+    }
+
+    @Override
+    public String getMessage() {
+        return getPyException().getMessage();
+    }
+
+    @Override
+    public String toString() {
+        return getPyException().toString();
+    }
+
+}
@@ -34,6 +34,7 @@ public final class GeneratorControlData {
     private final boolean[] activeFlags;
     private final int[] blockNodeIndices;       // See {@link GeneratorBlockNode}
     private final PIterator[] forNodeIterators; // See {@link GeneratorForNode}
+    private boolean suspended;                  // See {@link ResumableYieldNode}
 
     public GeneratorControlData(int numOfActiveFlags, int numOfGeneratorBlockNode, int numOfGeneratorForNode) {
         this.activeFlags = new boolean[numOfActiveFlags];
@@ -65,4 +66,12 @@ public final class GeneratorControlData {
         forNodeIterators[slot] = value;
     }
 
+    public boolean isSuspended() {
+        return suspended;
+    }
+
+    public void setSuspended(boolean suspended) {
+        this.suspended = suspended;
+    }
+
 }
@@ -30,6 +30,7 @@ import java.util.List;
 import com.oracle.truffle.api.frame.Frame;
 import com.oracle.truffle.api.frame.MaterializedFrame;
 import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 
 //@formatter:off
 /**
@@ -181,6 +182,51 @@ public class PArguments {
         return combined;
     }
 
+    /**
+     * Resolves the parameter slot of each keyword against the callee's {@link Arity}. A slot of -1
+     * marks a keyword that has no matching parameter and is left in the keyword arguments.
+     */
+    public static int[] resolveKeywordSlots(Arity calleeArity, PKeyword[] keywords) {
+        List<String> parameters = calleeArity.getParameterIds();
+        int[] slots = new int[keywords.length];
+
+        for (int i = 0; i < keywords.length; i++) {
+            slots[i] = parameters.indexOf(keywords[i].getName());
+        }
+
+        return slots;
+    }
+
+    /**
+     * Same as {@link #applyKeywordArgs(Arity, Object[], PKeyword[])}, but with the keyword to
+     * parameter mapping resolved ahead of time by {@link #resolveKeywordSlots(Arity, PKeyword[])}.
+     */
+    @ExplodeLoop
+    public static Object[] applyResolvedKeywordArgs(int parameterCount, Object[] arguments, PKeyword[] keywords, int[] slots, int unusedCount) {
+        Object[] combined = arguments;
+        if ((USER_ARGUMENTS_OFFSET + parameterCount) > arguments.length) {
+            combined = create(parameterCount);
+            System.arraycopy(arguments, 0, combined, 0, arguments.length);
+        }
+
+        PKeyword[] unusedKeywords = unusedCount == 0 ? PKeyword.EMPTY_KEYWORDS : new PKeyword[unusedCount];
+        int unusedIdx = 0;
+
+        for (int i = 0; i < slots.length; i++) {
+            int slot = slots[i];
+
+            if (slot != -1) {
+                assert combined[USER_ARGUMENTS_OFFSET + slot] == null : "got multiple values for argument '" + keywords[i].getName() + "'";
+                combined[USER_ARGUMENTS_OFFSET + slot] = keywords[i].getValue();
+            } else {
+                unusedKeywords[unusedIdx++] = keywords[i];
+            }
+        }
+
+        setKeywordArguments(combined, unusedKeywords);
+        return combined;
+    }
+
     public static PKeyword getKeyword(Frame frame, String name) {
         PKeyword[] keywordArguments = getKeywordArguments(frame);
 
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.function;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * The wrapper functools.lru_cache puts around a function. Results are kept in an access ordered map
+ * keyed by the call arguments, hashed and compared with the same semantics as dict keys, and the
+ * least recently used entry is dropped once the map outgrows maxsize.
+ * <p>
+ * Calls to the wrapper go through {@link #lookup} and {@link #store}, so the call site is free to
+ * dispatch the wrapped function with its own inline cache on a miss.
+ */
+public final class PLruCache extends PythonBuiltinObject implements PythonCallable {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PLruCache.class);
+
+    public static final int UNBOUNDED = -1;
+
+    private final PythonCallable function;
+    private final int maxsize;
+    private final boolean typed;
+    private final Map<Key, Object> cache;
+
+    private int hits;
+    private int misses;
+
+    public PLruCache(PythonCallable function, int maxsize, boolean typed) {
+        this.function = function;
+        this.maxsize = maxsize;
+        this.typed = typed;
+        this.cache = new LinkedHashMap<Key, Object>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Object> eldest) {
+                return PLruCache.this.maxsize != UNBOUNDED && size() > PLruCache.this.maxsize;
+            }
+        };
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public PythonCallable getFunction() {
+        return function;
+    }
+
+    public int getMaxsize() {
+        return maxsize;
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    @TruffleBoundary
+    public int getCurrentSize() {
+        return cache.size();
+    }
+
+    /**
+     * Returns the cached result, or null after counting a miss. A maxsize of zero disables caching
+     * but still counts every call as a miss.
+     */
+    @TruffleBoundary
+    public Object lookup(Object[] arguments, PKeyword[] keywords) {
+        if (maxsize != 0) {
+            final Object result = cache.get(new Key(arguments, keywords, typed));
+
+            if (result != null) {
+                hits++;
+                return result;
+            }
+        }
+
+        misses++;
+        return null;
+    }
+
+    @TruffleBoundary
+    public void store(Object[] arguments, PKeyword[] keywords, Object result) {
+        if (maxsize != 0) {
+            cache.put(new Key(arguments, keywords, typed), result);
+        }
+    }
+
+    @TruffleBoundary
+    public void clear() {
+        cache.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    @Override
+    public Object call(Object[] arguments) {
+        return call(arguments, PKeyword.EMPTY_KEYWORDS);
+    }
+
+    @Override
+    public Object call(Object[] arguments, PKeyword[] keywords) {
+        Object result = lookup(arguments, keywords);
+
+        if (result == null) {
+            final Object[] copy = Arrays.copyOf(arguments, arguments.length);
+            result = keywords.length == 0 ? function.call(copy) : function.call(copy, keywords);
+            store(arguments, keywords, result);
+        }
+
+        return result;
+    }
+
+    @Override
+    public Arity getArity() {
+        return function.getArity();
+    }
+
+    @Override
+    public void arityCheck(int numOfArgs, int numOfKeywords, String[] keywords) {
+        function.arityCheck(numOfArgs, numOfKeywords, keywords);
+    }
+
+    @Override
+    public String getName() {
+        return function.getName();
+    }
+
+    @Override
+    public String toString() {
+        return "<functools._lru_cache_wrapper object at " + hashCode() + ">";
+    }
+
+    /**
+     * The user arguments of one call, followed by its keyword names and values. Typed caches also
+     * tell 1 and 1.0 apart by comparing argument classes.
+     */
+    private static final class Key {
+
+        private final Object[] items;
+        private final boolean typed;
+        private final int hash;
+
+        Key(Object[] arguments, PKeyword[] keywords, boolean typed) {
+            final int userArguments = arguments.length - PArguments.USER_ARGUMENTS_OFFSET;
+            this.items = new Object[userArguments + keywords.length * 2];
+            this.typed = typed;
+            System.arraycopy(arguments, PArguments.USER_ARGUMENTS_OFFSET, items, 0, userArguments);
+
+            for (int i = 0; i < keywords.length; i++) {
+                items[userArguments + i * 2] = keywords[i].getName();
+                items[userArguments + i * 2 + 1] = keywords[i].getValue();
+            }
+
+            int result = 0x345678;
+            for (Object item : items) {
+                result = (result ^ HashTable.hash(item)) * 1000003;
+            }
+            this.hash = result;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Key)) {
+                return false;
+            }
+
+            final Object[] otherItems = ((Key) other).items;
+
+            if (items.length != otherItems.length) {
+                return false;
+            }
+
+            for (int i = 0; i < items.length; i++) {
+                if (typed && items[i].getClass() != otherItems[i].getClass()) {
+                    return false;
+                }
+
+                if (!HashTable.keyEquals(items[i], otherItems[i])) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.function;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * functools.partial. The bound arguments are immutable, so a call site that sees the same partial
+ * again can unroll the argument binding and dispatch straight to the wrapped function.
+ */
+public final class PPartial extends PythonBuiltinObject implements PythonCallable {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PPartial.class);
+
+    private final PythonCallable function;
+    @CompilationFinal(dimensions = 1) private final Object[] args;
+    @CompilationFinal(dimensions = 1) private final PKeyword[] keywords;
+
+    public PPartial(PythonCallable function, Object[] args, PKeyword[] keywords) {
+        /**
+         * Flatten nested partials, as CPython does.
+         */
+        if (function instanceof PPartial) {
+            PPartial inner = (PPartial) function;
+            this.function = inner.function;
+            this.args = concat(inner.args, args);
+            this.keywords = inner.bindKeywords(keywords);
+        } else {
+            this.function = function;
+            this.args = args;
+            this.keywords = keywords;
+        }
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public PythonCallable getFunction() {
+        return function;
+    }
+
+    public Object[] getArgs() {
+        return args;
+    }
+
+    public PKeyword[] getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * Prepends the bound positional arguments to the user arguments of a call.
+     */
+    @ExplodeLoop
+    public Object[] bindArguments(Object[] arguments) {
+        final int userArguments = arguments.length - PArguments.USER_ARGUMENTS_OFFSET;
+        final Object[] bound = PArguments.create(args.length + userArguments);
+
+        for (int i = 0; i < args.length; i++) {
+            bound[PArguments.USER_ARGUMENTS_OFFSET + i] = args[i];
+        }
+
+        System.arraycopy(arguments, PArguments.USER_ARGUMENTS_OFFSET, bound, PArguments.USER_ARGUMENTS_OFFSET + args.length, userArguments);
+        return bound;
+    }
+
+    /**
+     * Merges the bound keywords with those of a call. Keywords passed at the call site win.
+     */
+    public PKeyword[] bindKeywords(PKeyword[] callKeywords) {
+        if (callKeywords.length == 0) {
+            return keywords;
+        } else if (keywords.length == 0) {
+            return callKeywords;
+        }
+
+        return mergeKeywords(keywords, callKeywords);
+    }
+
+    @Override
+    public Object call(Object[] arguments) {
+        return call(arguments, PKeyword.EMPTY_KEYWORDS);
+    }
+
+    @Override
+    public Object call(Object[] arguments, PKeyword[] callKeywords) {
+        final PKeyword[] bound = bindKeywords(callKeywords);
+
+        if (bound.length == 0) {
+            return function.call(bindArguments(arguments));
+        }
+
+        return function.call(bindArguments(arguments), bound);
+    }
+
+    @Override
+    public Arity getArity() {
+        return function.getArity();
+    }
+
+    @Override
+    public void arityCheck(int numOfArgs, int numOfKeywords, String[] keywordNames) {
+        String[] names = new String[keywords.length + keywordNames.length];
+
+        for (int i = 0; i < keywords.length; i++) {
+            names[i] = keywords[i].getName();
+        }
+
+        System.arraycopy(keywordNames, 0, names, keywords.length, keywordNames.length);
+        function.arityCheck(numOfArgs + args.length, numOfKeywords + keywords.length, names);
+    }
+
+    @Override
+    public String getName() {
+        return function.getName();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("functools.partial(").append(function);
+
+        for (Object arg : args) {
+            sb.append(", ").append(arg);
+        }
+
+        for (PKeyword keyword : keywords) {
+            sb.append(", ").append(keyword.getName()).append("=").append(keyword.getValue());
+        }
+
+        return sb.append(")").toString();
+    }
+
+    private static Object[] concat(Object[] first, Object[] second) {
+        Object[] result = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, result, first.length, second.length);
+        return result;
+    }
+
+    @TruffleBoundary
+    private static PKeyword[] mergeKeywords(PKeyword[] bound, PKeyword[] overrides) {
+        Map<String, PKeyword> merged = new LinkedHashMap<>();
+
+        for (PKeyword keyword : bound) {
+            merged.put(keyword.getName(), keyword);
+        }
+
+        for (PKeyword keyword : overrides) {
+            merged.put(keyword.getName(), keyword);
+        }
+
+        return merged.values().toArray(new PKeyword[merged.size()]);
+    }
+
+}
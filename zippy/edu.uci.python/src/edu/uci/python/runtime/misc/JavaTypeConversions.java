@@ -34,6 +34,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
 
 public class JavaTypeConversions {
 
@@ -64,9 +65,8 @@ public class JavaTypeConversions {
         } else if (arg instanceof Double) {
             double doubleArg = (Double) arg;
             return doubleArg != 0.0;
-        } else if (arg instanceof String) {
-            String stringArg = (String) arg;
-            return !(stringArg.isEmpty());
+        } else if (arg instanceof String || arg instanceof PString) {
+            return !(arg.toString().isEmpty());
         } else if (arg instanceof PIterable) {
             PIterable iterable = (PIterable) arg;
             return iterable.len() != 0;
@@ -82,16 +82,16 @@ public class JavaTypeConversions {
             return arg;
         } else if (arg instanceof Double) {
             return doubleToInt((Double) arg);
-        } else if (arg instanceof String) {
-            return stringToInt((String) arg, 10);
+        } else if (arg instanceof String || arg instanceof PString) {
+            return stringToInt(arg.toString(), 10);
         } else {
             throw new RuntimeException("invalid value for int()");
         }
     }
 
     public static Object toInt(Object arg1, Object arg2) {
-        if (arg1 instanceof String && arg2 instanceof Integer) {
-            return stringToInt((String) arg1, (Integer) arg2);
+        if ((arg1 instanceof String || arg1 instanceof PString) && arg2 instanceof Integer) {
+            return stringToInt(arg1.toString(), (Integer) arg2);
         } else {
             throw new RuntimeException("invalid base or val for int()");
         }
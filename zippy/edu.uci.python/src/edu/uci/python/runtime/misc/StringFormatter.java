@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.misc;
+
+import java.math.*;
+
+import org.python.core.*;
+import org.python.core.stringlib.*;
+import org.python.core.stringlib.InternalFormat.Spec;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Implements str.format and str.format_map over unboxed arguments.
+ * <p>
+ * Replacement fields are parsed directly from the template and the resulting values are rendered
+ * by Jython's primitive formatters (text, integer and float), so no argument has to be adapted to
+ * a PyObject.
+ */
+public final class StringFormatter {
+
+    private final Object[] positional;
+    private final PKeyword[] keywords;
+    private final PDict mapping;
+
+    /**
+     * Next index for automatic field numbering, or -1 once a field was numbered manually.
+     */
+    private int autoIndex;
+
+    private StringFormatter(Object[] positional, PKeyword[] keywords, PDict mapping) {
+        this.positional = positional;
+        this.keywords = keywords;
+        this.mapping = mapping;
+    }
+
+    @TruffleBoundary
+    public static String format(String template, Object[] positional, PKeyword[] keywords) {
+        return new StringFormatter(positional, keywords, null).format(template, 2);
+    }
+
+    @TruffleBoundary
+    public static String formatMap(String template, PDict mapping) {
+        return new StringFormatter(new Object[0], null, mapping).format(template, 2);
+    }
+
+    private String format(String template, int recursionDepth) {
+        if (recursionDepth < 0) {
+            throw Py.ValueError("Max string recursion exceeded");
+        }
+
+        final int length = template.length();
+        final StringBuilder sb = new StringBuilder(length + 16);
+        int literalStart = 0;
+        int i = 0;
+
+        while (i < length) {
+            final char c = template.charAt(i);
+
+            if (c == '{') {
+                sb.append(template, literalStart, i);
+
+                if (i + 1 < length && template.charAt(i + 1) == '{') {
+                    sb.append('{');
+                    i += 2;
+                } else {
+                    final int fieldEnd = findFieldEnd(template, i + 1);
+                    appendField(sb, template, i + 1, fieldEnd, recursionDepth);
+                    i = fieldEnd + 1;
+                }
+
+                literalStart = i;
+            } else if (c == '}') {
+                if (i + 1 < length && template.charAt(i + 1) == '}') {
+                    sb.append(template, literalStart, i + 1);
+                    i += 2;
+                    literalStart = i;
+                } else {
+                    throw Py.ValueError("Single '}' encountered in format string");
+                }
+            } else {
+                i++;
+            }
+        }
+
+        sb.append(template, literalStart, length);
+        return sb.toString();
+    }
+
+    private static int findFieldEnd(String template, int start) {
+        int depth = 1;
+
+        for (int i = start; i < template.length(); i++) {
+            final char c = template.charAt(i);
+
+            if (c == '{') {
+                depth++;
+            } else if (c == '}' && --depth == 0) {
+                return i;
+            }
+        }
+
+        throw Py.ValueError("expected '}' before end of string");
+    }
+
+    /**
+     * Appends the field "name[!conversion][:spec]" found in template[start, end).
+     */
+    private void appendField(StringBuilder sb, String template, int start, int end, int recursionDepth) {
+        int nameEnd = start;
+        while (nameEnd < end) {
+            final char c = template.charAt(nameEnd);
+            if (c == '!' || c == ':') {
+                break;
+            } else if (c == '[') {
+                nameEnd = template.indexOf(']', nameEnd);
+                if (nameEnd < 0 || nameEnd >= end) {
+                    throw Py.ValueError("Missing ']' in format string");
+                }
+            }
+            nameEnd++;
+        }
+
+        Object value = lookupField(template, start, nameEnd);
+        int specStart = nameEnd;
+
+        if (nameEnd < end && template.charAt(nameEnd) == '!') {
+            if (nameEnd + 2 > end || (nameEnd + 2 < end && template.charAt(nameEnd + 2) != ':')) {
+                throw Py.ValueError("expected ':' after conversion specifier");
+            }
+
+            value = convert(value, template.charAt(nameEnd + 1));
+            specStart = nameEnd + 2;
+        }
+
+        String spec = "";
+        if (specStart < end) {
+            spec = template.substring(specStart + 1, end);
+            if (spec.indexOf('{') >= 0) {
+                spec = format(spec, recursionDepth - 1);
+            }
+        }
+
+        sb.append(formatValue(value, spec));
+    }
+
+    private Object lookupField(String template, int start, int end) {
+        int argEnd = start;
+        while (argEnd < end && template.charAt(argEnd) != '.' && template.charAt(argEnd) != '[') {
+            argEnd++;
+        }
+
+        Object value;
+        if (argEnd == start) {
+            if (autoIndex < 0) {
+                throw Py.ValueError("cannot switch from manual field specification to automatic field numbering");
+            }
+            value = positionalArgument(autoIndex++);
+        } else if (isNumber(template, start, argEnd)) {
+            if (autoIndex > 0) {
+                throw Py.ValueError("cannot switch from automatic field numbering to manual field specification");
+            }
+            autoIndex = -1;
+            value = positionalArgument(Integer.parseInt(template.substring(start, argEnd)));
+        } else {
+            value = keywordArgument(template.substring(start, argEnd));
+        }
+
+        int i = argEnd;
+        while (i < end) {
+            if (template.charAt(i) == '.') {
+                int nameEnd = i + 1;
+                while (nameEnd < end && template.charAt(nameEnd) != '.' && template.charAt(nameEnd) != '[') {
+                    nameEnd++;
+                }
+                value = getAttribute(value, template.substring(i + 1, nameEnd));
+                i = nameEnd;
+            } else {
+                final int keyEnd = template.indexOf(']', i);
+                final String key = template.substring(i + 1, keyEnd);
+                value = getItem(value, isNumber(key, 0, key.length()) ? (Object) Integer.parseInt(key) : key);
+                i = keyEnd + 1;
+            }
+        }
+
+        return value;
+    }
+
+    private static boolean isNumber(String s, int start, int end) {
+        if (start == end) {
+            return false;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (s.charAt(i) < '0' || s.charAt(i) > '9') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private Object positionalArgument(int index) {
+        if (index >= positional.length) {
+            throw Py.IndexError("tuple index out of range");
+        }
+
+        return positional[index];
+    }
+
+    private Object keywordArgument(String name) {
+        if (mapping != null) {
+            final Object value = mapping.getItem(name);
+            if (value == null) {
+                throw Py.KeyError(PSequence.toString(name));
+            }
+            return value;
+        }
+
+        if (keywords != null) {
+            for (PKeyword keyword : keywords) {
+                if (keyword.getName().equals(name)) {
+                    return keyword.getValue();
+                }
+            }
+        }
+
+        throw Py.KeyError(PSequence.toString(name));
+    }
+
+    private static Object getAttribute(Object value, String name) {
+        if (value instanceof PythonObject) {
+            return ((PythonObject) value).getAttribute(name);
+        }
+
+        throw Py.AttributeError(value + " object has no attribute " + name);
+    }
+
+    private static Object getItem(Object value, Object key) {
+        if (value instanceof PDict) {
+            final Object item = ((PDict) value).getItem(key);
+            if (item == null) {
+                throw Py.KeyError(PSequence.toString(key));
+            }
+            return item;
+        } else if (value instanceof PSequence && key instanceof Integer) {
+            return ((PSequence) value).getItem((int) key);
+        }
+
+        throw Py.TypeError("'" + value + "' object is not subscriptable");
+    }
+
+    private static Object convert(Object value, char conversion) {
+        switch (conversion) {
+            case 's':
+                return str(value);
+            case 'r':
+            case 'a':
+                return PSequence.toString(value);
+            default:
+                throw Py.ValueError("Unknown conversion specifier " + conversion);
+        }
+    }
+
+    public static String str(Object value) {
+        if (value instanceof String) {
+            return (String) value;
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? "True" : "False";
+        } else if (value instanceof Double) {
+            return JavaTypeConversions.doubleToString((double) value);
+        } else if (value instanceof PythonObject) {
+            return PythonBuiltinNode.callAttributeSlowPath((PythonObject) value, "__str__");
+        } else {
+            return value.toString();
+        }
+    }
+
+    private static String formatValue(Object value, String specText) {
+        if (specText.isEmpty()) {
+            return str(value);
+        }
+
+        final Spec spec = InternalFormat.fromText(specText);
+
+        if (value instanceof Integer || value instanceof Long || value instanceof BigInteger || value instanceof Boolean) {
+            if (isFloatType(spec.type)) {
+                return formatDouble(toBigInteger(value).doubleValue(), spec);
+            }
+
+            final IntegerFormatter f = new IntegerFormatter(spec.withDefaults(Spec.NUMERIC));
+            if (value instanceof Integer) {
+                f.format((int) value);
+            } else {
+                f.format(toBigInteger(value));
+            }
+            return f.pad().getResult();
+        } else if (value instanceof Double) {
+            return formatDouble((double) value, spec);
+        } else {
+            if (spec.type != Spec.NONE && spec.type != 's') {
+                throw InternalFormat.Formatter.unknownFormat(spec.type, "string");
+            }
+
+            final TextFormatter f = new TextFormatter(spec.withDefaults(Spec.STRING));
+            return f.format(str(value)).pad().getResult();
+        }
+    }
+
+    private static String formatDouble(double value, Spec spec) {
+        if (!isFloatType(spec.type) && spec.type != Spec.NONE) {
+            throw InternalFormat.Formatter.unknownFormat(spec.type, "float");
+        }
+
+        final FloatFormatter f = new FloatFormatter(spec.withDefaults(Spec.NUMERIC));
+        return f.format(value).pad().getResult();
+    }
+
+    private static boolean isFloatType(char type) {
+        switch (type) {
+            case 'e':
+            case 'E':
+            case 'f':
+            case 'F':
+            case 'g':
+            case 'G':
+            case '%':
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? BigInteger.ONE : BigInteger.ZERO;
+        } else {
+            return BigInteger.valueOf(((Number) value).longValue());
+        }
+    }
+
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.object;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A direct-mapped (layout, attribute name) to storage location cache shared by all megamorphic
+ * attribute access sites. A site that has outgrown its inline cache probes this table instead of
+ * doing a full lookup on every access.
+ */
+public final class AttributeLookupCache {
+
+    private static final int SIZE = 1 << 12;
+
+    private static AttributeLookupCache INSTANCE;
+
+    public static AttributeLookupCache getInstance() {
+        if (INSTANCE == null) {
+            INSTANCE = new AttributeLookupCache();
+        }
+
+        return INSTANCE;
+    }
+
+    private final Entry[] entries = new Entry[SIZE];
+
+    private long hits;
+    private long misses;
+    private int megamorphicAttributeSites;
+    private int megamorphicCallSites;
+
+    private AttributeLookupCache() {
+    }
+
+    @TruffleBoundary
+    public Object read(PythonObject primary, String attributeId) {
+        final ObjectLayout layout = primary.getObjectLayout();
+        final int index = index(layout, attributeId);
+        Entry entry = entries[index];
+
+        if (entry != null && entry.matches(primary, layout, attributeId)) {
+            hits++;
+            return entry.read(primary);
+        }
+
+        misses++;
+        entry = Entry.create(primary, layout, attributeId);
+
+        if (entry == null) {
+            return primary.getAttribute(attributeId);
+        }
+
+        entries[index] = entry;
+        return entry.read(primary);
+    }
+
+    private static int index(ObjectLayout layout, String attributeId) {
+        final int hash = System.identityHashCode(layout) * 31 + attributeId.hashCode();
+        return (hash ^ (hash >>> 16)) & (SIZE - 1);
+    }
+
+    public void noteMegamorphicAttributeSite() {
+        megamorphicAttributeSites++;
+    }
+
+    public void noteMegamorphicCallSite() {
+        megamorphicCallSites++;
+    }
+
+    public void printStatistics() {
+        System.out.println("[ZipPy] megamorphic attribute access sites " + megamorphicAttributeSites);
+        System.out.println("[ZipPy] megamorphic call sites " + megamorphicCallSites);
+        System.out.println("[ZipPy] attribute lookup cache hits " + hits + " misses " + misses);
+    }
+
+    private static final class Entry {
+
+        private final ObjectLayout layout;
+        private final String attributeId;
+        private final PythonClass pythonClass;
+
+        /**
+         * Null if the attribute is stored in the primary itself.
+         */
+        private final PythonObject storage;
+        private final StorageLocation location;
+        private final Assumption lookupStable;
+
+        private Entry(ObjectLayout layout, String attributeId, PythonClass pythonClass, PythonObject storage, StorageLocation location, Assumption lookupStable) {
+            this.layout = layout;
+            this.attributeId = attributeId;
+            this.pythonClass = pythonClass;
+            this.storage = storage;
+            this.location = location;
+            this.lookupStable = lookupStable;
+        }
+
+        static Entry create(PythonObject primary, ObjectLayout layout, String attributeId) {
+            final PythonClass clazz = primary.asPythonClass();
+
+            if (primary.isOwnAttribute(attributeId)) {
+                return new Entry(layout, attributeId, clazz, null, primary.getOwnValidLocation(attributeId), null);
+            }
+
+            final PythonClass owner = clazz.lookUpAttributeOwner(attributeId);
+
+            if (owner == null) {
+                return null;
+            }
+
+            return new Entry(layout, attributeId, clazz, owner, owner.getOwnValidLocation(attributeId), clazz.getLookupStableAssumption());
+        }
+
+        boolean matches(PythonObject primary, ObjectLayout primaryLayout, String name) {
+            return layout == primaryLayout && attributeId.equals(name) && layout.getValidAssumption().isValid() && (lookupStable == null || lookupStable.isValid()) &&
+                            pythonClass == primary.asPythonClass();
+        }
+
+        Object read(PythonObject primary) {
+            return location.read(storage == null ? primary : storage);
+        }
+    }
+
+}
@@ -30,89 +30,97 @@ import java.util.Map.*;
 import com.oracle.truffle.api.*;
 
 import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
 
+/**
+ * The layout of a {@link FixedPythonObjectStorage}. Adding an attribute appends a location to the
+ * layout it extends, so the attributes already present never move and an object can switch to an
+ * extended layout without copying its values.
+ */
 public final class FixedObjectLayout extends ObjectLayout {
 
-    private final int primitiveIntStorageLocationsUsed;
-    private final int primitiveDoubleStorageLocationsUsed;
-    private final int fieldObjectStorageLocationsUsed;
-    private final int arrayObjectStorageLocationsUsed;
+    private final FixedObjectLayout parent;
+    private final Assumption ctorValidAssumption = Truffle.getRuntime().createAssumption(originHint + ".ctor");
+
+    private int primitiveIntStorageLocationsUsed;
+    private int primitiveDoubleStorageLocationsUsed;
+    private int fieldObjectStorageLocationsUsed;
+    private int arrayObjectStorageLocationsUsed;
+    private int arrayPrimitiveStorageLocationsUsed;
 
-    public FixedObjectLayout(String originHint) {
-        super(originHint);
-        primitiveIntStorageLocationsUsed = 0;
-        primitiveDoubleStorageLocationsUsed = 0;
-        fieldObjectStorageLocationsUsed = 0;
-        arrayObjectStorageLocationsUsed = 0;
+    public FixedObjectLayout(String originHint, PythonClass pythonClass) {
+        super(originHint, pythonClass, false);
+        this.parent = null;
     }
 
-    public FixedObjectLayout(String originalHint, Map<String, Class<?>> storageTypes) {
-        super(originalHint);
-        int primitiveIntStorageLocationIndex = 0;
-        int primitiveDoubleStorageLocationIndex = 0;
-        int fieldObjectStorageLocationIndex = 0;
-        int arrayObjectStorageLocationIndex = 0;
+    private FixedObjectLayout(String originHint, PythonClass pythonClass, boolean isPrivate, Map<String, Class<?>> storageTypes) {
+        super(originHint, pythonClass, isPrivate);
+        this.parent = null;
 
         // Go through the variables we've been asked to store
         for (Entry<String, Class<?>> entry : storageTypes.entrySet()) {
-            final Class<?> type = entry.getValue();
-            Class<?> storedClass;
-
-            if (type == Integer.class) {
-                if (primitiveIntStorageLocationIndex + 1 <= FixedPythonObjectStorage.PRIMITIVE_INT_STORAGE_LOCATIONS_COUNT) {
-                    storedClass = Integer.class;
-                } else {
-                    storedClass = Object.class;
-                }
-            } else if (type == Double.class) {
-                if (primitiveDoubleStorageLocationIndex + 1 <= FixedPythonObjectStorage.PRIMITIVE_DOUBLE_STORAGE_LOCATIONS_COUNT) {
-                    storedClass = Double.class;
-                } else {
-                    storedClass = Object.class;
-                }
-            } else if (type == Boolean.class) {
-                if (primitiveIntStorageLocationIndex + 1 <= FixedPythonObjectStorage.PRIMITIVE_INT_STORAGE_LOCATIONS_COUNT) {
-                    storedClass = Boolean.class;
-                } else {
-                    storedClass = Object.class;
-                }
-            } else {
-                storedClass = Object.class;
-            }
+            allocateStorageLocation(entry.getKey(), entry.getValue());
+        }
+    }
 
-            if (storedClass == Integer.class) {
-                final long offset = ObjectLayoutUtil.getExactPrimitiveIntOffsetOf(primitiveIntStorageLocationIndex);
-                final IntStorageLocation newStorageLocation = new IntStorageLocation(this, primitiveIntStorageLocationIndex, offset);
-                storageLocations.put(entry.getKey(), newStorageLocation);
-                primitiveIntStorageLocationIndex++;
-            } else if (storedClass == Double.class) {
-                final long offset = ObjectLayoutUtil.getExactPrimitiveDoubleOffsetOf(primitiveDoubleStorageLocationIndex);
-                final DoubleStorageLocation newStorageLocation = new DoubleStorageLocation(this, primitiveDoubleStorageLocationIndex, offset);
-                storageLocations.put(entry.getKey(), newStorageLocation);
-                primitiveDoubleStorageLocationIndex++;
-            } else if (storedClass == Boolean.class) {
-                final long offset = ObjectLayoutUtil.getExactPrimitiveIntOffsetOf(primitiveIntStorageLocationIndex);
-                final BooleanStorageLocation newStorageLocation = new BooleanStorageLocation(this, primitiveIntStorageLocationIndex, offset);
-                storageLocations.put(entry.getKey(), newStorageLocation);
-                primitiveIntStorageLocationIndex++;
-            } else {
-                if (fieldObjectStorageLocationIndex + 1 <= FixedPythonObjectStorage.FIELD_OBJECT_STORAGE_LOCATIONS_COUNT) {
-                    final long offset = ObjectLayoutUtil.getExactFieldObjectOffsetOf(fieldObjectStorageLocationIndex);
-                    final FieldObjectStorageLocation newStorageLocation = new FieldObjectStorageLocation(this, fieldObjectStorageLocationIndex, offset, type);
-                    storageLocations.put(entry.getKey(), newStorageLocation);
-                    fieldObjectStorageLocationIndex++;
-                } else {
-                    final ArrayObjectStorageLocation newStorageLocation = new ArrayObjectStorageLocation(this, arrayObjectStorageLocationIndex, type);
-                    storageLocations.put(entry.getKey(), newStorageLocation);
-                    arrayObjectStorageLocationIndex++;
-                }
-            }
+    private FixedObjectLayout(FixedObjectLayout parent, String name, Class<?> type) {
+        super(parent.originHint + "+" + name, parent.pythonClass, parent.isPrivate);
+        this.parent = parent;
+        this.primitiveIntStorageLocationsUsed = parent.primitiveIntStorageLocationsUsed;
+        this.primitiveDoubleStorageLocationsUsed = parent.primitiveDoubleStorageLocationsUsed;
+        this.fieldObjectStorageLocationsUsed = parent.fieldObjectStorageLocationsUsed;
+        this.arrayObjectStorageLocationsUsed = parent.arrayObjectStorageLocationsUsed;
+        this.arrayPrimitiveStorageLocationsUsed = parent.arrayPrimitiveStorageLocationsUsed;
+        storageLocations.putAll(parent.storageLocations);
+        allocateStorageLocation(name, type);
+    }
+
+    /**
+     * A private copy of the original layout, keeping every location in place.
+     */
+    private FixedObjectLayout(FixedObjectLayout original) {
+        super(original.originHint + "copy", original.pythonClass, true);
+        this.parent = original;
+        this.primitiveIntStorageLocationsUsed = original.primitiveIntStorageLocationsUsed;
+        this.primitiveDoubleStorageLocationsUsed = original.primitiveDoubleStorageLocationsUsed;
+        this.fieldObjectStorageLocationsUsed = original.fieldObjectStorageLocationsUsed;
+        this.arrayObjectStorageLocationsUsed = original.arrayObjectStorageLocationsUsed;
+        this.arrayPrimitiveStorageLocationsUsed = original.arrayPrimitiveStorageLocationsUsed;
+        storageLocations.putAll(original.storageLocations);
+    }
+
+    private static Class<?> getStorageKind(Class<?> type) {
+        if (type == Integer.class || type == Double.class || type == Boolean.class) {
+            return type;
         }
 
-        primitiveIntStorageLocationsUsed = primitiveIntStorageLocationIndex;
-        primitiveDoubleStorageLocationsUsed = primitiveDoubleStorageLocationIndex;
-        fieldObjectStorageLocationsUsed = fieldObjectStorageLocationIndex;
-        arrayObjectStorageLocationsUsed = arrayObjectStorageLocationIndex;
+        return Object.class;
+    }
+
+    private void allocateStorageLocation(String name, Class<?> type) {
+        final Class<?> kind = getStorageKind(type);
+
+        if (kind == Integer.class && primitiveIntStorageLocationsUsed < FixedPythonObjectStorage.PRIMITIVE_INT_STORAGE_LOCATIONS_COUNT) {
+            final long offset = ObjectLayoutUtil.getExactPrimitiveIntOffsetOf(primitiveIntStorageLocationsUsed);
+            storageLocations.put(name, new IntStorageLocation(this, primitiveIntStorageLocationsUsed++, offset));
+        } else if (kind == Double.class && primitiveDoubleStorageLocationsUsed < FixedPythonObjectStorage.PRIMITIVE_DOUBLE_STORAGE_LOCATIONS_COUNT) {
+            final long offset = ObjectLayoutUtil.getExactPrimitiveDoubleOffsetOf(primitiveDoubleStorageLocationsUsed);
+            storageLocations.put(name, new DoubleStorageLocation(this, primitiveDoubleStorageLocationsUsed++, offset));
+        } else if (kind == Boolean.class && primitiveIntStorageLocationsUsed < FixedPythonObjectStorage.PRIMITIVE_INT_STORAGE_LOCATIONS_COUNT) {
+            final long offset = ObjectLayoutUtil.getExactPrimitiveIntOffsetOf(primitiveIntStorageLocationsUsed);
+            storageLocations.put(name, new BooleanStorageLocation(this, primitiveIntStorageLocationsUsed++, offset));
+        } else if (kind == Integer.class) {
+            storageLocations.put(name, new ArrayIntStorageLocation(this, arrayPrimitiveStorageLocationsUsed++));
+        } else if (kind == Double.class) {
+            storageLocations.put(name, new ArrayDoubleStorageLocation(this, arrayPrimitiveStorageLocationsUsed++));
+        } else if (kind == Boolean.class) {
+            storageLocations.put(name, new ArrayBooleanStorageLocation(this, arrayPrimitiveStorageLocationsUsed++));
+        } else if (fieldObjectStorageLocationsUsed < FixedPythonObjectStorage.FIELD_OBJECT_STORAGE_LOCATIONS_COUNT) {
+            final long offset = ObjectLayoutUtil.getExactFieldObjectOffsetOf(fieldObjectStorageLocationsUsed);
+            storageLocations.put(name, new FieldObjectStorageLocation(this, fieldObjectStorageLocationsUsed++, offset, kind));
+        } else {
+            storageLocations.put(name, new ArrayObjectStorageLocation(this, arrayObjectStorageLocationsUsed++, kind));
+        }
     }
 
     @Override
@@ -120,10 +128,16 @@ public final class FixedObjectLayout extends ObjectLayout {
         return arrayObjectStorageLocationsUsed;
     }
 
+    @Override
+    public int getPrimitiveSpillLocationsUsed() {
+        return arrayPrimitiveStorageLocationsUsed;
+    }
+
     @Override
     public boolean isEmpty() {
         return storageLocations.isEmpty() && //
                         arrayObjectStorageLocationsUsed == 0 && //
+                        arrayPrimitiveStorageLocationsUsed == 0 && //
                         primitiveIntStorageLocationsUsed == 0 && //
                         fieldObjectStorageLocationsUsed == 0 && //
                         primitiveDoubleStorageLocationsUsed == 0;
@@ -131,38 +145,77 @@ public final class FixedObjectLayout extends ObjectLayout {
 
     @Override
     public Assumption getCtorValidAssumption() {
-        return this.validAssumption;
+        return ctorValidAssumption;
+    }
+
+    @Override
+    protected void invalidate() {
+        super.invalidate();
+        ctorValidAssumption.invalidate();
     }
 
     @Override
     protected ObjectLayout copy() {
-        final Map<String, Class<?>> attributeTypes = getAttributeTypes();
-        validAssumption.invalidate();
-        return new FixedObjectLayout(originHint + "copy", attributeTypes);
+        final ObjectLayout cached = lookupTransition('=', "", Object.class);
+
+        if (cached != null) {
+            return supersede('=', "", Object.class, cached);
+        }
+
+        return supersede('=', "", Object.class, new FixedObjectLayout(this));
+    }
+
+    @Override
+    protected ObjectLayout toPrivateLayout() {
+        return new FixedObjectLayout(this);
     }
 
     @Override
     protected ObjectLayout addAttribute(String name, Class<?> type) {
-        final Map<String, Class<?>> attributeTypes = getAttributeTypes();
-        attributeTypes.put(name, type);
-        validAssumption.invalidate();
-        return new FixedObjectLayout(originHint + "+" + name, attributeTypes);
+        final Class<?> kind = getStorageKind(type);
+        final ObjectLayout cached = lookupTransition('+', name, kind);
+
+        if (cached != null) {
+            return extend(name, kind, cached);
+        }
+
+        return extend(name, kind, new FixedObjectLayout(this, name, kind));
     }
 
     @Override
     protected ObjectLayout deleteAttribute(String name) {
         final Map<String, Class<?>> attributeTypes = getAttributeTypes();
         attributeTypes.remove(name);
-        validAssumption.invalidate();
-        return new FixedObjectLayout(originHint + "-" + name, attributeTypes);
+        invalidate();
+        return new FixedObjectLayout(originHint + "-" + name, pythonClass, isPrivate, attributeTypes);
     }
 
     @Override
     public ObjectLayout generalizedAttribute(String name) {
+        final ObjectLayout cached = lookupTransition('!', name, Object.class);
+
+        if (cached != null) {
+            return supersede('!', name, Object.class, cached);
+        }
+
         final Map<String, Class<?>> storageTypes = getAttributeTypes();
         storageTypes.put(name, Object.class);
-        validAssumption.invalidate();
-        return new FixedObjectLayout(originHint + "!" + name, storageTypes);
+        return supersede('!', name, Object.class, new FixedObjectLayout(originHint + "!" + name, pythonClass, isPrivate, storageTypes));
+    }
+
+    @Override
+    protected boolean isExtendedBy(ObjectLayout other) {
+        ObjectLayout current = other;
+
+        while (current instanceof FixedObjectLayout) {
+            if (current == this) {
+                return true;
+            }
+
+            current = ((FixedObjectLayout) current).parent;
+        }
+
+        return false;
     }
 
     @Override
@@ -172,6 +225,7 @@ public final class FixedObjectLayout extends ObjectLayout {
         int primitiveDoubleStorageLocationsIndex = 0;
         int fieldObjectStorageLocationsIndex = 0;
         int arrayObjectStorageLocationsIndex = 0;
+        int arrayPrimitiveStorageLocationsIndex = 0;
 
         for (Entry<String, StorageLocation> entry : storageLocations.entrySet()) {
             final StorageLocation storageLocation = entry.getValue();
@@ -186,6 +240,8 @@ public final class FixedObjectLayout extends ObjectLayout {
                 primitiveIntStorageLocationsIndex++;
             } else if (storageLocation instanceof FieldObjectStorageLocation) {
                 fieldObjectStorageLocationsIndex++;
+            } else if (storageLocation instanceof ArrayPrimitiveStorageLocation) {
+                arrayPrimitiveStorageLocationsIndex++;
             } else {
                 throw new RuntimeException();
             }
@@ -197,6 +253,11 @@ public final class FixedObjectLayout extends ObjectLayout {
             return false;
         }
 
-        return arrayObjectStorageLocationsIndex == (objectStorage.arrayObjects != null ? objectStorage.arrayObjects.length : 0);
+        // Spill arrays are allocated lazily, so they may be shorter than the layout needs
+        if (ArrayPrimitiveStorageLocation.getSpillArrayLength(arrayPrimitiveStorageLocationsIndex) < (objectStorage.primitiveSpill != null ? objectStorage.primitiveSpill.length : 0)) {
+            return false;
+        }
+
+        return arrayObjectStorageLocationsIndex >= (objectStorage.arrayObjects != null ? objectStorage.arrayObjects.length : 0);
     }
 }
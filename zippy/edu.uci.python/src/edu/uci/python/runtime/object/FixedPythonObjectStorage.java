@@ -57,8 +57,18 @@ public class FixedPythonObjectStorage extends PythonObject {
         super(pythonClass);
     }
 
+    public FixedPythonObjectStorage(ObjectLayout instanceLayout) {
+        super(instanceLayout);
+    }
+
     public static PythonObject create(PythonClass clazz) {
-        return new FixedPythonObjectStorage(clazz);
+        final FixedPythonObjectStorage obj = new FixedPythonObjectStorage(clazz);
+
+        if (clazz.getContext().getPythonOptions().InstrumentObjectStorageAllocation) {
+            PythonObjectAllocationInstrumentor.getInstance().instrumentFixed(obj);
+        }
+
+        return obj;
     }
 
     @Override
@@ -71,23 +81,41 @@ public class FixedPythonObjectStorage extends PythonObject {
          * this zombie object is still alive. It is most likely stored in a data structure in the
          * first constructor calls. An subsequent access to this zombie will reach here.
          * <p>
-         * Note that we cannot simply sync with pythonClass.getInstanceObjectLayout(). Since the
+         * Note that we cannot simply sync with getPythonClass().getInstanceObjectLayout(). Since the
          * layout has switched to a FlexibleObjectStorageLayout. A layout sync will cause
          * unpredictable memory accesses. Therefore, we need to renew and assign a valid object
          * layout for the zombie.
          * <p>
          * Hopefully this does not happen too often!
+         * <p>
+         * The renewed layout is private and shared by the zombies of the same layout, so each one
+         * only pays for a relabel.
          *
          * @author zwei
          */
-        if (pythonClass.getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
-            usePrivateLayout = true;
-            updateLayout(getObjectLayout().copy());
+        if (getPythonClass().getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
+            ObjectLayout renewed = objectLayout.getValidSuccessor();
+
+            if (renewed == null || !renewed.isPrivate()) {
+                renewed = objectLayout.copy();
+            }
+
+            if (renewed != objectLayout) {
+                updateLayout(renewed);
+            }
+
             return;
         }
 
-        if (objectLayout != pythonClass.getInstanceObjectLayout()) {
-            updateLayout(pythonClass.getInstanceObjectLayout());
+        // Follow the transitions taken since this object last synced, or else start over
+        ObjectLayout target = objectLayout.getValidSuccessor();
+
+        if (target == null) {
+            target = objectLayout.isPrivate() ? objectLayout.copy() : getPythonClass().getInstanceObjectLayout();
+        }
+
+        if (objectLayout != target) {
+            updateLayout(target);
         }
 
         assert verifyLayout();
@@ -98,22 +126,28 @@ public class FixedPythonObjectStorage extends PythonObject {
         CompilerDirectives.transferToInterpreterAndInvalidate();
         assert verifyLayout();
 
+        if (objectLayout.isExtendedBy(newLayout)) {
+            extendLayout(newLayout);
+            return;
+        }
+
         // Get the current values of instance variables
         final Map<String, Object> instanceVariableMap = getAttributes();
 
         // Use new Layout
         objectLayout = newLayout;
 
-        // Synchronize instance object layout with the class
-        if (!usePrivateLayout) {
-            pythonClass.updateInstanceObjectLayout(newLayout);
+        // Synchronize instance object layout with the class, unless it has moved on to flexible storage
+        if (!newLayout.isPrivate() && !(getPythonClass().getInstanceObjectLayout() instanceof FlexibleObjectLayout)) {
+            getPythonClass().updateInstanceObjectLayout(newLayout);
         }
 
-        // Make all primitives as unset
+        // Make all primitives and object fields as unset
         setPrimitiveSetMap(0);
+        clearObjectFields();
 
-        // Create a new array for objects
-        allocateSpillArray();
+        // Spill arrays are allocated again on demand
+        resetSpillArrays();
 
         // Restore values
         setAttributes(instanceVariableMap);
@@ -121,4 +155,29 @@ public class FixedPythonObjectStorage extends PythonObject {
         assert verifyLayout();
     }
 
+    /**
+     * Every location of the current layout keeps its slot in an extending layout. The spill arrays
+     * grow when a new spilled attribute is first written.
+     * <p>
+     * Extended layouts stay valid, so an object may still be on an older layout of its class. The
+     * instance layout of the class only moves forward, from a layout to one extending it.
+     */
+    private void extendLayout(ObjectLayout newLayout) {
+        objectLayout = newLayout;
+
+        if (!newLayout.isPrivate() && getPythonClass().getInstanceObjectLayout().isExtendedBy(newLayout)) {
+            getPythonClass().updateInstanceObjectLayout(newLayout);
+        }
+
+        assert verifyLayout();
+    }
+
+    private void clearObjectFields() {
+        fieldObject0 = null;
+        fieldObject1 = null;
+        fieldObject2 = null;
+        fieldObject3 = null;
+        fieldObject4 = null;
+    }
+
 }
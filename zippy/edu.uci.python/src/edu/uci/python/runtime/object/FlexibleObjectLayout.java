@@ -32,6 +32,7 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
 
 /**
  * The layout descriptor attached to a FlexiblePythonObjectStorage. What is different here is that
@@ -50,8 +51,8 @@ public final class FlexibleObjectLayout extends ObjectLayout {
     private final Assumption isOptimalAssumption;
     private final PythonOptions options;
 
-    protected FlexibleObjectLayout(String originHint, Class<?> storageClass, FlexibleObjectLayout predecessor) {
-        super(originHint);
+    protected FlexibleObjectLayout(String originHint, PythonClass pythonClass, boolean isPrivate, Class<?> storageClass, FlexibleObjectLayout predecessor) {
+        super(originHint, pythonClass, isPrivate);
         this.arrayObjectStorageLocationsUsed = 0;
         this.storageClass = storageClass;
         this.predecessor = predecessor;
@@ -68,8 +69,8 @@ public final class FlexibleObjectLayout extends ObjectLayout {
         }
     }
 
-    protected FlexibleObjectLayout(String originHint, Map<String, Class<?>> storageTypes, Class<?> objectStorageClass, FlexibleObjectLayout predecessor) {
-        super(originHint);
+    protected FlexibleObjectLayout(String originHint, PythonClass pythonClass, boolean isPrivate, Map<String, Class<?>> storageTypes, Class<?> objectStorageClass, FlexibleObjectLayout predecessor) {
+        super(originHint, pythonClass, isPrivate);
         this.options = new PythonOptions();
         int primitiveIntStorageLocationIndex = 0;
         int primitiveDoubleStorageLocationIndex = 0;
@@ -122,8 +123,8 @@ public final class FlexibleObjectLayout extends ObjectLayout {
         }
     }
 
-    public static FlexibleObjectLayout empty(Class<?> storageClass) {
-        return new FlexibleObjectLayout("(empty)", storageClass, null);
+    public static FlexibleObjectLayout empty(PythonClass pythonClass, Class<?> storageClass) {
+        return new FlexibleObjectLayout("(empty)", pythonClass, false, storageClass, null);
     }
 
     @Override
@@ -145,6 +146,10 @@ public final class FlexibleObjectLayout extends ObjectLayout {
         return isOptimalAssumption;
     }
 
+    public final Class<?> getStorageClass() {
+        return storageClass;
+    }
+
     public int getVersion() {
         String className = this.storageClass.getSimpleName();
         String version = className.substring(className.length() - 1);
@@ -159,7 +164,12 @@ public final class FlexibleObjectLayout extends ObjectLayout {
     protected ObjectLayout copy() {
         final Map<String, Class<?>> attributeTypes = getAttributeTypes();
         validAssumption.invalidate();
-        return new FlexibleObjectLayout(originHint + "copy", attributeTypes, storageClass, this);
+        return new FlexibleObjectLayout(originHint + "copy", pythonClass, true, attributeTypes, storageClass, this);
+    }
+
+    @Override
+    protected ObjectLayout toPrivateLayout() {
+        return new FlexibleObjectLayout(originHint + ".private", pythonClass, true, getAttributeTypes(), storageClass, this);
     }
 
     @Override
@@ -168,7 +178,7 @@ public final class FlexibleObjectLayout extends ObjectLayout {
         attributeTypes.put(name, type);
         validAssumption.invalidate();
         isOptimalAssumption.invalidate();
-        return new FlexibleObjectLayout(originHint + "+" + name, attributeTypes, storageClass, this);
+        return new FlexibleObjectLayout(originHint + "+" + name, pythonClass, isPrivate, attributeTypes, storageClass, this);
     }
 
     @Override
@@ -176,7 +186,7 @@ public final class FlexibleObjectLayout extends ObjectLayout {
         final Map<String, Class<?>> attributeTypes = getAttributeTypes();
         attributeTypes.remove(name);
         validAssumption.invalidate();
-        return new FlexibleObjectLayout(originHint + "-" + name, attributeTypes, storageClass, this);
+        return new FlexibleObjectLayout(originHint + "-" + name, pythonClass, isPrivate, attributeTypes, storageClass, this);
     }
 
     @Override
@@ -185,7 +195,7 @@ public final class FlexibleObjectLayout extends ObjectLayout {
         attributeTypes.put(name, Object.class);
         validAssumption.invalidate();
         isOptimalAssumption.invalidate();
-        return new FlexibleObjectLayout(originHint + "!" + name, attributeTypes, storageClass, this);
+        return new FlexibleObjectLayout(originHint + "!" + name, pythonClass, isPrivate, attributeTypes, storageClass, this);
     }
 
     @TruffleBoundary
@@ -210,7 +220,7 @@ public final class FlexibleObjectLayout extends ObjectLayout {
             }
         }
 
-        return arrayObjectStorageLocationsIndex == (objectStorage.arrayObjects != null ? objectStorage.arrayObjects.length : 0);
+        return arrayObjectStorageLocationsIndex >= (objectStorage.arrayObjects != null ? objectStorage.arrayObjects.length : 0);
     }
 
     @Override
@@ -33,21 +33,31 @@ import edu.uci.python.runtime.standardtype.*;
 
 public abstract class FlexiblePythonObjectStorage extends PythonObject {
 
-    private final PythonOptions options;
-
     public FlexiblePythonObjectStorage(PythonClass pythonClass) {
         super(pythonClass);
         assert pythonClass.getInstanceObjectLayout() instanceof FlexibleObjectLayout;
         objectLayout = pythonClass.getInstanceObjectLayout();
         setStorageClassObjectLayout((FlexibleObjectLayout) objectLayout);
         assert verifyLayout();
-        this.options = new PythonOptions();
 
-        if (options.InstrumentObjectStorageAllocation) {
+        if (pythonClass.getContext().getPythonOptions().InstrumentObjectStorageAllocation) {
             PythonObjectAllocationInstrumentor.getInstance().instrumentFlexible(this);
         }
     }
 
+    /**
+     * Allocates an instance directly in an instance layout of its storage class, like
+     * {@link FixedPythonObjectStorage#FixedPythonObjectStorage(ObjectLayout)}. Nothing is read from
+     * the Python class, and the storage class layout is only written when it changes.
+     */
+    protected FlexiblePythonObjectStorage(FlexibleObjectLayout instanceLayout) {
+        super(instanceLayout);
+
+        if (getStorageClassObjectLayout() != instanceLayout) {
+            setStorageClassObjectLayout(instanceLayout);
+        }
+    }
+
     protected abstract FlexibleObjectLayout getStorageClassObjectLayout();
 
     protected abstract void setStorageClassObjectLayout(FlexibleObjectLayout layout);
@@ -80,7 +90,9 @@ public abstract class FlexiblePythonObjectStorage extends PythonObject {
         objectLayout = newLayout;
 
         // Synchronize instance object layout with the storage class
-        if (!usePrivateLayout) {
+        if (!newLayout.isPrivate()) {
+            final PythonClass pythonClass = getPythonClass();
+            final PythonOptions options = pythonClass.getContext().getPythonOptions();
             setStorageClassObjectLayout((FlexibleObjectLayout) newLayout);
 
             if (!options.FlexibleObjectStorageEvolution && !pythonClass.getInstanceObjectLayout().getValidAssumption().isValid()) {
@@ -100,8 +112,8 @@ public abstract class FlexiblePythonObjectStorage extends PythonObject {
         // Make all primitives as unset
         setPrimitiveSetMap(0);
 
-        // Create a new array for objects
-        allocateSpillArray();
+        // Spill arrays are allocated again on demand
+        resetSpillArrays();
 
         // Restore values
         setAttributes(instanceVariableMap);
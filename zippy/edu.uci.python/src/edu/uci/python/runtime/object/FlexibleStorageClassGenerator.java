@@ -25,7 +25,9 @@
 package edu.uci.python.runtime.object;
 
 import java.lang.invoke.*;
+import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.*;
 
 import org.objectweb.asm.*;
 import org.python.core.*;
@@ -44,12 +46,25 @@ import static org.objectweb.asm.Opcodes.*;
 public final class FlexibleStorageClassGenerator {
 
     private static final String PYTHON_OBJECT_STORAGE_CLASS = "edu/uci/python/runtime/object/FlexiblePythonObjectStorage";
+    private static final String SLOTS_OBJECT_STORAGE_CLASS = "edu/uci/python/runtime/object/SlotsPythonObjectStorage";
     private static final String PYTHON_CLASS = "edu/uci/python/runtime/standardtype/PythonClass";
+    private static final String FLEXIBLE_LAYOUT_CLASS = "edu/uci/python/runtime/object/FlexibleObjectLayout";
     private static final String CLASSPATH = "edu/uci/python/runtime/object/";
     private static final String CREATE = "create";
     private static final String ATTRIBUTE_FIELD_PREFIX = "af_";
 
+    private static final ExecutorService BACKGROUND_GENERATOR = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "ZipPy storage class generator");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
     private final PythonClass pythonClass;
+    private final ObjectLayout layout;
+    private final List<String> slots;
+    private final String storageSuperClass;
     private final String validClassName;
 
     private final ClassWriter classWriter;
@@ -58,14 +73,60 @@ public final class FlexibleStorageClassGenerator {
 
     public FlexibleStorageClassGenerator(PythonClass pythonClass) {
         this.pythonClass = pythonClass;
+        this.layout = pythonClass.getInstanceObjectLayout();
+        this.slots = null;
+        this.storageSuperClass = PYTHON_OBJECT_STORAGE_CLASS;
         this.classWriter = new ClassWriter(0);
         // Python class name mangling. Replacing dot following the module name with a dollar sign.
         this.validClassName = CLASSPATH + pythonClass.getName().replace('.', '$') + pythonClass.getFlexibleObjectStorageVersion();
     }
 
+    /**
+     * Generator of the sealed storage class for a class that declares {@code __slots__}.
+     */
+    public FlexibleStorageClassGenerator(PythonClass pythonClass, List<String> slots) {
+        this.pythonClass = pythonClass;
+        this.layout = pythonClass.getInstanceObjectLayout();
+        this.slots = slots;
+        this.storageSuperClass = SLOTS_OBJECT_STORAGE_CLASS;
+        this.classWriter = new ClassWriter(0);
+        this.validClassName = CLASSPATH + pythonClass.getName().replace('.', '$') + "Slots";
+    }
+
     public FlexiblePythonObjectStorageFactory generate() {
-        final PythonOptions options = new PythonOptions();
-        final Class<?> storageClass = BytecodeLoader.makeClass(getValidClassName(), generateClassData(), PythonObject.class);
+        final FlexiblePythonObjectStorageFactory factory = install(generateStorageClass());
+        assert factory != null;
+        return factory;
+    }
+
+    /**
+     * Generates and loads the storage class for the instance layout the Python class had when this
+     * generator was created. Leaves the Python class alone, so it can run off the interpreter thread.
+     */
+    public Class<?> generateStorageClass() {
+        return BytecodeLoader.makeClass(getValidClassName(), generateClassData(), PythonObject.class);
+    }
+
+    public Future<Class<?>> generateStorageClassInBackground() {
+        return BACKGROUND_GENERATOR.submit(new Callable<Class<?>>() {
+            public Class<?> call() {
+                return generateStorageClass();
+            }
+        });
+    }
+
+    /**
+     * Switches the instances of the Python class to the generated storage class. Returns null if
+     * the instance layout has changed since this generator was created.
+     */
+    public FlexiblePythonObjectStorageFactory install(Class<?> storageClass) {
+        CompilerAsserts.neverPartOfCompilation();
+
+        if (pythonClass.getInstanceObjectLayout() != layout || !layout.getValidAssumption().isValid()) {
+            return null;
+        }
+
+        final PythonOptions options = pythonClass.getContext().getPythonOptions();
         final MethodHandle ctor = lookupConstructor(storageClass);
         synchronizeObjectLayout(storageClass);
 
@@ -78,6 +139,25 @@ public final class FlexibleStorageClassGenerator {
         return new FlexiblePythonObjectStorageFactory(ctor);
     }
 
+    /**
+     * Generates the slots storage class and seals the instance layout of the Python class onto it.
+     * Returns the constructor of the new instances.
+     */
+    public MethodHandle generateSlotsStorage() {
+        CompilerAsserts.neverPartOfCompilation();
+        assert slots != null;
+        final Class<?> storageClass = generateStorageClass();
+        pythonClass.updateInstanceObjectLayout(new SlotsObjectLayout(pythonClass, slots, storageClass));
+
+        try {
+            MethodType mt = MethodType.methodType(SlotsPythonObjectStorage.class, PythonClass.class);
+            MethodHandle ctor = MethodHandles.lookup().findStatic(storageClass, CREATE, mt);
+            return ctor.asType(MethodType.methodType(PythonObject.class, PythonClass.class));
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException();
+        }
+    }
+
     public static String getFieldName(String attributeName) {
         return ATTRIBUTE_FIELD_PREFIX + attributeName;
     }
@@ -95,26 +175,50 @@ public final class FlexibleStorageClassGenerator {
         }
     }
 
+    /**
+     * Looks up the adaptor that allocates an instance of a generated storage class directly in one of
+     * its instance layouts.
+     */
+    public static MethodHandle lookupLayoutConstructor(Class<?> storageClass) {
+        try {
+            MethodType mt = MethodType.methodType(FlexiblePythonObjectStorage.class, FlexibleObjectLayout.class);
+            return MethodHandles.lookup().findStatic(storageClass, CREATE, mt);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            throw new RuntimeException();
+        }
+    }
+
     private void synchronizeObjectLayout(Class<?> storageClass) {
-        ObjectLayout oldLayout = pythonClass.getInstanceObjectLayout();
-        ObjectLayout newLayout = oldLayout.toFlexibleObjectLayout(storageClass);
+        ObjectLayout newLayout = layout.toFlexibleObjectLayout(storageClass);
         pythonClass.updateInstanceObjectLayout(newLayout);
     }
 
     private byte[] generateClassData() {
         CompilerAsserts.neverPartOfCompilation();
 
-        classWriter.visit(V1_7, ACC_PUBLIC + ACC_SUPER, validClassName, null, PYTHON_OBJECT_STORAGE_CLASS, null);
-        ObjectLayout old = pythonClass.getInstanceObjectLayout();
+        classWriter.visit(V1_7, ACC_PUBLIC + ACC_SUPER, validClassName, null, storageSuperClass, null);
+
+        if (slots != null) {
+            for (String slot : slots) {
+                addField(slot, Object.class);
+            }
+
+            addConstructor(PYTHON_CLASS);
+            addConstructorAdaptor(PYTHON_CLASS);
+            classWriter.visitEnd();
+            return classWriter.toByteArray();
+        }
 
-        for (Entry<String, StorageLocation> entry : old.getAllStorageLocations().entrySet()) {
+        for (Entry<String, StorageLocation> entry : layout.getAllStorageLocations().entrySet()) {
             StorageLocation location = entry.getValue();
             addField(entry.getKey(), getPrimitiveStoredClass(location.getStoredClass()));
         }
 
         addStaticField("LAYOUT", FlexibleObjectLayout.class);
-        addConstructor();
-        addConstructorAdaptor();
+        addConstructor(PYTHON_CLASS);
+        addConstructorAdaptor(PYTHON_CLASS);
+        addConstructor(FLEXIBLE_LAYOUT_CLASS);
+        addConstructorAdaptor(FLEXIBLE_LAYOUT_CLASS);
         addClassLayoutGetter();
         addClassLayoutSetter();
 
@@ -144,15 +248,15 @@ public final class FlexibleStorageClassGenerator {
         fieldVisitor.visitEnd();
     }
 
-    private void addConstructor() {
-        methodVisitor = classWriter.visitMethod(ACC_PUBLIC, "<init>", "(L" + PYTHON_CLASS + ";)V", null, null);
+    private void addConstructor(String parameterClass) {
+        methodVisitor = classWriter.visitMethod(ACC_PUBLIC, "<init>", "(L" + parameterClass + ";)V", null, null);
         methodVisitor.visitCode();
         Label l0 = new Label();
         methodVisitor.visitLabel(l0);
         methodVisitor.visitLineNumber(53, l0);
         methodVisitor.visitVarInsn(ALOAD, 0);
         methodVisitor.visitVarInsn(ALOAD, 1);
-        methodVisitor.visitMethodInsn(INVOKESPECIAL, PYTHON_OBJECT_STORAGE_CLASS, "<init>", "(L" + PYTHON_CLASS + ";)V", false);
+        methodVisitor.visitMethodInsn(INVOKESPECIAL, storageSuperClass, "<init>", "(L" + parameterClass + ";)V", false);
         Label l1 = new Label();
         methodVisitor.visitLabel(l1);
         methodVisitor.visitLineNumber(54, l1);
@@ -160,13 +264,13 @@ public final class FlexibleStorageClassGenerator {
         Label l2 = new Label();
         methodVisitor.visitLabel(l2);
         methodVisitor.visitLocalVariable("this", "L" + validClassName + ";", null, l0, l2, 0);
-        methodVisitor.visitLocalVariable("pythonClass", "L" + PYTHON_CLASS + ";", null, l0, l2, 1);
+        methodVisitor.visitLocalVariable("parameter", "L" + parameterClass + ";", null, l0, l2, 1);
         methodVisitor.visitMaxs(2, 2);
         methodVisitor.visitEnd();
     }
 
-    private void addConstructorAdaptor() {
-        methodVisitor = classWriter.visitMethod(ACC_PUBLIC + ACC_STATIC, CREATE, "(L" + PYTHON_CLASS + ";)L" + PYTHON_OBJECT_STORAGE_CLASS + ";", null, null);
+    private void addConstructorAdaptor(String parameterClass) {
+        methodVisitor = classWriter.visitMethod(ACC_PUBLIC + ACC_STATIC, CREATE, "(L" + parameterClass + ";)L" + storageSuperClass + ";", null, null);
         methodVisitor.visitCode();
         Label l0 = new Label();
         methodVisitor.visitLabel(l0);
@@ -174,11 +278,11 @@ public final class FlexibleStorageClassGenerator {
         methodVisitor.visitTypeInsn(NEW, validClassName);
         methodVisitor.visitInsn(DUP);
         methodVisitor.visitVarInsn(ALOAD, 0);
-        methodVisitor.visitMethodInsn(INVOKESPECIAL, validClassName, "<init>", "(L" + PYTHON_CLASS + ";)V", false);
+        methodVisitor.visitMethodInsn(INVOKESPECIAL, validClassName, "<init>", "(L" + parameterClass + ";)V", false);
         methodVisitor.visitInsn(ARETURN);
         Label l1 = new Label();
         methodVisitor.visitLabel(l1);
-        methodVisitor.visitLocalVariable("clazz", "L" + PYTHON_CLASS + ";", null, l0, l1, 0);
+        methodVisitor.visitLocalVariable("parameter", "L" + parameterClass + ";", null, l0, l1, 0);
         methodVisitor.visitMaxs(3, 1);
         methodVisitor.visitEnd();
     }
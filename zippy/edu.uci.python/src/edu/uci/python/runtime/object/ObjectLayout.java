@@ -30,23 +30,43 @@ import java.util.Map.Entry;
 import com.oracle.truffle.api.*;
 
 import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
 
 /**
  * Maps the names of instance attributes to storage locations, which are either the offset of a
  * field in {@link PythonObject}, or an index into the object array in {@link PythonObject}. Object
  * layouts are immutable, with the methods for adding new instance variables of generalizing the
  * type of existing instance variables returning new object layouts.
+ * <p>
+ * Layouts form a tree. Every layout caches the transitions taken from it, so objects that add or
+ * generalize the same attributes from the same layout end up sharing one successor. Adding an
+ * attribute to a shared layout leaves it valid: the objects still using it keep their layout checks
+ * and follow the cached transition once they add the same attribute. Any other transition, and any
+ * transition from a private layout, supersedes the layout. It is invalidated and remembers its
+ * successor, which lets the objects still holding it move forward to the current layout.
+ * <p>
+ * A layout also records the class of the objects using it, and whether it is private to a single
+ * object rather than shared with the class as its instance layout. Both are inherited by every
+ * layout derived from it, which keeps them out of the object header.
  *
  * @author zwei
  */
 public abstract class ObjectLayout {
 
     protected final String originHint;
+    protected final PythonClass pythonClass;
+    protected final boolean isPrivate;
     protected final Assumption validAssumption;
-    protected final Map<String, StorageLocation> storageLocations = new HashMap<>();
+    protected final Map<String, StorageLocation> storageLocations = new LinkedHashMap<>();
 
-    public ObjectLayout(String originHint) {
+    private final Map<Transition, ObjectLayout> transitions = new HashMap<>();
+    private ObjectLayout successor;
+    private LocationTable locationTable;
+
+    public ObjectLayout(String originHint, PythonClass pythonClass, boolean isPrivate) {
         this.originHint = originHint;
+        this.pythonClass = pythonClass;
+        this.isPrivate = isPrivate;
         validAssumption = Truffle.getRuntime().createAssumption(originHint);
     }
 
@@ -54,22 +74,53 @@ public abstract class ObjectLayout {
      * Creates an empty object layout of the default type. Currently it's a
      * {@link FixedObjectLayout}.
      */
-    public static final ObjectLayout empty() {
-        return new FixedObjectLayout("(empty)");
+    public static final ObjectLayout empty(PythonClass pythonClass) {
+        return new FixedObjectLayout("(empty)", pythonClass);
     }
 
     public final Assumption getValidAssumption() {
         return validAssumption;
     }
 
+    /**
+     * The class of the objects using this layout. Null only for the bootstrap type class.
+     */
+    public final PythonClass getPythonClass() {
+        return pythonClass;
+    }
+
+    /**
+     * A private layout belongs to a single object, a module or a class for instance, and is never
+     * published as the instance layout of its class.
+     */
+    public final boolean isPrivate() {
+        return isPrivate;
+    }
+
     public abstract boolean isEmpty();
 
+    /**
+     * A sealed layout is fixed when its class is created and never changes.
+     */
+    public boolean isSealed() {
+        return false;
+    }
+
     public abstract Assumption getCtorValidAssumption();
 
     public abstract int getObjectStorageLocationsUsed();
 
+    public int getPrimitiveSpillLocationsUsed() {
+        return 0;
+    }
+
     protected abstract ObjectLayout copy();
 
+    /**
+     * Returns a private layout with the same storage locations, without retiring this one.
+     */
+    protected abstract ObjectLayout toPrivateLayout();
+
     protected abstract ObjectLayout addAttribute(String name, Class<?> type);
 
     protected abstract ObjectLayout deleteAttribute(String name);
@@ -78,18 +129,82 @@ public abstract class ObjectLayout {
 
     protected abstract boolean verifyObjectStorage(PythonObject objectStorage);
 
+    /**
+     * Whether the given layout was derived from this one by adding attributes only. Such a layout
+     * keeps every existing attribute at the same storage location.
+     */
+    protected boolean isExtendedBy(@SuppressWarnings("unused") ObjectLayout other) {
+        return false;
+    }
+
     protected ObjectLayout toFlexibleObjectLayout(Class<?> objectStorageClass) {
         if (!(this instanceof FlexibleObjectLayout)) {
-            validAssumption.invalidate();
+            invalidate();
         }
-        return new FlexibleObjectLayout(originHint + ".toflex", getAttributeTypes(), objectStorageClass, null);
+        return new FlexibleObjectLayout(originHint + ".toflex", pythonClass, isPrivate, getAttributeTypes(), objectStorageClass, null);
+    }
+
+    /**
+     * Returns the layout a previous transition of the given kind led to, unless that layout has
+     * been superseded itself since.
+     */
+    protected final ObjectLayout lookupTransition(char kind, String name, Class<?> type) {
+        final ObjectLayout cached = transitions.get(new Transition(kind, name, type));
+
+        if (cached != null && cached.validAssumption.isValid()) {
+            return cached;
+        }
+
+        return null;
+    }
+
+    /**
+     * Caches the transition and retires this layout in favor of its successor.
+     */
+    protected final ObjectLayout supersede(char kind, String name, Class<?> type, ObjectLayout next) {
+        transitions.put(new Transition(kind, name, type), next);
+        successor = next;
+        invalidate();
+        return next;
+    }
+
+    /**
+     * Caches a transition adding an attribute. A shared layout stays valid, only the allocation
+     * sites still starting from it are sent on to the class's newer instance layout.
+     */
+    protected final ObjectLayout extend(String name, Class<?> type, ObjectLayout next) {
+        if (isPrivate) {
+            return supersede('+', name, type, next);
+        }
+
+        transitions.put(new Transition('+', name, type), next);
+        getCtorValidAssumption().invalidate();
+        return next;
+    }
+
+    protected void invalidate() {
+        validAssumption.invalidate();
+    }
+
+    /**
+     * Follows the successors of a superseded layout to the one currently in use, or returns null
+     * if this layout was retired without a successor.
+     */
+    public final ObjectLayout getValidSuccessor() {
+        ObjectLayout current = this;
+
+        while (current != null && !current.validAssumption.isValid()) {
+            current = current.successor;
+        }
+
+        return current;
     }
 
     /**
      * Get a map of attribute names to the type that they store.
      */
     public final Map<String, Class<?>> getAttributeTypes() {
-        Map<String, Class<?>> attributeTypes = new HashMap<>();
+        Map<String, Class<?>> attributeTypes = new LinkedHashMap<>();
 
         for (Entry<String, StorageLocation> entry : storageLocations.entrySet()) {
             final String name = entry.getKey();
@@ -107,7 +222,7 @@ public abstract class ObjectLayout {
      * Get a map of attribute names to the type that they store.
      */
     public final Map<String, StorageLocation> getAllStorageLocations() {
-        final Map<String, StorageLocation> allStorageLocations = new HashMap<>();
+        final Map<String, StorageLocation> allStorageLocations = new LinkedHashMap<>();
         allStorageLocations.putAll(storageLocations);
         return allStorageLocations;
     }
@@ -116,13 +231,14 @@ public abstract class ObjectLayout {
      * Find a storage location from a name.
      */
     public final StorageLocation findStorageLocation(String name) {
-        final StorageLocation storageLocation = storageLocations.get(name);
+        LocationTable table = locationTable;
 
-        if (storageLocation != null) {
-            return storageLocation;
+        if (table == null) {
+            table = new LocationTable(storageLocations);
+            locationTable = table;
         }
 
-        return null;
+        return table.find(name);
     }
 
     public String findAttributeId(StorageLocation location) {
@@ -140,4 +256,86 @@ public abstract class ObjectLayout {
         return this.getClass().getSimpleName() + " " + this.storageLocations.toString();
     }
 
+    /**
+     * Transitions are keyed by how the attribute is stored, so assigning a list or a dict to a new
+     * attribute leads to the same layout.
+     */
+    private static final class Transition {
+
+        private final char kind;
+        private final String name;
+        private final Class<?> type;
+
+        Transition(char kind, String name, Class<?> type) {
+            this.kind = kind;
+            this.name = name;
+            this.type = type;
+        }
+
+        @Override
+        public int hashCode() {
+            return (name.hashCode() * 31 + kind) * 31 + type.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof Transition)) {
+                return false;
+            }
+
+            final Transition that = (Transition) other;
+            return kind == that.kind && type == that.type && name.equals(that.name);
+        }
+    }
+
+    /**
+     * An open addressing table with linear probing, built once per layout. Layouts rarely hold more
+     * than a handful of attributes, so a lookup usually touches a single slot.
+     */
+    private static final class LocationTable {
+
+        private final String[] names;
+        private final StorageLocation[] locations;
+        private final int mask;
+
+        LocationTable(Map<String, StorageLocation> storageLocations) {
+            int capacity = 4;
+
+            while (capacity < storageLocations.size() * 2) {
+                capacity <<= 1;
+            }
+
+            this.names = new String[capacity];
+            this.locations = new StorageLocation[capacity];
+            this.mask = capacity - 1;
+
+            for (Entry<String, StorageLocation> entry : storageLocations.entrySet()) {
+                int slot = entry.getKey().hashCode() & mask;
+
+                while (names[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+
+                names[slot] = entry.getKey();
+                locations[slot] = entry.getValue();
+            }
+        }
+
+        StorageLocation find(String name) {
+            int slot = name.hashCode() & mask;
+
+            while (true) {
+                final String candidate = names[slot];
+
+                if (candidate == null) {
+                    return null;
+                } else if (candidate == name || candidate.equals(name)) {
+                    return locations[slot];
+                }
+
+                slot = (slot + 1) & mask;
+            }
+        }
+    }
+
 }
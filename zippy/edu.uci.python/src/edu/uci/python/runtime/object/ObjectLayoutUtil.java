@@ -105,6 +105,14 @@ public class ObjectLayoutUtil {
         UnsafeAccess.putDouble(array, Unsafe.ARRAY_DOUBLE_BASE_OFFSET + Unsafe.ARRAY_DOUBLE_INDEX_SCALE * index, value, locationIdentity);
     }
 
+    public static final long readLongArrayUnsafeAt(long[] array, int index, Object locationIdentity) {
+        return UnsafeAccess.getLong(array, Unsafe.ARRAY_LONG_BASE_OFFSET + Unsafe.ARRAY_LONG_INDEX_SCALE * index, true, locationIdentity);
+    }
+
+    public static final void writeLongArrayUnsafeAt(long[] array, int index, long value, Object locationIdentity) {
+        UnsafeAccess.putLong(array, Unsafe.ARRAY_LONG_BASE_OFFSET + Unsafe.ARRAY_LONG_INDEX_SCALE * index, value, locationIdentity);
+    }
+
     public static final char readCharArrayUnsafeAt(char[] array, int index, Object locationIdentity) {
         return UnsafeAccess.getChar(array, Unsafe.ARRAY_CHAR_BASE_OFFSET + Unsafe.ARRAY_CHAR_INDEX_SCALE * index, true, locationIdentity);
     }
@@ -234,6 +242,14 @@ public class ObjectLayoutUtil {
             UNSAFE.putDouble(array, i, value);
         }
 
+        public static long getLong(long[] array, long i, @SuppressWarnings("unused") boolean b, @SuppressWarnings("unused") Object locationIdentity) {
+            return UNSAFE.getLong(array, i);
+        }
+
+        public static void putLong(long[] array, long i, long value, @SuppressWarnings("unused") Object locationIdentity) {
+            UNSAFE.putLong(array, i, value);
+        }
+
         public static long objectFieldOffset(Field reflectionField) {
             return UNSAFE.objectFieldOffset(reflectionField);
         }
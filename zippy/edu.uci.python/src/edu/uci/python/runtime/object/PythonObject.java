@@ -30,32 +30,44 @@ import java.util.Map.Entry;
 import org.python.core.*;
 
 import com.oracle.truffle.api.*;
-import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.object.location.*;
 import edu.uci.python.runtime.standardtype.*;
 
+/**
+ * The header of a Python object is kept small. The class and whether the layout is private to the
+ * object are read from the layout. Object fields use null to mean unset, so only primitive fields
+ * need a bit in the primitive set map. The spill arrays are allocated on the first write to a
+ * spilled attribute.
+ */
 public abstract class PythonObject implements Comparable<Object> {
 
-    @CompilationFinal protected PythonClass pythonClass;
-
     protected ObjectLayout objectLayout;
-    protected boolean usePrivateLayout;
 
-    // A bit map to indicate which primitives are set.
+    // A bit map to indicate which primitive fields are set.
     private int primitiveSetMap;
 
     protected Object[] arrayObjects = null;
 
+    // Unboxed primitives that do not fit in fields, as raw bits.
+    protected long[] primitiveSpill = null;
+
     public PythonObject(PythonClass pythonClass) {
-        this.pythonClass = pythonClass;
-        objectLayout = pythonClass == null ? ObjectLayout.empty() : pythonClass.getInstanceObjectLayout();
-        allocateSpillArray();
+        objectLayout = pythonClass == null ? ObjectLayout.empty(null) : pythonClass.getInstanceObjectLayout();
         assert verifyLayout();
     }
 
+    /**
+     * Allocates an object directly in an instance layout of its class. Nothing is read from the
+     * class, so a constant layout leaves a plain allocation behind.
+     */
+    protected PythonObject(ObjectLayout objectLayout) {
+        this.objectLayout = objectLayout;
+    }
+
     public final PythonClass getPythonClass() {
+        final PythonClass pythonClass = objectLayout.getPythonClass();
         assert pythonClass != null;
         return pythonClass;
     }
@@ -68,6 +80,66 @@ public abstract class PythonObject implements Comparable<Object> {
         return arrayObjects;
     }
 
+    public final long[] getPrimitiveSpillArray() {
+        return primitiveSpill;
+    }
+
+    /**
+     * Returns the object spill array, growing it to the size the current layout needs.
+     */
+    public final Object[] getSpillArrayForWrite() {
+        final int length = objectLayout.getObjectStorageLocationsUsed();
+
+        if (arrayObjects == null) {
+            arrayObjects = new Object[length];
+            instrumentSpillArray(arrayObjects);
+        } else if (arrayObjects.length < length) {
+            arrayObjects = Arrays.copyOf(arrayObjects, length);
+            instrumentSpillArray(arrayObjects);
+        }
+
+        return arrayObjects;
+    }
+
+    /**
+     * Returns the primitive spill array, growing it to the size the current layout needs.
+     */
+    public final long[] getPrimitiveSpillArrayForWrite() {
+        final int length = ArrayPrimitiveStorageLocation.getSpillArrayLength(objectLayout.getPrimitiveSpillLocationsUsed());
+
+        if (primitiveSpill == null) {
+            primitiveSpill = new long[length];
+            instrumentSpillArray(primitiveSpill);
+        } else if (primitiveSpill.length < length) {
+            primitiveSpill = Arrays.copyOf(primitiveSpill, length);
+            instrumentSpillArray(primitiveSpill);
+        }
+
+        return primitiveSpill;
+    }
+
+    /**
+     * Allocates the spill arrays upfront for an instance whose allocation site predicts that its
+     * constructor fills them.
+     */
+    public final void presizeSpillArrays(boolean objects, boolean primitives) {
+        if (objects && objectLayout.getObjectStorageLocationsUsed() > 0) {
+            getSpillArrayForWrite();
+        }
+
+        if (primitives && objectLayout.getPrimitiveSpillLocationsUsed() > 0) {
+            getPrimitiveSpillArrayForWrite();
+        }
+    }
+
+    private void instrumentSpillArray(Object array) {
+        final PythonClass pythonClass = objectLayout.getPythonClass();
+
+        if (pythonClass != null && pythonClass.getContext().getPythonOptions().InstrumentObjectStorageAllocation) {
+            PythonObjectAllocationInstrumentor.getInstance().instrumentSpillArray(array);
+        }
+    }
+
     public int getPrimitiveSetMap() {
         return primitiveSetMap;
     }
@@ -98,21 +170,20 @@ public abstract class PythonObject implements Comparable<Object> {
 
         if (isOwnAttribute(attributeId)) {
             storage = this;
-        } else if (pythonClass != null) {
-            storage = pythonClass.getValidStorageFullLookup(attributeId);
+        } else if (objectLayout.getPythonClass() != null) {
+            storage = objectLayout.getPythonClass().getValidStorageFullLookup(attributeId);
         }
 
         return storage;
     }
 
-    protected void allocateSpillArray() {
-        final int objectStorageLocationsUsed = objectLayout.getObjectStorageLocationsUsed();
-
-        if (objectStorageLocationsUsed == 0) {
-            arrayObjects = null;
-        } else {
-            arrayObjects = new Object[objectStorageLocationsUsed];
-        }
+    /**
+     * Drops the spill arrays after a relayout. They are allocated again as spilled attributes are
+     * written.
+     */
+    protected void resetSpillArrays() {
+        arrayObjects = null;
+        primitiveSpill = null;
     }
 
     /**
@@ -123,8 +194,7 @@ public abstract class PythonObject implements Comparable<Object> {
      * layout of its class.
      * <p>
      * As described in the Python documentation, the attribute lookup order is:<br>
-     * Object's dict -> its type's dict -> super classes' dicts.<br>
-     * More advanced Method Resolution Order (C3 MRO) is not yet supported.
+     * Object's dict -> the dicts of the classes in its type's C3 method resolution order.
      */
     public Object getAttribute(String name) {
         // Find the storage location
@@ -132,6 +202,7 @@ public abstract class PythonObject implements Comparable<Object> {
 
         // Continue the look up in PythonType.
         if (storageLocation == null) {
+            final PythonClass pythonClass = objectLayout.getPythonClass();
             return pythonClass == null ? PNone.NONE : pythonClass.getAttribute(name);
         }
 
@@ -247,11 +318,13 @@ public abstract class PythonObject implements Comparable<Object> {
     }
 
     public boolean usePrivateLayout() {
-        return usePrivateLayout;
+        return objectLayout.isPrivate();
     }
 
     public void switchToPrivateLayout() {
-        usePrivateLayout = true;
+        if (!objectLayout.isPrivate()) {
+            updateLayout(objectLayout.toPrivateLayout());
+        }
     }
 
     public final Assumption getStableAssumption() {
@@ -266,8 +339,12 @@ public abstract class PythonObject implements Comparable<Object> {
         return getPythonClass();
     }
 
+    /**
+     * Only verified in the interpreter. A verification in compiled code would make every object it
+     * checks escape.
+     */
     public boolean verifyLayout() {
-        return objectLayout.verifyObjectStorage(this);
+        return !CompilerDirectives.inInterpreter() || objectLayout.verifyObjectStorage(this);
     }
 
     @Override
@@ -277,7 +354,7 @@ public abstract class PythonObject implements Comparable<Object> {
 
     @Override
     public String toString() {
-        return "<" + pythonClass.getName() + " object at " + hashCode() + ">";
+        return "<" + getPythonClass().getName() + " object at " + hashCode() + ">";
     }
 
 }
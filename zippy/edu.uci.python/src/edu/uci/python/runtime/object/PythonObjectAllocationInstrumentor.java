@@ -6,6 +6,7 @@ public class PythonObjectAllocationInstrumentor {
 
     public static long FixedStorageAllocationSize = 0;
     public static long FlexibleStorageAllocationSize = 0;
+    public static long SpillArrayAllocationSize = 0;
 
     private long fixedObjectStorageSize = 0;
     private long flexibleObjectStorageSize = 0;
@@ -41,9 +42,15 @@ public class PythonObjectAllocationInstrumentor {
         FlexibleStorageAllocationSize += flexibleObjectStorageSize;
     }
 
+    public void instrumentSpillArray(Object array) {
+        MemoryMeter mm = new MemoryMeter();
+        SpillArrayAllocationSize += mm.measure(array);
+    }
+
     public void printAllocations() {
         System.out.println("[ZipPy] allocated FixedObjectStorage " + FixedStorageAllocationSize + " byte");
         System.out.println("[ZipPy] allocated FlexibleObjectStorage " + FlexibleStorageAllocationSize + " byte");
+        System.out.println("[ZipPy] allocated spill arrays " + SpillArrayAllocationSize + " byte");
     }
 
 }
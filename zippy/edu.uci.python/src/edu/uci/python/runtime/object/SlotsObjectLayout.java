@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.object;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
+
+import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * The sealed instance layout of a class that declares {@code __slots__}. Every slot maps onto a
+ * field of the storage class generated for the class when it is created. The layout never changes,
+ * so it is never invalidated and instances never need a spill array.
+ */
+public final class SlotsObjectLayout extends ObjectLayout {
+
+    private final Class<?> storageClass;
+
+    public SlotsObjectLayout(PythonClass pythonClass, List<String> slots, Class<?> storageClass) {
+        super(pythonClass.getName() + ".__slots__", pythonClass, false);
+        this.storageClass = storageClass;
+
+        for (String slot : slots) {
+            try {
+                final long offset = ObjectLayoutUtil.getExactFieldOffsetOf(storageClass, FlexibleStorageClassGenerator.getFieldName(slot));
+                storageLocations.put(slot, new SlotStorageLocation(this, offset));
+            } catch (NoSuchFieldException e) {
+                throw new IllegalStateException("no field for slot " + slot + " in " + storageClass);
+            }
+        }
+    }
+
+    @Override
+    public boolean isSealed() {
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return storageLocations.isEmpty();
+    }
+
+    @Override
+    public Assumption getCtorValidAssumption() {
+        return validAssumption;
+    }
+
+    @Override
+    public int getObjectStorageLocationsUsed() {
+        return 0;
+    }
+
+    @Override
+    protected ObjectLayout copy() {
+        return this;
+    }
+
+    @Override
+    protected ObjectLayout toPrivateLayout() {
+        throw new IllegalStateException("the layout of " + pythonClass + " instances is sealed");
+    }
+
+    @Override
+    protected ObjectLayout addAttribute(String name, Class<?> type) {
+        throw Py.AttributeError("'" + pythonClass.getName() + "' object has no attribute '" + name + "'");
+    }
+
+    @Override
+    protected ObjectLayout deleteAttribute(String name) {
+        throw new IllegalStateException("slots are cleared in place");
+    }
+
+    @Override
+    protected ObjectLayout generalizedAttribute(String name) {
+        throw new IllegalStateException("slots always store objects");
+    }
+
+    @Override
+    protected boolean verifyObjectStorage(PythonObject objectStorage) {
+        return storageClass.isInstance(objectStorage) && objectStorage.getSpillArray() == null;
+    }
+
+}
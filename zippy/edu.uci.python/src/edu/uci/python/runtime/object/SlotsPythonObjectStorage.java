@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.object;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Base class of the storage classes generated for classes that declare {@code __slots__}. The
+ * instance layout is sealed when the class is created, so instances never change layout.
+ */
+public abstract class SlotsPythonObjectStorage extends PythonObject {
+
+    public SlotsPythonObjectStorage(PythonClass pythonClass) {
+        super(pythonClass);
+        assert objectLayout.isSealed();
+    }
+
+    @Override
+    public void syncObjectLayoutWithClass() {
+        assert objectLayout == getPythonClass().getInstanceObjectLayout();
+    }
+
+    @Override
+    public void updateLayout(ObjectLayout newLayout) {
+        throw new IllegalStateException("the layout of " + getPythonClass() + " instances is sealed");
+    }
+
+    @Override
+    public void deleteAttribute(String name) {
+        final StorageLocation storageLocation = objectLayout.findStorageLocation(name);
+
+        if (storageLocation == null || !storageLocation.isSet(this)) {
+            throw Py.AttributeError(this + " object has no attribute " + name);
+        }
+
+        ((SlotStorageLocation) storageLocation).clear(this);
+    }
+
+}
@@ -43,15 +43,20 @@ public final class ArrayObjectStorageLocation extends StorageLocation {
 
     @Override
     public boolean isSet(PythonObject object) {
-        return object.getSpillArray()[index] != null;
+        final Object[] spill = object.getSpillArray();
+        return spill != null && index < spill.length && spill[index] != null;
     }
 
     @Override
     public Object read(PythonObject object) {
-        final Object result = ObjectLayoutUtil.readObjectArrayUnsafeAt(object.getSpillArray(), index, this);
+        final Object[] spill = object.getSpillArray();
 
-        if (result != null) {
-            return result;
+        if (spill != null && index < spill.length) {
+            final Object result = ObjectLayoutUtil.readObjectArrayUnsafeAt(spill, index, this);
+
+            if (result != null) {
+                return result;
+            }
         }
 
         CompilerDirectives.transferToInterpreterAndInvalidate();
@@ -60,7 +65,7 @@ public final class ArrayObjectStorageLocation extends StorageLocation {
 
     @Override
     public void write(PythonObject object, Object value) {
-        ObjectLayoutUtil.writeObjectArrayUnsafeAt(object.getSpillArray(), index, value, this);
+        ObjectLayoutUtil.writeObjectArrayUnsafeAt(object.getSpillArrayForWrite(), index, value, this);
     }
 
     @Override
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.object.location;
+
+import edu.uci.python.runtime.object.*;
+
+/**
+ * A storage location for an unboxed primitive in the primitive spill array of an object. Values
+ * are kept as raw bits. The array is divided into blocks of a set map word followed by up to 64
+ * value words, so a location keeps its position when the array grows.
+ */
+public abstract class ArrayPrimitiveStorageLocation extends StorageLocation {
+
+    private static final int BLOCK_SIZE = 64;
+
+    protected final int index;
+    private final int valueIndex;
+    private final int setMapIndex;
+    private final long mask;
+
+    protected ArrayPrimitiveStorageLocation(ObjectLayout objectLayout, int index) {
+        super(objectLayout);
+        this.index = index;
+        this.setMapIndex = (index / BLOCK_SIZE) * (BLOCK_SIZE + 1);
+        this.valueIndex = setMapIndex + 1 + index % BLOCK_SIZE;
+        this.mask = 1L << (index % BLOCK_SIZE);
+    }
+
+    /**
+     * The length of a primitive spill array holding the given number of locations.
+     */
+    public static int getSpillArrayLength(int locationsUsed) {
+        return locationsUsed + (locationsUsed + BLOCK_SIZE - 1) / BLOCK_SIZE;
+    }
+
+    /**
+     * The spill array is allocated lazily, so a missing or short array means the location is unset.
+     */
+    @Override
+    public boolean isSet(PythonObject object) {
+        final long[] spill = object.getPrimitiveSpillArray();
+        return spill != null && valueIndex < spill.length && (ObjectLayoutUtil.readLongArrayUnsafeAt(spill, setMapIndex, this) & mask) != 0;
+    }
+
+    protected final long readRaw(PythonObject object) {
+        return ObjectLayoutUtil.readLongArrayUnsafeAt(object.getPrimitiveSpillArray(), valueIndex, this);
+    }
+
+    protected final void writeRaw(PythonObject object, long value) {
+        final long[] spill = object.getPrimitiveSpillArrayForWrite();
+        ObjectLayoutUtil.writeLongArrayUnsafeAt(spill, valueIndex, value, this);
+        ObjectLayoutUtil.writeLongArrayUnsafeAt(spill, setMapIndex, ObjectLayoutUtil.readLongArrayUnsafeAt(spill, setMapIndex, this) | mask, this);
+    }
+
+    protected final void markAsUnset(PythonObject object) {
+        final long[] spill = object.getPrimitiveSpillArray();
+
+        if (spill == null || valueIndex >= spill.length) {
+            return;
+        }
+
+        ObjectLayoutUtil.writeLongArrayUnsafeAt(spill, setMapIndex, ObjectLayoutUtil.readLongArrayUnsafeAt(spill, setMapIndex, this) & ~mask, this);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + " at " + index;
+    }
+
+}
@@ -35,6 +35,14 @@ public final class FieldObjectStorageLocation extends FieldStorageLocation {
         this.storedClass = storedClass;
     }
 
+    /**
+     * Python values are never null, so a null field means the attribute is unset.
+     */
+    @Override
+    public boolean isSet(PythonObject object) {
+        return ObjectLayoutUtil.getObject(object, offset, true, this) != null;
+    }
+
     @Override
     public Object read(PythonObject object) {
         return ObjectLayoutUtil.getObject(object, offset, true, this);
@@ -43,7 +51,6 @@ public final class FieldObjectStorageLocation extends FieldStorageLocation {
     @Override
     public void write(PythonObject object, Object value) {
         ObjectLayoutUtil.putObject(object, offset, value, this);
-        markAsSet(object);
     }
 
     @Override
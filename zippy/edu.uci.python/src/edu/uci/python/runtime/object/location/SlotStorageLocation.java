@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.object.location;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
+
+import edu.uci.python.runtime.object.*;
+
+/**
+ * A slot declared in {@code __slots__}, stored in an object field of the generated storage class.
+ * An unset slot holds null.
+ */
+public final class SlotStorageLocation extends StorageLocation {
+
+    private final long offset;
+
+    public SlotStorageLocation(ObjectLayout objectLayout, long offset) {
+        super(objectLayout);
+        this.offset = offset;
+    }
+
+    @Override
+    public boolean isSet(PythonObject object) {
+        return ObjectLayoutUtil.getObject(object, offset, true, this) != null;
+    }
+
+    @Override
+    public Object read(PythonObject object) {
+        final Object result = ObjectLayoutUtil.getObject(object, offset, true, this);
+
+        if (result != null) {
+            return result;
+        }
+
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        throw Py.AttributeError(object + " object has no attribute " + getObjectLayout().findAttributeId(this));
+    }
+
+    @Override
+    public void write(PythonObject object, Object value) {
+        ObjectLayoutUtil.putObject(object, offset, value, this);
+    }
+
+    public void clear(PythonObject object) {
+        ObjectLayoutUtil.putObject(object, offset, null, this);
+    }
+
+    @Override
+    public Class<?> getStoredClass() {
+        return Object.class;
+    }
+
+    @Override
+    public String toString() {
+        return "slot@" + offset;
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.regex;
+
+import java.util.*;
+import java.util.regex.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * The result of a successful match. Group boundaries are copied out of the {@link Matcher}, so the
+ * matcher can go on searching; group strings are only created when asked for.
+ */
+public final class PMatch extends PythonBuiltinObject {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PMatch.class);
+
+    private final PPattern pattern;
+    private final String string;
+    private final int pos;
+    private final int endpos;
+
+    /**
+     * Start and end offsets of every group, -1 for groups that did not participate.
+     */
+    private final int[] regs;
+
+    public PMatch(PPattern pattern, String string, Matcher matcher, int pos, int endpos) {
+        this.pattern = pattern;
+        this.string = string;
+        this.pos = pos;
+        this.endpos = endpos;
+
+        final int groups = matcher.groupCount();
+        this.regs = new int[(groups + 1) * 2];
+        for (int i = 0; i <= groups; i++) {
+            regs[i * 2] = matcher.start(i);
+            regs[i * 2 + 1] = matcher.end(i);
+        }
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public PPattern getPattern() {
+        return pattern;
+    }
+
+    public String getString() {
+        return string;
+    }
+
+    public int getPos() {
+        return pos;
+    }
+
+    public int getEndpos() {
+        return endpos;
+    }
+
+    public int start(int group) {
+        return regs[group * 2];
+    }
+
+    public int end(int group) {
+        return regs[group * 2 + 1];
+    }
+
+    public Object group(int group) {
+        final int start = regs[group * 2];
+        return start < 0 ? PNone.NONE : string.substring(start, regs[group * 2 + 1]);
+    }
+
+    public Object group(Object group) {
+        return group(pattern.resolveGroup(group));
+    }
+
+    public PTuple groups(Object defaultValue) {
+        final Object[] items = new Object[pattern.getGroups()];
+        for (int i = 0; i < items.length; i++) {
+            final Object value = group(i + 1);
+            items[i] = value == PNone.NONE ? defaultValue : value;
+        }
+
+        return new PTuple(items);
+    }
+
+    @TruffleBoundary
+    public PDict groupdict(Object defaultValue) {
+        final PDict dict = new PDict();
+        for (Map.Entry<String, Integer> entry : pattern.getGroupIndex().entrySet()) {
+            final Object value = group((int) entry.getValue());
+            dict.setItem(entry.getKey(), value == PNone.NONE ? defaultValue : value);
+        }
+
+        return dict;
+    }
+
+    @TruffleBoundary
+    public String expand(String template) {
+        final StringBuilder sb = new StringBuilder();
+        final Object[] parts = pattern.parseTemplate(template);
+
+        for (Object part : parts) {
+            if (part instanceof String) {
+                sb.append((String) part);
+            } else {
+                final Object value = group((int) part);
+                if (value != PNone.NONE) {
+                    sb.append((String) value);
+                }
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        return "<_sre.SRE_Match object; span=(" + regs[0] + ", " + regs[1] + "), match=" + PSequence.toString(group(0)) + ">";
+    }
+
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.regex;
+
+import java.util.*;
+import java.util.regex.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A compiled regular expression. The Python pattern is translated once to a
+ * {@link java.util.regex.Pattern}; named groups become plain groups whose indices are kept in
+ * {@link #groupIndex}, since Java group names are more restricted than Python's.
+ */
+public final class PPattern extends PythonBuiltinObject {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PPattern.class);
+
+    public static final int IGNORECASE = 2;
+    public static final int LOCALE = 4;
+    public static final int MULTILINE = 8;
+    public static final int DOTALL = 16;
+    public static final int UNICODE = 32;
+    public static final int VERBOSE = 64;
+    public static final int ASCII = 256;
+
+    private final String pattern;
+    private final int flags;
+    private final Pattern compiled;
+    private final int groups;
+    private final Map<String, Integer> groupIndex;
+
+    private PPattern(String pattern, int flags, Pattern compiled, int groups, Map<String, Integer> groupIndex) {
+        this.pattern = pattern;
+        this.flags = flags;
+        this.compiled = compiled;
+        this.groups = groups;
+        this.groupIndex = groupIndex;
+    }
+
+    @TruffleBoundary
+    public static PPattern compile(String pattern, int flags) {
+        final Map<String, Integer> groupIndex = new LinkedHashMap<>();
+        final String translated = translate(pattern, groupIndex);
+
+        try {
+            final Pattern compiled = Pattern.compile(translated, toJavaFlags(flags));
+            return new PPattern(pattern, flags, compiled, compiled.matcher("").groupCount(), groupIndex);
+        } catch (PatternSyntaxException e) {
+            throw Py.ValueError("invalid regular expression " + PSequence.toString(pattern) + ": " + e.getDescription());
+        }
+    }
+
+    private static int toJavaFlags(int flags) {
+        int javaFlags = Pattern.UNIX_LINES;
+
+        if ((flags & ASCII) == 0) {
+            javaFlags |= Pattern.UNICODE_CHARACTER_CLASS | Pattern.UNICODE_CASE;
+        }
+        if ((flags & IGNORECASE) != 0) {
+            javaFlags |= Pattern.CASE_INSENSITIVE;
+        }
+        if ((flags & MULTILINE) != 0) {
+            javaFlags |= Pattern.MULTILINE;
+        }
+        if ((flags & DOTALL) != 0) {
+            javaFlags |= Pattern.DOTALL;
+        }
+        if ((flags & VERBOSE) != 0) {
+            javaFlags |= Pattern.COMMENTS;
+        }
+
+        return javaFlags;
+    }
+
+    /**
+     * Rewrites the Python specific syntax java.util.regex does not accept: (?P&lt;name&gt;...)
+     * groups, (?P=name) backreferences, \Z, and '[' or '&amp;' as literals in a character class.
+     */
+    private static String translate(String pattern, Map<String, Integer> groupIndex) {
+        final int length = pattern.length();
+        final StringBuilder sb = new StringBuilder(length + 8);
+        boolean inClass = false;
+        int groups = 0;
+
+        for (int i = 0; i < length; i++) {
+            final char c = pattern.charAt(i);
+
+            if (c == '\\' && i + 1 < length) {
+                final char next = pattern.charAt(++i);
+                sb.append(c).append(!inClass && next == 'Z' ? 'z' : next);
+            } else if (inClass) {
+                if (c == ']') {
+                    inClass = false;
+                } else if (c == '[' || c == '&') {
+                    sb.append('\\');
+                }
+                sb.append(c);
+            } else if (c == '[') {
+                inClass = true;
+                sb.append(c);
+
+                if (i + 1 < length && pattern.charAt(i + 1) == '^') {
+                    sb.append('^');
+                    i++;
+                }
+                if (i + 1 < length && pattern.charAt(i + 1) == ']') {
+                    sb.append("\\]");
+                    i++;
+                }
+            } else if (c == '(' && pattern.startsWith("(?P<", i)) {
+                final int close = pattern.indexOf('>', i);
+                if (close < 0) {
+                    throw Py.ValueError("missing >, unterminated name");
+                }
+
+                groupIndex.put(pattern.substring(i + 4, close), ++groups);
+                sb.append('(');
+                i = close;
+            } else if (c == '(' && pattern.startsWith("(?P=", i)) {
+                final int close = pattern.indexOf(')', i);
+                final Integer index = close < 0 ? null : groupIndex.get(pattern.substring(i + 4, close));
+                if (index == null) {
+                    throw Py.ValueError("unknown group name in " + PSequence.toString(pattern));
+                }
+
+                sb.append("(?:\\").append(index).append(')');
+                i = close;
+            } else {
+                if (c == '(' && (i + 1 >= length || pattern.charAt(i + 1) != '?')) {
+                    groups++;
+                }
+                sb.append(c);
+            }
+        }
+
+        return sb.toString();
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public String getPattern() {
+        return pattern;
+    }
+
+    public int getFlags() {
+        return flags;
+    }
+
+    public int getGroups() {
+        return groups;
+    }
+
+    public Map<String, Integer> getGroupIndex() {
+        return groupIndex;
+    }
+
+    @TruffleBoundary
+    public int resolveGroup(Object group) {
+        if (group instanceof Integer) {
+            final int index = (int) group;
+            if (index >= 0 && index <= groups) {
+                return index;
+            }
+        } else if (group instanceof String || group instanceof PString) {
+            final Integer index = groupIndex.get(group.toString());
+            if (index != null) {
+                return index;
+            }
+        }
+
+        throw Py.IndexError("no such group");
+    }
+
+    public Matcher matcher(String string, int pos, int endpos) {
+        final Matcher matcher = compiled.matcher(string);
+        if (pos != 0 || endpos != string.length()) {
+            // an endpos before pos leaves an empty region, as in CPython.
+            matcher.region(pos, Math.max(pos, endpos));
+            matcher.useAnchoringBounds(false);
+            matcher.useTransparentBounds(true);
+        }
+
+        return matcher;
+    }
+
+    @TruffleBoundary
+    public Object match(String string, int pos, int endpos) {
+        final Matcher matcher = matcher(string, pos, endpos);
+        return matcher.lookingAt() ? new PMatch(this, string, matcher, pos, endpos) : PNone.NONE;
+    }
+
+    @TruffleBoundary
+    public Object search(String string, int pos, int endpos) {
+        final Matcher matcher = matcher(string, pos, endpos);
+        return matcher.find() ? new PMatch(this, string, matcher, pos, endpos) : PNone.NONE;
+    }
+
+    @TruffleBoundary
+    public Object fullmatch(String string, int pos, int endpos) {
+        final Matcher matcher = matcher(string, pos, endpos);
+        return matcher.matches() ? new PMatch(this, string, matcher, pos, endpos) : PNone.NONE;
+    }
+
+    /**
+     * Returns the matched strings when the pattern has no group, the first group when it has one,
+     * and tuples of all groups otherwise.
+     */
+    @TruffleBoundary
+    public PList findall(String string, int pos, int endpos) {
+        final Matcher matcher = matcher(string, pos, endpos);
+        final PList list = new PList();
+
+        while (matcher.find()) {
+            if (groups == 0) {
+                list.append(matcher.group());
+            } else if (groups == 1) {
+                list.append(groupOrEmpty(matcher, 1));
+            } else {
+                final Object[] items = new Object[groups];
+                for (int i = 0; i < groups; i++) {
+                    items[i] = groupOrEmpty(matcher, i + 1);
+                }
+                list.append(new PTuple(items));
+            }
+        }
+
+        return list;
+    }
+
+    private static String groupOrEmpty(Matcher matcher, int group) {
+        final String value = matcher.group(group);
+        return value == null ? "" : value;
+    }
+
+    @TruffleBoundary
+    public PList finditer(String string, int pos, int endpos) {
+        final Matcher matcher = matcher(string, pos, endpos);
+        final PList list = new PList();
+
+        while (matcher.find()) {
+            list.append(new PMatch(this, string, matcher, pos, endpos));
+        }
+
+        return list;
+    }
+
+    /**
+     * Splits by the occurrences of the pattern, also returning the text of all groups. Empty
+     * matches do not split the string.
+     */
+    @TruffleBoundary
+    public PList split(String string, int maxsplit) {
+        final Matcher matcher = compiled.matcher(string);
+        final PList list = new PList();
+        int last = 0;
+        int splits = 0;
+
+        while ((maxsplit <= 0 || splits < maxsplit) && matcher.find()) {
+            if (matcher.start() == matcher.end()) {
+                continue;
+            }
+
+            list.append(string.substring(last, matcher.start()));
+            for (int i = 1; i <= groups; i++) {
+                final String group = matcher.group(i);
+                list.append(group == null ? PNone.NONE : group);
+            }
+
+            last = matcher.end();
+            splits++;
+        }
+
+        list.append(string.substring(last));
+        return list;
+    }
+
+    /**
+     * Returns the result of substituting at most count (all if zero) occurrences as a
+     * {@link PTuple} of the new string and the number of substitutions made.
+     */
+    @TruffleBoundary
+    public PTuple subn(Object repl, String string, int count) {
+        final Matcher matcher = compiled.matcher(string);
+        final Object[] template = repl instanceof PythonCallable ? null : parseTemplate(castToString(repl));
+        StringBuilder sb = null;
+        int last = 0;
+        int n = 0;
+
+        while ((count <= 0 || n < count) && matcher.find()) {
+            if (sb == null) {
+                sb = new StringBuilder(string.length() + 16);
+            }
+
+            sb.append(string, last, matcher.start());
+
+            if (template == null) {
+                final PMatch match = new PMatch(this, string, matcher, 0, string.length());
+                sb.append(castToString(((PythonCallable) repl).call(PArguments.createWithUserArguments(match))));
+            } else {
+                expandTemplate(sb, template, matcher);
+            }
+
+            last = matcher.end();
+            n++;
+        }
+
+        if (sb == null) {
+            return new PTuple(new Object[]{string, 0});
+        }
+
+        sb.append(string, last, string.length());
+        return new PTuple(new Object[]{sb.toString(), n});
+    }
+
+    private static String castToString(Object value) {
+        if (value instanceof String || value instanceof PString) {
+            return value.toString();
+        }
+
+        throw Py.TypeError("expected str instance, " + value + " found");
+    }
+
+    /**
+     * Splits a replacement template into literal Strings and Integer group references, resolving
+     * backslash escapes once per substitution rather than once per match.
+     */
+    @TruffleBoundary
+    public Object[] parseTemplate(String template) {
+        if (template.indexOf('\\') < 0) {
+            return new Object[]{template};
+        }
+
+        final ArrayList<Object> parts = new ArrayList<>();
+        final StringBuilder literal = new StringBuilder();
+        final int length = template.length();
+
+        for (int i = 0; i < length; i++) {
+            final char c = template.charAt(i);
+
+            if (c != '\\' || i + 1 == length) {
+                literal.append(c);
+                continue;
+            }
+
+            final char next = template.charAt(++i);
+            int group = -1;
+
+            if (next >= '1' && next <= '9') {
+                group = next - '0';
+                if (i + 1 < length && Character.isDigit(template.charAt(i + 1))) {
+                    group = group * 10 + template.charAt(++i) - '0';
+                }
+            } else if (next == 'g') {
+                final int close = template.indexOf('>', i);
+                if (i + 1 >= length || template.charAt(i + 1) != '<' || close < 0) {
+                    throw Py.ValueError("missing group name");
+                }
+
+                final String name = template.substring(i + 2, close);
+                group = resolveGroup(isDigits(name) ? (Object) Integer.parseInt(name) : name);
+                i = close;
+            } else {
+                literal.append(unescape(next));
+                continue;
+            }
+
+            if (group > groups) {
+                throw Py.ValueError("invalid group reference " + group);
+            }
+
+            if (literal.length() > 0) {
+                parts.add(literal.toString());
+                literal.setLength(0);
+            }
+            parts.add(group);
+        }
+
+        if (literal.length() > 0) {
+            parts.add(literal.toString());
+        }
+
+        return parts.toArray();
+    }
+
+    private static boolean isDigits(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (!Character.isDigit(s.charAt(i))) {
+                return false;
+            }
+        }
+
+        return !s.isEmpty();
+    }
+
+    private static String unescape(char c) {
+        switch (c) {
+            case 'n':
+                return "\n";
+            case 't':
+                return "\t";
+            case 'r':
+                return "\r";
+            case 'f':
+                return "\f";
+            case 'v':
+                return "\u000B";
+            case 'a':
+                return "\u0007";
+            case 'b':
+                return "\b";
+            case '0':
+                return "\0";
+            case '\\':
+                return "\\";
+            default:
+                return "\\" + c;
+        }
+    }
+
+    public static void expandTemplate(StringBuilder sb, Object[] template, MatchResult match) {
+        for (Object part : template) {
+            if (part instanceof String) {
+                sb.append((String) part);
+            } else {
+                final String group = match.group((int) part);
+                if (group != null) {
+                    sb.append(group);
+                }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "re.compile(" + PSequence.toString(pattern) + ")";
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.regex;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Least recently used cache of compiled patterns, shared by the re module functions that take a
+ * pattern string. Call sites with a constant pattern cache the {@link PPattern} themselves and only
+ * come here once.
+ */
+public final class PatternCache {
+
+    public static final int MAX_SIZE = 512;
+
+    private static final Map<Key, PPattern> cache = new LinkedHashMap<Key, PPattern>(64, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, PPattern> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private PatternCache() {
+    }
+
+    @TruffleBoundary
+    public static synchronized PPattern lookup(String pattern, int flags) {
+        final Key key = new Key(pattern, flags);
+        PPattern compiled = cache.get(key);
+
+        if (compiled == null) {
+            compiled = PPattern.compile(pattern, flags);
+            cache.put(key, compiled);
+        }
+
+        return compiled;
+    }
+
+    @TruffleBoundary
+    public static synchronized int size() {
+        return cache.size();
+    }
+
+    @TruffleBoundary
+    public static synchronized void purge() {
+        cache.clear();
+    }
+
+    private static final class Key {
+
+        private final String pattern;
+        private final int flags;
+
+        Key(String pattern, int flags) {
+            this.pattern = pattern;
+            this.flags = flags;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            final Key other = (Key) obj;
+            return flags == other.flags && pattern.equals(other.pattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode() * 31 + flags;
+        }
+    }
+
+}
@@ -31,71 +31,86 @@ import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.storage.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public abstract class PBaseSet extends PythonBuiltinObject implements PIterable {
 
-    protected final TreeSet<Object> set;
+    protected SetStorage store;
 
     public PBaseSet() {
-        this.set = new TreeSet<>();
+        this.store = EmptySetStorage.INSTANCE;
     }
 
-    public PBaseSet(TreeSet<Object> elements) {
-        this.set = elements;
+    public PBaseSet(SetStorage store) {
+        this.store = store;
     }
 
     public PBaseSet(PIterator iter) {
         this();
-        try {
-            while (true) {
-                this.set.add(iter.__next__());
-            }
-        } catch (StopIterationException e) {
-            // fall through
-        }
+        updateInternal(iter);
     }
 
     public PBaseSet(PBaseSet baseSet) {
-        this();
-        addAll(baseSet);
-    }
-
-    @TruffleBoundary
-    private void addAll(PBaseSet baseSet) {
-        this.set.addAll(baseSet.set);
+        this(baseSet.store.copy());
     }
 
-    public Set<Object> getSet() {
-        return set;
+    public final SetStorage getStorage() {
+        return store;
     }
 
     public PIterator __iter__() {
-        return new PBaseSetIterator(set.iterator());
+        return new PBaseSetIterator(store.iterator());
     }
 
     public final boolean contains(Object o) {
-        return this.set.contains(o);
+        return store.contains(o);
+    }
+
+    /**
+     * Adds an element, generalizing the storage if it cannot hold it.
+     */
+    protected final boolean addElement(Object o) {
+        try {
+            return store.add(o);
+        } catch (SequenceStoreException e) {
+            store = store.generalizeFor(o);
+
+            try {
+                return store.add(o);
+            } catch (SequenceStoreException ex) {
+                throw new IllegalStateException();
+            }
+        }
     }
 
     // disjoint
+    @TruffleBoundary
     public boolean isDisjoint(PBaseSet other) {
-        return Collections.disjoint(this.set, other.set);
+        final PBaseSet smaller = this.len() <= other.len() ? this : other;
+        final PBaseSet larger = smaller == this ? other : this;
+
+        for (Iterator<Object> i = smaller.store.iterator(); i.hasNext();) {
+            if (larger.contains(i.next())) {
+                return false;
+            }
+        }
+        return true;
     }
 
-    @SuppressWarnings("unused")
     public boolean isDisjoint(PIterator other) {
-        throw new UnsupportedOperationException();
+        return this.isDisjoint(new PSet(other));
     }
 
     // subset
+    @TruffleBoundary
     public boolean isSubset(PBaseSet other) {
         if (this.len() > other.len()) {
             return false;
         }
 
-        for (Object p : this.set) {
-            if (!other.set.contains(p)) {
+        for (Iterator<Object> i = store.iterator(); i.hasNext();) {
+            if (!other.contains(i.next())) {
                 return false;
             }
         }
@@ -124,10 +139,14 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
         return this.len() > other.len() && this.isSuperset(other);
     }
 
+    public boolean setEquals(PBaseSet other) {
+        return this.len() == other.len() && this.isSubset(other);
+    }
+
     // union
     public PBaseSet union(PBaseSet other) {
         PBaseSet newSet = cloneThisSet();
-        newSet.set.addAll(other.set);
+        newSet.updateInternal(other);
         return newSet;
     }
 
@@ -136,11 +155,18 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     }
 
     // intersection
+    @TruffleBoundary
     public PBaseSet intersection(PBaseSet other) {
-        boolean set1IsLarger = set.size() > other.set.size();
-        PBaseSet cloneSet = (set1IsLarger ? other.cloneThisSet() : this.cloneThisSet());
-        cloneSet.set.retainAll(set1IsLarger ? this.set : other.set);
-        return cloneSet;
+        PBaseSet newSet = createEmptySet();
+
+        for (Iterator<Object> i = store.iterator(); i.hasNext();) {
+            final Object element = i.next();
+
+            if (other.contains(element)) {
+                newSet.addElement(element);
+            }
+        }
+        return newSet;
     }
 
     public PBaseSet intersection(PIterator other) {
@@ -148,20 +174,37 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
     }
 
     // difference
+    @TruffleBoundary
     public PBaseSet difference(PBaseSet other) {
-        PBaseSet newSet = cloneThisSet();
-        newSet.set.removeAll(other.set);
+        PBaseSet newSet = createEmptySet();
+
+        for (Iterator<Object> i = store.iterator(); i.hasNext();) {
+            final Object element = i.next();
+
+            if (!other.contains(element)) {
+                newSet.addElement(element);
+            }
+        }
         return newSet;
     }
 
     public PBaseSet difference(PIterator other) {
-        return this.intersection(new PSet(other));
+        return this.difference(new PSet(other));
     }
 
     // symmetric_difference
-    @SuppressWarnings("unused")
+    @TruffleBoundary
     public PBaseSet symmetricDifference(PBaseSet other) {
-        throw new UnsupportedOperationException();
+        PBaseSet newSet = difference(other);
+
+        for (Iterator<Object> i = other.store.iterator(); i.hasNext();) {
+            final Object element = i.next();
+
+            if (!this.contains(element)) {
+                newSet.addElement(element);
+            }
+        }
+        return newSet;
     }
 
     // copy
@@ -209,6 +252,8 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     protected abstract PBaseSet cloneThisSet();
 
+    protected abstract PBaseSet createEmptySet();
+
     // update methods needed for updating both sets and frozen sets, internally
     // "Binary operations that mix set instances with frozenset return
     // the type of the first operand.
@@ -218,49 +263,78 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
         if (data instanceof PBaseSet) {
             updateInternal((PBaseSet) data);
         } else if (data instanceof PIterator) {
-            throw new UnsupportedOperationException();
+            updateInternal((PIterator) data);
         }
     }
 
+    @TruffleBoundary
     protected void updateInternal(PBaseSet data) {
-        // Skip the iteration if both are sets
-        set.addAll(data.set);
+        if (store == EmptySetStorage.INSTANCE) {
+            // Skip the iteration if this set is still empty
+            store = data.store.copy();
+            return;
+        }
+
+        for (Iterator<Object> i = data.store.iterator(); i.hasNext();) {
+            addElement(i.next());
+        }
     }
 
     protected void updateInternal(PIterator iterator) {
         try {
             while (true) {
-                set.add(iterator.__next__());
+                addElement(iterator.__next__());
             }
         } catch (StopIterationException e) {
             // fall through
         }
     }
 
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    @TruffleBoundary
+    private Object getExtreme(int sign) {
+        final Iterator<Object> i = store.iterator();
+
+        if (!i.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Object result = i.next();
+
+        while (i.hasNext()) {
+            final Object element = i.next();
+
+            if (((Comparable) element).compareTo(result) * sign > 0) {
+                result = element;
+            }
+        }
+        return result;
+    }
+
     @Override
     public Object getMax() {
-        return this.set.last();
+        return getExtreme(1);
     }
 
     @Override
     public Object getMin() {
-        return this.set.first();
+        return getExtreme(-1);
     }
 
     @Override
     public int len() {
-        return this.set.size();
+        return store.length();
     }
 
     @Override
     public String toString() {
-        if (set.size() == 0) {
+        if (store.length() == 0) {
             return "set()";
         }
 
         StringBuilder buf = new StringBuilder().append("{");
 
-        for (Iterator<Object> i = set.iterator(); i.hasNext();) {
+        for (Iterator<Object> i = store.iterator(); i.hasNext();) {
             String str = PSequence.toString(i.next());
             buf.append(str);
 
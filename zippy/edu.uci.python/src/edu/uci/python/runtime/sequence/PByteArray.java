@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * The mutable counterpart of {@link PBytes}: a growable byte array whose items are ints in
+ * range(256).
+ */
+public final class PByteArray extends PSequence {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PByteArray.class);
+
+    private byte[] bytes;
+    private int length;
+
+    public PByteArray() {
+        this.bytes = new byte[8];
+    }
+
+    public PByteArray(byte[] bytes) {
+        this.bytes = bytes;
+        this.length = bytes.length;
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    /**
+     * The backing array, which may be longer than {@link #len()}.
+     */
+    public byte[] getInternalByteArray() {
+        return bytes;
+    }
+
+    public byte[] toByteArray() {
+        return Arrays.copyOf(bytes, length);
+    }
+
+    @Override
+    public int len() {
+        return length;
+    }
+
+    private int normalizeIndex(int idx) {
+        final int normalized = idx < 0 ? idx + length : idx;
+
+        if (normalized < 0 || normalized >= length) {
+            throw Py.IndexError("bytearray index out of range");
+        }
+
+        return normalized;
+    }
+
+    private static byte castToByte(Object value) {
+        if (value instanceof Integer && (int) value >= 0 && (int) value < 256) {
+            return (byte) (int) value;
+        }
+
+        if (value instanceof Integer) {
+            throw Py.ValueError("byte must be in range(0, 256)");
+        }
+
+        throw Py.TypeError("an integer is required");
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+        }
+    }
+
+    @Override
+    public Object getItem(int idx) {
+        return bytes[normalizeIndex(idx)] & 0xFF;
+    }
+
+    @Override
+    public void setItem(int idx, Object value) {
+        bytes[normalizeIndex(idx)] = castToByte(value);
+    }
+
+    public void append(Object value) {
+        final byte b = castToByte(value);
+        ensureCapacity(length + 1);
+        bytes[length++] = b;
+    }
+
+    public void extend(byte[] other, int otherLength) {
+        ensureCapacity(length + otherLength);
+        System.arraycopy(other, 0, bytes, length, otherLength);
+        length += otherLength;
+    }
+
+    @Override
+    public Object getSlice(PSlice slice) {
+        int sliceLength = slice.computeActualIndices(length);
+        return getSlice(slice.getStart(), slice.getStop(), slice.getStep(), sliceLength);
+    }
+
+    @Override
+    public Object getSlice(int start, int stop, int step, int sliceLength) {
+        byte[] newBytes = new byte[sliceLength];
+
+        for (int i = start, j = 0; j < sliceLength; i += step, j++) {
+            newBytes[j] = bytes[i];
+        }
+
+        return new PByteArray(newBytes);
+    }
+
+    @Override
+    public void setSlice(PSlice slice, PSequence value) {
+        final byte[] values = toBytes(value);
+        final int sliceLength = slice.computeActualIndices(length);
+        final int start = slice.getStart();
+        final int step = slice.getStep();
+
+        if (step == 1) {
+            final int stop = start + sliceLength;
+            final int newLength = length - sliceLength + values.length;
+            ensureCapacity(newLength);
+            System.arraycopy(bytes, stop, bytes, start + values.length, length - stop);
+            System.arraycopy(values, 0, bytes, start, values.length);
+            length = newLength;
+            return;
+        }
+
+        if (values.length != sliceLength) {
+            throw Py.ValueError("attempt to assign bytes of size " + values.length + " to extended slice of size " + sliceLength);
+        }
+
+        for (int i = start, j = 0; j < sliceLength; i += step, j++) {
+            bytes[i] = values[j];
+        }
+    }
+
+    @Override
+    public void setSlice(int start, int stop, int step, PSequence value) {
+        setSlice(new PSlice(start, stop, step), value);
+    }
+
+    /**
+     * The assigned bytes, copied first so that {@code b[1:3] = b} reads the old contents.
+     */
+    private static byte[] toBytes(PSequence value) {
+        if (value instanceof PByteArray) {
+            return ((PByteArray) value).toByteArray();
+        } else if (value instanceof PBytes) {
+            return ((PBytes) value).getInternalByteArray();
+        }
+
+        final byte[] values = new byte[value.len()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = castToByte(value.getItem(i));
+        }
+
+        return values;
+    }
+
+    @Override
+    public void delItem(int idx) {
+        final int normalized = normalizeIndex(idx);
+        System.arraycopy(bytes, normalized + 1, bytes, normalized, length - normalized - 1);
+        length--;
+    }
+
+    @Override
+    public int index(Object value) {
+        return PBytes.indexOf(bytes, length, value);
+    }
+
+    @Override
+    public SequenceStorage getStorage() {
+        return PBytes.toStorage(bytes, length);
+    }
+
+    @Override
+    public boolean lessThan(PSequence sequence) {
+        return PBytes.compare(bytes, length, sequence) < 0;
+    }
+
+    @Override
+    public Object getMax() {
+        return new PBytes(toByteArray()).getMax();
+    }
+
+    @Override
+    public Object getMin() {
+        return new PBytes(toByteArray()).getMin();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof PByteArray) {
+            return Arrays.equals(toByteArray(), ((PByteArray) other).toByteArray());
+        } else if (other instanceof PBytes) {
+            return Arrays.equals(toByteArray(), ((PBytes) other).getInternalByteArray());
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return super.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return "bytearray(b" + PBytes.repr(bytes, length) + ")";
+    }
+
+}
@@ -24,13 +24,23 @@
  */
 package edu.uci.python.runtime.sequence;
 
+import java.nio.*;
+import java.nio.charset.*;
 import java.util.*;
 
+import org.python.core.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
 public final class PBytes extends PImmutableSequence {
 
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PBytes.class);
+
     private final byte[] bytes;
 
     public PBytes() {
@@ -41,31 +51,54 @@ public final class PBytes extends PImmutableSequence {
         this.bytes = bytes;
     }
 
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    /**
+     * The backing array, shared rather than copied. Callers must not modify it.
+     */
+    public byte[] getInternalByteArray() {
+        return bytes;
+    }
+
     public int len() {
         return bytes.length;
     }
 
     public Object getMax() {
-        byte[] copy = Arrays.copyOf(bytes, bytes.length);
-        Arrays.sort(copy);
-        return copy[0];
+        int max = 0;
+
+        for (byte b : bytes) {
+            max = Math.max(max, b & 0xFF);
+        }
+
+        return max;
     }
 
     public Object getMin() {
-        byte[] copy = Arrays.copyOf(bytes, bytes.length);
-        Arrays.sort(copy);
-        return copy[bytes.length - 1];
+        int min = 0xFF;
+
+        for (byte b : bytes) {
+            min = Math.min(min, b & 0xFF);
+        }
+
+        return min;
     }
 
+    /**
+     * Items of a bytes object are ints in range(256).
+     */
     @Override
     public Object getItem(int idx) {
-        int checkedIdx = idx;
+        final int checkedIdx = idx < 0 ? idx + bytes.length : idx;
 
-        if (idx < 0) {
-            checkedIdx += bytes.length;
+        if (checkedIdx < 0 || checkedIdx >= bytes.length) {
+            throw Py.IndexError("index out of range");
         }
 
-        return bytes[checkedIdx];
+        return bytes[checkedIdx] & 0xFF;
     }
 
     @Override
@@ -87,19 +120,246 @@ public final class PBytes extends PImmutableSequence {
         return new PBytes(newBytes);
     }
 
+    public PBytes __add__(PBytes other) {
+        byte[] newBytes = Arrays.copyOf(bytes, bytes.length + other.bytes.length);
+        System.arraycopy(other.bytes, 0, newBytes, bytes.length, other.bytes.length);
+        return new PBytes(newBytes);
+    }
+
+    public PBytes __mul__(int times) {
+        byte[] newBytes = new byte[Math.max(times, 0) * bytes.length];
+
+        for (int i = 0; i < newBytes.length; i += bytes.length) {
+            System.arraycopy(bytes, 0, newBytes, i, bytes.length);
+        }
+
+        return new PBytes(newBytes);
+    }
+
     @Override
     public int index(Object value) {
-        throw new UnsupportedOperationException();
+        return indexOf(bytes, bytes.length, value);
+    }
+
+    static int indexOf(byte[] bytes, int length, Object value) {
+        if (value instanceof Integer) {
+            final int b = (int) value;
+
+            for (int i = 0; i < length; i++) {
+                if ((bytes[i] & 0xFF) == b) {
+                    return i;
+                }
+            }
+        }
+
+        return -1;
     }
 
     @Override
     public SequenceStorage getStorage() {
-        throw new UnsupportedOperationException();
+        return toStorage(bytes, bytes.length);
+    }
+
+    /**
+     * A copy of the items as ints, so bytes can be the source of a list slice assignment.
+     */
+    static SequenceStorage toStorage(byte[] bytes, int length) {
+        int[] values = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            values[i] = bytes[i] & 0xFF;
+        }
+
+        return new IntSequenceStorage(values);
     }
 
     @Override
     public boolean lessThan(PSequence sequence) {
-        throw new UnsupportedOperationException();
+        return compare(bytes, bytes.length, sequence) < 0;
+    }
+
+    /**
+     * Compares unsigned byte by byte, as both bytes and bytearray order against either type.
+     */
+    static int compare(byte[] bytes, int length, PSequence other) {
+        final byte[] otherBytes;
+        final int otherLength;
+
+        if (other instanceof PBytes) {
+            otherBytes = ((PBytes) other).bytes;
+            otherLength = otherBytes.length;
+        } else if (other instanceof PByteArray) {
+            otherBytes = ((PByteArray) other).getInternalByteArray();
+            otherLength = other.len();
+        } else {
+            throw Py.TypeError("bytes can only be ordered against bytes or bytearray");
+        }
+
+        for (int i = 0; i < length && i < otherLength; i++) {
+            final int diff = (bytes[i] & 0xFF) - (otherBytes[i] & 0xFF);
+
+            if (diff != 0) {
+                return diff;
+            }
+        }
+
+        return length - otherLength;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other instanceof PBytes) {
+            return Arrays.equals(bytes, ((PBytes) other).bytes);
+        }
+
+        return false;
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "b" + repr(bytes, bytes.length);
+    }
+
+    /**
+     * The quoted literal form shared by bytes and bytearray, using single quotes unless the
+     * contents hold a single quote and no double quote.
+     */
+    public static String repr(byte[] bytes, int length) {
+        boolean hasSingle = false;
+        boolean hasDouble = false;
+
+        for (int i = 0; i < length; i++) {
+            hasSingle |= bytes[i] == '\'';
+            hasDouble |= bytes[i] == '"';
+        }
+
+        final char quote = hasSingle && !hasDouble ? '"' : '\'';
+        StringBuilder buf = new StringBuilder(length + 2).append(quote);
+
+        for (int i = 0; i < length; i++) {
+            final int b = bytes[i] & 0xFF;
+
+            if (b == quote || b == '\\') {
+                buf.append('\\').append((char) b);
+            } else if (b == '\t') {
+                buf.append("\\t");
+            } else if (b == '\n') {
+                buf.append("\\n");
+            } else if (b == '\r') {
+                buf.append("\\r");
+            } else if (b < 0x20 || b >= 0x7F) {
+                buf.append("\\x").append(Character.forDigit(b >> 4, 16)).append(Character.forDigit(b & 0xF, 16));
+            } else {
+                buf.append((char) b);
+            }
+        }
+
+        return buf.append(quote).toString();
+    }
+
+    /**
+     * Collects an iterable of ints in range(256), as accepted by bytes() and bytearray().
+     */
+    public static byte[] fromIterator(PIterator iterator) {
+        byte[] result = new byte[8];
+        int length = 0;
+
+        try {
+            while (true) {
+                Object item = iterator.__next__();
+
+                if (!(item instanceof Integer)) {
+                    throw Py.TypeError("an integer is required");
+                }
+
+                final int value = (int) item;
+
+                if (value < 0 || value > 0xFF) {
+                    throw Py.ValueError("byte must be in range(0, 256)");
+                }
+
+                if (length == result.length) {
+                    result = Arrays.copyOf(result, length * 2);
+                }
+
+                result[length++] = (byte) value;
+            }
+        } catch (StopIterationException e) {
+            // fall through
+        }
+
+        return Arrays.copyOf(result, length);
+    }
+
+    public static Charset lookupCharset(String encoding) {
+        String normalized = encoding.toLowerCase().replace('_', '-');
+
+        if (normalized.equals("latin-1") || normalized.equals("latin1") || normalized.equals("l1")) {
+            return StandardCharsets.ISO_8859_1;
+        }
+
+        try {
+            return Charset.forName(normalized);
+        } catch (IllegalArgumentException e) {
+            throw new PyException(Py.LookupError, "unknown encoding: " + encoding);
+        }
+    }
+
+    private static CodingErrorAction errorAction(String errors) {
+        switch (errors) {
+            case "strict":
+                return CodingErrorAction.REPORT;
+            case "ignore":
+                return CodingErrorAction.IGNORE;
+            case "replace":
+                return CodingErrorAction.REPLACE;
+            default:
+                throw new PyException(Py.LookupError, "unknown error handler name '" + errors + "'");
+        }
+    }
+
+    /**
+     * str.encode(encoding, errors) and bytes(str, encoding, errors).
+     */
+    public static byte[] encode(String str, String encoding, String errors) {
+        CodingErrorAction action = errorAction(errors);
+        CharsetEncoder encoder = lookupCharset(encoding).newEncoder().onMalformedInput(action).onUnmappableCharacter(action);
+
+        try {
+            ByteBuffer encoded = encoder.encode(CharBuffer.wrap(str));
+            return Arrays.copyOf(encoded.array(), encoded.limit());
+        } catch (CharacterCodingException e) {
+            throw Py.UnicodeEncodeError(encoding, str, 0, str.length(), "ordinal not in range");
+        }
+    }
+
+    /**
+     * bytes.decode(encoding, errors) and bytearray.decode(encoding, errors).
+     */
+    public static String decode(byte[] bytes, int length, String encoding, String errors) {
+        CodingErrorAction action = errorAction(errors);
+        CharsetDecoder decoder = lookupCharset(encoding).newDecoder().onMalformedInput(action).onUnmappableCharacter(action);
+
+        try {
+            return decoder.decode(ByteBuffer.wrap(bytes, 0, length)).toString();
+        } catch (CharacterCodingException e) {
+            throw Py.UnicodeDecodeError(encoding, "", 0, length, "invalid start byte");
+        }
+    }
+
+    public static String hex(byte[] bytes, int length) {
+        StringBuilder buf = new StringBuilder(length * 2);
+
+        for (int i = 0; i < length; i++) {
+            buf.append(Character.forDigit((bytes[i] >> 4) & 0xF, 16)).append(Character.forDigit(bytes[i] & 0xF, 16));
+        }
+
+        return buf.toString();
     }
 
 }
@@ -24,11 +24,13 @@
  */
 package edu.uci.python.runtime.sequence;
 
-import java.util.*;
+import org.python.core.*;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.storage.*;
 
 public final class PSet extends PBaseSet {
 
@@ -38,8 +40,8 @@ public final class PSet extends PBaseSet {
         super();
     }
 
-    public PSet(TreeSet<Object> elements) {
-        super(elements);
+    public PSet(SetStorage store) {
+        super(store);
     }
 
     public PSet(PIterator iterator) {
@@ -71,21 +73,28 @@ public final class PSet extends PBaseSet {
         return new PSet(this);
     }
 
+    @Override
+    protected PBaseSet createEmptySet() {
+        return new PSet();
+    }
+
     // add
     public boolean add(Object o) {
-        return set.add(o);
+        return addElement(o);
     }
 
     // remove
-    @SuppressWarnings({"unused", "static-method"})
     public boolean remove(Object o) {
-        throw new UnsupportedOperationException();
+        if (!store.remove(o)) {
+            throw PythonException.raise(Py.KeyError, PSequence.toString(o));
+        }
+
+        return true;
     }
 
     // discard
-    @SuppressWarnings({"unused", "static-method"})
     public boolean discard(Object o) {
-        throw new UnsupportedOperationException();
+        return store.remove(o);
     }
 
     // pop
@@ -96,7 +105,7 @@ public final class PSet extends PBaseSet {
 
     // clear
     public void clear() {
-        set.clear();
+        store = EmptySetStorage.INSTANCE;
     }
 
 }
@@ -27,16 +27,78 @@ package edu.uci.python.runtime.sequence;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
+/**
+ * A Python str that is either a plain Java String or a concatenation still sitting in a
+ * {@link StringAppendBuffer}. The buffered form is flattened into a String the first time anything
+ * but another concatenation needs the characters, such as indexing, hashing or comparing, all of
+ * which go through {@link #getValue()}.
+ */
 public final class PString extends PImmutableSequence {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PString.class);
 
-    private final String value;
+    /**
+     * Concatenations shorter than this stay plain Strings.
+     */
+    public static final int APPEND_BUFFER_THRESHOLD = 64;
+
+    private String value;
+    private final StringAppendBuffer buffer;
+    private final int length;
 
     public PString(String value) {
         this.value = value;
+        this.buffer = null;
+        this.length = value.length();
+    }
+
+    private PString(StringAppendBuffer buffer, int length) {
+        this.value = null;
+        this.buffer = buffer;
+        this.length = length;
+    }
+
+    /**
+     * Concatenates two Strings, buffering the result if it is long enough to be worth appending to.
+     */
+    public static Object concat(String left, String right) {
+        final int resultLength = left.length() + right.length();
+
+        if (resultLength < APPEND_BUFFER_THRESHOLD) {
+            return left + right;
+        }
+
+        final StringAppendBuffer newBuffer = new StringAppendBuffer(resultLength * 2);
+        newBuffer.append(left);
+        newBuffer.append(right);
+        return new PString(newBuffer, resultLength);
+    }
+
+    /**
+     * Returns this string followed by piece. Appends in place if this string ends where its buffer
+     * ends, otherwise copies into a new buffer that the result owns.
+     */
+    public PString append(String piece) {
+        final int resultLength = length + piece.length();
+
+        if (buffer != null && buffer.appendAt(length, piece)) {
+            return new PString(buffer, resultLength);
+        }
+
+        final StringAppendBuffer newBuffer;
+
+        if (buffer != null) {
+            newBuffer = buffer.copyOf(length, Math.max(length, piece.length()));
+        } else {
+            newBuffer = new StringAppendBuffer(resultLength * 2);
+            newBuffer.append(value);
+        }
+
+        newBuffer.append(piece);
+        return new PString(newBuffer, resultLength);
     }
 
     @Override
@@ -45,17 +107,30 @@ public final class PString extends PImmutableSequence {
     }
 
     public String getValue() {
+        if (value == null) {
+            value = buffer.toString(length);
+        }
+
         return value;
     }
 
+    public boolean isFlat() {
+        return value != null;
+    }
+
     @Override
     public int len() {
-        return value.length();
+        return length;
     }
 
     @Override
     public Object getItem(int idx) {
-        return value.charAt(idx);
+        return getValue().charAt(idx);
+    }
+
+    @Override
+    public PIterator __iter__() {
+        return new PStringIterator(getValue());
     }
 
     @Override
@@ -75,7 +150,7 @@ public final class PString extends PImmutableSequence {
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 
     @Override
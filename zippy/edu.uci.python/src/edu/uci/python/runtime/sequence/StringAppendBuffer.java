@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence;
+
+import java.nio.charset.*;
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Growable character buffer behind a concatenated {@link PString}. Several PStrings may share one
+ * buffer, each seeing a prefix of it. Only the PString that ends where the buffer ends may append in
+ * place, so s = s + piece in a loop is amortized linear.
+ * <p>
+ * The buffer keeps one byte per character while every character fits in Latin-1, which covers
+ * ASCII logs and records, and widens to a char array on the first character that does not.
+ */
+public final class StringAppendBuffer {
+
+    private static final int MIN_CAPACITY = 64;
+
+    private byte[] latin1;
+    private char[] chars;
+    private int length;
+
+    public StringAppendBuffer(int capacity) {
+        this.latin1 = new byte[Math.max(MIN_CAPACITY, capacity)];
+    }
+
+    private StringAppendBuffer(byte[] latin1, char[] chars, int length) {
+        this.latin1 = latin1;
+        this.chars = chars;
+        this.length = length;
+    }
+
+    public int length() {
+        return length;
+    }
+
+    public boolean isLatin1() {
+        return chars == null;
+    }
+
+    /**
+     * Appends the piece if the caller's view ends where the buffer ends, and returns false
+     * otherwise.
+     */
+    @TruffleBoundary
+    public boolean appendAt(int viewLength, String piece) {
+        if (viewLength != length) {
+            return false;
+        }
+
+        append(piece);
+        return true;
+    }
+
+    @TruffleBoundary
+    public void append(String piece) {
+        final int pieceLength = piece.length();
+        ensureCapacity(length + pieceLength);
+
+        if (chars == null) {
+            for (int i = 0; i < pieceLength; i++) {
+                final char c = piece.charAt(i);
+
+                if (c > 0xFF) {
+                    inflate(length + pieceLength);
+                    piece.getChars(i, pieceLength, chars, length);
+                    length += pieceLength - i;
+                    return;
+                }
+
+                latin1[length++] = (byte) c;
+            }
+        } else {
+            piece.getChars(0, pieceLength, chars, length);
+            length += pieceLength;
+        }
+    }
+
+    /**
+     * Copies the first viewLength characters into a fresh buffer with room for extra more.
+     */
+    @TruffleBoundary
+    public StringAppendBuffer copyOf(int viewLength, int extra) {
+        final int capacity = capacityFor(viewLength + extra);
+
+        if (chars == null) {
+            return new StringAppendBuffer(Arrays.copyOf(latin1, capacity), null, viewLength);
+        }
+
+        return new StringAppendBuffer(null, Arrays.copyOf(chars, capacity), viewLength);
+    }
+
+    @TruffleBoundary
+    public String toString(int viewLength) {
+        if (chars == null) {
+            return new String(latin1, 0, viewLength, StandardCharsets.ISO_8859_1);
+        }
+
+        return new String(chars, 0, viewLength);
+    }
+
+    @Override
+    public String toString() {
+        return toString(length);
+    }
+
+    private static int capacityFor(int required) {
+        return Math.max(MIN_CAPACITY, required + (required >> 1));
+    }
+
+    private void ensureCapacity(int required) {
+        if (chars == null) {
+            if (required > latin1.length) {
+                latin1 = Arrays.copyOf(latin1, capacityFor(required));
+            }
+        } else if (required > chars.length) {
+            chars = Arrays.copyOf(chars, capacityFor(required));
+        }
+    }
+
+    private void inflate(int required) {
+        chars = new char[Math.max(latin1.length, capacityFor(required))];
+
+        for (int i = 0; i < length; i++) {
+            chars[i] = (char) (latin1[i] & 0xFF);
+        }
+
+        latin1 = null;
+    }
+
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.io.*;
+import java.util.*;
+
+import edu.uci.python.runtime.datatype.*;
+
+/**
+ * Open addressing set storage with the same compact layout as {@link HashTable}. The index array
+ * maps hash slots to positions in the dense element arrays kept by subclasses, so iteration follows
+ * insertion order. Subclasses must hash their elements exactly like {@link HashTable#hash(Object)}
+ * does, which lets the generic lookup find an int element through an equal long or float.
+ */
+public abstract class HashSetStorage extends SetStorage {
+
+    protected static final int EMPTY = -1;
+    protected static final int DUMMY = -2;
+    protected static final int PERTURB_SHIFT = 5;
+    private static final int MIN_INDEX_SIZE = 8;
+
+    protected int[] indices;
+
+    // allocated on the first removal, cleared when the element arrays are compacted
+    private boolean[] removed;
+
+    // number of live elements
+    protected int size;
+
+    // number of entries consumed in the element arrays, including removed ones
+    protected int usedEntries;
+
+    protected HashSetStorage(int expectedSize) {
+        this.indices = newIndices(indexSizeFor(expectedSize));
+    }
+
+    protected HashSetStorage(HashSetStorage other) {
+        this.indices = Arrays.copyOf(other.indices, other.indices.length);
+        this.removed = other.removed == null ? null : Arrays.copyOf(other.removed, other.removed.length);
+        this.size = other.size;
+        this.usedEntries = other.usedEntries;
+    }
+
+    private static int[] newIndices(int indexSize) {
+        final int[] result = new int[indexSize];
+        Arrays.fill(result, EMPTY);
+        return result;
+    }
+
+    /**
+     * Keep the load factor of the index array under 2/3.
+     */
+    protected static int usableFor(int indexSize) {
+        return (indexSize << 1) / 3;
+    }
+
+    protected static int indexSizeFor(int expectedSize) {
+        int indexSize = MIN_INDEX_SIZE;
+
+        while (usableFor(indexSize) < expectedSize) {
+            indexSize <<= 1;
+        }
+
+        return indexSize;
+    }
+
+    protected final int entryCapacity() {
+        return usableFor(indices.length);
+    }
+
+    protected abstract int hashAt(int entry);
+
+    protected abstract Object getItemAt(int entry);
+
+    protected abstract void moveEntry(int from, int to);
+
+    protected abstract void resizeEntries(int capacity);
+
+    /**
+     * Drops the reference held by a dead entry. Primitive storages have nothing to release.
+     */
+    protected void releaseEntry(@SuppressWarnings("unused") int entry) {
+    }
+
+    @Override
+    public final int length() {
+        return size;
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        return findSlotGeneric(value) != EMPTY;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        final int slot = findSlotGeneric(value);
+
+        if (slot == EMPTY) {
+            return false;
+        }
+
+        removeSlot(slot);
+        return true;
+    }
+
+    /**
+     * Lookup under Python equality, used for values that are not of the storage's element type.
+     */
+    protected final int findSlotGeneric(Object value) {
+        return findSlotGeneric(value, HashTable.hash(value));
+    }
+
+    protected final int findSlotGeneric(Object value, int hash) {
+        final int mask = indices.length - 1;
+        int slot = hash & mask;
+        int perturb = hash;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return EMPTY;
+            }
+
+            if (entry >= 0 && hashAt(entry) == hash && HashTable.keyEquals(getItemAt(entry), value)) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findFreeSlot(int hash) {
+        final int mask = indices.length - 1;
+        int slot = hash & mask;
+        int perturb = hash;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Reserves the entry for a new element with the given hash. The caller has checked that no
+     * equal element is present and stores the element at the returned position.
+     */
+    protected final int newEntry(int hash) {
+        if (usedEntries == entryCapacity()) {
+            resize();
+        }
+
+        final int entry = usedEntries++;
+        indices[findFreeSlot(hash)] = entry;
+        size++;
+        return entry;
+    }
+
+    protected final void removeSlot(int slot) {
+        final int entry = indices[slot];
+        indices[slot] = DUMMY;
+
+        if (removed == null) {
+            removed = new boolean[entryCapacity()];
+        }
+
+        removed[entry] = true;
+        releaseEntry(entry);
+        size--;
+    }
+
+    protected final boolean isLive(int entry) {
+        return removed == null || !removed[entry];
+    }
+
+    /**
+     * Moves the live elements to the front of the element arrays and rebuilds the index for a
+     * capacity that leaves room to grow.
+     */
+    private void resize() {
+        int live = 0;
+
+        for (int i = 0; i < usedEntries; i++) {
+            if (isLive(i)) {
+                if (i != live) {
+                    moveEntry(i, live);
+                }
+
+                live++;
+            }
+        }
+
+        for (int i = live; i < usedEntries; i++) {
+            releaseEntry(i);
+        }
+
+        assert live == size;
+        indices = newIndices(indexSizeFor(Math.max(size * 2, size + 1)));
+        resizeEntries(entryCapacity());
+        removed = null;
+        usedEntries = size;
+
+        for (int i = 0; i < size; i++) {
+            indices[findFreeSlot(hashAt(i))] = i;
+        }
+    }
+
+    @Override
+    public Iterator<Object> iterator() {
+        return new Iterator<Object>() {
+
+            private int entry = nextLive(0);
+
+            private int nextLive(int from) {
+                int i = from;
+
+                while (i < usedEntries && !isLive(i)) {
+                    i++;
+                }
+
+                return i;
+            }
+
+            public boolean hasNext() {
+                return entry < usedEntries;
+            }
+
+            public Object next() {
+                if (entry >= usedEntries) {
+                    throw new NoSuchElementException();
+                }
+
+                final Object result = getItemAt(entry);
+                entry = nextLive(entry + 1);
+                return result;
+            }
+        };
+    }
+
+    @Override
+    public Object[] getInternalArray() {
+        final Object[] result = new Object[size];
+        int i = 0;
+
+        for (int entry = 0; entry < usedEntries; entry++) {
+            if (isLive(entry)) {
+                result[i++] = getItemAt(entry);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object value) {
+        if (options.TraceSequenceStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to ObjectSetStorage");
+        }
+
+        final ObjectSetStorage generalized = new ObjectSetStorage(size);
+
+        for (int entry = 0; entry < usedEntries; entry++) {
+            if (isLive(entry)) {
+                generalized.addWithHash(getItemAt(entry), hashAt(entry));
+            }
+        }
+
+        return generalized;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.*;
+
+public final class IntSetStorage extends HashSetStorage {
+
+    private int[] values;
+
+    public IntSetStorage() {
+        this(0);
+    }
+
+    public IntSetStorage(int expectedSize) {
+        super(expectedSize);
+        this.values = new int[entryCapacity()];
+    }
+
+    private IntSetStorage(IntSetStorage other) {
+        super(other);
+        this.values = Arrays.copyOf(other.values, other.values.length);
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new IntSetStorage(this);
+    }
+
+    @Override
+    protected int hashAt(int entry) {
+        return values[entry];
+    }
+
+    @Override
+    protected Object getItemAt(int entry) {
+        return values[entry];
+    }
+
+    @Override
+    protected void moveEntry(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void resizeEntries(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    private int findSlot(int value) {
+        final int mask = indices.length - 1;
+        int slot = value & mask;
+        int perturb = value;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return EMPTY;
+            }
+
+            if (entry >= 0 && values[entry] == value) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        if (value instanceof Integer) {
+            return containsInt((int) value);
+        }
+
+        return super.contains(value);
+    }
+
+    public boolean containsInt(int value) {
+        return findSlot(value) != EMPTY;
+    }
+
+    @Override
+    public boolean add(Object value) throws SequenceStoreException {
+        if (value instanceof Integer) {
+            return addInt((int) value);
+        } else if (super.contains(value)) {
+            return false;
+        }
+
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    public boolean addInt(int value) {
+        if (findSlot(value) != EMPTY) {
+            return false;
+        }
+
+        final int entry = newEntry(value);
+        values[entry] = value;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        if (value instanceof Integer) {
+            final int slot = findSlot((int) value);
+
+            if (slot == EMPTY) {
+                return false;
+            }
+
+            removeSlot(slot);
+            return true;
+        }
+
+        return super.remove(value);
+    }
+
+}
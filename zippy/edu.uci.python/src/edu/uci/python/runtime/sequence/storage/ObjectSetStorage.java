@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.datatype.*;
+
+/**
+ * The most general set storage. Elements are compared with Python equality and their hashes are
+ * kept next to them, since a user defined __hash__ can be arbitrarily expensive.
+ */
+public final class ObjectSetStorage extends HashSetStorage {
+
+    private int[] hashes;
+    private Object[] values;
+
+    public ObjectSetStorage() {
+        this(0);
+    }
+
+    public ObjectSetStorage(int expectedSize) {
+        super(expectedSize);
+        this.hashes = new int[entryCapacity()];
+        this.values = new Object[entryCapacity()];
+    }
+
+    private ObjectSetStorage(ObjectSetStorage other) {
+        super(other);
+        this.hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+        this.values = Arrays.copyOf(other.values, other.values.length);
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new ObjectSetStorage(this);
+    }
+
+    @Override
+    protected int hashAt(int entry) {
+        return hashes[entry];
+    }
+
+    @Override
+    protected Object getItemAt(int entry) {
+        return values[entry];
+    }
+
+    @Override
+    protected void moveEntry(int from, int to) {
+        hashes[to] = hashes[from];
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void resizeEntries(int capacity) {
+        hashes = Arrays.copyOf(hashes, capacity);
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void releaseEntry(int entry) {
+        values[entry] = null;
+    }
+
+    @Override
+    public boolean add(Object value) {
+        final int hash = HashTable.hash(value);
+
+        if (findSlotGeneric(value, hash) != EMPTY) {
+            return false;
+        }
+
+        addWithHash(value, hash);
+        return true;
+    }
+
+    /**
+     * Appends an element known to be absent, used when generalizing from a specialized storage.
+     */
+    void addWithHash(Object value, int hash) {
+        final int entry = newEntry(hash);
+        hashes[entry] = hash;
+        values[entry] = value;
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object value) {
+        return this;
+    }
+
+}
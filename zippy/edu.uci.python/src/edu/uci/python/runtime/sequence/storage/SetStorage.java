@@ -0,0 +1,62 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Element storage of a Python set or frozenset. Like {@link SequenceStorage}, a specialized storage
+ * throws {@link SequenceStoreException} when it cannot hold a value, and the owner replaces it with
+ * {@link #generalizeFor(Object)}.
+ */
+public abstract class SetStorage {
+
+    protected static final PythonOptions options = new PythonOptions();
+
+    public abstract int length();
+
+    public abstract SetStorage copy();
+
+    public abstract boolean contains(Object value);
+
+    /**
+     * Returns false if an equal element is already present.
+     */
+    public abstract boolean add(Object value) throws SequenceStoreException;
+
+    /**
+     * Returns false if no equal element is present.
+     */
+    public abstract boolean remove(Object value);
+
+    public abstract Iterator<Object> iterator();
+
+    public abstract Object[] getInternalArray();
+
+    public abstract SetStorage generalizeFor(Object value);
+
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence.storage;
+
+import java.util.*;
+
+import edu.uci.python.runtime.sequence.*;
+
+public final class StringSetStorage extends HashSetStorage {
+
+    private String[] values;
+
+    public StringSetStorage() {
+        this(0);
+    }
+
+    public StringSetStorage(int expectedSize) {
+        super(expectedSize);
+        this.values = new String[entryCapacity()];
+    }
+
+    private StringSetStorage(StringSetStorage other) {
+        super(other);
+        this.values = Arrays.copyOf(other.values, other.values.length);
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new StringSetStorage(this);
+    }
+
+    @Override
+    protected int hashAt(int entry) {
+        return values[entry].hashCode();
+    }
+
+    @Override
+    protected Object getItemAt(int entry) {
+        return values[entry];
+    }
+
+    @Override
+    protected void moveEntry(int from, int to) {
+        values[to] = values[from];
+    }
+
+    @Override
+    protected void resizeEntries(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+    }
+
+    @Override
+    protected void releaseEntry(int entry) {
+        values[entry] = null;
+    }
+
+    private int findSlot(String value) {
+        final int hash = value.hashCode();
+        final int mask = indices.length - 1;
+        int slot = hash & mask;
+        int perturb = hash;
+
+        while (true) {
+            final int entry = indices[slot];
+
+            if (entry == EMPTY) {
+                return EMPTY;
+            }
+
+            if (entry >= 0) {
+                final String candidate = values[entry];
+
+                if (candidate == value || (candidate.hashCode() == hash && candidate.equals(value))) {
+                    return slot;
+                }
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    @Override
+    public boolean contains(Object value) {
+        if (value instanceof String) {
+            return containsString((String) value);
+        } else if (value instanceof PString) {
+            return containsString(((PString) value).getValue());
+        }
+
+        return super.contains(value);
+    }
+
+    public boolean containsString(String value) {
+        return findSlot(value) != EMPTY;
+    }
+
+    @Override
+    public boolean add(Object value) throws SequenceStoreException {
+        if (value instanceof String) {
+            return addString((String) value);
+        } else if (value instanceof PString) {
+            return addString(((PString) value).getValue());
+        } else if (super.contains(value)) {
+            return false;
+        }
+
+        throw SequenceStoreException.INSTANCE;
+    }
+
+    public boolean addString(String value) {
+        if (findSlot(value) != EMPTY) {
+            return false;
+        }
+
+        final int entry = newEntry(value.hashCode());
+        values[entry] = value;
+        return true;
+    }
+
+    @Override
+    public boolean remove(Object value) {
+        if (value instanceof String || value instanceof PString) {
+            final int slot = findSlot(value.toString());
+
+            if (slot == EMPTY) {
+                return false;
+            }
+
+            removeSlot(slot);
+            return true;
+        }
+
+        return super.remove(value);
+    }
+
+}
@@ -26,10 +26,13 @@ package edu.uci.python.runtime.standardtype;
 
 import java.lang.invoke.*;
 import java.util.*;
+import java.util.concurrent.*;
 
+import org.python.core.*;
 import org.python.util.*;
 
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 
@@ -37,7 +40,7 @@ import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.object.*;
-import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.sequence.*;
 
 /**
  * Mutable class.
@@ -47,12 +50,17 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
     private final String className;
     private final PythonContext context;
 
-    /**
-     * TODO: Compute complete MRO...
-     */
     @CompilationFinal private PythonClass[] baseClasses;
     @CompilationFinal private PythonClass[] methodResolutionOrder;
 
+    /**
+     * Flattened attribute lookup along the MRO. Maps an attribute name to the class in the MRO that
+     * owns it. Invalidated together with {@link #lookupStableAssumption} whenever a class in the
+     * MRO changes its layout.
+     */
+    private final Map<String, PythonClass> lookupCache = new HashMap<>();
+    @CompilationFinal private Assumption lookupStableAssumption = Truffle.getRuntime().createAssumption("class hierarchy stable");
+
     /**
      * Object layout of the instances of this class.
      */
@@ -60,6 +68,15 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
     @CompilationFinal private MethodHandle instanceConstructor;
     private int flexibleObjectStorageVersion = 0;
 
+    /**
+     * Allocation profile deciding when to generate a storage class.
+     */
+    private ObjectLayout profiledInstanceLayout;
+    private int stableInstanceAllocations;
+    private FlexibleStorageClassGenerator pendingStorageGenerator;
+    private Future<Class<?>> pendingStorageClass;
+    private boolean storageClassGenerationFailed;
+
     private final Set<PythonClass> subClasses = Collections.newSetFromMap(new WeakHashMap<PythonClass, Boolean>());
 
     public PythonClass(PythonContext context, String name, PythonClass... baseClasses) {
@@ -79,11 +96,11 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
         computeMethodResolutionOrder();
 
         // Does not inherit instanceObjectLayout from the TypeClass.
-        objectLayout = ObjectLayout.empty();
+        objectLayout = ObjectLayout.empty(context.getTypeClass());
         assert verifyLayout();
 
         // Inherit InstanceObjectLayout when possible
-        instanceObjectLayout = this.baseClasses.length == 0 ? ObjectLayout.empty() : new FixedObjectLayout(getName());
+        instanceObjectLayout = this.baseClasses.length == 0 ? ObjectLayout.empty(this) : new FixedObjectLayout(getName(), this);
 
         switchToPrivateLayout();
 
@@ -180,15 +197,54 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
 
     @Override
     public PythonObject getValidStorageFullLookup(String attributeId) {
-        PythonObject storage = null;
+        return lookUpAttributeOwner(attributeId);
+    }
+
+    /**
+     * Returns the first class in the MRO that owns the attribute, or null if none does.
+     */
+    @TruffleBoundary
+    public final PythonClass lookUpAttributeOwner(String name) {
+        PythonClass owner = lookupCache.get(name);
 
-        if (isOwnAttribute(attributeId)) {
-            storage = this;
-        } else if (baseClasses.length > 0) {
-            storage = baseClasses[0].getValidStorageFullLookup(attributeId);
+        if (owner != null) {
+            return owner;
         }
 
-        return storage;
+        for (PythonClass clazz : methodResolutionOrder) {
+            if (clazz.isOwnAttribute(name)) {
+                lookupCache.put(name, clazz);
+                return clazz;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Valid as long as no class in the MRO has changed its layout.
+     */
+    public final Assumption getLookupStableAssumption() {
+        return lookupStableAssumption;
+    }
+
+    private void invalidateAttributeLookup() {
+        lookupCache.clear();
+
+        if (lookupStableAssumption.isValid()) {
+            lookupStableAssumption.invalidate();
+            lookupStableAssumption = Truffle.getRuntime().createAssumption("class hierarchy stable");
+        }
+
+        for (PythonClass subClass : subClasses) {
+            subClass.invalidateAttributeLookup();
+        }
+    }
+
+    @Override
+    public void updateLayout(ObjectLayout newLayout) {
+        super.updateLayout(newLayout);
+        invalidateAttributeLookup();
     }
 
     public PythonCallable lookUpMethod(String methodName) {
@@ -208,15 +264,13 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
 
     @Override
     public Object getAttribute(String name) {
-        // Find the storage location
-        final StorageLocation storageLocation = getObjectLayout().findStorageLocation(name);
+        final PythonClass owner = lookUpAttributeOwner(name);
 
-        // Continue the look up in PythonType.
-        if (storageLocation == null) {
-            return baseClasses.length == 0 ? PNone.NONE : baseClasses[0].getAttribute(name);
+        if (owner == null) {
+            return PNone.NONE;
         }
 
-        return storageLocation.read(this);
+        return owner.getOwnValidLocation(name).read(owner);
     }
 
     /**
@@ -232,6 +286,9 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
                 base.subClasses.add(this);
             }
         }
+
+        computeMethodResolutionOrder();
+        invalidateAttributeLookup();
     }
 
     public final Set<PythonClass> getSubClasses() {
@@ -243,6 +300,7 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
     }
 
     public final void updateInstanceObjectLayout(ObjectLayout newLayout) {
+        assert newLayout.getPythonClass() == this && !newLayout.isPrivate();
         this.instanceObjectLayout = newLayout;
     }
 
@@ -253,17 +311,174 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
     public final void switchToGeneratedStorageClass() {
         CompilerDirectives.transferToInterpreterAndInvalidate();
         FlexibleStorageClassGenerator scg = new FlexibleStorageClassGenerator(this);
-        FlexiblePythonObjectStorageFactory newStorage = scg.generate();
+        switchToStorage(scg.generate());
+    }
+
+    private void switchToStorage(FlexiblePythonObjectStorageFactory newStorage) {
         instanceConstructor = newStorage.getConstructor();
         flexibleObjectStorageVersion++;
+        profiledInstanceLayout = null;
+        stableInstanceAllocations = 0;
+    }
+
+    /**
+     * Profiles an instance allocated with the default fixed storage. Once the instance layout has
+     * survived {@link PythonOptions#FlexibleObjectStorageThreshold} allocations unchanged, a storage
+     * class for it is generated, in the background unless disabled. The generated class is only
+     * installed if the layout is still the same by the time it is ready.
+     *
+     * @return true if instances are now allocated in a generated storage class
+     */
+    @TruffleBoundary
+    public final boolean profileFixedInstanceAllocation() {
+        if (instanceObjectLayout instanceof FlexibleObjectLayout) {
+            return true;
+        }
+
+        if (instanceObjectLayout.isSealed() || storageClassGenerationFailed) {
+            return false;
+        }
+
+        if (pendingStorageClass != null) {
+            if (!pendingStorageClass.isDone()) {
+                return false;
+            }
+
+            final Class<?> storageClass = getGeneratedStorageClass();
+            final FlexiblePythonObjectStorageFactory newStorage = storageClass == null ? null : pendingStorageGenerator.install(storageClass);
+            pendingStorageGenerator = null;
+            pendingStorageClass = null;
+
+            if (storageClass == null) {
+                return false;
+            } else if (newStorage != null) {
+                switchToStorage(newStorage);
+                return true;
+            }
+        }
+
+        if (instanceObjectLayout != profiledInstanceLayout) {
+            profiledInstanceLayout = instanceObjectLayout;
+            stableInstanceAllocations = 0;
+            return false;
+        }
+
+        final PythonOptions options = context.getPythonOptions();
+
+        if (++stableInstanceAllocations < options.FlexibleObjectStorageThreshold) {
+            return false;
+        }
+
+        final FlexibleStorageClassGenerator scg = new FlexibleStorageClassGenerator(this);
+
+        if (!options.BackgroundStorageClassGeneration) {
+            switchToStorage(scg.generate());
+            return true;
+        }
+
+        pendingStorageGenerator = scg;
+        pendingStorageClass = scg.generateStorageClassInBackground();
+        return false;
+    }
+
+    /**
+     * Seals the instance layout of a class that declares {@code __slots__} onto a generated storage
+     * class, with the slots of its bases first. Classes whose instances also need a dict, because
+     * they list {@code __dict__} or have a base without slots, keep the regular layout.
+     */
+    public final void sealInstanceLayout() {
+        CompilerAsserts.neverPartOfCompilation();
+        final List<String> slots = new ArrayList<>();
+
+        for (PythonClass base : baseClasses) {
+            final ObjectLayout baseLayout = base.getInstanceObjectLayout();
+
+            if (baseLayout.isSealed()) {
+                for (String slot : baseLayout.getAllStorageLocations().keySet()) {
+                    if (!slots.contains(slot)) {
+                        slots.add(slot);
+                    }
+                }
+            } else if (base != context.getObjectClass()) {
+                return;
+            }
+        }
+
+        for (String slot : getDeclaredSlots()) {
+            if (slot.equals("__dict__")) {
+                return;
+            } else if (!slot.equals("__weakref__") && !slots.contains(slot)) {
+                slots.add(slot);
+            }
+        }
+
+        FlexibleStorageClassGenerator scg = new FlexibleStorageClassGenerator(this, slots);
+        instanceConstructor = scg.generateSlotsStorage();
+    }
+
+    private List<String> getDeclaredSlots() {
+        final Object declared = getAttribute("__slots__");
+        final List<String> slots = new ArrayList<>();
+
+        if (declared instanceof String || declared instanceof PString) {
+            slots.add(declared.toString());
+        } else if (declared instanceof PTuple || declared instanceof PList) {
+            final PSequence sequence = (PSequence) declared;
+
+            for (int i = 0; i < sequence.len(); i++) {
+                final Object slot = sequence.getItem(i);
+
+                if (!(slot instanceof String || slot instanceof PString)) {
+                    throw Py.TypeError("__slots__ items must be strings, not '" + slot + "'");
+                }
+
+                slots.add(slot.toString());
+            }
+        } else {
+            throw Py.TypeError("'" + declared + "' object is not a valid __slots__");
+        }
+
+        return slots;
+    }
+
+    /**
+     * Returns null if the background generation failed, in which case the instances of this class
+     * stay in fixed storage.
+     */
+    private Class<?> getGeneratedStorageClass() {
+        try {
+            return pendingStorageClass.get();
+        } catch (InterruptedException | ExecutionException e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+
+            storageClassGenerationFailed = true;
+
+            if (context.getPythonOptions().TraceObjectLayoutCreation) {
+                // CheckStyle: stop system..print check
+                System.out.println("[ZipPy] failed to generate storage class for " + this + ": " + e);
+                // CheckStyle: resume system..print check
+            }
+
+            return null;
+        }
     }
 
     /**
      * The following are slow paths.
      */
+    public final PythonObject newInstance() {
+        try {
+            return (PythonObject) instanceConstructor.invoke(this);
+        } catch (Throwable e) {
+            throw new RuntimeException("instance constructor invocation failed in " + this, e);
+        }
+    }
+
     @Override
     public Object call(Object[] args) {
-        PythonObject newInstance = PythonContext.newPythonObjectInstance(this);
+        PythonObject newInstance = newInstance();
         PythonCallable ctor = lookUpMethod("__init__");
         ctor.call(PArguments.insertSelf(args, newInstance));
         return newInstance;
@@ -271,7 +486,7 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
 
     @Override
     public Object call(Object[] args, PKeyword[] keywords) {
-        PythonObject newInstance = PythonContext.newPythonObjectInstance(this);
+        PythonObject newInstance = newInstance();
         PythonCallable ctor = lookUpMethod("__init__");
         ctor.call(PArguments.insertSelf(args, newInstance));
         return newInstance;
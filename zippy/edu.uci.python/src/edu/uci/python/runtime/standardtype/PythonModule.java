@@ -24,15 +24,28 @@
  */
 package edu.uci.python.runtime.standardtype;
 
+import java.util.*;
+
+import com.oracle.truffle.api.*;
+
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.object.location.*;
 
 public final class PythonModule extends FixedPythonObjectStorage {
 
     private final String name;
     private final String file;
 
+    /**
+     * One assumption per global name, valid while the binding of the name is unchanged. For a
+     * defined global it stands for its value, for a missing one for its absence. Rebinding a global
+     * invalidates its assumption for good, and the global is read through the module layout from
+     * then on.
+     */
+    private final Map<String, Assumption> stableGlobals = new HashMap<>();
+
     public PythonModule(PythonContext context, String name, String file) {
         super(context.getModuleClass());
         this.name = name;
@@ -59,6 +72,60 @@ public final class PythonModule extends FixedPythonObjectStorage {
         return file;
     }
 
+    public Assumption getStableGlobalAssumption(String attributeId) {
+        CompilerAsserts.neverPartOfCompilation();
+        Assumption assumption = stableGlobals.get(attributeId);
+
+        if (assumption == null) {
+            assumption = Truffle.getRuntime().createAssumption(name + "." + attributeId);
+            stableGlobals.put(attributeId, assumption);
+        }
+
+        return assumption;
+    }
+
+    /**
+     * Called before a new value is stored to an existing global. Storing the current value again
+     * does not count as a rebinding.
+     */
+    public void rebindGlobal(String attributeId, Object value) {
+        CompilerAsserts.neverPartOfCompilation();
+        final StorageLocation location = objectLayout.findStorageLocation(attributeId);
+
+        if (location != null && location.isSet(this) && location.read(this) == value) {
+            return;
+        }
+
+        getStableGlobalAssumption(attributeId).invalidate();
+    }
+
+    @Override
+    public void setAttribute(String attributeId, Object value) {
+        if (isOwnAttribute(attributeId)) {
+            rebindGlobal(attributeId, value);
+        } else {
+            // The name is bound now, and its value gets a fresh assumption
+            final Assumption absent = stableGlobals.remove(attributeId);
+
+            if (absent != null) {
+                absent.invalidate();
+            }
+        }
+
+        super.setAttribute(attributeId, value);
+    }
+
+    @Override
+    public void deleteAttribute(String attributeId) {
+        final Assumption bound = stableGlobals.remove(attributeId);
+
+        if (bound != null) {
+            bound.invalidate();
+        }
+
+        super.deleteAttribute(attributeId);
+    }
+
     @Override
     public PythonObject getValidStorageFullLookup(String attributeId) {
         PythonObject storage = null;
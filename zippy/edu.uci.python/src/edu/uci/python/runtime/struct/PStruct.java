@@ -0,0 +1,531 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.struct;
+
+import java.math.*;
+import java.nio.*;
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A parsed struct format. The format string is decoded once into parallel arrays of item codes,
+ * byte offsets and string lengths, so packing and unpacking is a single pass of absolute
+ * {@link ByteBuffer} reads or writes over the underlying byte array.
+ */
+public final class PStruct extends PythonBuiltinObject {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PStruct.class);
+
+    private static final int NATIVE_LONG_SIZE = 8;
+
+    private final String format;
+    private final ByteOrder order;
+    private final int size;
+
+    @CompilationFinal(dimensions = 1) private final char[] codes;
+    @CompilationFinal(dimensions = 1) private final int[] offsets;
+    @CompilationFinal(dimensions = 1) private final int[] lengths;
+
+    private PStruct(String format, ByteOrder order, int size, char[] codes, int[] offsets, int[] lengths) {
+        this.format = format;
+        this.order = order;
+        this.size = size;
+        this.codes = codes;
+        this.offsets = offsets;
+        this.lengths = lengths;
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public int getNumOfItems() {
+        return codes.length;
+    }
+
+    public static PyException error(String message) {
+        return new PyException(org.python.modules.struct.error, message);
+    }
+
+    @TruffleBoundary
+    public static PStruct compile(String format) {
+        int index = 0;
+        ByteOrder order = ByteOrder.nativeOrder();
+        boolean nativeMode = true;
+
+        if (!format.isEmpty()) {
+            switch (format.charAt(0)) {
+                case '@':
+                    index++;
+                    break;
+                case '=':
+                    nativeMode = false;
+                    index++;
+                    break;
+                case '<':
+                    order = ByteOrder.LITTLE_ENDIAN;
+                    nativeMode = false;
+                    index++;
+                    break;
+                case '>':
+                case '!':
+                    order = ByteOrder.BIG_ENDIAN;
+                    nativeMode = false;
+                    index++;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        final List<Character> codes = new ArrayList<>();
+        final List<Integer> offsets = new ArrayList<>();
+        final List<Integer> lengths = new ArrayList<>();
+        int offset = 0;
+
+        while (index < format.length()) {
+            char c = format.charAt(index++);
+
+            if (Character.isWhitespace(c)) {
+                continue;
+            }
+
+            int count = 1;
+
+            if (Character.isDigit(c)) {
+                count = c - '0';
+
+                while (index < format.length() && Character.isDigit(format.charAt(index))) {
+                    count = count * 10 + format.charAt(index++) - '0';
+                }
+
+                if (index == format.length()) {
+                    throw error("repeat count given without format specifier");
+                }
+
+                c = format.charAt(index++);
+            }
+
+            final int itemSize = itemSize(c, nativeMode);
+
+            if (nativeMode && itemSize > 1 && c != 's' && c != 'p') {
+                offset = (offset + itemSize - 1) / itemSize * itemSize;
+            }
+
+            if (c == 's' || c == 'p') {
+                codes.add(c);
+                offsets.add(offset);
+                lengths.add(count);
+                offset += count;
+            } else if (c == 'x') {
+                offset += count;
+            } else {
+                for (int i = 0; i < count; i++) {
+                    codes.add(c);
+                    offsets.add(offset);
+                    lengths.add(itemSize);
+                    offset += itemSize;
+                }
+            }
+        }
+
+        final char[] codeArray = new char[codes.size()];
+        final int[] offsetArray = new int[codes.size()];
+        final int[] lengthArray = new int[codes.size()];
+
+        for (int i = 0; i < codeArray.length; i++) {
+            codeArray[i] = codes.get(i);
+            offsetArray[i] = offsets.get(i);
+            lengthArray[i] = lengths.get(i);
+        }
+
+        return new PStruct(format, order, offset, codeArray, offsetArray, lengthArray);
+    }
+
+    private static int itemSize(char code, boolean nativeMode) {
+        switch (code) {
+            case 'x':
+            case 'c':
+            case 'b':
+            case 'B':
+            case '?':
+            case 's':
+            case 'p':
+                return 1;
+            case 'h':
+            case 'H':
+                return 2;
+            case 'i':
+            case 'I':
+            case 'f':
+                return 4;
+            case 'l':
+            case 'L':
+                return nativeMode ? NATIVE_LONG_SIZE : 4;
+            case 'q':
+            case 'Q':
+            case 'd':
+                return 8;
+            case 'n':
+            case 'N':
+            case 'P':
+                if (nativeMode) {
+                    return NATIVE_LONG_SIZE;
+                }
+                throw error("bad char in struct format");
+            default:
+                throw error("bad char in struct format");
+        }
+    }
+
+    /**
+     * struct.pack(format, v1, v2, ...).
+     */
+    public PBytes pack(Object[] values) {
+        final byte[] bytes = new byte[size];
+        packInto(bytes, 0, values);
+        return new PBytes(bytes);
+    }
+
+    /**
+     * struct.pack_into(format, buffer, offset, v1, v2, ...).
+     */
+    public void packInto(byte[] buffer, int offset, Object[] values) {
+        if (values.length != codes.length) {
+            throw error("pack expected " + codes.length + " items for packing (got " + values.length + ")");
+        }
+
+        final ByteBuffer buf = ByteBuffer.wrap(buffer).order(order);
+
+        for (int i = 0; i < codes.length; i++) {
+            final int position = offset + offsets[i];
+            final Object value = values[i];
+
+            switch (codes[i]) {
+                case 'c':
+                    buf.put(position, packChar(value));
+                    break;
+                case 'b':
+                    buf.put(position, (byte) packInteger(value, 'b', Byte.MIN_VALUE, Byte.MAX_VALUE));
+                    break;
+                case 'B':
+                    buf.put(position, (byte) packInteger(value, 'B', 0, 0xFF));
+                    break;
+                case '?':
+                    buf.put(position, (byte) (packBoolean(value) ? 1 : 0));
+                    break;
+                case 'h':
+                    buf.putShort(position, (short) packInteger(value, 'h', Short.MIN_VALUE, Short.MAX_VALUE));
+                    break;
+                case 'H':
+                    buf.putShort(position, (short) packInteger(value, 'H', 0, 0xFFFF));
+                    break;
+                case 'i':
+                    buf.putInt(position, (int) packInteger(value, 'i', Integer.MIN_VALUE, Integer.MAX_VALUE));
+                    break;
+                case 'I':
+                    buf.putInt(position, (int) packInteger(value, 'I', 0, 0xFFFFFFFFL));
+                    break;
+                case 'l':
+                case 'L':
+                case 'q':
+                case 'Q':
+                case 'n':
+                case 'N':
+                case 'P':
+                    packLong(buf, position, lengths[i], codes[i], value);
+                    break;
+                case 'f':
+                    buf.putFloat(position, (float) packDouble(value));
+                    break;
+                case 'd':
+                    buf.putDouble(position, packDouble(value));
+                    break;
+                case 's':
+                    packString(buffer, position, lengths[i], value, false);
+                    break;
+                case 'p':
+                    packString(buffer, position, lengths[i], value, true);
+                    break;
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+    }
+
+    private static void packLong(ByteBuffer buf, int position, int length, char code, Object value) {
+        final boolean unsigned = code == 'L' || code == 'Q' || code == 'N' || code == 'P';
+
+        if (length == 4) {
+            buf.putInt(position, (int) (unsigned ? packInteger(value, code, 0, 0xFFFFFFFFL) : packInteger(value, code, Integer.MIN_VALUE, Integer.MAX_VALUE)));
+            return;
+        }
+
+        if (value instanceof BigInteger) {
+            final BigInteger big = (BigInteger) value;
+            final int bits = unsigned ? (big.signum() < 0 ? Integer.MAX_VALUE : big.bitLength()) : big.bitLength();
+
+            if (bits > (unsigned ? 64 : 63)) {
+                throw error("argument out of range");
+            }
+
+            buf.putLong(position, big.longValue());
+            return;
+        }
+
+        final long longValue = castToLong(value);
+
+        if (unsigned && longValue < 0) {
+            throw error("argument out of range");
+        }
+
+        buf.putLong(position, longValue);
+    }
+
+    private static long packInteger(Object value, char code, long min, long max) {
+        final long longValue = value instanceof BigInteger ? outOfRange(code, min, max) : castToLong(value);
+
+        if (longValue < min || longValue > max) {
+            outOfRange(code, min, max);
+        }
+
+        return longValue;
+    }
+
+    private static long outOfRange(char code, long min, long max) {
+        throw error("'" + code + "' format requires " + min + " <= number <= " + max);
+    }
+
+    private static long castToLong(Object value) {
+        if (value instanceof Integer) {
+            return (int) value;
+        } else if (value instanceof Long) {
+            return (long) value;
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        } else if (value instanceof BigInteger) {
+            throw error("argument out of range");
+        }
+
+        throw error("required argument is not an integer");
+    }
+
+    private static double packDouble(Object value) {
+        if (value instanceof Double) {
+            return (double) value;
+        } else if (value instanceof Integer) {
+            return (int) value;
+        } else if (value instanceof Long) {
+            return (long) value;
+        } else if (value instanceof BigInteger) {
+            return ((BigInteger) value).doubleValue();
+        }
+
+        throw error("required argument is not a float");
+    }
+
+    private static boolean packBoolean(Object value) {
+        if (value instanceof Boolean) {
+            return (boolean) value;
+        } else if (value instanceof Integer) {
+            return (int) value != 0;
+        } else if (value instanceof Long) {
+            return (long) value != 0;
+        } else if (value instanceof Double) {
+            return (double) value != 0;
+        } else if (value instanceof PNone) {
+            return false;
+        } else if (value instanceof String || value instanceof PString) {
+            return !value.toString().isEmpty();
+        } else if (value instanceof PSequence) {
+            return ((PSequence) value).len() != 0;
+        }
+
+        return true;
+    }
+
+    private static byte packChar(Object value) {
+        if (value instanceof PBytes && ((PBytes) value).len() == 1) {
+            return ((PBytes) value).getInternalByteArray()[0];
+        } else if (value instanceof PByteArray && ((PByteArray) value).len() == 1) {
+            return ((PByteArray) value).getInternalByteArray()[0];
+        }
+
+        throw error("char format requires a bytes object of length 1");
+    }
+
+    private static void packString(byte[] buffer, int position, int length, Object value, boolean pascal) {
+        final byte[] source;
+        final int sourceLength;
+
+        if (value instanceof PBytes) {
+            source = ((PBytes) value).getInternalByteArray();
+            sourceLength = source.length;
+        } else if (value instanceof PByteArray) {
+            source = ((PByteArray) value).getInternalByteArray();
+            sourceLength = ((PByteArray) value).len();
+        } else {
+            throw error("argument for '" + (pascal ? 'p' : 's') + "' must be a bytes object");
+        }
+
+        if (pascal) {
+            if (length == 0) {
+                return;
+            }
+
+            final int copied = Math.min(Math.min(sourceLength, length - 1), 0xFF);
+            buffer[position] = (byte) copied;
+            System.arraycopy(source, 0, buffer, position + 1, copied);
+            Arrays.fill(buffer, position + 1 + copied, position + length, (byte) 0);
+        } else {
+            final int copied = Math.min(sourceLength, length);
+            System.arraycopy(source, 0, buffer, position, copied);
+            Arrays.fill(buffer, position + copied, position + length, (byte) 0);
+        }
+    }
+
+    /**
+     * struct.unpack(format, buffer) when {@code exact}, otherwise struct.unpack_from(format,
+     * buffer, offset).
+     */
+    public PTuple unpack(byte[] buffer, int bufferLength, int offset, boolean exact) {
+        if (exact && bufferLength != size) {
+            throw error("unpack requires a buffer of " + size + " bytes");
+        } else if (offset < 0 || bufferLength - offset < size) {
+            throw error("unpack_from requires a buffer of at least " + (size + offset) + " bytes");
+        }
+
+        final ByteBuffer buf = ByteBuffer.wrap(buffer).order(order);
+        final Object[] values = new Object[codes.length];
+
+        for (int i = 0; i < codes.length; i++) {
+            final int position = offset + offsets[i];
+
+            switch (codes[i]) {
+                case 'c':
+                    values[i] = new PBytes(new byte[]{buf.get(position)});
+                    break;
+                case 'b':
+                    values[i] = (int) buf.get(position);
+                    break;
+                case 'B':
+                    values[i] = buf.get(position) & 0xFF;
+                    break;
+                case '?':
+                    values[i] = buf.get(position) != 0;
+                    break;
+                case 'h':
+                    values[i] = (int) buf.getShort(position);
+                    break;
+                case 'H':
+                    values[i] = buf.getShort(position) & 0xFFFF;
+                    break;
+                case 'i':
+                    values[i] = buf.getInt(position);
+                    break;
+                case 'I':
+                    values[i] = narrow(buf.getInt(position) & 0xFFFFFFFFL);
+                    break;
+                case 'l':
+                case 'q':
+                case 'n':
+                    values[i] = lengths[i] == 4 ? (Object) buf.getInt(position) : narrow(buf.getLong(position));
+                    break;
+                case 'L':
+                case 'Q':
+                case 'N':
+                case 'P':
+                    values[i] = lengths[i] == 4 ? narrow(buf.getInt(position) & 0xFFFFFFFFL) : narrowUnsigned(buf.getLong(position));
+                    break;
+                case 'f':
+                    values[i] = (double) buf.getFloat(position);
+                    break;
+                case 'd':
+                    values[i] = buf.getDouble(position);
+                    break;
+                case 's':
+                    values[i] = new PBytes(Arrays.copyOfRange(buffer, position, position + lengths[i]));
+                    break;
+                case 'p':
+                    values[i] = unpackPascal(buffer, position, lengths[i]);
+                    break;
+                default:
+                    throw new IllegalStateException();
+            }
+        }
+
+        return new PTuple(values);
+    }
+
+    private static Object narrow(long value) {
+        if (value == (int) value) {
+            return (int) value;
+        }
+
+        return value;
+    }
+
+    private static Object narrowUnsigned(long value) {
+        if (value >= 0) {
+            return narrow(value);
+        }
+
+        return BigInteger.valueOf(value & Long.MAX_VALUE).setBit(63);
+    }
+
+    private static PBytes unpackPascal(byte[] buffer, int position, int length) {
+        if (length == 0) {
+            return new PBytes();
+        }
+
+        final int stored = Math.min(buffer[position] & 0xFF, length - 1);
+        return new PBytes(Arrays.copyOfRange(buffer, position + 1, position + 1 + stored));
+    }
+
+    @Override
+    public String toString() {
+        return "<Struct object '" + format + "'>";
+    }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.struct;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Least recently used cache of parsed struct formats, shared by the struct module functions that
+ * take a format string. Call sites with a constant format cache the {@link PStruct} themselves and
+ * only come here once.
+ */
+public final class StructCache {
+
+    public static final int MAX_SIZE = 256;
+
+    private static final Map<String, PStruct> cache = new LinkedHashMap<String, PStruct>(64, 0.75f, true) {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, PStruct> eldest) {
+            return size() > MAX_SIZE;
+        }
+    };
+
+    private StructCache() {
+    }
+
+    @TruffleBoundary
+    public static synchronized PStruct lookup(String format) {
+        PStruct compiled = cache.get(format);
+
+        if (compiled == null) {
+            compiled = PStruct.compile(format);
+            cache.put(format, compiled);
+        }
+
+        return compiled;
+    }
+
+    @TruffleBoundary
+    public static synchronized int size() {
+        return cache.size();
+    }
+
+    @TruffleBoundary
+    public static synchronized void purge() {
+        cache.clear();
+    }
+
+}
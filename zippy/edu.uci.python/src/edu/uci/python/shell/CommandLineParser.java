@@ -60,14 +60,14 @@ public class CommandLineParser {
                 continue;
             }
 
-            if (arg.equals("-flexible-object-storage")) {
-                PythonOptions.setEnvOptions(new String[]{"FlexibleObjectStorage"});
+            if (arg.equals("-flexible-storage-evolution")) {
+                PythonOptions.setEnvOptions(new String[]{"FlexibleObjectStorageEvolution"});
 
                 continue;
             }
 
-            if (arg.equals("-flexible-storage-evolution")) {
-                PythonOptions.setEnvOptions(new String[]{"FlexibleObjectStorage", "FlexibleObjectStorageEvolution"});
+            if (arg.equals("-no-flexible-object-storage")) {
+                PythonOptions.setEnvOptions(new String[]{"disableFlexibleObjectStorage"});
 
                 continue;
             }
@@ -90,6 +90,12 @@ public class CommandLineParser {
                 continue;
             }
 
+            if (arg.equals("-resumable-generators")) {
+                PythonOptions.setEnvOptions(new String[]{"ResumableGenerators"});
+
+                continue;
+            }
+
             pythonArgs.add(arg);
         }
 
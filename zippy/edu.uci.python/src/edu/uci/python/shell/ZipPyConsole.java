@@ -43,7 +43,9 @@ import edu.uci.python.runtime.PythonContext;
 import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.PythonParseResult;
 import edu.uci.python.runtime.PythonParser;
+import edu.uci.python.runtime.exception.PythonException;
 import edu.uci.python.runtime.function.PArguments;
+import edu.uci.python.runtime.object.AttributeLookupCache;
 import edu.uci.python.runtime.object.PythonObjectAllocationInstrumentor;
 import edu.uci.python.runtime.standardtype.PythonModule;
 
@@ -83,7 +85,12 @@ public class ZipPyConsole extends InteractiveConsole {
         ModuleNode root = (ModuleNode) result.getModuleRoot();
         RootCallTarget moduleCallTarget = Truffle.getRuntime().createCallTarget(root);
 
-        moduleCallTarget.call(PArguments.empty());
+        try {
+            moduleCallTarget.call(PArguments.empty());
+        } catch (PythonException e) {
+            // report uncaught exceptions the way Jython does.
+            throw e.getPyException();
+        }
 
         if (context.getPythonOptions().PrintAST) {
             printBanner("After Specialization");
@@ -98,6 +105,10 @@ public class ZipPyConsole extends InteractiveConsole {
             PythonObjectAllocationInstrumentor.getInstance().printAllocations();
         }
 
+        if (context.getPythonOptions().InstrumentMegamorphicSites) {
+            AttributeLookupCache.getInstance().printStatistics();
+        }
+
         Py.flushLine();
         return result;
     }